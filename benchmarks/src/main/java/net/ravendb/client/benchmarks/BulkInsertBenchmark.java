@@ -0,0 +1,56 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of documents by bulk insert, including streaming of the request to an in-process stub cluster.
+ * Each invocation is a complete bulk insert of the given number of documents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    @Param({"10000"})
+    public int documents;
+
+    private StubCluster cluster;
+    private DocumentStore store;
+    private Order[] orders;
+
+    @Setup
+    public void setup() {
+        cluster = new StubCluster("benchmark", 1);
+
+        store = new DocumentStore(cluster.getUrls(), "benchmark");
+        store.initialize();
+
+        orders = new Order[documents];
+        for (int i = 0; i < documents; i++) {
+            orders[i] = Order.create(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Benchmark
+    public void store() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < orders.length; i++) {
+                bulkInsert.store(orders[i], "orders/" + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.ravendb.client.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.DocumentsChanges;
+import net.ravendb.client.documents.session.EntityToJson;
+import net.ravendb.client.json.JsonOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of an entity to json and change detection against the original document,
+ * as done for every tracked entity on saveChanges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityToJsonBenchmark {
+
+    private DocumentConventions conventions;
+    private Order order;
+    private DocumentInfo documentInfo;
+    private ObjectNode unchanged;
+    private ObjectNode modified;
+
+    @Setup
+    public void setup() {
+        conventions = new DocumentConventions();
+        conventions.freeze();
+
+        order = Order.create(1);
+        order.setId("orders/1-A");
+
+        documentInfo = new DocumentInfo();
+        documentInfo.setId(order.getId());
+        documentInfo.setChangeVector("A:1-abc");
+        documentInfo.setCollection("Orders");
+        documentInfo.setEntity(order);
+
+        ObjectNode metadata = conventions.getEntityMapper().createObjectNode();
+        metadata.put(Constants.Documents.Metadata.ID, order.getId());
+        metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, "A:1-abc");
+        metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, Order.class.getName());
+        documentInfo.setMetadata(metadata);
+
+        documentInfo.setDocument(EntityToJson.convertEntityToJson(order, conventions, documentInfo));
+
+        unchanged = EntityToJson.convertEntityToJson(order, conventions, documentInfo);
+
+        Order changedOrder = Order.create(1);
+        changedOrder.setId(order.getId());
+        changedOrder.setFreight(-1);
+        changedOrder.getLines().get(2).setQuantity(100);
+        modified = EntityToJson.convertEntityToJson(changedOrder, conventions, documentInfo);
+    }
+
+    @Benchmark
+    public ObjectNode convertEntityToJson() {
+        return EntityToJson.convertEntityToJson(order, conventions, documentInfo);
+    }
+
+    @Benchmark
+    public boolean entityChangedUnchanged() {
+        return JsonOperation.entityChanged(unchanged, documentInfo, null);
+    }
+
+    @Benchmark
+    public boolean entityChangedModified() {
+        return JsonOperation.entityChanged(modified, documentInfo, null);
+    }
+
+    @Benchmark
+    public Map<String, List<DocumentsChanges>> whatChangedModified() {
+        Map<String, List<DocumentsChanges>> changes = new HashMap<>();
+        JsonOperation.entityChanged(modified, documentInfo, changes);
+        return changes;
+    }
+}
@@ -0,0 +1,70 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.http.HttpCache;
+import net.ravendb.client.primitives.Reference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups and updates of the http cache, which every GET request of the client goes through.
+ * Run with -t to see contention of concurrent requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpCacheBenchmark {
+
+    @Param({"1000"})
+    public int urls;
+
+    private HttpCache cache;
+    private String[] keys;
+    private String response;
+
+    @Setup
+    public void setup() {
+        cache = new HttpCache(64 * 1024 * 1024);
+
+        StringBuilder sb = new StringBuilder("{\"Results\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("{\"Name\":\"user").append(i).append("\",\"Age\":").append(i).append("}");
+        }
+        response = sb.append("]}").toString();
+
+        keys = new String[urls];
+        for (int i = 0; i < urls; i++) {
+            keys[i] = "http://127.0.0.1:8080/databases/db/docs?&id=users/" + i;
+            cache.set(keys[i], "A:" + i + "-abc", response);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Benchmark
+    public String get() {
+        String url = keys[ThreadLocalRandom.current().nextInt(urls)];
+
+        Reference<String> changeVector = new Reference<>();
+        Reference<String> cachedResponse = new Reference<>();
+        try (HttpCache.ReleaseCacheItem item = cache.get(url, changeVector, cachedResponse)) {
+            return cachedResponse.value;
+        }
+    }
+
+    @Benchmark
+    public void set() {
+        int i = ThreadLocalRandom.current().nextInt(urls);
+        cache.set(keys[i], "A:" + i + "-abc", response);
+    }
+}
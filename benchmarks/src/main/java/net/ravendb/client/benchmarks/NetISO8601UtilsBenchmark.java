@@ -0,0 +1,109 @@
+package net.ravendb.client.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.primitives.NetDateFormat;
+import net.ravendb.client.primitives.NetISO8601Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calendar based date formatting (and Jackson mapper relying only on NetDateFormat)
+ * with the allocation-free codec registered in default mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NetISO8601UtilsBenchmark {
+
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private Date date;
+    private char[] buffer;
+    private char[] formatted;
+    private String formattedString;
+
+    private ObjectMapper legacyMapper;
+    private ObjectMapper mapper;
+    private String json;
+    private DateHolder holder;
+
+    @Setup
+    public void setup() {
+        date = new Date(1588328430123L);
+        buffer = new char[NetISO8601Utils.MAX_FORMATTED_LENGTH];
+        formattedString = NetISO8601Utils.format(date, true);
+        formatted = formattedString.toCharArray();
+
+        legacyMapper = new ObjectMapper();
+        legacyMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        legacyMapper.setConfig(legacyMapper.getSerializationConfig().with(new NetDateFormat()));
+        legacyMapper.setConfig(legacyMapper.getDeserializationConfig().with(new NetDateFormat()));
+
+        mapper = JsonExtensions.getDefaultEntityMapper();
+
+        holder = new DateHolder();
+        holder.first = date;
+        holder.second = new Date(date.getTime() + 1000);
+        holder.third = new Date(date.getTime() + 2000);
+        json = "{\"first\":\"2020-05-01T10:20:30.1230000Z\",\"second\":\"2020-05-01T10:20:31.1230000Z\",\"third\":\"2020-05-01T10:20:32.1230000Z\"}";
+    }
+
+    @Benchmark
+    public String formatWithCalendar() {
+        return NetISO8601Utils.format(date, true, GMT);
+    }
+
+    @Benchmark
+    public String formatToString() {
+        return NetISO8601Utils.format(date, true);
+    }
+
+    @Benchmark
+    public int formatToBuffer() {
+        return NetISO8601Utils.format(date.getTime(), true, buffer, 0);
+    }
+
+    @Benchmark
+    public Date parseString() {
+        return NetISO8601Utils.parse(formattedString);
+    }
+
+    @Benchmark
+    public long parseChars() {
+        return NetISO8601Utils.parse(formatted, 0, formatted.length);
+    }
+
+    @Benchmark
+    public String serializeWithDateFormat() throws Exception {
+        return legacyMapper.writeValueAsString(holder);
+    }
+
+    @Benchmark
+    public String serializeWithCodec() throws Exception {
+        return mapper.writeValueAsString(holder);
+    }
+
+    @Benchmark
+    public DateHolder deserializeWithDateFormat() throws Exception {
+        return legacyMapper.readValue(json, DateHolder.class);
+    }
+
+    @Benchmark
+    public DateHolder deserializeWithCodec() throws Exception {
+        return mapper.readValue(json, DateHolder.class);
+    }
+
+    public static class DateHolder {
+        public Date first;
+        public Date second;
+        public Date third;
+    }
+}
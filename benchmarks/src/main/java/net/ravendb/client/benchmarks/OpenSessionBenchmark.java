@@ -0,0 +1,43 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost (and allocations, with -prof gc) of opening and closing a session,
+ * as done by request handlers which open a short lived session per request.
+ * No requests are sent - the store points to a server which is never contacted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OpenSessionBenchmark {
+
+    private DocumentStore store;
+
+    @Setup
+    public void setup() {
+        store = new DocumentStore("http://127.0.0.1:1", "benchmark");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public void openAndClose(Blackhole blackhole) {
+        try (IDocumentSession session = store.openSession()) {
+            blackhole.consume(session);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package net.ravendb.client.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Entity of a typical size used by benchmarks: a few scalar fields, a date, a nested object and a short list.
+ */
+public class Order {
+    private String id;
+    private String company;
+    private String employee;
+    private Date orderedAt;
+    private double freight;
+    private Address shipTo;
+    private List<OrderLine> lines;
+
+    public static Order create(int i) {
+        Order order = new Order();
+        order.setCompany("companies/" + (i % 100) + "-A");
+        order.setEmployee("employees/" + (i % 10) + "-A");
+        order.setOrderedAt(new Date(1_600_000_000_000L + i * 60_000L));
+        order.setFreight(i * 0.25);
+
+        Address address = new Address();
+        address.setCity("City " + (i % 50));
+        address.setCountry("Country " + (i % 5));
+        address.setZip(String.valueOf(10000 + i));
+        order.setShipTo(address);
+
+        List<OrderLine> lines = new ArrayList<>();
+        for (int j = 0; j < 3; j++) {
+            OrderLine line = new OrderLine();
+            line.setProduct("products/" + ((i + j) % 77) + "-A");
+            line.setQuantity(j + 1);
+            line.setPricePerUnit(10.5 + j);
+            lines.add(line);
+        }
+        order.setLines(lines);
+
+        return order;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public String getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(String employee) {
+        this.employee = employee;
+    }
+
+    public Date getOrderedAt() {
+        return orderedAt;
+    }
+
+    public void setOrderedAt(Date orderedAt) {
+        this.orderedAt = orderedAt;
+    }
+
+    public double getFreight() {
+        return freight;
+    }
+
+    public void setFreight(double freight) {
+        this.freight = freight;
+    }
+
+    public Address getShipTo() {
+        return shipTo;
+    }
+
+    public void setShipTo(Address shipTo) {
+        this.shipTo = shipTo;
+    }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+    }
+
+    public static class Address {
+        private String city;
+        private String country;
+        private String zip;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getCountry() {
+            return country;
+        }
+
+        public void setCountry(String country) {
+            this.country = country;
+        }
+
+        public String getZip() {
+            return zip;
+        }
+
+        public void setZip(String zip) {
+            this.zip = zip;
+        }
+    }
+
+    public static class OrderLine {
+        private String product;
+        private int quantity;
+        private double pricePerUnit;
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPricePerUnit() {
+            return pricePerUnit;
+        }
+
+        public void setPricePerUnit(double pricePerUnit) {
+            this.pricePerUnit = pricePerUnit;
+        }
+    }
+}
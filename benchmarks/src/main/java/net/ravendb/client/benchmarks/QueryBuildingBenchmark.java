@@ -0,0 +1,80 @@
+package net.ravendb.client.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.AbstractDocumentQuery;
+import net.ravendb.client.documents.session.IDocumentQuery;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building RQL of a typical filtered, sorted and paged query, and hashing of the index query
+ * used as the key of cached query results. No requests are sent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBuildingBenchmark {
+
+    private DocumentStore store;
+    private IDocumentSession session;
+    private ObjectMapper mapper;
+    private IndexQuery indexQuery;
+    private Date since;
+
+    @Setup
+    public void setup() {
+        store = new DocumentStore("http://127.0.0.1:1", "benchmark");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+
+        session = store.openSession();
+        mapper = JsonExtensions.getDefaultMapper();
+        since = new Date(1_600_000_000_000L);
+        indexQuery = buildQuery().getIndexQuery();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        store.close();
+    }
+
+    @Benchmark
+    public IndexQuery buildRql() {
+        return buildQuery().getIndexQuery();
+    }
+
+    @Benchmark
+    public String queryHash() {
+        return indexQuery.getQueryHash(mapper);
+    }
+
+    private AbstractDocumentQuery<Order, ?> buildQuery() {
+        IDocumentQuery<Order> query = session.query(Order.class)
+                .whereEquals("company", "companies/1-A")
+                .andAlso()
+                .openSubclause()
+                .whereGreaterThan("freight", 10)
+                .orElse()
+                .whereIn("shipTo.country", Arrays.asList("Country 1", "Country 2"))
+                .closeSubclause()
+                .andAlso()
+                .whereGreaterThanOrEqual("orderedAt", since)
+                .include("employee")
+                .orderByDescending("orderedAt")
+                .skip(20)
+                .take(10);
+
+        return (AbstractDocumentQuery<Order, ?>) query;
+    }
+}
@@ -0,0 +1,160 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.commands.QueryCommand;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.operations.QueryOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares conversion of a no tracking query response into entities through json trees of all results
+ * with decoding results straight into entities. Run with -prof gc to compare allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryDecodingBenchmark {
+
+    @Param({"100", "10000"})
+    public int resultsCount;
+
+    private DocumentStore store;
+    private String response;
+
+    @Setup
+    public void setup() {
+        store = new DocumentStore("http://127.0.0.1:1", "benchmark");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+
+        StringBuilder sb = new StringBuilder("{\"TotalResults\":").append(resultsCount).append(",\"Results\":[");
+        for (int i = 0; i < resultsCount; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("{\"name\":\"Name ").append(i).append("\",\"email\":\"user").append(i).append("@example.com\",")
+                    .append("\"age\":").append(i % 90).append(",\"tags\":[\"a\",\"b\",\"c\"],")
+                    .append("\"address\":{\"city\":\"City ").append(i % 100).append("\",\"zip\":\"").append(10000 + i).append("\"},")
+                    .append("\"@metadata\":{\"@collection\":\"Users\",\"@change-vector\":\"A:").append(i).append("-abcdefghijklmnop\",")
+                    .append("\"@id\":\"users/").append(i).append("-A\",\"@last-modified\":\"2024-01-01T00:00:00.0000000Z\",")
+                    .append("\"Raven-Java-Type\":\"").append(User.class.getName()).append("\"}}");
+        }
+        sb.append("],\"Includes\":{},\"IndexName\":\"Auto/Users\",\"IsStale\":false}");
+        response = sb.toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public List<User> jsonTrees() throws IOException {
+        return query(null);
+    }
+
+    @Benchmark
+    public List<User> decoded() throws IOException {
+        return query(User.class);
+    }
+
+    private List<User> query(Class<User> decodeInto) throws IOException {
+        try (IDocumentSession session = store.openSession()) {
+            QueryOperation operation = new QueryOperation((InMemoryDocumentSessionOperations) session, "Auto/Users",
+                    new IndexQuery("from Users"), null, true, false, false, false);
+
+            QueryCommand command = operation.createRequest(decodeInto);
+            command.setResponse(response, false);
+            operation.setResult(command.getResult());
+
+            return operation.complete(User.class);
+        }
+    }
+
+    public static class User {
+        private String id;
+        private String name;
+        private String email;
+        private int age;
+        private List<String> tags;
+        private Address address;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+        private String city;
+        private String zip;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getZip() {
+            return zip;
+        }
+
+        public void setZip(String zip) {
+            this.zip = zip;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete round trips of a session - request creation, http exchange with an in-process stub cluster
+ * and conversion of the response to entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+    @Param({"128"})
+    public int pageSize;
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @Setup
+    public void setup() {
+        cluster = new StubCluster("benchmark", 1);
+
+        for (int i = 0; i < pageSize; i++) {
+            cluster.getDatabase().put("orders/" + i, Order.create(i));
+        }
+
+        store = new DocumentStore(cluster.getUrls(), "benchmark");
+        store.initialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Benchmark
+    public Order load() {
+        try (IDocumentSession session = store.openSession()) {
+            return session.load(Order.class, "orders/1");
+        }
+    }
+
+    @Benchmark
+    public List<Order> query() {
+        try (IDocumentSession session = store.openSession()) {
+            return session.query(Order.class).take(pageSize).toList();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.ravendb.client.benchmarks;
+
+import com.google.common.base.Equivalence;
+import net.ravendb.client.util.CaseInsensitiveLinkedHashMap;
+import net.ravendb.client.util.IdentityLinkedHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares session tracking maps with the structures they replaced:
+ * case insensitive TreeMap (documentsById, includedDocumentsById)
+ * and LinkedHashMap of Guava identity wrappers (documentsByEntity).
+ *
+ * Each invocation fills a map with all entities and then looks every one of them up,
+ * which is what load + saveChanges of a large session does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionMapsBenchmark {
+
+    private static final Equivalence<Object> IDENTITY = Equivalence.identity();
+
+    @Param({"1000", "100000"})
+    public int entitiesCount;
+
+    private String[] ids;
+    private String[] lookupIds;
+    private Object[] entities;
+
+    @Setup
+    public void setup() {
+        ids = new String[entitiesCount];
+        lookupIds = new String[entitiesCount];
+        entities = new Object[entitiesCount];
+
+        for (int i = 0; i < entitiesCount; i++) {
+            ids[i] = "users/" + i + "-A";
+            // loaded ids are usually a different instance (and sometimes a different case) than the tracked one
+            lookupIds[i] = i % 2 == 0 ? new String(ids[i]) : ids[i].toUpperCase();
+            entities[i] = new Object();
+        }
+    }
+
+    @Benchmark
+    public void caseInsensitiveTreeMap(Blackhole blackhole) {
+        Map<String, Object> map = new TreeMap<>(String::compareToIgnoreCase);
+        fillAndLookup(map, blackhole);
+    }
+
+    @Benchmark
+    public void caseInsensitiveLinkedHashMap(Blackhole blackhole) {
+        Map<String, Object> map = new CaseInsensitiveLinkedHashMap<>();
+        fillAndLookup(map, blackhole);
+    }
+
+    @Benchmark
+    public void equivalenceWrappedLinkedHashMap(Blackhole blackhole) {
+        Map<Equivalence.Wrapper<Object>, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < entitiesCount; i++) {
+            map.put(IDENTITY.wrap(entities[i]), ids[i]);
+        }
+
+        for (int i = 0; i < entitiesCount; i++) {
+            blackhole.consume(map.get(IDENTITY.wrap(entities[i])));
+        }
+    }
+
+    @Benchmark
+    public void identityLinkedHashMap(Blackhole blackhole) {
+        Map<Object, String> map = new IdentityLinkedHashMap<>();
+        for (int i = 0; i < entitiesCount; i++) {
+            map.put(entities[i], ids[i]);
+        }
+
+        for (int i = 0; i < entitiesCount; i++) {
+            blackhole.consume(map.get(entities[i]));
+        }
+    }
+
+    private void fillAndLookup(Map<String, Object> map, Blackhole blackhole) {
+        for (int i = 0; i < entitiesCount; i++) {
+            map.put(ids[i], entities[i]);
+        }
+
+        for (int i = 0; i < entitiesCount; i++) {
+            blackhole.consume(map.get(lookupIds[i]));
+        }
+    }
+}
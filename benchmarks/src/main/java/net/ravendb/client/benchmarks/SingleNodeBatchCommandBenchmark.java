@@ -0,0 +1,120 @@
+package net.ravendb.client.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.commands.batches.DeleteCommandData;
+import net.ravendb.client.documents.commands.batches.ICommandData;
+import net.ravendb.client.documents.commands.batches.PutCommandDataWithJson;
+import net.ravendb.client.documents.commands.batches.SingleNodeBatchCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.http.client.methods.HttpPost;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing a 10k commands batch for nodes with and without atomic writes support.
+ * treeRoundTrip reproduces the previous handling of nodes without atomic writes
+ * (serialize, parse into a tree, drop OriginalChangeVector, write again).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SingleNodeBatchCommandBenchmark {
+
+    @Param({"10000"})
+    public int commandsCount;
+
+    private List<ICommandData> commands;
+    private ServerNode atomicNode;
+    private ServerNode nonAtomicNode;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setup() {
+        mapper = JsonExtensions.getDefaultMapper();
+        commands = new ArrayList<>(commandsCount);
+
+        for (int i = 0; i < commandsCount; i++) {
+            String id = "users/" + i;
+            String changeVector = "A:" + i + "-ZzT6GeIVUkewYXBKQ6vJ9g";
+            if (i % 10 == 0) {
+                commands.add(new DeleteCommandData(id, null, changeVector));
+                continue;
+            }
+
+            ObjectNode document = mapper.createObjectNode();
+            document.put("Name", "User " + i);
+            document.put("Age", i % 90);
+            document.putObject("Address")
+                    .put("City", "Hadera")
+                    .put("Country", "Israel");
+            document.putObject("@metadata")
+                    .put("@collection", "Users")
+                    .put("Raven-Java-Type", "net.ravendb.client.benchmarks.User");
+            commands.add(new PutCommandDataWithJson(id, null, changeVector, document));
+        }
+
+        atomicNode = createNode(true);
+        nonAtomicNode = createNode(false);
+    }
+
+    private static ServerNode createNode(boolean supportsAtomicWrites) {
+        ServerNode node = new ServerNode();
+        node.setUrl("http://127.0.0.1:8080");
+        node.setDatabase("db1");
+        node.setSupportsAtomicClusterWrites(supportsAtomicWrites);
+        return node;
+    }
+
+    @Benchmark
+    public void atomicWritesNode() throws IOException {
+        writeRequest(atomicNode);
+    }
+
+    @Benchmark
+    public void nonAtomicWritesNode() throws IOException {
+        writeRequest(nonAtomicNode);
+    }
+
+    @Benchmark
+    public void treeRoundTrip() throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(NullOutputStream.INSTANCE)) {
+            generator.writeStartObject();
+            generator.writeFieldName("Commands");
+            generator.writeStartArray();
+
+            for (ICommandData command : commands) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                try (JsonGenerator itemGenerator = mapper.getFactory().createGenerator(baos)) {
+                    command.serialize(itemGenerator, DocumentConventions.defaultConventions);
+                }
+
+                ObjectNode itemNode = (ObjectNode) mapper.readTree(baos.toByteArray());
+                itemNode.remove("OriginalChangeVector");
+                generator.writeObject(itemNode);
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeRequest(ServerNode node) throws IOException {
+        SingleNodeBatchCommand command = new SingleNodeBatchCommand(DocumentConventions.defaultConventions, commands);
+        HttpPost request = (HttpPost) command.createRequest(node, new Reference<>());
+        request.getEntity().writeTo(NullOutputStream.INSTANCE);
+    }
+}
@@ -0,0 +1,88 @@
+package net.ravendb.client.benchmarks;
+
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares appending time series entries one by one with batch appends of primitive arrays.
+ * Each invocation is a complete bulk insert of the given number of entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSeriesBulkInsertBenchmark {
+
+    @Param({"100000"})
+    public int entries;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private StubCluster cluster;
+    private DocumentStore store;
+    private long[] timestamps;
+    private double[] values;
+
+    @Setup
+    public void setup() {
+        cluster = new StubCluster("benchmark", 1);
+
+        store = new DocumentStore(cluster.getUrls(), "benchmark");
+        store.initialize();
+
+        timestamps = new long[entries];
+        values = new double[entries];
+        for (int i = 0; i < entries; i++) {
+            timestamps[i] = 1_600_000_000_000L + i * 1000L;
+            values[i] = 20 + (i % 100) * 0.25;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Benchmark
+    public void appendOneByOne() throws Exception {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/1", "Temperature")) {
+                for (int i = 0; i < entries; i++) {
+                    timeSeries.append(new Date(timestamps[i]), values[i]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendBatches() throws Exception {
+        long[] batchTimestamps = new long[batchSize];
+        double[] batchValues = new double[batchSize];
+
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/1", "Temperature")) {
+                for (int start = 0; start < entries; start += batchSize) {
+                    int length = Math.min(batchSize, entries - start);
+                    if (length != batchSize) {
+                        batchTimestamps = new long[length];
+                        batchValues = new double[length];
+                    }
+
+                    System.arraycopy(timestamps, start, batchTimestamps, 0, length);
+                    System.arraycopy(values, start, batchValues, 0, length);
+
+                    timeSeries.append(batchTimestamps, batchValues);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.ravendb.client.documents.subscriptions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.benchmarks.Order;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
+import org.apache.commons.logging.LogFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of a batch received by a subscription worker into items with entities.
+ * Lives in the subscriptions package, as batch initialization is package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubscriptionBatchBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    private DocumentStore store;
+    private SubscriptionBatch<Order> batch;
+    private BatchFromServer batchFromServer;
+
+    @Setup
+    public void setup() {
+        store = new DocumentStore("http://127.0.0.1:1", "benchmark");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+
+        RequestExecutor requestExecutor = store.getRequestExecutor();
+        batch = new SubscriptionBatch<>(Order.class, false, requestExecutor, store, "benchmark",
+                LogFactory.getLog(SubscriptionBatchBenchmark.class));
+
+        ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+        List<SubscriptionConnectionServerMessage> messages = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            ObjectNode document = mapper.valueToTree(Order.create(i));
+            document.remove("id");
+
+            ObjectNode metadata = mapper.createObjectNode();
+            metadata.put(Constants.Documents.Metadata.ID, "orders/" + i);
+            metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, "A:" + (i + 1) + "-abc");
+            metadata.put(Constants.Documents.Metadata.COLLECTION, "Orders");
+            metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, Order.class.getName());
+            document.set(Constants.Documents.Metadata.KEY, metadata);
+
+            SubscriptionConnectionServerMessage message = new SubscriptionConnectionServerMessage();
+            message.setType(SubscriptionConnectionServerMessage.MessageType.DATA);
+            message.setData(document);
+            messages.add(message);
+        }
+
+        batchFromServer = new BatchFromServer();
+        batchFromServer.setMessages(messages);
+        batchFromServer.setIncludes(Collections.emptyList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public String initialize() {
+        return batch.initialize(batchFromServer);
+    }
+}
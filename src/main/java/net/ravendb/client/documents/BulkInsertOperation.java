@@ -5,7 +5,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import net.ravendb.client.Constants;
+import net.ravendb.client.documents.bulkInsert.BulkInsertFlushPolicy;
 import net.ravendb.client.documents.bulkInsert.BulkInsertOptions;
+import net.ravendb.client.documents.bulkInsert.BulkInsertWriteStatistics;
 import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
 import net.ravendb.client.documents.commands.KillOperationCommand;
 import net.ravendb.client.documents.commands.batches.CommandType;
@@ -26,6 +28,7 @@ import net.ravendb.client.http.RavenCommand;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.http.ServerNode;
 import net.ravendb.client.json.MetadataAsDictionary;
+import net.ravendb.client.metrics.IClientMetrics;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.primitives.Timer;
 import org.apache.commons.lang3.NotImplementedException;
@@ -41,12 +44,14 @@ import org.apache.http.impl.client.CloseableHttpClient;
 
 import java.io.*;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 public class BulkInsertOperation implements CleanCloseable {
 
@@ -194,22 +199,27 @@ public class BulkInsertOperation implements CleanCloseable {
     private final CountersBulkInsertOperation _countersOperation;
     private final AttachmentsBulkInsertOperation _attachmentsOperation;
     private long _operationId = -1;
+
+    private final IClientMetrics _metrics;
+    private long _storedDocuments;
+    private long _firstStoreNanos;
     private String _nodeTag;
 
     private boolean useCompression = false;
     private final int _timeSeriesBatchSize;
 
     private final AtomicInteger _concurrentCheck = new AtomicInteger();
-    private boolean _isInitialWrite = true;
 
     private CleanCloseable _unsubscribeChanges;
     private final List<EventHandler<BulkInsertOnProgressEventArgs>> _onProgress = new ArrayList<>();
     private boolean _onProgressInitialized = false;
 
     private final Timer _timer;
-    private Date _lastWriteToStream;
+    private final Timer _flushTimer;
+    private volatile long _lastWriteToStreamNanos;
     private final Semaphore _streamLock;
     private final Duration _heartbeatCheckInterval = Duration.ofSeconds(40);
+    private static final Duration MIN_FLUSH_CHECK_INTERVAL = Duration.ofMillis(10);
 
     public BulkInsertOperation(String database, DocumentStore store) {
         this(database, store, null);
@@ -219,6 +229,7 @@ public class BulkInsertOperation implements CleanCloseable {
         _executorService = store.getExecutorService();
         _conventions = store.getConventions();
         _store = store;
+        _metrics = store.getMetrics();
         if (StringUtils.isBlank(database)) {
             throwNoDatabase();
         }
@@ -232,8 +243,8 @@ public class BulkInsertOperation implements CleanCloseable {
 
         _currentWriterBacking = new ByteArrayOutputStream();
         _currentWriter = new OutputStreamWriter(_currentWriterBacking);
-        _backgroundWriterBacking = new ByteArrayOutputStream();
-        _backgroundWriter = new OutputStreamWriter(_backgroundWriterBacking);
+        _flushPolicy = new BulkInsertFlushPolicy(_conventions.bulkInsert());
+        _buffersCount = _conventions.bulkInsert().getBuffersCount();
         _streamExposerContent = new StreamExposerContent();
         _countersOperation = new CountersBulkInsertOperation(this);
         _attachmentsOperation = new AttachmentsBulkInsertOperation(this);
@@ -244,13 +255,28 @@ public class BulkInsertOperation implements CleanCloseable {
                 entity -> _requestExecutor.getConventions().generateDocumentId(database, entity));
 
         _streamLock = new Semaphore(1);
-        _lastWriteToStream = new Date();
+        _lastWriteToStreamNanos = System.nanoTime();
 
         TimerState timerState = new TimerState();
         timerState.parent = new WeakReference<>(this);
 
         _timer = new Timer(() -> this.handleHeartbeat(timerState), _heartbeatCheckInterval, _heartbeatCheckInterval, _executorService);
         timerState.timer = _timer;
+
+        Duration maxFlushLatency = _conventions.bulkInsert().getMaxFlushLatency();
+        if (maxFlushLatency.isZero()) {
+            // every write is flushed right away
+            _flushTimer = null;
+        } else {
+            // data buffered by the last store is sent even when nothing else is stored
+            Duration flushCheckInterval = ObjectUtils.max(maxFlushLatency.dividedBy(4), MIN_FLUSH_CHECK_INTERVAL);
+
+            TimerState flushTimerState = new TimerState();
+            flushTimerState.parent = new WeakReference<>(this);
+
+            _flushTimer = new Timer(() -> handleFlushCheck(flushTimerState), flushCheckInterval, flushCheckInterval, _executorService);
+            flushTimerState.timer = _flushTimer;
+        }
     }
 
     private static class TimerState {
@@ -268,8 +294,32 @@ public class BulkInsertOperation implements CleanCloseable {
         bulkInsert.sendHeartBeat();
     }
 
+    private static void handleFlushCheck(TimerState timerState) {
+        BulkInsertOperation bulkInsert = timerState.parent.get();
+        if (bulkInsert == null) {
+            timerState.timer.close();
+            return;
+        }
+
+        bulkInsert.flushIfLatencyExceeded();
+    }
+
+    private void flushIfLatencyExceeded() {
+        if (!_streamLock.tryAcquire()) {
+            return; // writer is active and checks the flush policy itself
+        }
+
+        try {
+            flushIfNeeded();
+        } catch (Exception e) {
+            // failed write stays in _asyncWrite and is reported by the next store or by close
+        } finally {
+            _streamLock.release();
+        }
+    }
+
     private void sendHeartBeat() {
-        if (new Date().getTime() - _lastWriteToStream.getTime() < _heartbeatCheckInterval.toMillis()) {
+        if (System.nanoTime() - _lastWriteToStreamNanos < _heartbeatCheckInterval.toNanos()) {
             return;
         }
 
@@ -296,8 +346,7 @@ public class BulkInsertOperation implements CleanCloseable {
             _inProgressCommand = CommandType.NONE;
             _currentWriter.write("{\"Type\":\"HeartBeat\"}");
 
-            flushIfNeeded();
-            _requestBodyStream.flush();
+            flushIfNeeded(true);
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
@@ -379,7 +428,14 @@ public class BulkInsertOperation implements CleanCloseable {
     }
 
     public void invokeOnProgress(BulkInsertProgress progress) {
-        EventHelper.invoke(_onProgress, this, new BulkInsertOnProgressEventArgs(progress));
+        EventHelper.invoke(_onProgress, this, new BulkInsertOnProgressEventArgs(progress, _flushPolicy.getStatistics()));
+    }
+
+    /**
+     * @return Statistics of data sent to the server so far
+     */
+    public BulkInsertWriteStatistics getWriteStatistics() {
+        return _flushPolicy.getStatistics();
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -411,29 +467,15 @@ public class BulkInsertOperation implements CleanCloseable {
 
             executeBeforeStore();
 
-            if (metadata == null) {
-                metadata = new MetadataAsDictionary();
-            }
+            metadata = prepareMetadata(entity, metadata);
 
-            if (!metadata.containsKey(Constants.Documents.Metadata.COLLECTION)) {
-                String collection = _requestExecutor.getConventions().getCollectionName(entity);
-                if (collection != null) {
-                    metadata.put(Constants.Documents.Metadata.COLLECTION, collection);
-                }
-            }
+            endPreviousCommandIfNeeded();
 
-            if (!metadata.containsKey(Constants.Documents.Metadata.RAVEN_JAVA_TYPE)) {
-                String javaType = _requestExecutor.getConventions().getJavaClassName(entity.getClass());
-                if (javaType != null) {
-                    metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, javaType);
-                }
+            if (_storedDocuments++ == 0) {
+                _firstStoreNanos = System.nanoTime();
             }
 
-            endPreviousCommandIfNeeded();
-
             writeToStream(entity, id, metadata, CommandType.PUT);
-        } finally {
-            _concurrentCheck.set(0);
         }
     }
 
@@ -446,28 +488,181 @@ public class BulkInsertOperation implements CleanCloseable {
             _first = false;
             _inProgressCommand = CommandType.NONE;
 
-            _currentWriter.write("{\"Id\":\"");
-            writeString(id);
-            _currentWriter.write("\",\"Type\":\"PUT\",\"Document\":");
+            writeDocument(_currentWriter, entity, id, metadata);
 
-            _currentWriter.flush();
+            flushIfNeeded();
+        } catch (Exception e) {
+            handleErrors(id, e);
+        }
+    }
+
+    /**
+     * Stores all entities. Documents are serialized in chunks on the store executor
+     * (see {@link DocumentConventions.BulkInsertConventions#setSerializationChunkSize(int)}),
+     * while already serialized chunks are written to the request stream in the original order.
+     * Ids are generated on the calling thread.
+     * @param entities entities to store
+     * @return Number of stored documents
+     */
+    public long storeAll(Iterator<?> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+
+        DocumentConventions.BulkInsertConventions bulkInsertConventions = _conventions.bulkInsert();
+        int chunkSize = bulkInsertConventions.getSerializationChunkSize();
+        int parallelism = bulkInsertConventions.getSerializationParallelism();
+
+        Deque<SerializedChunk> pending = new ArrayDeque<>();
+        long stored = 0;
+
+        try (CleanCloseable check = concurrencyCheck()) {
+            executeBeforeStore();
+
+            endPreviousCommandIfNeeded();
+
+            try {
+                while (entities.hasNext()) {
+                    List<Object> chunkEntities = new ArrayList<>(chunkSize);
+                    List<String> ids = new ArrayList<>(chunkSize);
+                    List<IMetadataDictionary> metadata = new ArrayList<>(chunkSize);
+
+                    while (entities.hasNext() && chunkEntities.size() < chunkSize) {
+                        Object entity = entities.next();
+                        String id = getId(entity);
+                        verifyValidId(id);
+
+                        chunkEntities.add(entity);
+                        ids.add(id);
+                        metadata.add(prepareMetadata(entity, null));
+                    }
+
+                    pending.add(new SerializedChunk(ids.get(0), chunkEntities.size(),
+                            CompletableFuture.supplyAsync(() -> serializeChunk(chunkEntities, ids, metadata), _executorService)));
+
+                    if (pending.size() >= parallelism) {
+                        stored += writeChunk(pending.poll());
+                    }
+                }
+
+                while (!pending.isEmpty()) {
+                    stored += writeChunk(pending.poll());
+                }
+            } finally {
+                for (SerializedChunk chunk : pending) {
+                    chunk.documents.cancel(true);
+                }
+            }
+        }
 
-            DocumentInfo documentInfo = new DocumentInfo();
-            documentInfo.setMetadataInstance(metadata);
-            ObjectNode json = EntityToJson.convertEntityToJson(entity, _conventions, documentInfo, true);
+        return stored;
+    }
+
+    /**
+     * Stores all entities, see {@link #storeAll(Iterator)}. Stream is not closed.
+     * @param entities entities to store
+     * @return Number of stored documents
+     */
+    public long storeAll(Stream<?> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+
+        return storeAll(entities.iterator());
+    }
+
+    private byte[] serializeChunk(List<Object> entities, List<String> ids, List<IMetadataDictionary> metadata) {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+
+        try (Writer writer = new OutputStreamWriter(chunk)) {
+            for (int i = 0; i < entities.size(); i++) {
+                if (i > 0) {
+                    writer.write(",");
+                }
+
+                writeDocument(writer, entities.get(i), ids.get(i), metadata.get(i));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return chunk.toByteArray();
+    }
+
+    private int writeChunk(SerializedChunk chunk) {
+        try {
+            byte[] documents;
+            try {
+                documents = chunk.documents.get();
+            } catch (ExecutionException e) {
+                throw ExceptionsUtils.unwrapException(e);
+            }
+
+            if (!_first) {
+                writeComma();
+            }
+
+            _first = false;
+            _inProgressCommand = CommandType.NONE;
 
-            try (JsonGenerator generator =
-                         objectMapper.getFactory().createGenerator(_currentWriter)) {
-                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            // chunk was encoded the same way as current writer does, so it can be appended to its backing stream
+            _currentWriter.flush();
+            _currentWriterBacking.write(documents);
 
-                generator.writeTree(json);
+            if (_storedDocuments == 0) {
+                _firstStoreNanos = System.nanoTime();
             }
+            _storedDocuments += chunk.size;
 
-            _currentWriter.write("}");
             flushIfNeeded();
         } catch (Exception e) {
-            handleErrors(id, e);
+            handleErrors(chunk.firstId, e);
         }
+
+        return chunk.size;
+    }
+
+    private void writeDocument(Writer writer, Object entity, String id, IMetadataDictionary metadata) throws IOException {
+        writer.write("{\"Id\":\"");
+        writeString(writer, id);
+        writer.write("\",\"Type\":\"PUT\",\"Document\":");
+
+        writer.flush();
+
+        DocumentInfo documentInfo = new DocumentInfo();
+        documentInfo.setMetadataInstance(metadata);
+        ObjectNode json = EntityToJson.convertEntityToJson(entity, _conventions, documentInfo, true);
+
+        try (JsonGenerator generator =
+                     objectMapper.getFactory().createGenerator(writer)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+            generator.writeTree(json);
+        }
+
+        writer.write("}");
+    }
+
+    private IMetadataDictionary prepareMetadata(Object entity, IMetadataDictionary metadata) {
+        if (metadata == null) {
+            metadata = new MetadataAsDictionary();
+        }
+
+        if (!metadata.containsKey(Constants.Documents.Metadata.COLLECTION)) {
+            String collection = _requestExecutor.getConventions().getCollectionName(entity);
+            if (collection != null) {
+                metadata.put(Constants.Documents.Metadata.COLLECTION, collection);
+            }
+        }
+
+        if (!metadata.containsKey(Constants.Documents.Metadata.RAVEN_JAVA_TYPE)) {
+            String javaType = _requestExecutor.getConventions().getJavaClassName(entity.getClass());
+            if (javaType != null) {
+                metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, javaType);
+            }
+        }
+
+        return metadata;
     }
 
     private void handleErrors(String documentId, Exception e) {
@@ -496,50 +691,71 @@ public class BulkInsertOperation implements CleanCloseable {
     }
 
     private void flushIfNeeded() throws IOException, ExecutionException, InterruptedException {
+        flushIfNeeded(false);
+    }
+
+    private void flushIfNeeded(boolean force) throws IOException, ExecutionException, InterruptedException {
         _currentWriter.flush();
 
-        if (_currentWriterBacking.size() > _maxSizeInBuffer || _asyncWrite.isDone()) {
+        int buffered = _currentWriterBacking.size();
+        if (buffered == 0 || !force && !_flushPolicy.shouldFlush(buffered)) {
+            return;
+        }
+
+        WriteBuffer filled = new WriteBuffer(_currentWriterBacking, _currentWriter);
+        WriteBuffer next = takeFreeBuffer();
 
-            _asyncWrite.get();
+        _currentWriterBacking = next.backing;
+        _currentWriter = next.writer;
+        _flushPolicy.onFlushed();
 
-            Writer tmp = _currentWriter;
-            _currentWriter = _backgroundWriter;
-            _backgroundWriter = tmp;
+        // writes are chained, so chunks reach the stream in order
+        _asyncWrite = _asyncWrite.thenRunAsync(() -> writeToRequestBodyStream(filled), _executorService);
+        _pendingWrites.add(new PendingWrite(filled, _asyncWrite));
+    }
 
-            ByteArrayOutputStream tmpBaos = _currentWriterBacking;
-            _currentWriterBacking = _backgroundWriterBacking;
-            _backgroundWriterBacking = tmpBaos;
+    private WriteBuffer takeFreeBuffer() throws ExecutionException, InterruptedException {
+        while (!_pendingWrites.isEmpty() && _pendingWrites.peek().write.isDone()) {
+            reclaim(_pendingWrites.poll());
+        }
 
-            _currentWriterBacking.reset();
+        if (_freeBuffers.isEmpty() && _allocatedBuffers < _buffersCount) {
+            _allocatedBuffers++;
 
-            final byte[] buffer = _backgroundWriterBacking.toByteArray();
-            _asyncWrite = writeToRequestBodyStream(buffer);
+            ByteArrayOutputStream backing = new ByteArrayOutputStream();
+            return new WriteBuffer(backing, new OutputStreamWriter(backing));
+        }
 
-            if (new Date().getTime() - _lastWriteToStream.getTime() < _heartbeatCheckInterval.toMillis()) {
-                _asyncWrite.get();
-                _requestBodyStream.flush();
-                _lastWriteToStream = new Date();
-            }
+        if (_freeBuffers.isEmpty()) {
+            // all buffers are being sent
+            long start = System.nanoTime();
+            reclaim(_pendingWrites.poll());
+            _flushPolicy.onStall(System.nanoTime() - start);
         }
+
+        return _freeBuffers.pop();
     }
 
-    private CompletableFuture<Void> writeToRequestBodyStream(byte[] buffer) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                _requestBodyStream.write(buffer);
+    private void reclaim(PendingWrite pendingWrite) throws ExecutionException, InterruptedException {
+        pendingWrite.write.get();
 
-                if (_isInitialWrite) {
-                    _isInitialWrite = false;
+        pendingWrite.buffer.backing.reset();
+        _freeBuffers.push(pendingWrite.buffer);
+    }
 
-                    // send this chunk
-                    _requestBodyStream.flush();
-                }
+    private void writeToRequestBodyStream(WriteBuffer buffer) {
+        try {
+            long start = System.nanoTime();
+            int size = buffer.backing.size();
 
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            return null;
-        }, _executorService);
+            buffer.backing.writeTo(_requestBodyStream);
+            _requestBodyStream.flush();
+
+            _lastWriteToStreamNanos = System.nanoTime();
+            _flushPolicy.onChunkWritten(size, _lastWriteToStreamNanos - start);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     private void endPreviousCommandIfNeeded() {
@@ -551,14 +767,18 @@ public class BulkInsertOperation implements CleanCloseable {
     }
 
     private void writeString(String input) throws IOException {
+        writeString(_currentWriter, input);
+    }
+
+    private static void writeString(Writer writer, String input) throws IOException {
         for (int i = 0; i < input.length(); i++) {
             char c = input.charAt(i);
             if ('"' == c) {
                 if (i == 0 || input.charAt(i - 1) != '\\') {
-                    _currentWriter.write("\\");
+                    writer.write("\\");
                 }
             }
-            _currentWriter.write(c);
+            writer.write(c);
         }
     }
 
@@ -612,11 +832,13 @@ public class BulkInsertOperation implements CleanCloseable {
     private OutputStream _requestBodyStream;
     private ByteArrayOutputStream _currentWriterBacking;
     private Writer _currentWriter;
-    private ByteArrayOutputStream _backgroundWriterBacking;
-    private Writer _backgroundWriter;
     private CompletableFuture<Void> _asyncWrite = CompletableFuture.completedFuture(null);
-    @SuppressWarnings("FieldCanBeLocal")
-    private final int _maxSizeInBuffer = 1024 * 1024;
+
+    private final BulkInsertFlushPolicy _flushPolicy;
+    private final int _buffersCount;
+    private int _allocatedBuffers = 1;
+    private final Deque<WriteBuffer> _freeBuffers = new ArrayDeque<>();
+    private final Deque<PendingWrite> _pendingWrites = new ArrayDeque<>();
 
     private void ensureStream() {
         try {
@@ -683,9 +905,10 @@ public class BulkInsertOperation implements CleanCloseable {
 
                         _asyncWrite.get();
 
-                        byte[] buffer = _currentWriterBacking.toByteArray();
-                        _requestBodyStream.write(buffer);
-                        _stream.flush();
+                        writeToRequestBodyStream(new WriteBuffer(_currentWriterBacking, _currentWriter));
+
+                        // data was sent, flush check which is already running must not send it again
+                        _currentWriterBacking.reset();
                     } finally {
                         _streamLock.release();
                     }
@@ -707,6 +930,10 @@ public class BulkInsertOperation implements CleanCloseable {
                 } catch (Exception e) {
                     throwBulkInsertAborted(e, flushEx);
                 }
+
+                if (_metrics != null) {
+                    _metrics.onBulkInsertCompleted(_database, _storedDocuments, _storedDocuments == 0 ? 0 : System.nanoTime() - _firstStoreNanos);
+                }
             }
 
             if (_unsubscribeChanges != null) {
@@ -716,6 +943,10 @@ public class BulkInsertOperation implements CleanCloseable {
             if (_timer != null) {
                 _timer.close();
             }
+
+            if (_flushTimer != null) {
+                _flushTimer.close();
+            }
         }
     }
 
@@ -902,12 +1133,17 @@ public class BulkInsertOperation implements CleanCloseable {
     }
 
     public static abstract class TimeSeriesBulkInsertBase implements Closeable {
+        private static final int BUFFER_SIZE = 16 * 1024;
+
         private final BulkInsertOperation _operation;
         private final String _id;
         private final String _name;
         private boolean _first = true;
         private int _timeSeriesInBatch = 0;
 
+        private char[] _buffer;
+        private int _bufferPosition;
+
         protected TimeSeriesBulkInsertBase(BulkInsertOperation operation, String id, String name) {
             operation.endPreviousCommandIfNeeded();
 
@@ -920,57 +1156,97 @@ public class BulkInsertOperation implements CleanCloseable {
 
         protected void appendInternal(Date timestamp, Collection<Double> values, String tag) {
             try (CleanCloseable check = _operation.concurrencyCheck()) {
-
-
                 try {
                     _operation.executeBeforeStore();
 
-                    if (_first) {
-                        if (!_operation._first) {
-                            _operation.writeComma();
+                    writeEntryPrefix();
+
+                    bufferEntryStart(timestamp.getTime(), values.size());
+
+                    boolean firstValue = true;
+
+                    for (Double value : values) {
+                        if (!firstValue) {
+                            bufferChar(',');
                         }
 
-                        writePrefixForNewCommand();
-                    } else if (_timeSeriesInBatch >= _operation._timeSeriesBatchSize) {
-                        _operation._currentWriter.write("]}},");
-                        writePrefixForNewCommand();
+                        firstValue = false;
+                        bufferValue(value);
                     }
 
-                    _timeSeriesInBatch++;
+                    bufferEntryEnd(tag);
 
-                    if (!_first) {
-                        _operation.writeComma();
-                    }
+                    flushBuffer();
+                    _operation.flushIfNeeded();
+                } catch (Exception e) {
+                    _operation.handleErrors(_id, e);
+                }
+            }
+        }
 
-                    _first = false;
+        /**
+         * Appends a batch of entries, values of entry i are values[i * valuesPerEntry] to values[(i + 1) * valuesPerEntry - 1].
+         * Concurrency check is done once per batch and entries are formatted into a reused buffer,
+         * which is passed to the bulk insert stream when full and at the end of the batch.
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values values of all entries
+         * @param valuesPerEntry number of values of each entry
+         * @param tags tags of entries or null if entries don't have tags, array can contain nulls
+         */
+        protected void appendInternal(long[] timestamps, double[] values, int valuesPerEntry, String[] tags) {
+            if (timestamps == null) {
+                throw new IllegalArgumentException("Timestamps cannot be null");
+            }
 
-                    _operation._currentWriter.write("[");
+            if (values == null) {
+                throw new IllegalArgumentException("Values cannot be null");
+            }
 
-                    _operation._currentWriter.write(String.valueOf(timestamp.getTime()));
-                    _operation.writeComma();
+            if (valuesPerEntry <= 0) {
+                throw new IllegalArgumentException("Values per entry must be positive");
+            }
 
-                    _operation._currentWriter.write(String.valueOf(values.size()));
-                    _operation.writeComma();
+            if ((long) timestamps.length * valuesPerEntry != values.length) {
+                throw new IllegalArgumentException("Expected " + ((long) timestamps.length * valuesPerEntry)
+                        + " values for " + timestamps.length + " timestamps, but got " + values.length);
+            }
 
-                    boolean firstValue = true;
+            if (tags != null && tags.length != timestamps.length) {
+                throw new IllegalArgumentException("Expected " + timestamps.length + " tags, but got " + tags.length);
+            }
 
-                    for (Double value : values) {
-                        if (!firstValue) {
-                            _operation.writeComma();
+            if (timestamps.length == 0) {
+                return;
+            }
+
+            try (CleanCloseable check = _operation.concurrencyCheck()) {
+                try {
+                    _operation.executeBeforeStore();
+
+                    int valueIndex = 0;
+
+                    for (int i = 0; i < timestamps.length; i++) {
+                        if (_first || _timeSeriesInBatch >= _operation._timeSeriesBatchSize) {
+                            flushBuffer();
+                            writeEntryPrefix();
+                        } else {
+                            _timeSeriesInBatch++;
+                            bufferChar(',');
                         }
 
-                        firstValue = false;
-                        _operation._currentWriter.write(String.valueOf(value));
-                    }
+                        bufferEntryStart(timestamps[i], valuesPerEntry);
 
-                    if (tag != null) {
-                        _operation._currentWriter.write(",\"");
-                        _operation.writeString(tag);
-                        _operation._currentWriter.write("\"");
-                    }
+                        for (int j = 0; j < valuesPerEntry; j++) {
+                            if (j > 0) {
+                                bufferChar(',');
+                            }
+                            bufferValue(values[valueIndex++]);
+                        }
 
-                    _operation._currentWriter.write("]");
+                        bufferEntryEnd(tags != null ? tags[i] : null);
+                    }
 
+                    flushBuffer();
                     _operation.flushIfNeeded();
                 } catch (Exception e) {
                     _operation.handleErrors(_id, e);
@@ -978,6 +1254,96 @@ public class BulkInsertOperation implements CleanCloseable {
             }
         }
 
+        private void writeEntryPrefix() throws IOException {
+            if (_first) {
+                if (!_operation._first) {
+                    _operation.writeComma();
+                }
+
+                _operation._first = false;
+
+                writePrefixForNewCommand();
+            } else if (_timeSeriesInBatch >= _operation._timeSeriesBatchSize) {
+                _operation._currentWriter.write("]}},");
+                writePrefixForNewCommand();
+            }
+
+            _timeSeriesInBatch++;
+
+            if (!_first) {
+                _operation.writeComma();
+            }
+
+            _first = false;
+        }
+
+        private void bufferEntryStart(long timestamp, int valuesCount) throws IOException, ExecutionException, InterruptedException {
+            ensureBufferCapacity(3 + 2 * NumberFormatter.MAX_FORMATTED_LENGTH);
+
+            char[] buffer = _buffer;
+            int pos = _bufferPosition;
+
+            buffer[pos++] = '[';
+            pos += NumberFormatter.format(timestamp, buffer, pos);
+            buffer[pos++] = ',';
+            pos += NumberFormatter.format(valuesCount, buffer, pos);
+            buffer[pos++] = ',';
+
+            _bufferPosition = pos;
+        }
+
+        private void bufferValue(double value) throws IOException, ExecutionException, InterruptedException {
+            ensureBufferCapacity(NumberFormatter.MAX_FORMATTED_LENGTH);
+
+            _bufferPosition += NumberFormatter.format(value, _buffer, _bufferPosition);
+        }
+
+        private void bufferEntryEnd(String tag) throws IOException, ExecutionException, InterruptedException {
+            if (tag != null) {
+                bufferChar(',');
+                bufferChar('"');
+
+                // same escaping as in writeString
+                for (int i = 0; i < tag.length(); i++) {
+                    char c = tag.charAt(i);
+                    if ('"' == c) {
+                        if (i == 0 || tag.charAt(i - 1) != '\\') {
+                            bufferChar('\\');
+                        }
+                    }
+                    bufferChar(c);
+                }
+
+                bufferChar('"');
+            }
+
+            bufferChar(']');
+        }
+
+        private void bufferChar(char c) throws IOException, ExecutionException, InterruptedException {
+            ensureBufferCapacity(1);
+
+            _buffer[_bufferPosition++] = c;
+        }
+
+        private void ensureBufferCapacity(int length) throws IOException, ExecutionException, InterruptedException {
+            if (_buffer == null) {
+                _buffer = new char[BUFFER_SIZE];
+            }
+
+            if (_bufferPosition + length > _buffer.length) {
+                flushBuffer();
+                _operation.flushIfNeeded();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (_bufferPosition > 0) {
+                _operation._currentWriter.write(_buffer, 0, _bufferPosition);
+                _bufferPosition = 0;
+            }
+        }
+
         private void writePrefixForNewCommand() throws IOException {
             _first = true;
             _timeSeriesInBatch = 0;
@@ -1031,6 +1397,36 @@ public class BulkInsertOperation implements CleanCloseable {
         public void append(Date timestamp, Collection<Double> values, String tag) {
             appendInternal(timestamp, values, tag);
         }
+
+        /**
+         * Appends a batch of entries with a single value each
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values value of each entry
+         */
+        public void append(long[] timestamps, double[] values) {
+            append(timestamps, values, 1, null);
+        }
+
+        /**
+         * Appends a batch of entries with the same number of values each
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values values of all entries, values of entry i start at i * valuesPerEntry
+         * @param valuesPerEntry number of values of each entry
+         */
+        public void append(long[] timestamps, double[] values, int valuesPerEntry) {
+            append(timestamps, values, valuesPerEntry, null);
+        }
+
+        /**
+         * Appends a batch of entries with the same number of values each
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values values of all entries, values of entry i start at i * valuesPerEntry
+         * @param valuesPerEntry number of values of each entry
+         * @param tags tags of entries (array can contain nulls) or null
+         */
+        public void append(long[] timestamps, double[] values, int valuesPerEntry, String[] tags) {
+            appendInternal(timestamps, values, valuesPerEntry, tags);
+        }
     }
 
     public static class TypedTimeSeriesBulkInsert<T> extends TimeSeriesBulkInsertBase {
@@ -1055,6 +1451,30 @@ public class BulkInsertOperation implements CleanCloseable {
         public void append(TypedTimeSeriesEntry<T> entry) {
             append(entry.getTimestamp(), entry.getValue(), entry.getTag());
         }
+
+        /**
+         * Appends a batch of entries given by values of their fields
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values values of all entries, in order of fields mapping (TimeSeriesValue index) of the class
+         */
+        public void append(long[] timestamps, double[] values) {
+            append(timestamps, values, null);
+        }
+
+        /**
+         * Appends a batch of entries given by values of their fields
+         * @param timestamps timestamps of entries (unix time in milliseconds)
+         * @param values values of all entries, in order of fields mapping (TimeSeriesValue index) of the class
+         * @param tags tags of entries (array can contain nulls) or null
+         */
+        public void append(long[] timestamps, double[] values, String[] tags) {
+            SortedMap<Byte, Tuple<Field, String>> mapping = TimeSeriesValuesHelper.getFieldsMapping(clazz);
+            if (mapping == null) {
+                throw new IllegalStateException("Class '" + clazz.getSimpleName() + "' doesn't have time series values mapping");
+            }
+
+            appendInternal(timestamps, values, mapping.size(), tags);
+        }
     }
 
     public static class AttachmentsBulkInsert {
@@ -1126,6 +1546,38 @@ public class BulkInsertOperation implements CleanCloseable {
         }
     }
 
+    private static class WriteBuffer {
+        private final ByteArrayOutputStream backing;
+        private final Writer writer;
+
+        public WriteBuffer(ByteArrayOutputStream backing, Writer writer) {
+            this.backing = backing;
+            this.writer = writer;
+        }
+    }
+
+    private static class PendingWrite {
+        private final WriteBuffer buffer;
+        private final CompletableFuture<Void> write;
+
+        public PendingWrite(WriteBuffer buffer, CompletableFuture<Void> write) {
+            this.buffer = buffer;
+            this.write = write;
+        }
+    }
+
+    private static class SerializedChunk {
+        private final String firstId;
+        private final int size;
+        private final CompletableFuture<byte[]> documents;
+
+        public SerializedChunk(String firstId, int size, CompletableFuture<byte[]> documents) {
+            this.firstId = firstId;
+            this.size = size;
+            this.documents = documents;
+        }
+    }
+
     private static class ReleaseStream implements CleanCloseable {
         private final BulkInsertOperation _bulkInsertOperation;
 
@@ -7,15 +7,21 @@ import net.ravendb.client.documents.changes.EvictItemsFromCacheBasedOnChanges;
 import net.ravendb.client.documents.changes.IDatabaseChanges;
 import net.ravendb.client.documents.identity.IHiLoIdGenerator;
 import net.ravendb.client.documents.identity.MultiDatabaseHiLoIdGenerator;
+import net.ravendb.client.documents.liveCollections.LiveCollection;
+import net.ravendb.client.documents.liveCollections.LiveCollectionOptions;
 import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
 import net.ravendb.client.documents.operations.OperationExecutor;
+import net.ravendb.client.documents.operations.counters.CounterAccumulator;
+import net.ravendb.client.documents.operations.counters.CounterAccumulatorOptions;
 import net.ravendb.client.documents.session.DocumentSession;
+import net.ravendb.client.documents.session.DocumentSnapshotCache;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.documents.session.SessionOptions;
 import net.ravendb.client.documents.smuggler.DatabaseSmuggler;
 import net.ravendb.client.http.AggressiveCacheMode;
 import net.ravendb.client.http.AggressiveCacheOptions;
 import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.http.SharedHttpCache;
 import net.ravendb.client.primitives.*;
 import org.apache.commons.lang3.ObjectUtils;
 
@@ -23,7 +29,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.function.Supplier;
 
@@ -38,6 +44,10 @@ public class DocumentStore extends DocumentStoreBase {
 
     private final ConcurrentMap<String, Lazy<EvictItemsFromCacheBasedOnChanges>> _aggressiveCacheChanges = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, Lazy<DocumentSnapshotCache>> _documentSnapshotCaches = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Set<LiveCollection<?>> _liveCollections = ConcurrentHashMap.newKeySet();
+
     private final ConcurrentMap<String, Lazy<RequestExecutor>> requestExecutors = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
 
     private MultiDatabaseHiLoIdGenerator _multiDbHiLo;
@@ -49,6 +59,8 @@ public class DocumentStore extends DocumentStoreBase {
 
     private String identifier;
 
+    private SharedHttpCache _sharedHttpCache;
+
     @Override
     public IHiLoIdGenerator getHiLoIdGenerator() {
         return _multiDbHiLo;
@@ -110,6 +122,19 @@ public class DocumentStore extends DocumentStoreBase {
             value.getValue().close();
         }
 
+        for (Lazy<DocumentSnapshotCache> value : _documentSnapshotCaches.values()) {
+            if (!value.isValueCreated()) {
+                continue;
+            }
+
+            value.getValue().close();
+        }
+
+        for (LiveCollection<?> liveCollection : _liveCollections) {
+            liveCollection.close();
+        }
+        _liveCollections.clear();
+
         for (IDatabaseChanges changes : _databaseChanges.values()) {
             try (CleanCloseable value = changes) {
                 // try will close all values
@@ -140,6 +165,10 @@ public class DocumentStore extends DocumentStoreBase {
             kvp.getValue().getValue().close();
         }
 
+        if (_sharedHttpCache != null) {
+            _sharedHttpCache.close();
+        }
+
         executorService.shutdown();
     }
 
@@ -170,13 +199,21 @@ public class DocumentStore extends DocumentStoreBase {
         assertInitialized();
         ensureNotClosed();
 
-        UUID sessionId = UUID.randomUUID();
-        DocumentSession session = new DocumentSession(this, sessionId, options);
+        // session id is generated on first access - UUID.randomUUID() is costly for short lived sessions
+        DocumentSession session = new DocumentSession(this, null, options);
         registerEvents(session);
         afterSessionCreated(session);
         return session;
     }
 
+    /**
+     * @return Http cache shared by all databases of this store, or null when conventions.httpCache() is not shared.
+     * Its statistics show cache usage of each database.
+     */
+    public SharedHttpCache getSharedHttpCache() {
+        return _sharedHttpCache;
+    }
+
     @Override
     public RequestExecutor getRequestExecutor() {
         return getRequestExecutor(null);
@@ -196,14 +233,14 @@ public class DocumentStore extends DocumentStoreBase {
         final String effectiveDatabase = database;
 
         Supplier<RequestExecutor> createRequestExecutor = () -> {
-            RequestExecutor requestExecutor = RequestExecutor.create(getUrls(), effectiveDatabase, getCertificate(), getCertificatePrivateKeyPassword(), getTrustStore(), executorService, getConventions());
+            RequestExecutor requestExecutor = RequestExecutor.create(getUrls(), effectiveDatabase, getCertificate(), getCertificatePrivateKeyPassword(), getTrustStore(), executorService, getConventions(), _sharedHttpCache);
             registerEvents(requestExecutor);
 
             return requestExecutor;
         };
 
         Supplier<RequestExecutor> createRequestExecutorForSingleNode = () -> {
-            RequestExecutor forSingleNode = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], effectiveDatabase, getCertificate(), getCertificatePrivateKeyPassword(), getTrustStore(), executorService, getConventions());
+            RequestExecutor forSingleNode = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], effectiveDatabase, getCertificate(), getCertificatePrivateKeyPassword(), getTrustStore(), executorService, getConventions(), _sharedHttpCache);
             registerEvents(forSingleNode);
 
             return forSingleNode;
@@ -259,6 +296,16 @@ public class DocumentStore extends DocumentStoreBase {
                 getConventions().setDocumentIdGenerator(generator::generateDocumentId);
             }
 
+            if (getConventions().isUseVirtualThreads() && VirtualThreads.isSupported()) {
+                // nothing was submitted to the default pool yet
+                executorService.shutdown();
+                executorService = VirtualThreads.newThreadPerTaskExecutor("RavenDB-Client-");
+            }
+
+            if (getConventions().httpCache().isShared()) {
+                _sharedHttpCache = new SharedHttpCache(getConventions().getMaxHttpCacheSize(), getConventions().httpCache().getMaxSizePerDatabase());
+            }
+
             getConventions().freeze();
             initialized = true;
         } catch (Exception e) {
@@ -389,6 +436,26 @@ public class DocumentStore extends DocumentStoreBase {
         return () -> re.aggressiveCaching.set(old);
     }
 
+    @Override
+    public DocumentSnapshotCache getDocumentSnapshotCache(String database) {
+        if (!getConventions().documentSnapshotCache().isEnabled()) {
+            return null;
+        }
+
+        assertInitialized();
+
+        database = getEffectiveDatabase(database);
+
+        Lazy<DocumentSnapshotCache> lazy = _documentSnapshotCaches.get(database);
+
+        if (lazy == null) {
+            final String effectiveDatabase = database;
+            lazy = _documentSnapshotCaches.computeIfAbsent(database, db -> new Lazy<>(() -> new DocumentSnapshotCache(this, effectiveDatabase)));
+        }
+
+        return lazy.getValue();
+    }
+
     private void listenToChangesAndUpdateTheCache(String database) {
         Lazy<EvictItemsFromCacheBasedOnChanges> lazy = _aggressiveCacheChanges.get(database);
 
@@ -474,4 +541,53 @@ public class DocumentStore extends DocumentStoreBase {
 
         return new BulkInsertOperation(getEffectiveDatabase(database), this, options);
     }
+
+    @Override
+    public CounterAccumulator counterAccumulator() {
+        return counterAccumulator(null, null);
+    }
+
+    @Override
+    public CounterAccumulator counterAccumulator(String database) {
+        return counterAccumulator(database, null);
+    }
+
+    @Override
+    public CounterAccumulator counterAccumulator(CounterAccumulatorOptions options) {
+        return counterAccumulator(null, options);
+    }
+
+    @Override
+    public CounterAccumulator counterAccumulator(String database, CounterAccumulatorOptions options) {
+        assertInitialized();
+
+        return new CounterAccumulator(getEffectiveDatabase(database), this, options);
+    }
+
+    /**
+     * Loads the whole collection and keeps it in sync using the Changes API. Live collection has to be closed.
+     * @param clazz entity class, determines the collection
+     * @param <T> entity type
+     * @return live collection
+     */
+    public <T> LiveCollection<T> liveCollection(Class<T> clazz) {
+        return liveCollection(clazz, null);
+    }
+
+    /**
+     * Loads the whole collection and keeps it in sync using the Changes API. Live collection has to be closed.
+     * @param clazz entity class
+     * @param options database, collection and secondary indexes
+     * @param <T> entity type
+     * @return live collection
+     */
+    public <T> LiveCollection<T> liveCollection(Class<T> clazz, LiveCollectionOptions<T> options) {
+        assertInitialized();
+
+        _liveCollections.removeIf(LiveCollection::isClosed);
+
+        LiveCollection<T> liveCollection = new LiveCollection<>(this, clazz, options);
+        _liveCollections.add(liveCollection);
+        return liveCollection;
+    }
 }
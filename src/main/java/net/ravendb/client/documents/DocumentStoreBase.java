@@ -16,6 +16,7 @@ import net.ravendb.client.documents.subscriptions.DocumentSubscriptions;
 import net.ravendb.client.documents.timeSeries.TimeSeriesOperations;
 import net.ravendb.client.http.AggressiveCacheMode;
 import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.metrics.IClientMetrics;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.EventHandler;
 import net.ravendb.client.primitives.EventHelper;
@@ -99,6 +100,12 @@ public abstract class DocumentStoreBase implements IDocumentStore {
 
     public abstract IHiLoIdGenerator getHiLoIdGenerator();
 
+    /**
+     * @param database database name
+     * @return Document snapshot cache of the database or null when conventions.documentSnapshotCache() is disabled
+     */
+    public abstract DocumentSnapshotCache getDocumentSnapshotCache(String database);
+
     public abstract String getIdentifier();
 
     public abstract void setIdentifier(String identifier);
@@ -163,6 +170,25 @@ public abstract class DocumentStoreBase implements IDocumentStore {
         this.conventions = conventions;
     }
 
+    private IClientMetrics metrics;
+
+    /**
+     * Gets the client metrics listener, or null if metrics are not collected.
+     * @return metrics listener
+     */
+    public IClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the client metrics listener. Listener is called synchronously on request path, so it should be cheap.
+     * @param metrics metrics listener (ex. InMemoryClientMetrics)
+     */
+    public void setMetrics(IClientMetrics metrics) {
+        assertNotInitialized("metrics");
+        this.metrics = metrics;
+    }
+
     protected String[] urls = new String[0];
 
     public String[] getUrls() {
@@ -496,6 +522,8 @@ public abstract class DocumentStoreBase implements IDocumentStore {
         for (EventHandler<SucceedRequestEventArgs> handler : onSucceedRequest) {
             requestExecutor.addOnSucceedRequestListener(handler);
         }
+
+        requestExecutor.setMetrics(metrics);
     }
 
     protected void afterSessionCreated(InMemoryDocumentSessionOperations session) {
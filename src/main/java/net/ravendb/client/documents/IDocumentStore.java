@@ -7,6 +7,8 @@ import net.ravendb.client.documents.identity.IHiLoIdGenerator;
 import net.ravendb.client.documents.indexes.IAbstractIndexCreationTask;
 import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
 import net.ravendb.client.documents.operations.OperationExecutor;
+import net.ravendb.client.documents.operations.counters.CounterAccumulator;
+import net.ravendb.client.documents.operations.counters.CounterAccumulatorOptions;
 import net.ravendb.client.documents.session.*;
 import net.ravendb.client.documents.smuggler.DatabaseSmuggler;
 import net.ravendb.client.documents.subscriptions.DocumentSubscriptions;
@@ -271,6 +273,18 @@ public interface IDocumentStore extends IDisposalNotification {
 
     BulkInsertOperation bulkInsert(BulkInsertOptions options);
 
+    /**
+     * Creates accumulator which sends counter increments in periodic batches. Accumulator has to be closed.
+     * @return counter accumulator
+     */
+    CounterAccumulator counterAccumulator();
+
+    CounterAccumulator counterAccumulator(String database);
+
+    CounterAccumulator counterAccumulator(String database, CounterAccumulatorOptions options);
+
+    CounterAccumulator counterAccumulator(CounterAccumulatorOptions options);
+
     DocumentSubscriptions subscriptions();
 
     String getDatabase();
@@ -1,9 +1,12 @@
 package net.ravendb.client.documents;
 
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 public class Lazy<T> {
     private final Supplier<T> valueFactory;
+    // value factories usually do network calls, monitor would pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
     private volatile boolean valueCreated = false;
     private T value;
 
@@ -19,11 +22,14 @@ public class Lazy<T> {
         if (valueCreated) {
             return value;
         }
-        synchronized (this) {
+        lock.lock();
+        try {
             if (!valueCreated) {
                 value = valueFactory.get();
                 valueCreated = true;
             }
+        } finally {
+            lock.unlock();
         }
 
         return value;
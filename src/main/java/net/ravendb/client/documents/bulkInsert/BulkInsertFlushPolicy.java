@@ -0,0 +1,115 @@
+package net.ravendb.client.documents.bulkInsert;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when data buffered by bulk insert is handed over to the network and collects write statistics.
+ *
+ * Buffer is sent once it reaches the chunk size or when its oldest data waits longer than max flush latency.
+ * With adaptive chunk size, the chunk size follows the measured throughput, so a chunk takes about max flush latency to send:
+ * fast networks get few large writes and slow networks get steady smaller ones.
+ *
+ * {@link #shouldFlush(int)} and {@link #onFlushed()} are called while holding the bulk insert stream lock (by the writing thread
+ * or by the periodic flush check), the other methods can be called from any thread.
+ */
+public class BulkInsertFlushPolicy {
+
+    // weight of the newest sample in throughput moving average
+    private static final double THROUGHPUT_SMOOTHING = 0.2;
+
+    private final int _minChunkSize;
+    private final int _maxChunkSize;
+    private final boolean _adaptive;
+    private final long _maxLatencyNanos;
+
+    private volatile int _chunkSize;
+    private long _firstBufferedNanos = -1;
+
+    private final AtomicLong _bytesWritten = new AtomicLong();
+    private final AtomicLong _chunksWritten = new AtomicLong();
+    private final AtomicLong _stallsCount = new AtomicLong();
+    private final AtomicLong _stallNanos = new AtomicLong();
+    private volatile double _throughput;
+
+    public BulkInsertFlushPolicy(DocumentConventions.BulkInsertConventions conventions) {
+        _minChunkSize = Math.min(conventions.getMinChunkSize(), conventions.getMaxChunkSize());
+        _maxChunkSize = conventions.getMaxChunkSize();
+        _adaptive = conventions.isAdaptiveChunkSize();
+        _maxLatencyNanos = conventions.getMaxFlushLatency().toNanos();
+
+        _chunkSize = _minChunkSize;
+    }
+
+    /**
+     * @param bufferedBytes number of bytes waiting in the buffer
+     * @return true if buffer should be sent now
+     */
+    public boolean shouldFlush(int bufferedBytes) {
+        if (bufferedBytes <= 0) {
+            return false;
+        }
+
+        if (bufferedBytes >= _chunkSize) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        if (_firstBufferedNanos < 0) {
+            _firstBufferedNanos = now;
+            return _maxLatencyNanos == 0;
+        }
+
+        return now - _firstBufferedNanos >= _maxLatencyNanos;
+    }
+
+    /**
+     * Buffer was handed over to the network, so the next one starts empty.
+     */
+    public void onFlushed() {
+        _firstBufferedNanos = -1;
+    }
+
+    public void onChunkWritten(int bytes, long durationNanos) {
+        _bytesWritten.addAndGet(bytes);
+        _chunksWritten.incrementAndGet();
+
+        if (bytes == 0) {
+            return;
+        }
+
+        double sample = bytes * 1_000_000_000.0 / Math.max(durationNanos, 1);
+        double throughput = _throughput == 0 ? sample : (1 - THROUGHPUT_SMOOTHING) * _throughput + THROUGHPUT_SMOOTHING * sample;
+        _throughput = throughput;
+
+        if (_adaptive) {
+            double target = throughput * _maxLatencyNanos / 1_000_000_000.0;
+            _chunkSize = (int) Math.max(_minChunkSize, Math.min(_maxChunkSize, target));
+        }
+    }
+
+    /**
+     * @param durationNanos time spent waiting for a free buffer
+     */
+    public void onStall(long durationNanos) {
+        _stallsCount.incrementAndGet();
+        _stallNanos.addAndGet(durationNanos);
+    }
+
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+
+    public BulkInsertWriteStatistics getStatistics() {
+        BulkInsertWriteStatistics statistics = new BulkInsertWriteStatistics();
+        statistics.setBytesWritten(_bytesWritten.get());
+        statistics.setChunksWritten(_chunksWritten.get());
+        statistics.setThroughput(_throughput);
+        statistics.setChunkSize(_chunkSize);
+        statistics.setStallsCount(_stallsCount.get());
+        statistics.setStallTime(Duration.ofNanos(_stallNanos.get()));
+        return statistics;
+    }
+}
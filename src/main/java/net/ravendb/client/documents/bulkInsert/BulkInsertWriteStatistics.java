@@ -0,0 +1,85 @@
+package net.ravendb.client.documents.bulkInsert;
+
+import java.time.Duration;
+
+/**
+ * Client side statistics of data sent by bulk insert
+ */
+public class BulkInsertWriteStatistics {
+    private long bytesWritten;
+    private long chunksWritten;
+    private double throughput;
+    private int chunkSize;
+    private long stallsCount;
+    private Duration stallTime;
+
+    /**
+     * @return Number of bytes sent to the server
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * @return Number of chunks sent to the server
+     */
+    public long getChunksWritten() {
+        return chunksWritten;
+    }
+
+    public void setChunksWritten(long chunksWritten) {
+        this.chunksWritten = chunksWritten;
+    }
+
+    public long getAverageChunkSize() {
+        return chunksWritten == 0 ? 0 : bytesWritten / chunksWritten;
+    }
+
+    /**
+     * @return Recent network throughput in bytes per second, 0 when nothing was sent yet
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    /**
+     * @return Current size (in bytes) of buffered data which is sent without waiting for more
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return How many times writing had to wait, because all buffers were being sent
+     */
+    public long getStallsCount() {
+        return stallsCount;
+    }
+
+    public void setStallsCount(long stallsCount) {
+        this.stallsCount = stallsCount;
+    }
+
+    /**
+     * @return Total time writing waited for a free buffer
+     */
+    public Duration getStallTime() {
+        return stallTime;
+    }
+
+    public void setStallTime(Duration stallTime) {
+        this.stallTime = stallTime;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import net.ravendb.client.documents.queries.IndexQuery;
 import net.ravendb.client.documents.queries.QueryResult;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.operations.QueryResultDecoder;
 import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.http.RavenCommand;
 import net.ravendb.client.http.ServerNode;
@@ -21,8 +22,14 @@ public class QueryCommand extends RavenCommand<QueryResult> {
     private final IndexQuery _indexQuery;
     private final boolean _metadataOnly;
     private final boolean _indexEntriesOnly;
+    private final QueryResultDecoder<?> _resultDecoder;
 
     public QueryCommand(InMemoryDocumentSessionOperations session, IndexQuery indexQuery, boolean metadataOnly, boolean indexEntriesOnly) {
+        this(session, indexQuery, metadataOnly, indexEntriesOnly, null);
+    }
+
+    public QueryCommand(InMemoryDocumentSessionOperations session, IndexQuery indexQuery, boolean metadataOnly, boolean indexEntriesOnly,
+                        QueryResultDecoder<?> resultDecoder) {
         super(QueryResult.class);
 
         _session = session;
@@ -34,6 +41,7 @@ public class QueryCommand extends RavenCommand<QueryResult> {
         _indexQuery = indexQuery;
         _metadataOnly = metadataOnly;
         _indexEntriesOnly = indexEntriesOnly;
+        _resultDecoder = resultDecoder;
     }
 
     @Override
@@ -80,7 +88,10 @@ public class QueryCommand extends RavenCommand<QueryResult> {
             return;
         }
 
-        result = mapper.readValue(response, QueryResult.class);
+        result = _resultDecoder != null
+                ? _resultDecoder.decode(mapper, response)
+                : mapper.readValue(response, QueryResult.class);
+
         if (fromCache) {
             result.setDurationInMs(-1);
 
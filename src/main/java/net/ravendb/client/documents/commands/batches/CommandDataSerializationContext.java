@@ -0,0 +1,58 @@
+package net.ravendb.client.documents.commands.batches;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+/**
+ * Describes the shape of the command JSON expected by the node the batch is sent to,
+ * so commands can emit only the supported fields in a single pass.
+ */
+public class CommandDataSerializationContext {
+
+    public static final CommandDataSerializationContext DEFAULT = new CommandDataSerializationContext(true);
+
+    public static final CommandDataSerializationContext WITHOUT_ATOMIC_WRITES = new CommandDataSerializationContext(false);
+
+    private static final String ORIGINAL_CHANGE_VECTOR = "OriginalChangeVector";
+
+    private final boolean _supportsAtomicWrites;
+
+    private CommandDataSerializationContext(boolean supportsAtomicWrites) {
+        _supportsAtomicWrites = supportsAtomicWrites;
+    }
+
+    public static CommandDataSerializationContext forNode(boolean supportsAtomicWrites) {
+        return supportsAtomicWrites ? DEFAULT : WITHOUT_ATOMIC_WRITES;
+    }
+
+    /**
+     * @return true if node understands cluster-wide atomic writes fields (ex. OriginalChangeVector)
+     */
+    public boolean isSupportsAtomicWrites() {
+        return _supportsAtomicWrites;
+    }
+
+    /**
+     * Wraps generator with a filter removing top-level command fields which are not supported by the node.
+     * Used for commands which don't handle the context on their own.
+     * @param generator Generator to wrap
+     * @return filtering generator or the given generator when nothing has to be filtered
+     */
+    public JsonGenerator filter(JsonGenerator generator) {
+        if (_supportsAtomicWrites) {
+            return generator;
+        }
+
+        return new FilteringGeneratorDelegate(generator, UnsupportedFieldsFilter.INSTANCE, TokenFilter.Inclusion.INCLUDE_NON_NULL, true);
+    }
+
+    private static class UnsupportedFieldsFilter extends TokenFilter {
+        private static final UnsupportedFieldsFilter INSTANCE = new UnsupportedFieldsFilter();
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return ORIGINAL_CHANGE_VECTOR.equals(name) ? null : TokenFilter.INCLUDE_ALL;
+        }
+    }
+}
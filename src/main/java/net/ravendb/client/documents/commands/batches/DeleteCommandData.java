@@ -64,6 +64,11 @@ public class DeleteCommandData implements ICommandData {
 
     @Override
     public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
+        serialize(generator, conventions, CommandDataSerializationContext.DEFAULT);
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, DocumentConventions conventions, CommandDataSerializationContext context) throws IOException {
         generator.writeStartObject();
 
         generator.writeStringField("Id", id);
@@ -71,7 +76,7 @@ public class DeleteCommandData implements ICommandData {
         generator.writeObjectField("Type", "DELETE");
         generator.writeObjectField("Document", document);
 
-        if (originalChangeVector != null) {
+        if (originalChangeVector != null && context.isSupportsAtomicWrites()) {
             generator.writeStringField("OriginalChangeVector", originalChangeVector);
         }
 
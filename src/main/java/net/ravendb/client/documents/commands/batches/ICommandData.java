@@ -17,5 +17,18 @@ public interface ICommandData {
 
     void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException;
 
+    /**
+     * Serializes command in the shape supported by the target node.
+     * Commands which emit node dependent fields should override this method, by default
+     * unsupported fields are filtered out of the command output.
+     * @param generator Generator to use
+     * @param conventions Conventions
+     * @param context Serialization context of the target node
+     * @throws IOException if unable to write
+     */
+    default void serialize(JsonGenerator generator, DocumentConventions conventions, CommandDataSerializationContext context) throws IOException {
+        serialize(context.filter(generator), conventions);
+    }
+
     void onBeforeSaveChanges(InMemoryDocumentSessionOperations session);
 }
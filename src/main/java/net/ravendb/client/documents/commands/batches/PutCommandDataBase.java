@@ -69,10 +69,15 @@ public class PutCommandDataBase<T extends JsonNode> implements ICommandData {
 
     @Override
     public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
+        serialize(generator, conventions, CommandDataSerializationContext.DEFAULT);
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, DocumentConventions conventions, CommandDataSerializationContext context) throws IOException {
         generator.writeStartObject();
         generator.writeStringField("Id", id);
         generator.writeStringField("ChangeVector", changeVector);
-        if (originalChangeVector != null) {
+        if (originalChangeVector != null && context.isSupportsAtomicWrites()) {
             generator.writeStringField("OriginalChangeVector", originalChangeVector);
         }
 
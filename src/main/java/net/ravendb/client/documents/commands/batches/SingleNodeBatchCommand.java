@@ -1,18 +1,16 @@
 package net.ravendb.client.documents.commands.batches;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.session.TransactionMode;
-import net.ravendb.client.exceptions.RavenException;
 import net.ravendb.client.http.RavenCommand;
 import net.ravendb.client.http.ServerNode;
 import net.ravendb.client.json.BatchCommandResult;
+import net.ravendb.client.json.ContentProviderBody;
 import net.ravendb.client.json.ContentProviderHttpEntity;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
 import net.ravendb.client.util.TimeUtils;
-import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
@@ -22,9 +20,9 @@ import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.InputStreamBody;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,6 +30,7 @@ import java.util.Set;
 public class SingleNodeBatchCommand extends RavenCommand<BatchCommandResult> implements CleanCloseable {
     private Boolean _supportsAtomicWrites;
     private Set<InputStream> _attachmentStreams;
+    private volatile boolean _attachmentStreamsConsumed;
     private final DocumentConventions _conventions;
     private final List<ICommandData> _commands;
     private final BatchOptions _options;
@@ -75,6 +74,10 @@ public class SingleNodeBatchCommand extends RavenCommand<BatchCommandResult> imp
                 if (!_attachmentStreams.add(stream)) {
                     PutAttachmentCommandHelper.throwStreamWasAlreadyUsed();
                 }
+
+                if (stream instanceof ByteArrayInputStream) {
+                    stream.mark(0);
+                }
             }
         }
     }
@@ -83,59 +86,16 @@ public class SingleNodeBatchCommand extends RavenCommand<BatchCommandResult> imp
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         HttpPost request = new HttpPost();
 
-        request.setEntity(new ContentProviderHttpEntity(outputStream -> {
-            try (JsonGenerator generator = createSafeJsonGenerator(outputStream)) {
-                if (_supportsAtomicWrites == null) {
-                    _supportsAtomicWrites = node.isSupportsAtomicClusterWrites();
-                }
-
-                generator.writeStartObject();
-                generator.writeFieldName("Commands");
-                generator.writeStartArray();
-
-                if (_supportsAtomicWrites) {
-                    for (ICommandData command : _commands) {
-                        command.serialize(generator, _conventions);
-                    }
-                } else {
-                    for (ICommandData command : _commands) {
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                        try (JsonGenerator itemGenerator = createSafeJsonGenerator(baos)) {
-                            command.serialize(itemGenerator, _conventions);
-                        }
-
-                        ObjectNode itemNode = (ObjectNode) mapper.readTree(baos.toByteArray());
-                        itemNode.remove("OriginalChangeVector");
-                        generator.writeObject(itemNode);
-                    }
-                }
-
-                generator.writeEndArray();
-
-                if (_mode == TransactionMode.CLUSTER_WIDE) {
-                    generator.writeStringField("TransactionMode", "ClusterWide");
-                }
-
-                generator.writeEndObject();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        }, ContentType.APPLICATION_JSON));
-
-
         if (_attachmentStreams != null && _attachmentStreams.size() > 0) {
-            MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create();
+            prepareAttachmentStreams();
 
-            HttpEntity entity = request.getEntity();
+            // commands JSON is written straight to the request stream, followed by attachment streams
+            MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create();
 
-            try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                entity.writeTo(baos);
-
-                entityBuilder.addBinaryBody("main", new ByteArrayInputStream(baos.toByteArray()));
-            } catch (IOException e) {
-                throw new RavenException("Unable to serialize BatchCommand", e);
-            }
+            entityBuilder.addPart("main", new ContentProviderBody(outputStream -> {
+                writeCommands(outputStream, node);
+                _attachmentStreamsConsumed = true;
+            }, ContentType.DEFAULT_BINARY));
 
             int nameCounter = 1;
 
@@ -147,6 +107,8 @@ public class SingleNodeBatchCommand extends RavenCommand<BatchCommandResult> imp
                 entityBuilder.addPart(part);
             }
             request.setEntity(entityBuilder.build());
+        } else {
+            request.setEntity(new ContentProviderHttpEntity(outputStream -> writeCommands(outputStream, node), ContentType.APPLICATION_JSON));
         }
 
         StringBuilder sb = new StringBuilder(node.getUrl() + "/databases/" + node.getDatabase() + "/bulk_docs?");
@@ -156,6 +118,58 @@ public class SingleNodeBatchCommand extends RavenCommand<BatchCommandResult> imp
         return request;
     }
 
+    private void writeCommands(OutputStream outputStream, ServerNode node) {
+        try (JsonGenerator generator = createSafeJsonGenerator(outputStream)) {
+            if (_supportsAtomicWrites == null) {
+                _supportsAtomicWrites = node.isSupportsAtomicClusterWrites();
+            }
+
+            generator.writeStartObject();
+            generator.writeFieldName("Commands");
+            generator.writeStartArray();
+
+            CommandDataSerializationContext context = CommandDataSerializationContext.forNode(_supportsAtomicWrites);
+            for (ICommandData command : _commands) {
+                command.serialize(generator, _conventions, context);
+            }
+
+            generator.writeEndArray();
+
+            if (_mode == TransactionMode.CLUSTER_WIDE) {
+                generator.writeStringField("TransactionMode", "ClusterWide");
+            }
+
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Attachment streams are sent directly from the user provided streams, so they can be sent only once.
+     * When the request is recreated (ex. failover to another node) after the streams were already (partially) sent,
+     * we rewind streams which support it for free (ByteArrayInputStream) and refuse to retry otherwise,
+     * instead of sending truncated attachments.
+     */
+    private void prepareAttachmentStreams() {
+        if (!_attachmentStreamsConsumed) {
+            return;
+        }
+
+        for (InputStream stream : _attachmentStreams) {
+            if (!(stream instanceof ByteArrayInputStream)) {
+                throw new IllegalStateException("Unable to retry the batch command, because attachment streams were already sent to the server " +
+                        "and they cannot be rewound. Failed nodes: " + getFailedNodes());
+            }
+        }
+
+        for (InputStream stream : _attachmentStreams) {
+            ((ByteArrayInputStream) stream).reset();
+        }
+
+        _attachmentStreamsConsumed = false;
+    }
+
     @Override
     public void setResponse(String response, boolean fromCache) throws IOException {
         if (response == null) {
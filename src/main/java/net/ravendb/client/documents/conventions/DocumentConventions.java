@@ -21,6 +21,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.time.Duration;
@@ -30,6 +31,19 @@ import java.util.function.Function;
 
 public class DocumentConventions {
 
+    // declared before default conventions, which are created in static initializer
+    private static final BiFunction<String, ObjectNode, String> DEFAULT_FIND_JAVA_CLASS = (String id, ObjectNode doc) -> {
+        JsonNode metadata = doc.get(Constants.Documents.Metadata.KEY);
+        if (metadata != null) {
+            TextNode javaType = (TextNode) metadata.get(Constants.Documents.Metadata.RAVEN_JAVA_TYPE);
+            if (javaType != null) {
+                return javaType.asText();
+            }
+        }
+
+        return null;
+    };
+
     public static final DocumentConventions defaultConventions = new DocumentConventions();
     public static final DocumentConventions defaultForServerConventions = new DocumentConventions();
 
@@ -51,6 +65,7 @@ public class DocumentConventions {
     private boolean _saveEnumsAsIntegers;
     private char _identityPartsSeparator;
     private boolean _disableTopologyUpdates;
+    private boolean _useVirtualThreads;
 
     private Boolean _disableAtomicDocumentWritesInClusterWideTransaction;
     private boolean _disableTcpCompression = true;
@@ -91,6 +106,16 @@ public class DocumentConventions {
 
     private final AggressiveCacheConventions _aggressiveCache;
 
+    private final HedgingConventions _hedging;
+
+    private final ConcurrencyLimitConventions _concurrencyLimit;
+
+    private final TopologyConventions _topology;
+
+    private final HttpCacheConventions _httpCache;
+
+    private final DocumentSnapshotCacheConventions _documentSnapshotCache;
+
     public AggressiveCacheConventions aggressiveCache() {
         return _aggressiveCache;
     }
@@ -128,10 +153,24 @@ public class DocumentConventions {
     public static class BulkInsertConventions {
         private final DocumentConventions _conventions;
         private int _timeSeriesBatchSize;
+        private int _serializationParallelism;
+        private int _serializationChunkSize;
+        private int _minChunkSize;
+        private int _maxChunkSize;
+        private boolean _adaptiveChunkSize;
+        private Duration _maxFlushLatency;
+        private int _buffersCount;
 
         public BulkInsertConventions(DocumentConventions conventions) {
             _conventions = conventions;
             _timeSeriesBatchSize = 1024;
+            _serializationParallelism = Runtime.getRuntime().availableProcessors();
+            _serializationChunkSize = 256;
+            _minChunkSize = 64 * 1024;
+            _maxChunkSize = 1024 * 1024;
+            _adaptiveChunkSize = true;
+            _maxFlushLatency = Duration.ofMillis(100);
+            _buffersCount = 3;
         }
 
         public int getTimeSeriesBatchSize() {
@@ -147,6 +186,511 @@ public class DocumentConventions {
             _timeSeriesBatchSize = batchSize;
         }
 
+        /**
+         * @return Number of chunks serialized concurrently by BulkInsertOperation.storeAll
+         */
+        public int getSerializationParallelism() {
+            return _serializationParallelism;
+        }
+
+        /**
+         * @param serializationParallelism Number of chunks serialized concurrently by BulkInsertOperation.storeAll
+         */
+        public void setSerializationParallelism(int serializationParallelism) {
+            _conventions.assertNotFrozen();
+
+            if (serializationParallelism <= 0) {
+                throw new IllegalArgumentException("SerializationParallelism must be positive");
+            }
+            _serializationParallelism = serializationParallelism;
+        }
+
+        /**
+         * @return Number of documents serialized together by BulkInsertOperation.storeAll
+         */
+        public int getSerializationChunkSize() {
+            return _serializationChunkSize;
+        }
+
+        /**
+         * @param serializationChunkSize Number of documents serialized together by BulkInsertOperation.storeAll
+         */
+        public void setSerializationChunkSize(int serializationChunkSize) {
+            _conventions.assertNotFrozen();
+
+            if (serializationChunkSize <= 0) {
+                throw new IllegalArgumentException("SerializationChunkSize must be positive");
+            }
+            _serializationChunkSize = serializationChunkSize;
+        }
+
+        /**
+         * @return Size of buffered data (in bytes) which is sent to the server without waiting for more. Default: 64 KB
+         */
+        public int getMinChunkSize() {
+            return _minChunkSize;
+        }
+
+        /**
+         * @param minChunkSize Size of buffered data (in bytes) which is sent to the server without waiting for more. Default: 64 KB
+         */
+        public void setMinChunkSize(int minChunkSize) {
+            _conventions.assertNotFrozen();
+
+            if (minChunkSize <= 0) {
+                throw new IllegalArgumentException("MinChunkSize must be positive");
+            }
+            _minChunkSize = minChunkSize;
+        }
+
+        /**
+         * @return Upper bound of the chunk size (in bytes) when the chunk size is adaptive. Default: 1 MB
+         */
+        public int getMaxChunkSize() {
+            return _maxChunkSize;
+        }
+
+        /**
+         * @param maxChunkSize Upper bound of the chunk size (in bytes) when the chunk size is adaptive. Default: 1 MB
+         */
+        public void setMaxChunkSize(int maxChunkSize) {
+            _conventions.assertNotFrozen();
+
+            if (maxChunkSize <= 0) {
+                throw new IllegalArgumentException("MaxChunkSize must be positive");
+            }
+            _maxChunkSize = maxChunkSize;
+        }
+
+        /**
+         * @return Whether chunk size is tuned between min and max chunk size, so a chunk can be written within max flush latency
+         * at the measured throughput. Default: true
+         */
+        public boolean isAdaptiveChunkSize() {
+            return _adaptiveChunkSize;
+        }
+
+        /**
+         * @param adaptiveChunkSize Whether chunk size is tuned between min and max chunk size, so a chunk can be written within
+         *                          max flush latency at the measured throughput. Default: true
+         */
+        public void setAdaptiveChunkSize(boolean adaptiveChunkSize) {
+            _conventions.assertNotFrozen();
+            _adaptiveChunkSize = adaptiveChunkSize;
+        }
+
+        /**
+         * @return Maximum time buffered data waits for the chunk to fill up, checked on every write and periodically in the background
+         * (every quarter of the latency, at least every 10 ms). Default: 100 ms
+         */
+        public Duration getMaxFlushLatency() {
+            return _maxFlushLatency;
+        }
+
+        /**
+         * @param maxFlushLatency Maximum time buffered data waits for the chunk to fill up, checked on every write and periodically in the background
+         * (every quarter of the latency, at least every 10 ms). Default: 100 ms
+         */
+        public void setMaxFlushLatency(Duration maxFlushLatency) {
+            _conventions.assertNotFrozen();
+
+            if (maxFlushLatency == null || maxFlushLatency.isNegative()) {
+                throw new IllegalArgumentException("MaxFlushLatency cannot be null or negative");
+            }
+            _maxFlushLatency = maxFlushLatency;
+        }
+
+        /**
+         * @return Number of buffers used by bulk insert, one is filled while others are being sent. Default: 3
+         */
+        public int getBuffersCount() {
+            return _buffersCount;
+        }
+
+        /**
+         * @param buffersCount Number of buffers used by bulk insert, one is filled while others are being sent. Default: 3
+         */
+        public void setBuffersCount(int buffersCount) {
+            _conventions.assertNotFrozen();
+
+            if (buffersCount < 2) {
+                throw new IllegalArgumentException("BuffersCount must be at least 2");
+            }
+            _buffersCount = buffersCount;
+        }
+
+        void copyFrom(BulkInsertConventions other) {
+            _timeSeriesBatchSize = other._timeSeriesBatchSize;
+            _serializationParallelism = other._serializationParallelism;
+            _serializationChunkSize = other._serializationChunkSize;
+            _minChunkSize = other._minChunkSize;
+            _maxChunkSize = other._maxChunkSize;
+            _adaptiveChunkSize = other._adaptiveChunkSize;
+            _maxFlushLatency = other._maxFlushLatency;
+            _buffersCount = other._buffersCount;
+        }
+    }
+
+    public HedgingConventions hedging() {
+        return _hedging;
+    }
+
+    /**
+     * Hedged reads: when the node chosen for a read request doesn't answer within a delay,
+     * the same request is sent to another node and the first response is used.
+     */
+    public static class HedgingConventions {
+        private final DocumentConventions _conventions;
+        private boolean _enabled;
+        private Duration _delay;
+        private double _maxHedgedRequestsPercentage;
+
+        public HedgingConventions(DocumentConventions conventions) {
+            _conventions = conventions;
+            _maxHedgedRequestsPercentage = 5;
+        }
+
+        public boolean isEnabled() {
+            return _enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            _conventions.assertNotFrozen();
+            _enabled = enabled;
+        }
+
+        /**
+         * @return Delay after which hedged request is sent. When null, observed 95th percentile of read latency is used.
+         */
+        public Duration getDelay() {
+            return _delay;
+        }
+
+        /**
+         * @param delay Delay after which hedged request is sent. When null, observed 95th percentile of read latency is used.
+         */
+        public void setDelay(Duration delay) {
+            _conventions.assertNotFrozen();
+
+            if (delay != null && (delay.isNegative() || delay.isZero())) {
+                throw new IllegalArgumentException("Delay must be positive");
+            }
+            _delay = delay;
+        }
+
+        /**
+         * @return Maximum percentage of read requests which can be hedged.
+         */
+        public double getMaxHedgedRequestsPercentage() {
+            return _maxHedgedRequestsPercentage;
+        }
+
+        /**
+         * @param percentage Maximum percentage of read requests which can be hedged.
+         */
+        public void setMaxHedgedRequestsPercentage(double percentage) {
+            _conventions.assertNotFrozen();
+
+            if (percentage <= 0 || percentage > 100) {
+                throw new IllegalArgumentException("Percentage must be greater than 0 and less or equal to 100");
+            }
+            _maxHedgedRequestsPercentage = percentage;
+        }
+
+        void copyFrom(HedgingConventions other) {
+            _enabled = other._enabled;
+            _delay = other._delay;
+            _maxHedgedRequestsPercentage = other._maxHedgedRequestsPercentage;
+        }
+    }
+
+    public ConcurrencyLimitConventions concurrencyLimit() {
+        return _concurrencyLimit;
+    }
+
+    /**
+     * Client side adaptive limit of concurrent requests per node with circuit breaker.
+     * Requests above the limit fail over to another node or fail fast, instead of queueing for a connection.
+     */
+    public static class ConcurrencyLimitConventions {
+        private final DocumentConventions _conventions;
+        private boolean _enabled;
+        private int _initialLimit;
+        private int _maxLimit;
+        private int _failureThreshold;
+
+        public ConcurrencyLimitConventions(DocumentConventions conventions) {
+            _conventions = conventions;
+            _initialLimit = 10;
+            _maxLimit = 30;
+            _failureThreshold = 5;
+        }
+
+        public boolean isEnabled() {
+            return _enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            _conventions.assertNotFrozen();
+            _enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return _initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            _conventions.assertNotFrozen();
+
+            if (initialLimit <= 0) {
+                throw new IllegalArgumentException("InitialLimit must be positive");
+            }
+            _initialLimit = initialLimit;
+        }
+
+        /**
+         * @return Maximum number of concurrent requests to a single node. Default matches max connections per route.
+         */
+        public int getMaxLimit() {
+            return _maxLimit;
+        }
+
+        /**
+         * @param maxLimit Maximum number of concurrent requests to a single node. Default matches max connections per route.
+         */
+        public void setMaxLimit(int maxLimit) {
+            _conventions.assertNotFrozen();
+
+            if (maxLimit <= 0) {
+                throw new IllegalArgumentException("MaxLimit must be positive");
+            }
+            _maxLimit = maxLimit;
+        }
+
+        /**
+         * @return Number of consecutive failed requests which opens the circuit breaker of the node.
+         */
+        public int getFailureThreshold() {
+            return _failureThreshold;
+        }
+
+        /**
+         * @param failureThreshold Number of consecutive failed requests which opens the circuit breaker of the node.
+         */
+        public void setFailureThreshold(int failureThreshold) {
+            _conventions.assertNotFrozen();
+
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("FailureThreshold must be positive");
+            }
+            _failureThreshold = failureThreshold;
+        }
+
+        void copyFrom(ConcurrencyLimitConventions other) {
+            _enabled = other._enabled;
+            _initialLimit = other._initialLimit;
+            _maxLimit = other._maxLimit;
+            _failureThreshold = other._failureThreshold;
+        }
+    }
+
+    public TopologyConventions topology() {
+        return _topology;
+    }
+
+    /**
+     * First topology update and local cache of the topology, which is used when none of the nodes is reachable.
+     */
+    public static class TopologyConventions {
+        private final DocumentConventions _conventions;
+        private File _cacheLocation;
+        private Duration _firstUpdateStaggerDelay;
+
+        public TopologyConventions(DocumentConventions conventions) {
+            _conventions = conventions;
+            _firstUpdateStaggerDelay = Duration.ofMillis(100);
+        }
+
+        /**
+         * @return Directory where fetched topologies are stored, so the client can start when none of the nodes is reachable.
+         * When null (default), topology isn't cached.
+         */
+        public File getCacheLocation() {
+            return _cacheLocation;
+        }
+
+        /**
+         * @param cacheLocation Directory where fetched topologies are stored, so the client can start when none of the nodes
+         *                      is reachable. When null (default), topology isn't cached.
+         */
+        public void setCacheLocation(File cacheLocation) {
+            _conventions.assertNotFrozen();
+            _cacheLocation = cacheLocation;
+        }
+
+        /**
+         * @return Delay after which first topology update asks the next url, when the previous ones didn't answer yet.
+         * Failed url doesn't wait for the delay. Zero asks all urls at once.
+         */
+        public Duration getFirstUpdateStaggerDelay() {
+            return _firstUpdateStaggerDelay;
+        }
+
+        /**
+         * @param delay Delay after which first topology update asks the next url, when the previous ones didn't answer yet.
+         *              Failed url doesn't wait for the delay. Zero asks all urls at once.
+         */
+        public void setFirstUpdateStaggerDelay(Duration delay) {
+            _conventions.assertNotFrozen();
+
+            if (delay == null || delay.isNegative()) {
+                throw new IllegalArgumentException("Delay must be non negative");
+            }
+            _firstUpdateStaggerDelay = delay;
+        }
+
+        void copyFrom(TopologyConventions other) {
+            _cacheLocation = other._cacheLocation;
+            _firstUpdateStaggerDelay = other._firstUpdateStaggerDelay;
+        }
+    }
+
+    public HttpCacheConventions httpCache() {
+        return _httpCache;
+    }
+
+    /**
+     * Sharing of http cache between request executors of all databases of a store.
+     */
+    public static class HttpCacheConventions {
+        private final DocumentConventions _conventions;
+        private boolean _shared;
+        private long _maxSizePerDatabase;
+
+        public HttpCacheConventions(DocumentConventions conventions) {
+            _conventions = conventions;
+        }
+
+        /**
+         * @return If true, request executors of all databases share one cache bounded by MaxHttpCacheSize, instead of
+         * having a cache of MaxHttpCacheSize each. When the cache is full, the largest database is evicted first.
+         */
+        public boolean isShared() {
+            return _shared;
+        }
+
+        /**
+         * @param shared If true, request executors of all databases share one cache bounded by MaxHttpCacheSize, instead
+         *               of having a cache of MaxHttpCacheSize each. When the cache is full, the largest database is evicted first.
+         */
+        public void setShared(boolean shared) {
+            _conventions.assertNotFrozen();
+            _shared = shared;
+        }
+
+        /**
+         * @return Size of a single database in shared cache. Zero (default) means databases are limited only by MaxHttpCacheSize.
+         */
+        public long getMaxSizePerDatabase() {
+            return _maxSizePerDatabase;
+        }
+
+        /**
+         * @param maxSizePerDatabase Size of a single database in shared cache. Zero (default) means databases are limited
+         *                           only by MaxHttpCacheSize.
+         */
+        public void setMaxSizePerDatabase(long maxSizePerDatabase) {
+            _conventions.assertNotFrozen();
+
+            if (maxSizePerDatabase < 0) {
+                throw new IllegalArgumentException("MaxSizePerDatabase must be non negative");
+            }
+            _maxSizePerDatabase = maxSizePerDatabase;
+        }
+
+        void copyFrom(HttpCacheConventions other) {
+            _shared = other._shared;
+            _maxSizePerDatabase = other._maxSizePerDatabase;
+        }
+    }
+
+    public DocumentSnapshotCacheConventions documentSnapshotCache() {
+        return _documentSnapshotCache;
+    }
+
+    /**
+     * Store-wide cache of loaded documents, shared by sessions and kept up to date by the Changes API.
+     */
+    public static class DocumentSnapshotCacheConventions {
+        private final DocumentConventions _conventions;
+        private boolean _enabled;
+        private int _maxDocuments;
+        private List<String> _collections;
+
+        public DocumentSnapshotCacheConventions(DocumentConventions conventions) {
+            _conventions = conventions;
+            _maxDocuments = 10_000;
+        }
+
+        /**
+         * @return If true, documents loaded by sessions are cached and next sessions load them without a request,
+         * until the Changes API reports they were modified. Loads with includes and cluster wide sessions always go
+         * to the server.
+         */
+        public boolean isEnabled() {
+            return _enabled;
+        }
+
+        /**
+         * @param enabled If true, documents loaded by sessions are cached and next sessions load them without a request,
+         *                until the Changes API reports they were modified. Loads with includes and cluster wide sessions
+         *                always go to the server.
+         */
+        public void setEnabled(boolean enabled) {
+            _conventions.assertNotFrozen();
+            _enabled = enabled;
+        }
+
+        /**
+         * @return Number of cached documents per database, least recently used documents are evicted first
+         */
+        public int getMaxDocuments() {
+            return _maxDocuments;
+        }
+
+        /**
+         * @param maxDocuments Number of cached documents per database, least recently used documents are evicted first
+         */
+        public void setMaxDocuments(int maxDocuments) {
+            _conventions.assertNotFrozen();
+
+            if (maxDocuments <= 0) {
+                throw new IllegalArgumentException("MaxDocuments must be positive");
+            }
+            _maxDocuments = maxDocuments;
+        }
+
+        /**
+         * @return Collections which are cached (ex. rarely modified reference data), null (default) means all collections
+         */
+        public List<String> getCollections() {
+            return _collections;
+        }
+
+        /**
+         * @param collections Collections which are cached (ex. rarely modified reference data), null (default) means
+         *                    all collections. Only changes of these collections are watched.
+         */
+        public void setCollections(List<String> collections) {
+            _conventions.assertNotFrozen();
+            _collections = collections;
+        }
+
+        void copyFrom(DocumentSnapshotCacheConventions other) {
+            _enabled = other._enabled;
+            _maxDocuments = other._maxDocuments;
+            _collections = other._collections != null ? new ArrayList<>(other._collections) : null;
+        }
     }
 
     public DocumentConventions() {
@@ -154,17 +698,7 @@ public class DocumentConventions {
         _findIdentityProperty = q -> q.getName().equals("id");
         _identityPartsSeparator = '/';
         _findIdentityPropertyNameFromCollectionName = entityName -> "Id";
-        _findJavaClass = (String id, ObjectNode doc) -> {
-            JsonNode metadata = doc.get(Constants.Documents.Metadata.KEY);
-            if (metadata != null) {
-                TextNode javaType = (TextNode) metadata.get(Constants.Documents.Metadata.RAVEN_JAVA_TYPE);
-                if (javaType != null) {
-                    return javaType.asText();
-                }
-            }
-
-            return null;
-        };
+        _findJavaClass = DEFAULT_FIND_JAVA_CLASS;
         _findJavaClassName = type -> ReflectionUtil.getFullNameWithoutVersionInformation(type);
         _findJavaClassByName = name -> {
             try {
@@ -184,6 +718,11 @@ public class DocumentConventions {
         _entityMapper = JsonExtensions.getDefaultEntityMapper();
 
         _aggressiveCache = new AggressiveCacheConventions(this);
+        _hedging = new HedgingConventions(this);
+        _concurrencyLimit = new ConcurrencyLimitConventions(this);
+        _topology = new TopologyConventions(this);
+        _httpCache = new HttpCacheConventions(this);
+        _documentSnapshotCache = new DocumentSnapshotCacheConventions(this);
         _firstBroadcastAttemptTimeout = Duration.ofSeconds(5);
         _secondBroadcastAttemptTimeout = Duration.ofSeconds(30);
 
@@ -459,6 +998,13 @@ public class DocumentConventions {
         return _findJavaClass;
     }
 
+    /**
+     * @return true if java class of a document is read from its metadata (Raven-Java-Type) - the default behaviour
+     */
+    public boolean isDefaultFindJavaClass() {
+        return _findJavaClass == DEFAULT_FIND_JAVA_CLASS;
+    }
+
     public void setFindJavaClass(BiFunction<String, ObjectNode, String> _findJavaClass) {
         assertNotFrozen();
         this._findJavaClass = _findJavaClass;
@@ -553,6 +1099,23 @@ public class DocumentConventions {
         _disableTopologyUpdates = disableTopologyUpdates;
     }
 
+    /**
+     * @return If true, document store runs its background work and request timeouts on virtual threads.
+     * Has no effect when runtime doesn't support virtual threads (before Java 21).
+     */
+    public boolean isUseVirtualThreads() {
+        return _useVirtualThreads;
+    }
+
+    /**
+     * @param useVirtualThreads If true, document store runs its background work and request timeouts on virtual threads.
+     * Has no effect when runtime doesn't support virtual threads (before Java 21).
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        assertNotFrozen();
+        _useVirtualThreads = useVirtualThreads;
+    }
+
     public char getIdentityPartsSeparator() {
         return _identityPartsSeparator;
     }
@@ -767,6 +1330,7 @@ public class DocumentConventions {
         cloned._saveEnumsAsIntegers = _saveEnumsAsIntegers;
         cloned._identityPartsSeparator = _identityPartsSeparator;
         cloned._disableTopologyUpdates = _disableTopologyUpdates;
+        cloned._useVirtualThreads = _useVirtualThreads;
         cloned._findIdentityProperty = _findIdentityProperty;
         cloned._transformClassCollectionNameToDocumentIdPrefix = _transformClassCollectionNameToDocumentIdPrefix;
         cloned._documentIdGenerator = _documentIdGenerator;
@@ -784,6 +1348,12 @@ public class DocumentConventions {
         cloned._maxHttpCacheSize = _maxHttpCacheSize;
         cloned._entityMapper = _entityMapper;
         cloned._useCompression = _useCompression;
+        cloned._bulkInsert.copyFrom(_bulkInsert);
+        cloned._hedging.copyFrom(_hedging);
+        cloned._concurrencyLimit.copyFrom(_concurrencyLimit);
+        cloned._topology.copyFrom(_topology);
+        cloned._httpCache.copyFrom(_httpCache);
+        cloned._documentSnapshotCache.copyFrom(_documentSnapshotCache);
         return cloned;
     }
 
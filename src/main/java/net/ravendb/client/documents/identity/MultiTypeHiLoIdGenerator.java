@@ -9,13 +9,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  *  Generate a hilo ID for each given type
  */
 public class MultiTypeHiLoIdGenerator {
 
-    private final Object _generatorLock = new Object();
+    private final ReentrantLock _generatorLock = new ReentrantLock();
     private final ConcurrentMap<String, HiLoIdGenerator> _idGeneratorsByTag = new ConcurrentHashMap<>();
     protected final DocumentStore store;
     protected final String dbName;
@@ -43,29 +44,14 @@ public class MultiTypeHiLoIdGenerator {
 
         String tag = conventions.getTransformClassCollectionNameToDocumentIdPrefix().apply(typeTagName);
 
-        HiLoIdGenerator value = _idGeneratorsByTag.get(tag);
-        if (value != null) {
-            return value.generateDocumentId(entity);
-        }
-
-        synchronized (_generatorLock) {
-            value = _idGeneratorsByTag.get(tag);
-
-            if (value != null) {
-                return value.generateDocumentId(entity);
-            }
-
-            value = createGeneratorFor(tag);
-            _idGeneratorsByTag.put(tag, value);
-        }
-
-        return value.generateDocumentId(entity);
+        return getOrCreateGenerator(tag).generateDocumentId(entity);
     }
 
     private void maybeRefresh(char identityPartsSeparator) {
         List<HiLoIdGenerator> idGenerators = null;
 
-        synchronized (_generatorLock) {
+        _generatorLock.lock();
+        try {
             if (_identityPartsSeparator == identityPartsSeparator) {
                 return;
             }
@@ -74,6 +60,8 @@ public class MultiTypeHiLoIdGenerator {
 
             _idGeneratorsByTag.clear();
             _identityPartsSeparator = identityPartsSeparator;
+        } finally {
+            _generatorLock.unlock();
         }
 
         if (idGenerators != null) {
@@ -86,22 +74,29 @@ public class MultiTypeHiLoIdGenerator {
     }
 
     public long generateNextIdFor(String collectionName) {
-        HiLoIdGenerator value = _idGeneratorsByTag.get(collectionName);
+        return getOrCreateGenerator(collectionName).getNextId().getId();
+    }
+
+    private HiLoIdGenerator getOrCreateGenerator(String tag) {
+        HiLoIdGenerator value = _idGeneratorsByTag.get(tag);
         if (value != null) {
-            return value.getNextId().getId();
+            return value;
         }
 
-        synchronized (_generatorLock) {
-            value = _idGeneratorsByTag.get(collectionName);
-            if (value != null) {
-                return value.getNextId().getId();
+        // lock covers creation only, generators ask the server for ranges after it is released.
+        // It isn't a monitor, so virtual threads waiting for a (possibly overridden, slow) creation don't pin
+        _generatorLock.lock();
+        try {
+            value = _idGeneratorsByTag.get(tag);
+            if (value == null) {
+                value = createGeneratorFor(tag);
+                _idGeneratorsByTag.put(tag, value);
             }
 
-            value = createGeneratorFor(collectionName);
-            _idGeneratorsByTag.put(collectionName, value);
+            return value;
+        } finally {
+            _generatorLock.unlock();
         }
-
-        return value.getNextId().getId();
     }
 
     protected HiLoIdGenerator createGeneratorFor(String tag) {
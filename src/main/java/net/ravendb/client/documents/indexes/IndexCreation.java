@@ -1,17 +1,52 @@
 package net.ravendb.client.documents.indexes;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.DocumentStoreBase;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
+import net.ravendb.client.documents.operations.indexes.GetIndexesOperation;
 import net.ravendb.client.documents.operations.indexes.PutIndexesOperation;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.primitives.ExceptionsUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import java.util.Collection;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 public class IndexCreation {
     private static final Log logger = LogFactory.getLog(IndexCreation.class);
 
+    private static final int GET_INDEXES_PAGE_SIZE = 1024;
+
+    // assigned or derived by the server, not part of the definition sent by the client
+    private static final Set<String> NON_CANONICAL_FIELDS = new HashSet<>(Arrays.asList(
+            "Etag", "ClusterState", "Type", "SourceType"));
+
+    // values the server fills in when the client doesn't set them, not set and default are the same
+    private static final Map<String, String> DEFAULT_VALUES = new HashMap<>();
+
+    static {
+        DEFAULT_VALUES.put("Priority", IndexPriority.NORMAL.toString());
+        DEFAULT_VALUES.put("State", IndexState.NORMAL.toString());
+        DEFAULT_VALUES.put("Indexing", FieldIndexing.DEFAULT.toString());
+        DEFAULT_VALUES.put("Storage", FieldStorage.NO.toString());
+        DEFAULT_VALUES.put("TermVector", FieldTermVector.NO.toString());
+        DEFAULT_VALUES.put("Suggestions", "false");
+    }
+
     public static void createIndexes(Collection<? extends IAbstractIndexCreationTask> indexes, IDocumentStore store) {
         createIndexes(indexes, store, null);
     }
@@ -34,6 +69,292 @@ public class IndexCreation {
         }
     }
 
+    /**
+     * Deploys only indexes which are new or whose definition differs from the one on the server.
+     * Current definitions are fetched once and compared using canonical hashes.
+     * @param indexes indexes to deploy
+     * @param store document store
+     * @return Which indexes were created, updated or skipped
+     */
+    public static IndexDeploymentResult deployIndexes(Collection<? extends IAbstractIndexCreationTask> indexes, IDocumentStore store) {
+        return deployIndexes(indexes, store, null, (String) null);
+    }
+
+    /**
+     * Deploys only indexes which are new or whose definition differs from the one on the server.
+     * Current definitions are fetched once and compared using canonical hashes.
+     * @param indexes indexes to deploy
+     * @param store document store
+     * @param conventions conventions used to create index definitions, store conventions are used when null
+     * @param database target database, store database is used when null
+     * @return Which indexes were created, updated or skipped
+     */
+    public static IndexDeploymentResult deployIndexes(Collection<? extends IAbstractIndexCreationTask> indexes, IDocumentStore store,
+                                                      DocumentConventions conventions, String database) {
+        conventions = ObjectUtils.firstNonNull(conventions, store.getConventions());
+
+        IndexDefinition[] definitions = createIndexesToAdd(indexes, conventions);
+        IndexDefinition[] requestedSettings = getRequestedSettings(indexes, definitions);
+
+        return deployIndexes(definitions, requestedSettings, computeCanonicalHashes(definitions, requestedSettings),
+                store, DocumentStoreBase.getEffectiveDatabase(store, database));
+    }
+
+    /**
+     * Deploys only new or changed indexes to each of the databases, databases are processed in parallel.
+     * @param indexes indexes to deploy
+     * @param store document store
+     * @param conventions conventions used to create index definitions, store conventions are used when null
+     * @param databases target databases
+     * @return Deployment result for each database
+     */
+    public static Map<String, IndexDeploymentResult> deployIndexes(Collection<? extends IAbstractIndexCreationTask> indexes, IDocumentStore store,
+                                                                   DocumentConventions conventions, Collection<String> databases) {
+        if (databases == null) {
+            throw new IllegalArgumentException("Databases cannot be null");
+        }
+
+        // definitions are created once, index creation tasks aren't thread safe
+        IndexDefinition[] definitions = createIndexesToAdd(indexes, ObjectUtils.firstNonNull(conventions, store.getConventions()));
+        IndexDefinition[] requestedSettings = getRequestedSettings(indexes, definitions);
+        String[] localHashes = computeCanonicalHashes(definitions, requestedSettings);
+
+        Executor executor = store instanceof DocumentStore ? ((DocumentStore) store).getExecutorService() : ForkJoinPool.commonPool();
+
+        Map<String, CompletableFuture<IndexDeploymentResult>> deployments = new LinkedHashMap<>();
+        for (String database : databases) {
+            deployments.put(database, CompletableFuture.supplyAsync(
+                    () -> deployIndexes(definitions, requestedSettings, localHashes, store, database), executor));
+        }
+
+        Map<String, IndexDeploymentResult> results = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        RuntimeException failure = null;
+
+        for (Map.Entry<String, CompletableFuture<IndexDeploymentResult>> deployment : deployments.entrySet()) {
+            try {
+                results.put(deployment.getKey(), deployment.getValue().get());
+            } catch (InterruptedException | ExecutionException e) {
+                if (failure == null) {
+                    failure = ExceptionsUtils.unwrapException(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return results;
+    }
+
+    private static IndexDeploymentResult deployIndexes(IndexDefinition[] definitions, IndexDefinition[] requestedSettings, String[] localHashes,
+                                                       IDocumentStore store, String database) {
+        MaintenanceOperationExecutor maintenance = store.maintenance().forDatabase(database);
+
+        IndexDeploymentResult result = new IndexDeploymentResult();
+        result.setDatabase(database);
+
+        Map<String, IndexDefinition> existingDefinitions = getExistingDefinitions(maintenance, database);
+
+        List<IndexDefinition> changedDefinitions = new ArrayList<>();
+
+        for (int i = 0; i < definitions.length; i++) {
+            IndexDefinition definition = definitions[i];
+
+            IndexDefinition existingDefinition = existingDefinitions != null ? existingDefinitions.get(definition.getName()) : null;
+            if (existingDefinition == null) {
+                result.getCreated().add(definition.getName());
+            } else if (!computeCanonicalHash(existingDefinition, requestedSettings[i]).equals(localHashes[i])) {
+                result.getUpdated().add(definition.getName());
+            } else {
+                result.getUnchanged().add(definition.getName());
+                continue;
+            }
+
+            changedDefinitions.add(definition);
+        }
+
+        if (changedDefinitions.isEmpty()) {
+            return result;
+        }
+
+        try {
+            maintenance.send(new PutIndexesOperation(changedDefinitions.toArray(new IndexDefinition[0])));
+        } catch (Exception e) {
+            logger.info("Could not create indexes in one shot, trying one by one", e);
+
+            for (IndexDefinition definition : changedDefinitions) {
+                maintenance.send(new PutIndexesOperation(definition));
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Deployed indexes to database " + database + ", created: " + result.getCreated()
+                    + ", updated: " + result.getUpdated() + ", unchanged: " + result.getUnchanged().size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes hash of the definition which ignores properties assigned by the server, values the server uses by default,
+     * order of maps and differences in line endings, so local definition can be compared with definition returned by the server.
+     * Lock mode, priority and state are not a part of the hash.
+     * @param definition index definition
+     * @return canonical hash
+     */
+    public static String computeCanonicalHash(IndexDefinition definition) {
+        return computeCanonicalHash(definition, null);
+    }
+
+    /**
+     * Computes hash of the definition which ignores properties assigned by the server, values the server uses by default,
+     * order of maps and differences in line endings, so local definition can be compared with definition returned by the server.
+     * @param definition index definition
+     * @param localDefinition lock mode, priority and state are a part of the hash only when set in this definition
+     *                        (server always returns them and they can be changed on the server directly), null to ignore them
+     * @return canonical hash
+     */
+    public static String computeCanonicalHash(IndexDefinition definition, IndexDefinition localDefinition) {
+        ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+        ObjectNode tree = mapper.valueToTree(definition);
+        for (String field : NON_CANONICAL_FIELDS) {
+            tree.remove(field);
+        }
+
+        if (localDefinition == null || localDefinition.getLockMode() == null) {
+            tree.remove("LockMode");
+        }
+        if (localDefinition == null || localDefinition.getPriority() == null) {
+            tree.remove("Priority");
+        }
+        if (localDefinition == null || localDefinition.getState() == null) {
+            tree.remove("State");
+        }
+
+        try {
+            return DigestUtils.sha256Hex(mapper.writeValueAsBytes(canonicalize(tree, mapper)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to compute hash of index definition " + definition.getName(), e);
+        }
+    }
+
+    private static String[] computeCanonicalHashes(IndexDefinition[] definitions, IndexDefinition[] requestedSettings) {
+        String[] hashes = new String[definitions.length];
+        for (int i = 0; i < definitions.length; i++) {
+            hashes[i] = computeCanonicalHash(definitions[i], requestedSettings[i]);
+        }
+        return hashes;
+    }
+
+    /**
+     * Definitions sent to the server always have priority and state (normal when not set on the index),
+     * so settings the index actually asks for are taken from index creation tasks.
+     */
+    private static IndexDefinition[] getRequestedSettings(Collection<? extends IAbstractIndexCreationTask> indexes, IndexDefinition[] definitions) {
+        IndexDefinition[] requestedSettings = new IndexDefinition[definitions.length];
+
+        int i = 0;
+        for (IAbstractIndexCreationTask index : indexes) {
+            IndexDefinition requested = new IndexDefinition();
+            requested.setLockMode(definitions[i].getLockMode());
+            requested.setPriority(index.getPriority());
+            requested.setState(index.getState());
+            requestedSettings[i++] = requested;
+        }
+
+        return requestedSettings;
+    }
+
+    private static Map<String, IndexDefinition> getExistingDefinitions(MaintenanceOperationExecutor maintenance, String database) {
+        Map<String, IndexDefinition> existingDefinitions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        try {
+            int start = 0;
+            while (true) {
+                IndexDefinition[] page = maintenance.send(new GetIndexesOperation(start, GET_INDEXES_PAGE_SIZE));
+                if (page == null) {
+                    break;
+                }
+
+                for (IndexDefinition definition : page) {
+                    existingDefinitions.put(definition.getName(), definition);
+                }
+
+                if (page.length < GET_INDEXES_PAGE_SIZE) {
+                    break;
+                }
+
+                start += page.length;
+            }
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Could not get existing indexes of database " + database + ", all indexes will be deployed", e);
+            }
+
+            return null;
+        }
+
+        return existingDefinitions;
+    }
+
+    private static JsonNode canonicalize(JsonNode node, ObjectMapper mapper) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+
+            ObjectNode canonical = mapper.createObjectNode();
+            for (String name : names) {
+                JsonNode value = canonicalize(node.get(name), mapper);
+                if (value.isNull() || (value.isContainerNode() && value.size() == 0) || isDefaultValue(name, value)) {
+                    // not set, empty and default are the same for the server
+                    continue;
+                }
+
+                if ("Maps".equals(name) && value.isArray()) {
+                    value = sortArray((ArrayNode) value, mapper);
+                }
+
+                canonical.set(name, value);
+            }
+
+            return canonical;
+        }
+
+        if (node.isArray()) {
+            ArrayNode canonical = mapper.createArrayNode();
+            for (JsonNode item : node) {
+                canonical.add(canonicalize(item, mapper));
+            }
+            return canonical;
+        }
+
+        if (node.isTextual()) {
+            return TextNode.valueOf(node.asText().replace("\r\n", "\n").trim());
+        }
+
+        return node;
+    }
+
+    private static boolean isDefaultValue(String name, JsonNode value) {
+        String defaultValue = DEFAULT_VALUES.get(name);
+        return defaultValue != null && value.isValueNode() && defaultValue.equalsIgnoreCase(value.asText());
+    }
+
+    private static ArrayNode sortArray(ArrayNode array, ObjectMapper mapper) {
+        List<String> items = new ArrayList<>();
+        for (JsonNode item : array) {
+            items.add(item.asText());
+        }
+        Collections.sort(items);
+
+        ArrayNode sorted = mapper.createArrayNode();
+        items.forEach(sorted::add);
+        return sorted;
+    }
+
     public static IndexDefinition[] createIndexesToAdd(Collection<? extends IAbstractIndexCreationTask> indexCreationTasks, DocumentConventions conventions) {
         return indexCreationTasks.stream()
                 .map(x -> {
@@ -0,0 +1,59 @@
+package net.ravendb.client.documents.indexes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of {@link IndexCreation#deployIndexes} for a single database.
+ */
+public class IndexDeploymentResult {
+    private String database;
+    private List<String> created = new ArrayList<>();
+    private List<String> updated = new ArrayList<>();
+    private List<String> unchanged = new ArrayList<>();
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(String database) {
+        this.database = database;
+    }
+
+    /**
+     * @return Names of indexes which didn't exist on the server
+     */
+    public List<String> getCreated() {
+        return created;
+    }
+
+    public void setCreated(List<String> created) {
+        this.created = created;
+    }
+
+    /**
+     * @return Names of indexes which existed on the server with different definition
+     */
+    public List<String> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<String> updated) {
+        this.updated = updated;
+    }
+
+    /**
+     * @return Names of indexes which were skipped, because server already has the same definition
+     */
+    public List<String> getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(List<String> unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public boolean hasChanges() {
+        return !created.isEmpty() || !updated.isEmpty();
+    }
+}
@@ -0,0 +1,339 @@
+package net.ravendb.client.documents.liveCollections;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.CloseableIterator;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.DocumentChangeTypes;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
+import net.ravendb.client.documents.changes.IObserver;
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.documents.commands.GetDocumentsResult;
+import net.ravendb.client.documents.commands.StreamResult;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
+import net.ravendb.client.documents.queries.Query;
+import net.ravendb.client.documents.session.EntityToJson;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHandler;
+import net.ravendb.client.primitives.ExceptionsUtils;
+import net.ravendb.client.primitives.VoidArgs;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Client side copy of a small collection (reference data like currencies or feature flags), kept in sync using the Changes API.
+ *
+ * The collection is streamed when created. Afterwards modified documents are fetched by id, in batches, as change
+ * notifications arrive. Changes could be missed while the Changes connection is down, so the whole collection is streamed
+ * again after reconnect. Reads go to the current {@link LiveCollectionSnapshot} and don't touch the network.
+ * @param <T> entity type
+ */
+public class LiveCollection<T> implements CleanCloseable, IObserver<DocumentChange> {
+
+    private static final Log logger = LogFactory.getLog(LiveCollection.class);
+
+    private final DocumentStore _store;
+    private final Class<T> _clazz;
+    private final String _database;
+    private final String _collectionName;
+    private final Map<String, Function<? super T, ?>> _indexes;
+    private final DocumentConventions _conventions;
+    private final GenerateEntityIdOnTheClient _generateEntityIdOnTheClient;
+    private final ExecutorService _executorService;
+
+    private final IDatabaseChanges _changes;
+    private CleanCloseable _subscription;
+    private final EventHandler<VoidArgs> _connectionStatusChanged = (sender, event) -> onConnectionStatusChanged();
+    private final Consumer<Exception> _onChangesError = e -> onError(e);
+
+    private volatile LiveCollectionSnapshot<T> _snapshot;
+
+    // ids reported by the Changes API, which weren't fetched yet
+    private final Set<String> _pendingIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean _resyncRequested = new AtomicBoolean();
+    private final AtomicBoolean _syncScheduled = new AtomicBoolean();
+    private final AtomicLong _resyncCount = new AtomicLong();
+    private final CompletableFuture<Void> _initialLoad = new CompletableFuture<>();
+
+    // held by the sync worker, so close can wait until the worker is done
+    private final Lock _syncLock = new ReentrantLock();
+
+    private volatile boolean _closed;
+
+    public LiveCollection(DocumentStore store, Class<T> clazz, LiveCollectionOptions<T> options) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Clazz cannot be null");
+        }
+
+        if (options == null) {
+            options = new LiveCollectionOptions<>();
+        }
+
+        _store = store;
+        _clazz = clazz;
+        _conventions = store.getConventions();
+        _database = ObjectUtils.firstNonNull(options.getDatabase(), store.getDatabase());
+        _collectionName = ObjectUtils.firstNonNull(options.getCollectionName(), _conventions.getCollectionName(clazz));
+        _indexes = new LinkedHashMap<>(options.getIndexes());
+        _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_conventions, entity -> null);
+        _executorService = store.getExecutorService();
+
+        if (_database == null) {
+            throw new IllegalStateException("Cannot create live collection, because database was not specified");
+        }
+
+        if (_collectionName == null) {
+            throw new IllegalStateException("Cannot create live collection, because collection name of " + clazz.getName() + " is unknown");
+        }
+
+        _snapshot = LiveCollectionSnapshot.empty(_indexes);
+
+        _changes = store.changes(_database);
+
+        try {
+            // subscribe before streaming, so changes made while we stream are fetched afterwards
+            _changes.ensureConnectedNow();
+            _subscription = _changes.forDocumentsInCollection(_collectionName).subscribe(this);
+            _changes.addConnectionStatusChanged(_connectionStatusChanged);
+            _changes.addOnError(_onChangesError);
+
+            // initial load runs on the sync worker as well, so the snapshot is never replaced by two threads at once
+            _resyncRequested.set(true);
+            scheduleSync();
+
+            _initialLoad.get();
+        } catch (Exception e) {
+            close();
+            throw ExceptionsUtils.unwrapException(e);
+        }
+    }
+
+    /**
+     * @return Current state of the collection, lookups on the snapshot don't require any synchronization
+     */
+    public LiveCollectionSnapshot<T> getSnapshot() {
+        return _snapshot;
+    }
+
+    public String getCollectionName() {
+        return _collectionName;
+    }
+
+    /**
+     * @return true if Changes connection is up and there are no missed changes, so the snapshot is (nearly) current
+     */
+    public boolean isSynchronized() {
+        return !_closed && _changes.isConnected() && !_resyncRequested.get();
+    }
+
+    /**
+     * @return Number of times the whole collection was streamed again after the initial load
+     */
+    public long getResyncCount() {
+        return _resyncCount.get();
+    }
+
+    /**
+     * Requests the whole collection to be streamed again, in the background.
+     */
+    public void requestResync() {
+        _resyncRequested.set(true);
+        scheduleSync();
+    }
+
+    @Override
+    public void onNext(DocumentChange value) {
+        if (value.getId() == null) {
+            return;
+        }
+
+        if (value.getType() == DocumentChangeTypes.PUT) {
+            String changeVector = _snapshot.getChangeVector(value.getId());
+            if (changeVector != null && changeVector.equals(value.getChangeVector())) {
+                // we already have this version
+                return;
+            }
+        }
+
+        _pendingIds.add(value.getId());
+        scheduleSync();
+    }
+
+    @Override
+    public void onError(Exception error) {
+        // notifications might have been lost
+        _resyncRequested.set(true);
+        scheduleSync();
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+
+        _changes.removeConnectionStatusChanged(_connectionStatusChanged);
+        _changes.removeOnError(_onChangesError);
+
+        if (_subscription != null) {
+            _subscription.close();
+        }
+
+        _initialLoad.completeExceptionally(new IllegalStateException("Live collection " + _collectionName + " was closed"));
+
+        // wait for the sync in progress, so no request is sent on behalf of the closed collection
+        _syncLock.lock();
+        _syncLock.unlock();
+    }
+
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    private void onConnectionStatusChanged() {
+        if (!_changes.isConnected()) {
+            _resyncRequested.set(true);
+            return;
+        }
+
+        scheduleSync();
+    }
+
+    private void scheduleSync() {
+        if (_closed || !_syncScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        _executorService.execute(this::sync);
+    }
+
+    private void sync() {
+        boolean failed = false;
+
+        _syncLock.lock();
+        try {
+            // single worker applies all updates, so snapshot is replaced by one thread at a time
+            while (!_closed) {
+                boolean initialLoad = !_initialLoad.isDone();
+                if (_resyncRequested.get() && (initialLoad || _changes.isConnected())) {
+                    _resyncRequested.set(false);
+                    if (!initialLoad) {
+                        _resyncCount.incrementAndGet();
+                    }
+
+                    resync();
+
+                    _initialLoad.complete(null);
+                    continue;
+                }
+
+                if (_pendingIds.isEmpty()) {
+                    break;
+                }
+
+                List<String> ids = new ArrayList<>(_pendingIds);
+                _pendingIds.removeAll(ids);
+
+                refresh(ids);
+            }
+        } catch (Exception e) {
+            failed = true;
+            _resyncRequested.set(true);
+
+            if (!_initialLoad.completeExceptionally(e) && !_closed && logger.isInfoEnabled()) {
+                logger.info("Could not synchronize live collection " + _collectionName + ", it will be reloaded on next change", e);
+            }
+        } finally {
+            _syncScheduled.set(false);
+            _syncLock.unlock();
+        }
+
+        if (!failed && (!_pendingIds.isEmpty() || (_resyncRequested.get() && _changes.isConnected()))) {
+            scheduleSync();
+        }
+    }
+
+    private void resync() {
+        Map<String, LiveCollectionSnapshot.Entry<T>> entries = new HashMap<>();
+
+        try (IDocumentSession session = _store.openSession(_database);
+             CloseableIterator<StreamResult<T>> results = session.advanced().stream(session.query(_clazz, Query.collection(_collectionName)))) {
+            while (results.hasNext()) {
+                StreamResult<T> result = results.next();
+                entries.put(result.getId().toLowerCase(Locale.ROOT), new LiveCollectionSnapshot.Entry<>(result.getId(), result.getChangeVector(), result.getDocument()));
+            }
+        }
+
+        publish(entries);
+    }
+
+    private void refresh(List<String> ids) {
+        GetDocumentsCommand command = new GetDocumentsCommand(ids.toArray(new String[0]), null, false);
+
+        RequestExecutor requestExecutor = _store.getRequestExecutor(_database);
+        requestExecutor.execute(command);
+
+        GetDocumentsResult result = command.getResult();
+
+        Map<String, LiveCollectionSnapshot.Entry<T>> entries = new HashMap<>(_snapshot.getEntries());
+
+        for (int i = 0; i < ids.size(); i++) {
+            String key = ids.get(i).toLowerCase(Locale.ROOT);
+
+            JsonNode document = result != null && result.getResults() != null ? result.getResults().get(i) : null;
+            if (document == null || !document.isObject() || !belongsToCollection(document)) {
+                entries.remove(key);
+                continue;
+            }
+
+            JsonNode metadata = document.get(Constants.Documents.Metadata.KEY);
+            String id = metadata.get(Constants.Documents.Metadata.ID).asText();
+            JsonNode changeVector = metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR);
+
+            @SuppressWarnings("unchecked")
+            T entity = (T) EntityToJson.convertToEntity(_clazz, id, (ObjectNode) document, _conventions);
+            _generateEntityIdOnTheClient.trySetIdentity(entity, id);
+
+            entries.put(key, new LiveCollectionSnapshot.Entry<>(id, changeVector != null ? changeVector.asText() : null, entity));
+        }
+
+        publish(entries);
+    }
+
+    private boolean belongsToCollection(JsonNode document) {
+        JsonNode metadata = document.get(Constants.Documents.Metadata.KEY);
+        if (metadata == null || !metadata.has(Constants.Documents.Metadata.ID)) {
+            return false;
+        }
+
+        JsonNode collection = metadata.get(Constants.Documents.Metadata.COLLECTION);
+        return collection != null && _collectionName.equalsIgnoreCase(collection.asText());
+    }
+
+    private void publish(Map<String, LiveCollectionSnapshot.Entry<T>> entries) {
+        if (_closed) {
+            return;
+        }
+
+        _snapshot = new LiveCollectionSnapshot<>(Collections.unmodifiableMap(entries), _indexes);
+    }
+}
@@ -0,0 +1,74 @@
+package net.ravendb.client.documents.liveCollections;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Controls which documents are kept by {@link LiveCollection} and how they can be looked up
+ * @param <T> entity type
+ */
+public class LiveCollectionOptions<T> {
+
+    private String database;
+    private String collectionName;
+    private final Map<String, Function<? super T, ?>> indexes = new LinkedHashMap<>();
+
+    /**
+     * @return Database name, store database is used when null
+     */
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @param database Database name, store database is used when null
+     */
+    public void setDatabase(String database) {
+        this.database = database;
+    }
+
+    /**
+     * @return Name of the collection, collection name of the entity type is used when null
+     */
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    /**
+     * @param collectionName Name of the collection, collection name of the entity type is used when null
+     */
+    public void setCollectionName(String collectionName) {
+        this.collectionName = collectionName;
+    }
+
+    /**
+     * Adds secondary index, which can be used with {@link LiveCollectionSnapshot#getBy(String, Object)}.
+     * Entities with null key are not indexed.
+     * @param name index name
+     * @param keySelector extracts key from the entity, keys are compared using equals/hashCode
+     * @return options
+     */
+    public LiveCollectionOptions<T> addIndex(String name, Function<? super T, ?> keySelector) {
+        if (StringUtils.isEmpty(name)) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+
+        if (keySelector == null) {
+            throw new IllegalArgumentException("KeySelector cannot be null");
+        }
+
+        if (indexes.putIfAbsent(name, keySelector) != null) {
+            throw new IllegalArgumentException("Index '" + name + "' was already added");
+        }
+
+        return this;
+    }
+
+    public Map<String, Function<? super T, ?>> getIndexes() {
+        return Collections.unmodifiableMap(indexes);
+    }
+}
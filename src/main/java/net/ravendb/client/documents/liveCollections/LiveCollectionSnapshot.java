@@ -0,0 +1,129 @@
+package net.ravendb.client.documents.liveCollections;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable state of {@link LiveCollection} at some point in time. Snapshots are replaced, never modified,
+ * so they can be read from any thread without locking. Entities are shared between readers and must not be modified.
+ * @param <T> entity type
+ */
+public class LiveCollectionSnapshot<T> {
+
+    private final Map<String, Entry<T>> _entries;
+    private final Map<String, Map<Object, List<T>>> _indexes;
+    private final Collection<T> _entities;
+
+    LiveCollectionSnapshot(Map<String, Entry<T>> entries, Map<String, Function<? super T, ?>> indexes) {
+        _entries = entries;
+
+        List<T> entities = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries.values()) {
+            entities.add(entry.entity);
+        }
+        _entities = Collections.unmodifiableList(entities);
+
+        _indexes = new HashMap<>(indexes.size());
+        for (Map.Entry<String, Function<? super T, ?>> index : indexes.entrySet()) {
+            _indexes.put(index.getKey(), buildIndex(entities, index.getValue()));
+        }
+    }
+
+    static <T> LiveCollectionSnapshot<T> empty(Map<String, Function<? super T, ?>> indexes) {
+        return new LiveCollectionSnapshot<>(Collections.emptyMap(), indexes);
+    }
+
+    /**
+     * @param id document id (case insensitive)
+     * @return Entity or null when there is no such document in the collection
+     */
+    public T get(String id) {
+        Entry<T> entry = _entries.get(id.toLowerCase(Locale.ROOT));
+        return entry != null ? entry.entity : null;
+    }
+
+    /**
+     * @param id document id (case insensitive)
+     * @return Change vector of the document or null when there is no such document in the collection
+     */
+    public String getChangeVector(String id) {
+        Entry<T> entry = _entries.get(id.toLowerCase(Locale.ROOT));
+        return entry != null ? entry.changeVector : null;
+    }
+
+    public boolean contains(String id) {
+        return _entries.containsKey(id.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param indexName name of the index added with {@link LiveCollectionOptions#addIndex(String, Function)}
+     * @param key key to look for
+     * @return Entities with given key, empty list when there are none
+     */
+    public List<T> getBy(String indexName, Object key) {
+        Map<Object, List<T>> index = _indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("Index '" + indexName + "' is not defined");
+        }
+
+        if (key == null) {
+            return Collections.emptyList();
+        }
+
+        List<T> entities = index.get(key);
+        return entities != null ? entities : Collections.emptyList();
+    }
+
+    /**
+     * @param indexName name of the index added with {@link LiveCollectionOptions#addIndex(String, Function)}
+     * @param key key to look for
+     * @return First entity with given key or null
+     */
+    public T getFirstBy(String indexName, Object key) {
+        List<T> entities = getBy(indexName, key);
+        return entities.isEmpty() ? null : entities.get(0);
+    }
+
+    /**
+     * @return All entities of the collection
+     */
+    public Collection<T> getAll() {
+        return _entities;
+    }
+
+    public int size() {
+        return _entries.size();
+    }
+
+    Map<String, Entry<T>> getEntries() {
+        return _entries;
+    }
+
+    private static <T> Map<Object, List<T>> buildIndex(List<T> entities, Function<? super T, ?> keySelector) {
+        Map<Object, List<T>> index = new HashMap<>();
+        for (T entity : entities) {
+            Object key = keySelector.apply(entity);
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entity);
+            }
+        }
+
+        for (Map.Entry<Object, List<T>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        return index;
+    }
+
+    static class Entry<T> {
+        final String id;
+        final String changeVector;
+        final T entity;
+
+        Entry(String id, String changeVector, T entity) {
+            this.id = id;
+            this.changeVector = changeVector;
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package net.ravendb.client.documents.operations.counters;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.operations.OperationExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Timer;
+import net.ravendb.client.util.CaseInsensitiveLinkedHashMap;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accumulates counter increments in memory and sends them periodically as a single {@link CounterBatchOperation}.
+ *
+ * Increments of the same counter are summed in a striped {@link LongAdder}, so many threads can increment
+ * without contention and without a request per increment. Flush happens when flush interval elapses, when number
+ * of changed counters reaches max batch size, on {@link #flush()} and on {@link #close()}.
+ *
+ * Delivery is at-least-once: when flush fails, increments are kept and sent with the next flush. A request which
+ * failed on the client (ex. timeout) could have been applied by the server, so the retry counts those increments twice.
+ * Use session counters when every increment has to be applied exactly once.
+ *
+ * Accumulator keeps a cell for every counter it has seen until it is closed.
+ */
+public class CounterAccumulator implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(CounterAccumulator.class);
+
+    private final OperationExecutor _operations;
+    private final ExecutorService _executorService;
+    private final int _maxBatchSize;
+
+    private final ConcurrentMap<CounterKey, Counter> _counters = new ConcurrentHashMap<>();
+    private final AtomicInteger _changedCounters = new AtomicInteger();
+
+    private final ReentrantLock _flushLock = new ReentrantLock();
+    private final AtomicBoolean _flushScheduled = new AtomicBoolean();
+    private final Timer _timer;
+
+    private volatile boolean _closed;
+
+    public CounterAccumulator(String database, DocumentStore store) {
+        this(database, store, null);
+    }
+
+    public CounterAccumulator(String database, DocumentStore store, CounterAccumulatorOptions options) {
+        options = ObjectUtils.firstNonNull(options, new CounterAccumulatorOptions());
+
+        _operations = store.operations().forDatabase(database);
+        _executorService = store.getExecutorService();
+        _maxBatchSize = options.getMaxBatchSize();
+
+        _timer = new Timer(this::flushInBackground, options.getFlushInterval(), options.getFlushInterval(), _executorService);
+    }
+
+    /**
+     * @param documentId document id
+     * @param counterName counter name
+     * @return Counter which can be incremented without looking it up again
+     */
+    public Counter counter(String documentId, String counterName) {
+        if (documentId == null) {
+            throw new IllegalArgumentException("DocumentId cannot be null");
+        }
+        if (counterName == null) {
+            throw new IllegalArgumentException("CounterName cannot be null");
+        }
+
+        CounterKey key = new CounterKey(documentId, counterName);
+
+        Counter counter = _counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+
+        return _counters.computeIfAbsent(key, k -> new Counter(k.documentId, k.counterName));
+    }
+
+    public void increment(String documentId, String counterName) {
+        increment(documentId, counterName, 1);
+    }
+
+    public void increment(String documentId, String counterName, long delta) {
+        counter(documentId, counterName).increment(delta);
+    }
+
+    /**
+     * Sends accumulated increments to the server. When it fails, increments are kept for the next flush.
+     */
+    public void flush() {
+        _flushLock.lock();
+        try {
+            _changedCounters.set(0);
+
+            Map<String, DocumentCountersOperation> documents = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            List<Counter> counters = new ArrayList<>();
+            List<Long> deltas = new ArrayList<>();
+
+            for (Counter counter : _counters.values()) {
+                counter._changed = false;
+
+                long delta = counter._delta.sum();
+                if (delta == 0) {
+                    continue;
+                }
+
+                DocumentCountersOperation documentOperation = documents.computeIfAbsent(counter._documentId, id -> {
+                    DocumentCountersOperation operation = new DocumentCountersOperation();
+                    operation.setDocumentId(id);
+                    operation.setOperations(new ArrayList<>());
+                    return operation;
+                });
+
+                CounterOperation operation = CounterOperation.create(counter._name, CounterOperationType.INCREMENT, delta);
+                documentOperation.getOperations().add(operation);
+
+                counters.add(counter);
+                deltas.add(delta);
+            }
+
+            if (counters.isEmpty()) {
+                return;
+            }
+
+            CounterBatch batch = new CounterBatch();
+            batch.setDocuments(new ArrayList<>(documents.values()));
+
+            _operations.send(new CounterBatchOperation(batch));
+
+            // increments made during the request stay in the cells
+            for (int i = 0; i < counters.size(); i++) {
+                counters.get(i)._delta.add(-deltas.get(i));
+            }
+        } finally {
+            _flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops periodic flushes and sends remaining increments to the server. Increments which race with close are sent
+     * by the incrementing thread, later increments throw IllegalStateException.
+     */
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+
+        _closed = true;
+        _timer.close();
+
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (_flushScheduled.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::flushInBackground, _executorService);
+        }
+    }
+
+    private void flushInBackground() {
+        _flushScheduled.set(false);
+
+        if (_closed) {
+            return;
+        }
+
+        try {
+            flush();
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Could not flush counter increments, they will be sent with the next flush", e);
+            }
+        }
+    }
+
+    public final class Counter {
+        private final String _documentId;
+        private final String _name;
+        private final LongAdder _delta = new LongAdder();
+
+        private volatile boolean _changed;
+
+        private Counter(String documentId, String name) {
+            _documentId = documentId;
+            _name = name;
+        }
+
+        public String getDocumentId() {
+            return _documentId;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        public void increment() {
+            increment(1);
+        }
+
+        public void increment(long delta) {
+            if (_closed) {
+                throw new IllegalStateException("Counter accumulator was closed");
+            }
+
+            _delta.add(delta);
+
+            if (_closed) {
+                // close started after the check above, its final flush might have missed this increment
+                flush();
+                return;
+            }
+
+            if (!_changed) {
+                _changed = true;
+
+                if (_changedCounters.incrementAndGet() >= _maxBatchSize) {
+                    scheduleFlush();
+                }
+            }
+        }
+    }
+
+    private static final class CounterKey {
+        private final String documentId;
+        private final String counterName;
+        private final int hash;
+
+        CounterKey(String documentId, String counterName) {
+            this.documentId = documentId;
+            this.counterName = counterName;
+            this.hash = 31 * CaseInsensitiveLinkedHashMap.caseInsensitiveHash(documentId) + CaseInsensitiveLinkedHashMap.caseInsensitiveHash(counterName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+
+            CounterKey other = (CounterKey) o;
+            return hash == other.hash
+                    && documentId.equalsIgnoreCase(other.documentId)
+                    && counterName.equalsIgnoreCase(other.counterName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
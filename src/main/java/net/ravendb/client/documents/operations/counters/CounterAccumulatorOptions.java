@@ -0,0 +1,42 @@
+package net.ravendb.client.documents.operations.counters;
+
+import java.time.Duration;
+
+public class CounterAccumulatorOptions {
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int maxBatchSize = 1024;
+
+    /**
+     * @return How often accumulated increments are sent to the server. Failed flush is retried after this interval.
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @param flushInterval How often accumulated increments are sent to the server. Failed flush is retried after this interval.
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("FlushInterval must be positive");
+        }
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @return Number of changed counters which triggers flush before the flush interval elapses
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize Number of changed counters which triggers flush before the flush interval elapses
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("MaxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+}
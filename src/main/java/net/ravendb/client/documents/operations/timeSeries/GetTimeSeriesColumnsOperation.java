@@ -0,0 +1,182 @@
+package net.ravendb.client.documents.operations.timeSeries;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.operations.IOperation;
+import net.ravendb.client.documents.session.loaders.ITimeSeriesIncludeBuilder;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
+import net.ravendb.client.http.HttpCache;
+import net.ravendb.client.http.RavenCommand;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.primitives.NetISO8601Utils;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.HttpRequestBase;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Gets time series range in columnar form. Response is parsed in streaming fashion
+ * directly into primitive arrays, without creating per-entry objects.
+ */
+public class GetTimeSeriesColumnsOperation implements IOperation<TimeSeriesColumnsRangeResult> {
+    private final String _docId;
+    private final String _name;
+    private final int _start;
+    private final int _pageSize;
+    private final Date _from;
+    private final Date _to;
+    private final Consumer<ITimeSeriesIncludeBuilder> _includes;
+
+    public GetTimeSeriesColumnsOperation(String docId, String timeseries) {
+        this(docId, timeseries, null, null, 0, Integer.MAX_VALUE);
+    }
+
+    public GetTimeSeriesColumnsOperation(String docId, String timeseries, Date from, Date to) {
+        this(docId, timeseries, from, to, 0, Integer.MAX_VALUE);
+    }
+
+    public GetTimeSeriesColumnsOperation(String docId, String timeseries, Date from, Date to, int start, int pageSize) {
+        this(docId, timeseries, from, to, start, pageSize, null);
+    }
+
+    public GetTimeSeriesColumnsOperation(String docId, String timeseries, Date from, Date to, int start, int pageSize, Consumer<ITimeSeriesIncludeBuilder> includes) {
+        if (StringUtils.isEmpty(docId)) {
+            throw new IllegalArgumentException("DocId cannot be null or empty");
+        }
+        if (StringUtils.isEmpty(timeseries)) {
+            throw new IllegalArgumentException("Timeseries cannot be null or empty");
+        }
+
+        _docId = docId;
+        _name = timeseries;
+        _from = from;
+        _to = to;
+        _start = start;
+        _pageSize = pageSize;
+        _includes = includes;
+    }
+
+    @Override
+    public RavenCommand<TimeSeriesColumnsRangeResult> getCommand(IDocumentStore store, DocumentConventions conventions, HttpCache cache) {
+        return new GetTimeSeriesColumnsCommand(_docId, _name, _from, _to, _start, _pageSize, _includes);
+    }
+
+    public static class GetTimeSeriesColumnsCommand extends RavenCommand<TimeSeriesColumnsRangeResult> {
+        private final GetTimeSeriesOperation.GetTimeSeriesCommand _inner;
+
+        public GetTimeSeriesColumnsCommand(String docId, String name, Date from, Date to, int start, int pageSize,
+                                           Consumer<ITimeSeriesIncludeBuilder> includes) {
+            super(TimeSeriesColumnsRangeResult.class);
+
+            _inner = new GetTimeSeriesOperation.GetTimeSeriesCommand(docId, name, from, to, start, pageSize, includes, false);
+        }
+
+        @Override
+        public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
+            return _inner.createRequest(node, url);
+        }
+
+        @Override
+        public void setResponse(String response, boolean fromCache) throws IOException {
+            if (response == null) {
+                return;
+            }
+
+            try (JsonParser parser = mapper.getFactory().createParser(response)) {
+                result = parse(parser);
+            }
+        }
+
+        private TimeSeriesColumnsRangeResult parse(JsonParser parser) throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected start object");
+            }
+
+            TimeSeriesColumnsRangeResult rangeResult = new TimeSeriesColumnsRangeResult();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String property = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                switch (property) {
+                    case "From":
+                        rangeResult.setFrom(token == JsonToken.VALUE_NULL ? null : NetISO8601Utils.parse(parser.getText()));
+                        break;
+                    case "To":
+                        rangeResult.setTo(token == JsonToken.VALUE_NULL ? null : NetISO8601Utils.parse(parser.getText()));
+                        break;
+                    case "TotalResults":
+                        rangeResult.setTotalResults(token == JsonToken.VALUE_NULL ? null : parser.getLongValue());
+                        break;
+                    case "Entries":
+                        rangeResult.setColumns(token == JsonToken.VALUE_NULL ? null : readEntries(parser));
+                        break;
+                    case "Includes":
+                        rangeResult.setIncludes(token == JsonToken.VALUE_NULL ? null : (ObjectNode) mapper.readTree(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+
+            return rangeResult;
+        }
+
+        static TimeSeriesColumns readEntries(JsonParser parser) throws IOException {
+            TimeSeriesColumns.Builder builder = TimeSeriesColumns.builder();
+            double[] values = new double[4];
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long timestamp = 0;
+                String tag = null;
+                boolean rollup = false;
+                int valuesCount = 0;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String property = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+
+                    switch (property) {
+                        case "Timestamp":
+                            timestamp = NetISO8601Utils.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                            break;
+                        case "Tag":
+                            tag = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                            break;
+                        case "IsRollup":
+                            rollup = token == JsonToken.VALUE_TRUE;
+                            break;
+                        case "Values":
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                if (valuesCount == values.length) {
+                                    values = Arrays.copyOf(values, values.length * 2);
+                                }
+                                values[valuesCount++] = parser.getDoubleValue();
+                            }
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+
+                builder.add(timestamp, values, valuesCount, tag, rollup);
+            }
+
+            return builder.build();
+        }
+
+        @Override
+        public boolean isReadRequest() {
+            return true;
+        }
+    }
+}
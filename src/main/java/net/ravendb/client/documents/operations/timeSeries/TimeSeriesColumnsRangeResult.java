@@ -0,0 +1,64 @@
+package net.ravendb.client.documents.operations.timeSeries;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
+
+import java.util.Date;
+
+public class TimeSeriesColumnsRangeResult {
+    private Date from;
+    private Date to;
+    private TimeSeriesColumns columns;
+    private Long totalResults;
+    private ObjectNode includes;
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public void setFrom(Date from) {
+        this.from = from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public void setTo(Date to) {
+        this.to = to;
+    }
+
+    public TimeSeriesColumns getColumns() {
+        return columns;
+    }
+
+    public void setColumns(TimeSeriesColumns columns) {
+        this.columns = columns;
+    }
+
+    public Long getTotalResults() {
+        return totalResults;
+    }
+
+    public void setTotalResults(Long totalResults) {
+        this.totalResults = totalResults;
+    }
+
+    public ObjectNode getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(ObjectNode includes) {
+        this.includes = includes;
+    }
+
+    public TimeSeriesRangeResult toRangeResult() {
+        TimeSeriesRangeResult result = new TimeSeriesRangeResult();
+        result.setFrom(from);
+        result.setTo(to);
+        result.setEntries(columns != null ? columns.toEntries() : null);
+        result.setTotalResults(totalResults);
+        result.setIncludes(includes);
+        return result;
+    }
+}
@@ -2,7 +2,8 @@ package net.ravendb.client.documents.operations.timeSeries;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import net.ravendb.client.documents.conventions.DocumentConventions;
-import net.ravendb.client.primitives.NetISO8601Utils;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
+import net.ravendb.client.extensions.JsonExtensions;
 
 import java.io.IOException;
 import java.util.*;
@@ -10,6 +11,7 @@ import java.util.*;
 public class TimeSeriesOperation {
 
     private TreeSet<AppendOperation> _appends;
+    private TimeSeriesColumns _columnAppends;
     private List<DeleteOperation> _deletes;
     private TreeSet<IncrementOperation> _increments;
     private String name;
@@ -33,7 +35,9 @@ public class TimeSeriesOperation {
         generator.writeStartObject();
         generator.writeStringField("Name", name);
         generator.writeFieldName("Appends");
-        if (_appends != null) {
+        if (_columnAppends != null) {
+            serializeAppendsWithColumns(generator, conventions);
+        } else if (_appends != null) {
             generator.writeStartArray();
             for (AppendOperation append : _appends) {
                 append.serialize(generator, conventions);
@@ -67,6 +71,92 @@ public class TimeSeriesOperation {
         generator.writeEndObject();
     }
 
+    private void serializeAppendsWithColumns(JsonGenerator generator, DocumentConventions conventions) throws IOException {
+        // both sources are sorted by timestamp - merge them, on equal timestamps the single append was added later
+        // (appendAll drops single appends it overrides), so it wins
+        generator.writeStartArray();
+
+        Iterator<AppendOperation> appends = _appends != null ? _appends.iterator() : Collections.emptyIterator();
+        AppendOperation nextAppend = appends.hasNext() ? appends.next() : null;
+
+        for (int i = 0; i < _columnAppends.size(); i++) {
+            long timestamp = _columnAppends.getTimestamp(i);
+            while (nextAppend != null && nextAppend.getTimestamp().getTime() <= timestamp) {
+                nextAppend.serialize(generator, conventions);
+                boolean sameTimestamp = nextAppend.getTimestamp().getTime() == timestamp;
+                nextAppend = appends.hasNext() ? appends.next() : null;
+                if (sameTimestamp) {
+                    timestamp = Long.MIN_VALUE;
+                    break;
+                }
+            }
+
+            if (timestamp == Long.MIN_VALUE) {
+                continue;
+            }
+
+            serializeColumnEntry(generator, i);
+        }
+
+        while (nextAppend != null) {
+            nextAppend.serialize(generator, conventions);
+            nextAppend = appends.hasNext() ? appends.next() : null;
+        }
+
+        generator.writeEndArray();
+    }
+
+    private void serializeColumnEntry(JsonGenerator generator, int index) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("Timestamp");
+        JsonExtensions.writeDate(generator, _columnAppends.getTimestamp(index));
+        generator.writeFieldName("Values");
+        generator.writeStartArray();
+
+        int valuesCount = _columnAppends.getValuesCount(index);
+        for (int j = 0; j < valuesCount; j++) {
+            generator.writeNumber(_columnAppends.getValue(index, j));
+        }
+
+        generator.writeEndArray();
+        String tag = _columnAppends.getTag(index);
+        if (tag != null) {
+            generator.writeStringField("Tag", tag);
+        }
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Appends all entries at once. Columns are kept as they are (without creating
+     * AppendOperation per entry) and written directly during serialization.
+     * @param columns entries to append
+     */
+    public void appendAll(TimeSeriesColumns columns) {
+        if (columns == null) {
+            throw new IllegalArgumentException("Columns cannot be null");
+        }
+
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        if (_appends != null) {
+            // last write wins - entries appended earlier with the same timestamp are overridden
+            _appends.removeIf(x -> {
+                long timestamp = x.getTimestamp().getTime();
+                int index = columns.lowerBound(timestamp);
+                return index < columns.size() && columns.getTimestamp(index) == timestamp;
+            });
+        }
+
+        if (_columnAppends == null) {
+            _columnAppends = columns;
+        } else {
+            _columnAppends = TimeSeriesColumns.merge(Arrays.asList(_columnAppends, columns));
+        }
+    }
+
     public void increment(IncrementOperation incrementOperation) {
         if (_increments == null) {
             _increments = new TreeSet<>(Comparator.comparing(x -> x.getTimestamp().getTime()));
@@ -153,7 +243,7 @@ public class TimeSeriesOperation {
 
         public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
             generator.writeStartObject();
-            generator.writeStringField("Timestamp", NetISO8601Utils.format(timestamp, true));
+            JsonExtensions.writeDateField(generator, "Timestamp", timestamp);
             generator.writeFieldName("Values");
             generator.writeStartArray();
 
@@ -201,8 +291,8 @@ public class TimeSeriesOperation {
         public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
             generator.writeStartObject();
 
-            generator.writeStringField("From", from != null ? NetISO8601Utils.format(from, true) : null);
-            generator.writeStringField("To", to != null ? NetISO8601Utils.format(to, true) : null);
+            JsonExtensions.writeDateField(generator, "From", from);
+            JsonExtensions.writeDateField(generator, "To", to);
             generator.writeEndObject();
         }
     }
@@ -229,7 +319,7 @@ public class TimeSeriesOperation {
 
         public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
             generator.writeStartObject();
-            generator.writeStringField("Timestamp", timestamp != null ? NetISO8601Utils.format(timestamp, true) : null);
+            JsonExtensions.writeDateField(generator, "Timestamp", timestamp);
 
             generator.writeFieldName("Values");
             generator.writeStartArray();
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Defaults;
 import net.ravendb.client.Constants;
 import net.ravendb.client.Parameters;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.Lazy;
 import net.ravendb.client.documents.commands.QueryCommand;
 import net.ravendb.client.documents.conventions.DocumentConventions;
@@ -43,6 +45,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 /**
@@ -2148,18 +2151,23 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
     }
 
     protected void initSync() {
+        initSync(false);
+    }
+
+    private void initSync(boolean decodeResults) {
         if (queryOperation != null) {
             return;
         }
 
         queryOperation = initializeQueryOperation();
-        executeActualQuery();
+        executeActualQuery(decodeResults);
     }
 
     @SuppressWarnings("unused")
-    private void executeActualQuery() {
+    private void executeActualQuery(boolean decodeResults) {
         try (CleanCloseable context = queryOperation.enterQueryContext()) {
-            QueryCommand command = queryOperation.createRequest();
+            // results are decoded into entities as they are read, when the caller is going to complete the query
+            QueryCommand command = queryOperation.createRequest(decodeResults ? clazz : null);
             theSession.getRequestExecutor().execute(command, theSession.sessionInfo);
             queryOperation.setResult(command.getResult());
         }
@@ -2257,7 +2265,7 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
             _take(take);
         }
 
-        initSync();
+        initSync(true);
     }
 
     public void _aggregateBy(FacetBase facet) {
@@ -2276,6 +2284,41 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         selectTokens.add(FacetToken.create(facetSetupDocumentId));
     }
 
+    public PagedQueryIterator<T> toPagedIterator(int pageSize, boolean prefetch) {
+        // background requests need executor of the store, other store implementations iterate without prefetch
+        IDocumentStore store = theSession.getDocumentStore();
+        boolean canPrefetch = prefetch && store instanceof DocumentStore;
+
+        ExecutorService executorService = canPrefetch ? ((DocumentStore) store).getExecutorService() : null;
+        return new PagedQueryIterator<>(this, theSession, executorService, start, this.pageSize, pageSize, canPrefetch);
+    }
+
+    /**
+     * Creates query operation for a single page of paged iterator.
+     * Pagination parameters of the page are not left in query parameters, so pages don't accumulate them.
+     * @param pageStart start of the page
+     * @param pageSize size of the page
+     * @return query operation
+     */
+    QueryOperation initializePageQueryOperation(int pageStart, int pageSize) {
+        int originalStart = start;
+        Integer originalPageSize = this.pageSize;
+        Set<String> parameterNames = new HashSet<>(queryParameters.keySet());
+
+        start = pageStart;
+        this.pageSize = pageSize;
+
+        try {
+            QueryOperation operation = initializeQueryOperation();
+            operation.getIndexQuery().setQueryParameters(new Parameters(queryParameters));
+            return operation;
+        } finally {
+            start = originalStart;
+            this.pageSize = originalPageSize;
+            queryParameters.keySet().retainAll(parameterNames);
+        }
+    }
+
     public Lazy<List<T>> lazily() {
         return lazily(null);
     }
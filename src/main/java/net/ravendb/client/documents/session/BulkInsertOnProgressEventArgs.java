@@ -1,17 +1,31 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.documents.bulkInsert.BulkInsertWriteStatistics;
 import net.ravendb.client.documents.operations.BulkInsertProgress;
 import net.ravendb.client.primitives.EventArgs;
 
 public class BulkInsertOnProgressEventArgs extends EventArgs {
 
     private final BulkInsertProgress progress;
+    private final BulkInsertWriteStatistics writeStatistics;
 
     public BulkInsertOnProgressEventArgs(BulkInsertProgress progress) {
+        this(progress, null);
+    }
+
+    public BulkInsertOnProgressEventArgs(BulkInsertProgress progress, BulkInsertWriteStatistics writeStatistics) {
         this.progress = progress;
+        this.writeStatistics = writeStatistics;
     }
 
     public BulkInsertProgress getProgress() {
         return progress;
     }
+
+    /**
+     * @return Statistics of data sent by the client, at the time progress was reported
+     */
+    public BulkInsertWriteStatistics getWriteStatistics() {
+        return writeStatistics;
+    }
 }
@@ -0,0 +1,267 @@
+package net.ravendb.client.documents.session;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.changes.DatabaseChanges;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.IChangesObservable;
+import net.ravendb.client.documents.changes.IObserver;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHandler;
+import net.ravendb.client.primitives.VoidArgs;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store-wide cache of documents loaded by sessions of a single database. Documents are kept as parsed json,
+ * keyed by id and checked by change vector, and are removed when the Changes API reports they were modified.
+ *
+ * Sessions get deep copies, so they can modify and track them as documents loaded from the server.
+ * The cache is used only while the Changes connection is up, it is cleared whenever the connection state changes.
+ */
+public class DocumentSnapshotCache implements CleanCloseable, IObserver<DocumentChange> {
+
+    private static final Log logger = LogFactory.getLog(DocumentSnapshotCache.class);
+
+    private final Cache<String, Snapshot> _snapshots;
+    private final Set<String> _collections;
+
+    // document invalidated after request started means the response might be already stale
+    private final AtomicLong _clock = new AtomicLong();
+    private final Map<String, Long> _invalidations = new ConcurrentHashMap<>();
+    private final int _maxInvalidations;
+    // responses requested before this are not cached, invalidations older than this are forgotten
+    private final AtomicLong _staleBefore = new AtomicLong();
+
+    private final DatabaseChanges _changes;
+    private final List<CleanCloseable> _subscriptions = new CopyOnWriteArrayList<>();
+    private final EventHandler<VoidArgs> _connectionStatusChanged = (sender, event) -> onConnectionStatusChanged();
+
+    private volatile boolean _ready;
+    private volatile boolean _closed;
+
+    public DocumentSnapshotCache(DocumentStore store, String databaseName) {
+        DocumentConventions.DocumentSnapshotCacheConventions conventions = store.getConventions().documentSnapshotCache();
+
+        _snapshots = CacheBuilder.newBuilder()
+                .maximumSize(conventions.getMaxDocuments())
+                .build();
+        _maxInvalidations = conventions.getMaxDocuments();
+
+        if (conventions.getCollections() != null) {
+            _collections = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            _collections.addAll(conventions.getCollections());
+        } else {
+            _collections = null;
+        }
+
+        _changes = new DatabaseChanges(store.getRequestExecutor(databaseName), databaseName, store.getExecutorService(), null, null);
+
+        CompletableFuture.runAsync(this::subscribe, store.getExecutorService())
+                .exceptionally(e -> {
+                    if (!_closed && logger.isInfoEnabled()) {
+                        logger.info("Could not subscribe to document changes, document snapshot cache is disabled", e);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * @return Generation which has to be passed to {@link #put(ObjectNode, long)}, taken before the documents are requested
+     */
+    public long getGeneration() {
+        return _clock.get();
+    }
+
+    /**
+     * @param id document id
+     * @return Copy of cached document or null
+     */
+    public ObjectNode get(String id) {
+        if (!_ready) {
+            return null;
+        }
+
+        Snapshot snapshot = _snapshots.getIfPresent(key(id));
+        return snapshot != null ? snapshot.document.deepCopy() : null;
+    }
+
+    /**
+     * Caches copy of the document, unless it was modified since the generation was taken.
+     * @param document document with metadata
+     * @param generation generation taken before the document was requested
+     */
+    public void put(ObjectNode document, long generation) {
+        if (!_ready) {
+            return;
+        }
+
+        JsonNode metadata = document.get(Constants.Documents.Metadata.KEY);
+        if (metadata == null || !metadata.isObject()) {
+            return;
+        }
+
+        JsonNode id = metadata.get(Constants.Documents.Metadata.ID);
+        JsonNode changeVector = metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR);
+        if (id == null || !id.isTextual() || changeVector == null || !changeVector.isTextual()) {
+            return;
+        }
+
+        if (_collections != null) {
+            JsonNode collection = metadata.get(Constants.Documents.Metadata.COLLECTION);
+            if (collection == null || !_collections.contains(collection.asText())) {
+                return;
+            }
+        }
+
+        String key = key(id.asText());
+        if (isStale(key, generation)) {
+            return;
+        }
+
+        Snapshot existing = _snapshots.getIfPresent(key);
+        if (existing != null && existing.changeVector.equals(changeVector.asText())) {
+            return;
+        }
+
+        _snapshots.put(key, new Snapshot(changeVector.asText(), document.deepCopy()));
+
+        // invalidated while we were copying
+        if (isStale(key, generation)) {
+            _snapshots.invalidate(key);
+        }
+    }
+
+    public void invalidate(String id) {
+        String key = key(id);
+
+        if (_invalidations.size() >= _maxInvalidations) {
+            // too many to track one by one, everything requested so far is treated as stale
+            markStale();
+        }
+
+        // recorded before the snapshot is removed, so concurrent put either sees it or is removed afterwards
+        _invalidations.put(key, _clock.incrementAndGet());
+        _snapshots.invalidate(key);
+    }
+
+    public void clear() {
+        markStale();
+        _snapshots.invalidateAll();
+    }
+
+    public long getNumberOfDocuments() {
+        return _snapshots.size();
+    }
+
+    @Override
+    public void onNext(DocumentChange value) {
+        if (value.getId() == null) {
+            return;
+        }
+
+        Snapshot snapshot = _snapshots.getIfPresent(key(value.getId()));
+        if (snapshot != null && value.getChangeVector() != null && snapshot.changeVector.equals(value.getChangeVector())) {
+            // we have already cached this version
+            return;
+        }
+
+        invalidate(value.getId());
+    }
+
+    @Override
+    public void onError(Exception error) {
+        _ready = false;
+        clear();
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+        _ready = false;
+
+        try (CleanCloseable changesScope = _changes) {
+            _changes.removeConnectionStatusChanged(_connectionStatusChanged);
+
+            for (CleanCloseable subscription : _subscriptions) {
+                subscription.close();
+            }
+        }
+
+        _snapshots.invalidateAll();
+    }
+
+    private void subscribe() {
+        _changes.ensureConnectedNow();
+
+        if (_collections == null) {
+            IChangesObservable<DocumentChange> observable = _changes.forAllDocuments();
+            _subscriptions.add(observable.subscribe(this));
+        } else {
+            for (String collection : _collections) {
+                IChangesObservable<DocumentChange> observable = _changes.forDocumentsInCollection(collection);
+                _subscriptions.add(observable.subscribe(this));
+            }
+        }
+
+        _changes.addConnectionStatusChanged(_connectionStatusChanged);
+
+        _ready = !_closed && _changes.isConnected();
+    }
+
+    private void onConnectionStatusChanged() {
+        // changes could be missed while disconnected
+        clear();
+        _ready = !_closed && _changes.isConnected();
+    }
+
+    private boolean isStale(String key, long generation) {
+        if (_staleBefore.get() > generation) {
+            return true;
+        }
+
+        Long invalidated = _invalidations.get(key);
+        return invalidated != null && invalidated > generation;
+    }
+
+    private void markStale() {
+        long now = _clock.incrementAndGet();
+        _staleBefore.accumulateAndGet(now, Math::max);
+
+        // invalidations recorded concurrently are newer, so they are kept
+        _invalidations.values().removeIf(invalidated -> invalidated <= now);
+    }
+
+    private static String key(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Snapshot {
+        private final String changeVector;
+        private final ObjectNode document;
+
+        Snapshot(String changeVector, ObjectNode document) {
+            this.changeVector = changeVector;
+            this.document = document;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.util.CaseInsensitiveLinkedHashMap;
+
 import java.util.*;
 
 public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>> {
@@ -7,7 +9,7 @@ public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>>
     private final Map<String, DocumentInfo> _inner;
 
     public DocumentsById() {
-        this._inner = new TreeMap<>(String::compareToIgnoreCase);
+        this._inner = new CaseInsensitiveLinkedHashMap<>();
     }
 
     public DocumentInfo getValue(String id) {
@@ -15,11 +17,7 @@ public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>>
     }
 
     public void add(DocumentInfo info) {
-        if (_inner.containsKey(info.getId())) {
-            return;
-        }
-
-        _inner.put(info.getId(), info);
+        _inner.putIfAbsent(info.getId(), info);
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -33,6 +33,15 @@ public interface IDocumentQuery<T> extends IDocumentQueryBase<T, IDocumentQuery<
      */
     QueryResult getQueryResult();
 
+    /**
+     * Iterates over query results using queries of given page size, instead of fetching all of them at once.
+     * Entities are tracked and includes are registered as in regular queries.
+     * @param pageSize number of results fetched by a single request
+     * @param prefetch request next page in the background while the current one is iterated
+     * @return iterator of the results, close it to stop iteration before the end
+     */
+    PagedQueryIterator<T> toPagedIterator(int pageSize, boolean prefetch);
+
     /**
      * Selects the specified fields directly from the index if the are stored. If the field is not stored in index, value
      * will come from document directly.
@@ -1,6 +1,7 @@
 package net.ravendb.client.documents.session;
 
 import net.ravendb.client.documents.session.loaders.ITimeSeriesIncludeBuilder;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
 import net.ravendb.client.documents.session.timeSeries.TimeSeriesEntry;
 
 import java.util.Date;
@@ -10,6 +11,12 @@ import java.util.function.Consumer;
  * Time series synchronous session operations
  */
 public interface ISessionDocumentTimeSeries extends ISessionDocumentAppendTimeSeriesBase, ISessionDocumentDeleteTimeSeriesBase {
+    /**
+     * Append all the entries to the time series at once
+     * @param entries entries in columnar form
+     */
+    void append(TimeSeriesColumns entries);
+
     /**
      * Return all time series values
      * @return time series values
@@ -31,8 +31,10 @@ import net.ravendb.client.http.ServerNode;
 import net.ravendb.client.json.BatchCommandResult;
 import net.ravendb.client.json.JsonOperation;
 import net.ravendb.client.json.MetadataAsDictionary;
+import net.ravendb.client.metrics.IClientMetrics;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.util.IdentityHashSet;
+import net.ravendb.client.util.CaseInsensitiveLinkedHashMap;
 import net.ravendb.client.util.IdentityLinkedHashMap;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.lang3.NotImplementedException;
@@ -75,7 +77,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     protected final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
 
-    private final UUID id;
+    private UUID id;
 
     /**
      * The session id
@@ -83,95 +85,161 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      * @return session id
      */
     public UUID getId() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
         return id;
     }
 
-    private final List<EventHandler<BeforeStoreEventArgs>> onBeforeStore = new ArrayList<>();
-    private final List<EventHandler<AfterSaveChangesEventArgs>> onAfterSaveChanges = new ArrayList<>();
-    private final List<EventHandler<BeforeDeleteEventArgs>> onBeforeDelete = new ArrayList<>();
-    private final List<EventHandler<BeforeQueryEventArgs>> onBeforeQuery = new ArrayList<>();
+    // listener lists are created on first registration - most sessions don't have any listeners
+    private List<EventHandler<BeforeStoreEventArgs>> onBeforeStore;
+    private List<EventHandler<AfterSaveChangesEventArgs>> onAfterSaveChanges;
+    private List<EventHandler<BeforeDeleteEventArgs>> onBeforeDelete;
+    private List<EventHandler<BeforeQueryEventArgs>> onBeforeQuery;
 
-    private final List<EventHandler<BeforeConversionToDocumentEventArgs>> onBeforeConversionToDocument = new ArrayList<>();
-    private final List<EventHandler<AfterConversionToDocumentEventArgs>> onAfterConversionToDocument = new ArrayList<>();
-    private final List<EventHandler<BeforeConversionToEntityEventArgs>> onBeforeConversionToEntity = new ArrayList<>();
-    private final List<EventHandler<AfterConversionToEntityEventArgs>> onAfterConversionToEntity = new ArrayList<>();
+    private List<EventHandler<BeforeConversionToDocumentEventArgs>> onBeforeConversionToDocument;
+    private List<EventHandler<AfterConversionToDocumentEventArgs>> onAfterConversionToDocument;
+    private List<EventHandler<BeforeConversionToEntityEventArgs>> onBeforeConversionToEntity;
+    private List<EventHandler<AfterConversionToEntityEventArgs>> onAfterConversionToEntity;
 
-    private final List<EventHandler<SessionClosingEventArgs>> onSessionClosing = new ArrayList<>();
+    private List<EventHandler<SessionClosingEventArgs>> onSessionClosing;
 
     public void addBeforeStoreListener(EventHandler<BeforeStoreEventArgs> handler) {
+        if (onBeforeStore == null) {
+            onBeforeStore = new ArrayList<>();
+        }
+
         this.onBeforeStore.add(handler);
     }
 
     public void removeBeforeStoreListener(EventHandler<BeforeStoreEventArgs> handler) {
-        this.onBeforeStore.remove(handler);
+        if (onBeforeStore != null) {
+            this.onBeforeStore.remove(handler);
+        }
     }
 
     public void addAfterSaveChangesListener(EventHandler<AfterSaveChangesEventArgs> handler) {
+        if (onAfterSaveChanges == null) {
+            onAfterSaveChanges = new ArrayList<>();
+        }
+
         this.onAfterSaveChanges.add(handler);
     }
 
     public void removeAfterSaveChangesListener(EventHandler<AfterSaveChangesEventArgs> handler) {
-        this.onAfterSaveChanges.remove(handler);
+        if (onAfterSaveChanges != null) {
+            this.onAfterSaveChanges.remove(handler);
+        }
     }
 
     public void addBeforeDeleteListener(EventHandler<BeforeDeleteEventArgs> handler) {
+        if (onBeforeDelete == null) {
+            onBeforeDelete = new ArrayList<>();
+        }
+
         this.onBeforeDelete.add(handler);
     }
 
     public void removeBeforeDeleteListener(EventHandler<BeforeDeleteEventArgs> handler) {
-        this.onBeforeDelete.remove(handler);
+        if (onBeforeDelete != null) {
+            this.onBeforeDelete.remove(handler);
+        }
     }
 
     public void addBeforeQueryListener(EventHandler<BeforeQueryEventArgs> handler) {
+        if (onBeforeQuery == null) {
+            onBeforeQuery = new ArrayList<>();
+        }
+
         this.onBeforeQuery.add(handler);
     }
 
     public void removeBeforeQueryListener(EventHandler<BeforeQueryEventArgs> handler) {
-        this.onBeforeQuery.remove(handler);
+        if (onBeforeQuery != null) {
+            this.onBeforeQuery.remove(handler);
+        }
     }
 
     public void addBeforeConversionToDocumentListener(EventHandler<BeforeConversionToDocumentEventArgs> handler) {
+        if (onBeforeConversionToDocument == null) {
+            onBeforeConversionToDocument = new ArrayList<>();
+        }
+
         this.onBeforeConversionToDocument.add(handler);
     }
 
     public void removeBeforeConversionToDocumentListener(EventHandler<BeforeConversionToDocumentEventArgs> handler) {
-        this.onBeforeConversionToDocument.remove(handler);
+        if (onBeforeConversionToDocument != null) {
+            this.onBeforeConversionToDocument.remove(handler);
+        }
     }
 
     public void addAfterConversionToDocumentListener(EventHandler<AfterConversionToDocumentEventArgs> handler) {
+        if (onAfterConversionToDocument == null) {
+            onAfterConversionToDocument = new ArrayList<>();
+        }
+
         this.onAfterConversionToDocument.add(handler);
     }
 
     public void removeAfterConversionToDocumentListener(EventHandler<AfterConversionToDocumentEventArgs> handler) {
-        this.onAfterConversionToDocument.remove(handler);
+        if (onAfterConversionToDocument != null) {
+            this.onAfterConversionToDocument.remove(handler);
+        }
     }
 
     public void addBeforeConversionToEntityListener(EventHandler<BeforeConversionToEntityEventArgs> handler) {
+        if (onBeforeConversionToEntity == null) {
+            onBeforeConversionToEntity = new ArrayList<>();
+        }
+
         this.onBeforeConversionToEntity.add(handler);
     }
 
     public void removeBeforeConversionToEntityListener(EventHandler<BeforeConversionToEntityEventArgs> handler) {
-        this.onBeforeConversionToEntity.remove(handler);
+        if (onBeforeConversionToEntity != null) {
+            this.onBeforeConversionToEntity.remove(handler);
+        }
     }
 
     public void addAfterConversionToEntityListener(EventHandler<AfterConversionToEntityEventArgs> handler) {
+        if (onAfterConversionToEntity == null) {
+            onAfterConversionToEntity = new ArrayList<>();
+        }
+
         this.onAfterConversionToEntity.add(handler);
     }
 
     public void removeAfterConversionToEntityListener(EventHandler<AfterConversionToEntityEventArgs> handler) {
-        this.onAfterConversionToEntity.remove(handler);
+        if (onAfterConversionToEntity != null) {
+            this.onAfterConversionToEntity.remove(handler);
+        }
+    }
+
+    /**
+     * @return true if any conversion to entity listener is registered - listeners receive documents as json trees
+     */
+    public boolean hasConversionToEntityListeners() {
+        return (onBeforeConversionToEntity != null && !onBeforeConversionToEntity.isEmpty())
+                || (onAfterConversionToEntity != null && !onAfterConversionToEntity.isEmpty());
     }
 
     public void addOnSessionClosingListener(EventHandler<SessionClosingEventArgs> handler) {
+        if (onSessionClosing == null) {
+            onSessionClosing = new ArrayList<>();
+        }
+
         this.onSessionClosing.add(handler);
     }
 
     public void removeOnSessionClosingListener(EventHandler<SessionClosingEventArgs> handler) {
-        this.onSessionClosing.remove(handler);
+        if (onSessionClosing != null) {
+            this.onSessionClosing.remove(handler);
+        }
     }
 
     //Entities whose id we already know do not exists, because they are a missing include, or a missing load, etc.
-    protected final Set<String> _knownMissingIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    protected final Set<String> _knownMissingIds = Collections.newSetFromMap(new CaseInsensitiveLinkedHashMap<>());
 
     private Map<String, Object> externalState;
 
@@ -194,7 +262,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     /**
      * Translate between an ID and its associated entity
      */
-    public final Map<String, DocumentInfo> includedDocumentsById = new TreeMap<>(String::compareToIgnoreCase);
+    public final Map<String, DocumentInfo> includedDocumentsById = new CaseInsensitiveLinkedHashMap<>();
 
     /**
      * Translate between an CV and its associated entity
@@ -259,6 +327,21 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         return _requestExecutor;
     }
 
+    private DocumentSnapshotCache _documentSnapshotCache;
+    private boolean _documentSnapshotCacheResolved;
+
+    /**
+     * @return Store-wide cache of loaded documents or null when it is disabled
+     */
+    public DocumentSnapshotCache getDocumentSnapshotCache() {
+        if (!_documentSnapshotCacheResolved) {
+            _documentSnapshotCache = _documentStore.getDocumentSnapshotCache(databaseName);
+            _documentSnapshotCacheResolved = true;
+        }
+
+        return _documentSnapshotCache;
+    }
+
     public SessionInfo getSessionInfo() {
         return sessionInfo;
     }
@@ -359,21 +442,27 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     public final boolean noTracking;
 
-    public Map<String, ForceRevisionStrategy> idsForCreatingForcedRevisions = new TreeMap<>(String::compareToIgnoreCase);
+    public Map<String, ForceRevisionStrategy> idsForCreatingForcedRevisions = new CaseInsensitiveLinkedHashMap<>();
 
     public int getDeferredCommandsCount() {
         return deferredCommands.size();
     }
 
-    private final GenerateEntityIdOnTheClient generateEntityIdOnTheClient;
+    private GenerateEntityIdOnTheClient generateEntityIdOnTheClient;
 
     public GenerateEntityIdOnTheClient getGenerateEntityIdOnTheClient() {
+        if (generateEntityIdOnTheClient == null) {
+            generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_requestExecutor.getConventions(), this::generateId);
+        }
         return generateEntityIdOnTheClient;
     }
 
-    private final EntityToJson entityToJson;
+    private EntityToJson entityToJson;
 
     public EntityToJson getEntityToJson() {
+        if (entityToJson == null) {
+            entityToJson = new EntityToJson(this);
+        }
         return entityToJson;
     }
 
@@ -386,21 +475,20 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      */
     protected InMemoryDocumentSessionOperations(DocumentStoreBase documentStore, UUID id, SessionOptions options) {
         this.id = id;
-        this.databaseName = ObjectUtils.firstNonNull(options.getDatabase(), documentStore.getDatabase());
+        // plain null checks instead of ObjectUtils.firstNonNull, which allocates a stream pipeline on every session
+        this.databaseName = options.getDatabase() != null ? options.getDatabase() : documentStore.getDatabase();
 
         if (StringUtils.isBlank(databaseName)) {
             throwNoDatabase();
         }
 
         this._documentStore = documentStore;
-        this._requestExecutor = ObjectUtils.firstNonNull(options.getRequestExecutor(), documentStore.getRequestExecutor(databaseName));
+        this._requestExecutor = options.getRequestExecutor() != null ? options.getRequestExecutor() : documentStore.getRequestExecutor(databaseName);
 
         noTracking = options.isNoTracking();
 
         this.useOptimisticConcurrency = _requestExecutor.getConventions().isUseOptimisticConcurrency();
         this.maxNumberOfRequestsPerSession = _requestExecutor.getConventions().getMaxNumberOfRequestsPerSession();
-        this.generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_requestExecutor.getConventions(), this::generateId);
-        this.entityToJson = new EntityToJson(this);
 
         sessionInfo = new SessionInfo(this, options, _documentStore);
         transactionMode = options.getTransactionMode();
@@ -525,7 +613,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         }
 
         Reference<String> idRef = new Reference<>();
-        if (!generateEntityIdOnTheClient.tryGetIdFromInstance(instance, idRef)) {
+        if (!getGenerateEntityIdOnTheClient().tryGetIdFromInstance(instance, idRef)) {
             throw new IllegalStateException("Could not find the document id for " + instance);
         }
 
@@ -651,7 +739,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             // instance, and return that, ignoring anything new.
 
             if (docInfo.getEntity() == null) {
-                docInfo.setEntity(entityToJson.convertToEntity(entityType, id, document, !noTracking));
+                docInfo.setEntity(getEntityToJson().convertToEntity(entityType, id, document, !noTracking));
             }
 
             if (!noTracking) {
@@ -667,7 +755,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         docInfo = includedDocumentsById.get(id);
         if (docInfo != null) {
             if (docInfo.getEntity() == null) {
-                docInfo.setEntity(entityToJson.convertToEntity(entityType, id, document, !noTracking));
+                docInfo.setEntity(getEntityToJson().convertToEntity(entityType, id, document, !noTracking));
             }
 
             if (!noTracking) {
@@ -681,7 +769,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return docInfo.getEntity();
         }
 
-        Object entity = entityToJson.convertToEntity(entityType, id, document, !noTracking);
+        Object entity = getEntityToJson().convertToEntity(entityType, id, document, !noTracking);
 
         String changeVector = metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR).asText();
         if (changeVector == null) {
@@ -758,7 +846,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         String changeVector = null;
         DocumentInfo documentInfo = documentsById.getValue(id);
         if (documentInfo != null) {
-            ObjectNode newObj = entityToJson.convertEntityToJson(documentInfo.getEntity(), documentInfo);
+            ObjectNode newObj = getEntityToJson().convertEntityToJson(documentInfo.getEntity(), documentInfo);
             if (documentInfo.getEntity() != null && entityChanged(newObj, documentInfo, null)) {
                 throw new IllegalStateException("Can't delete changed entity using identifier. Use delete(Class clazz, T entity) instead.");
             }
@@ -790,7 +878,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      */
     public void store(Object entity) {
         Reference<String> stringReference = new Reference<>();
-        boolean hasId = generateEntityIdOnTheClient.tryGetIdFromInstance(entity, stringReference);
+        boolean hasId = getGenerateEntityIdOnTheClient().tryGetIdFromInstance(entity, stringReference);
         storeInternal(entity, null, null, !hasId ? ConcurrencyCheckMode.FORCED : ConcurrencyCheckMode.AUTO);
     }
 
@@ -835,13 +923,13 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
         if (id == null) {
             if (generateDocumentKeysOnStore) {
-                id = generateEntityIdOnTheClient.generateDocumentKeyForStorage(entity);
+                id = getGenerateEntityIdOnTheClient().generateDocumentKeyForStorage(entity);
             } else {
                 rememberEntityForDocumentIdGeneration(entity);
             }
         } else {
             // Store it back into the Id field so the client has access to it
-            generateEntityIdOnTheClient.trySetIdentity(entity, id);
+            getGenerateEntityIdOnTheClient().trySetIdentity(entity, id);
         }
 
         if (deferredCommandsMap.containsKey(IdTypeAndName.create(id, CommandType.CLIENT_ANY_COMMAND, null))) {
@@ -1136,7 +1224,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
                 boolean dirtyMetadata = updateMetadataModifications(entity.getValue().getMetadataInstance(), entity.getValue().getMetadata());
 
-                ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
+                ObjectNode document = getEntityToJson().convertEntityToJson(entity.getKey(), entity.getValue());
 
                 if ((!entityChanged(document, entity.getValue(), null)) && !dirtyMetadata) {
                     continue;
@@ -1157,7 +1245,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
                     }
 
                     if (beforeStoreEventArgs.isMetadataAccessed() || entityChanged(document, entity.getValue(), null)) {
-                        document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
+                        document = getEntityToJson().convertEntityToJson(entity.getKey(), entity.getValue());
                     }
                 }
 
@@ -1253,7 +1341,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         }
 
         updateMetadataModifications(documentInfo.getMetadataInstance(), documentInfo.getMetadata());
-        ObjectNode document = entityToJson.convertEntityToJson(documentInfo.getEntity(), documentInfo);
+        ObjectNode document = getEntityToJson().convertEntityToJson(documentInfo.getEntity(), documentInfo);
 
         Map<String, List<DocumentsChanges>> changes = new HashMap<>();
 
@@ -1290,7 +1378,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      */
     public boolean hasChanges() {
         for (DocumentsByEntityHolder.DocumentsByEntityEnumeratorResult entity : documentsByEntity) {
-            ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
+            ObjectNode document = getEntityToJson().convertEntityToJson(entity.getKey(), entity.getValue());
             if (entityChanged(document, entity.getValue(), null)) {
                 return true;
             }
@@ -1312,7 +1400,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return false;
         }
 
-        ObjectNode document = entityToJson.convertEntityToJson(entity, documentInfo);
+        ObjectNode document = getEntityToJson().convertEntityToJson(entity, documentInfo);
         return entityChanged(document, documentInfo, null);
     }
 
@@ -1364,7 +1452,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     private void getAllEntitiesChanges(Map<String, List<DocumentsChanges>> changes) {
         for (Map.Entry<String, DocumentInfo> pair : documentsById) {
             updateMetadataModifications(pair.getValue().getMetadataInstance(), pair.getValue().getMetadata());
-            ObjectNode newObj = entityToJson.convertEntityToJson(pair.getValue().getEntity(), pair.getValue());
+            ObjectNode newObj = getEntityToJson().convertEntityToJson(pair.getValue().getEntity(), pair.getValue());
             entityChanged(newObj, pair.getValue(), changes);
         }
     }
@@ -1400,7 +1488,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         }
 
         deletedEntities.evict(entity);
-        entityToJson.removeFromMissing(entity);
+        if (entityToJson != null) {
+            entityToJson.removeFromMissing(entity);
+        }
     }
 
     /**
@@ -1419,7 +1509,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         deferredCommandsMap.clear();
         clearClusterSession();
         pendingLazyOperations.clear();
-        entityToJson.clear();
+        if (entityToJson != null) {
+            entityToJson.clear();
+        }
     }
 
     /**
@@ -1482,11 +1574,16 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return;
         }
 
-        EventHelper.invoke(onSessionClosing, this, new SessionClosingEventArgs(this));
+        if (onSessionClosing != null) {
+            EventHelper.invoke(onSessionClosing, this, new SessionClosingEventArgs(this));
+        }
 
         _isDisposed = true;
 
-        // nothing more to do for now
+        IClientMetrics metrics = _documentStore.getMetrics();
+        if (metrics != null) {
+            metrics.onSessionClosed(databaseName, numberOfRequests);
+        }
     }
 
     /**
@@ -2132,7 +2229,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     private Object deserializeFromTransformer(Class<?> clazz, String id, ObjectNode document, boolean trackEntity) {
-        Object entity = entityToJson.convertToEntity(clazz, id, document, trackEntity);
+        Object entity = getEntityToJson().convertToEntity(clazz, id, document, trackEntity);
         onAfterConversionToEntityInvoke(id, document, entity);
         return entity;
 
@@ -2279,11 +2376,11 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             documentInfo.setChangeVector(changeVector.asText());
         }
 
-        if (documentInfo.getEntity() != null && !noTracking) {
+        if (documentInfo.getEntity() != null && !noTracking && entityToJson != null) {
             entityToJson.removeFromMissing(documentInfo.getEntity());
         }
 
-        documentInfo.setEntity(entityToJson.convertToEntity(entity.getClass(), documentInfo.getId(), document, !noTracking));
+        documentInfo.setEntity(getEntityToJson().convertToEntity(entity.getClass(), documentInfo.getId(), document, !noTracking));
         documentInfo.setDocument(document);
 
         try {
@@ -2330,23 +2427,31 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     public void onAfterSaveChangesInvoke(AfterSaveChangesEventArgs eventArgs) {
-        EventHelper.invoke(onAfterSaveChanges, this, eventArgs);
+        if (onAfterSaveChanges != null) {
+            EventHelper.invoke(onAfterSaveChanges, this, eventArgs);
+        }
     }
 
     public void onBeforeDeleteInvoke(BeforeDeleteEventArgs eventArgs) {
-        EventHelper.invoke(onBeforeDelete, this, eventArgs);
+        if (onBeforeDelete != null) {
+            EventHelper.invoke(onBeforeDelete, this, eventArgs);
+        }
     }
 
     public void onBeforeQueryInvoke(BeforeQueryEventArgs eventArgs) {
-        EventHelper.invoke(onBeforeQuery, this, eventArgs);
+        if (onBeforeQuery != null) {
+            EventHelper.invoke(onBeforeQuery, this, eventArgs);
+        }
     }
 
     public void onBeforeConversionToDocumentInvoke(String id, Object entity) {
-        EventHelper.invoke(onBeforeConversionToDocument, this, new BeforeConversionToDocumentEventArgs(this, id, entity));
+        if (onBeforeConversionToDocument != null) {
+            EventHelper.invoke(onBeforeConversionToDocument, this, new BeforeConversionToDocumentEventArgs(this, id, entity));
+        }
     }
 
     public void onAfterConversionToDocumentInvoke(String id, Object entity, Reference<ObjectNode> document) {
-        if (!onAfterConversionToDocument.isEmpty()) {
+        if (onAfterConversionToDocument != null && !onAfterConversionToDocument.isEmpty()) {
             AfterConversionToDocumentEventArgs eventArgs = new AfterConversionToDocumentEventArgs(this, id, entity, document);
             EventHelper.invoke(onAfterConversionToDocument, this, eventArgs);
 
@@ -2357,7 +2462,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     public void onBeforeConversionToEntityInvoke(String id, Class clazz, Reference<ObjectNode> document) {
-        if (!onBeforeConversionToEntity.isEmpty()) {
+        if (onBeforeConversionToEntity != null && !onBeforeConversionToEntity.isEmpty()) {
             BeforeConversionToEntityEventArgs eventArgs = new BeforeConversionToEntityEventArgs(this, id, clazz, document);
             EventHelper.invoke(onBeforeConversionToEntity, this, eventArgs);
 
@@ -2368,8 +2473,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     public void onAfterConversionToEntityInvoke(String id, ObjectNode document, Object entity) {
-        AfterConversionToEntityEventArgs eventArgs = new AfterConversionToEntityEventArgs(this, id, document, entity);
-        EventHelper.invoke(onAfterConversionToEntity, this, eventArgs);
+        if (onAfterConversionToEntity != null) {
+            AfterConversionToEntityEventArgs eventArgs = new AfterConversionToEntityEventArgs(this, id, document, entity);
+            EventHelper.invoke(onAfterConversionToEntity, this, eventArgs);
+        }
     }
 
     protected Tuple<String, String> processQueryParameters(Class clazz, String indexName, String collectionName, DocumentConventions conventions) {
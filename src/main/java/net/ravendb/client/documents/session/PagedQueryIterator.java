@@ -0,0 +1,201 @@
+package net.ravendb.client.documents.session;
+
+import net.ravendb.client.documents.CloseableIterator;
+import net.ravendb.client.documents.commands.QueryCommand;
+import net.ravendb.client.documents.queries.QueryResult;
+import net.ravendb.client.documents.session.operations.QueryOperation;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.ExceptionsUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Iterates over query results page by page. Each page is a regular query (with includes and tracking),
+ * and when prefetch is enabled the next page is requested in the background while the current page is processed.
+ *
+ * Only the requests run in the background - results are converted to entities on the iterating thread,
+ * as session is not thread safe. Requests use a copy of the session info taken when the iterator was created.
+ *
+ * Next page starts after the current one plus results skipped by the server (ex. for distinct queries),
+ * so pages don't overlap. Skip and take of the query limit the iterated results.
+ *
+ * Query statistics describe the first page and result etag of that page is pinned:
+ * when a later page was produced from different results, isResultsChanged returns true.
+ */
+public class PagedQueryIterator<T> implements CloseableIterator<T> {
+
+    private final AbstractDocumentQuery<T, ?> _query;
+    private final InMemoryDocumentSessionOperations _session;
+    private final SessionInfo _sessionInfo;
+    private final ExecutorService _executorService;
+    private final int _pageSize;
+    private final boolean _prefetch;
+
+    private int _nextStart;
+    private Integer _remaining;
+    private boolean _lastPageRequested;
+    private PendingPage _pendingPage;
+
+    private Iterator<T> _current = Collections.emptyIterator();
+    private Long _resultEtag;
+    private boolean _firstPage = true;
+    private boolean _resultsChanged;
+    private boolean _closed;
+
+    PagedQueryIterator(AbstractDocumentQuery<T, ?> query, InMemoryDocumentSessionOperations session, ExecutorService executorService,
+                       int start, Integer take, int pageSize, boolean prefetch) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        _query = query;
+        _session = session;
+        _sessionInfo = new SessionInfo(session.getSessionInfo());
+        _executorService = executorService;
+        _nextStart = start;
+        _remaining = take;
+        _pageSize = pageSize;
+        _prefetch = prefetch;
+    }
+
+    /**
+     * @return true if any page was returned from results with different result etag than the first page,
+     * which means that results were modified during the iteration and pages might overlap or miss some results
+     */
+    public boolean isResultsChanged() {
+        return _resultsChanged;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!_current.hasNext()) {
+            if (_closed) {
+                return false;
+            }
+
+            if (_pendingPage == null) {
+                if (_lastPageRequested || (_remaining != null && _remaining <= 0)) {
+                    return false;
+                }
+
+                _pendingPage = requestPage();
+            }
+
+            PendingPage page = _pendingPage;
+            _pendingPage = null;
+
+            _current = completePage(page);
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return _current.next();
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+        _current = Collections.emptyIterator();
+
+        if (_pendingPage != null) {
+            // result of the prefetched page is not needed anymore
+            _pendingPage.request.cancel(false);
+            _pendingPage = null;
+        }
+    }
+
+    private PendingPage requestPage() {
+        int start = _nextStart;
+        int pageSize = _remaining != null ? Math.min(_pageSize, _remaining) : _pageSize;
+
+        QueryOperation operation = _query.initializePageQueryOperation(start, pageSize);
+        QueryCommand command = operation.createRequest();
+        RequestExecutor requestExecutor = _session.getRequestExecutor();
+
+        CompletableFuture<Void> request;
+        if (_prefetch) {
+            request = CompletableFuture.runAsync(() -> execute(operation, command, requestExecutor), _executorService);
+        } else {
+            execute(operation, command, requestExecutor);
+            request = CompletableFuture.completedFuture(null);
+        }
+
+        return new PendingPage(start, pageSize, operation, command, request);
+    }
+
+    private void execute(QueryOperation operation, QueryCommand command, RequestExecutor requestExecutor) {
+        try (CleanCloseable context = operation.enterQueryContext()) {
+            requestExecutor.execute(command, _sessionInfo);
+        }
+    }
+
+    private Iterator<T> completePage(PendingPage page) {
+        try {
+            page.request.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        }
+
+        QueryOperation operation = page.operation;
+        operation.setResult(page.command.getResult());
+
+        QueryResult queryResult = operation.getCurrentQueryResults();
+
+        if (_firstPage) {
+            _firstPage = false;
+            _resultEtag = queryResult.getResultEtag();
+            _query.invokeAfterQueryExecuted(queryResult);
+        } else if (!Objects.equals(_resultEtag, queryResult.getResultEtag())) {
+            _resultsChanged = true;
+        }
+
+        int resultsCount = queryResult.getResults().size();
+
+        if (_remaining != null) {
+            _remaining -= resultsCount;
+        }
+
+        if (resultsCount < page.pageSize) {
+            _lastPageRequested = true;
+        } else {
+            _nextStart = page.start + resultsCount + queryResult.getSkippedResults();
+
+            if (_prefetch && (_remaining == null || _remaining > 0)) {
+                // next page is fetched while this one is processed
+                _pendingPage = requestPage();
+            }
+        }
+
+        return operation.complete(_query.getQueryClass()).iterator();
+    }
+
+    private static class PendingPage {
+        private final int start;
+        private final int pageSize;
+        private final QueryOperation operation;
+        private final QueryCommand command;
+        private final CompletableFuture<Void> request;
+
+        PendingPage(int start, int pageSize, QueryOperation operation, QueryCommand command, CompletableFuture<Void> request) {
+            this.start = start;
+            this.pageSize = pageSize;
+            this.operation = operation;
+            this.command = command;
+            this.request = request;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package net.ravendb.client.documents.session;
 
 import net.ravendb.client.documents.DocumentStoreBase;
+import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.http.CurrentIndexAndNode;
 import net.ravendb.client.http.LoadBalanceBehavior;
+import net.ravendb.client.http.ReadBalanceBehavior;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.http.ServerNode;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -42,6 +44,27 @@ public class SessionInfo {
         this.noCaching = options.isNoCaching();
     }
 
+    /**
+     * Creates a copy which can be used by requests running outside of the session thread.
+     * Session id is resolved now (if the requests need it), so they go to the same node as requests of the session.
+     * @param other session info to copy
+     */
+    SessionInfo(SessionInfo other) {
+        _session = other._session;
+        _loadBalancerContextSeed = other._loadBalancerContextSeed;
+        _canUseLoadBalanceBehavior = other._canUseLoadBalanceBehavior;
+
+        DocumentConventions conventions = other._session._requestExecutor.getConventions();
+        boolean usesSessionId = conventions.getReadBalanceBehavior() == ReadBalanceBehavior.ROUND_ROBIN
+                || conventions.getLoadBalanceBehavior() == LoadBalanceBehavior.USE_SESSION_CONTEXT && other._canUseLoadBalanceBehavior;
+
+        _sessionId = usesSessionId ? other.getSessionId() : other._sessionId;
+        _sessionIdUsed = true;
+
+        lastClusterTransactionIndex = other.lastClusterTransactionIndex;
+        noCaching = other.noCaching;
+    }
+
     public void incrementRequestCount() {
         _session.incrementRequestCount();
     }
@@ -99,6 +122,9 @@ public class SessionInfo {
             case FASTEST_NODE:
                 result = requestExecutor.getFastestNode();
                 break;
+            case LEAST_LATENCY:
+                result = requestExecutor.getLeastLatencyNode();
+                break;
             default:
                 throw new IllegalArgumentException(requestExecutor.getConventions().getReadBalanceBehavior().toString());
         }
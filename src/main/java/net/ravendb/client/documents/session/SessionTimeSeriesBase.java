@@ -10,6 +10,7 @@ import net.ravendb.client.documents.commands.batches.IncrementalTimeSeriesBatchC
 import net.ravendb.client.documents.commands.batches.TimeSeriesBatchCommandData;
 import net.ravendb.client.documents.operations.timeSeries.*;
 import net.ravendb.client.documents.session.loaders.ITimeSeriesIncludeBuilder;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
 import net.ravendb.client.documents.session.timeSeries.TimeSeriesEntry;
 import net.ravendb.client.primitives.DatesComparator;
 import net.ravendb.client.primitives.Reference;
@@ -95,6 +96,24 @@ public class SessionTimeSeriesBase {
         }
     }
 
+    public void append(TimeSeriesColumns entries) {
+        DocumentInfo documentInfo = session.documentsById.getValue(docId);
+        if (documentInfo != null && session.deletedEntities.contains(documentInfo.getEntity())) {
+            throwDocumentAlreadyDeletedInSession(docId, name);
+        }
+
+        ICommandData command = session.deferredCommandsMap.get(IdTypeAndName.create(docId, CommandType.TIME_SERIES, name));
+        if (command != null) {
+            TimeSeriesBatchCommandData tsCmd = (TimeSeriesBatchCommandData) command;
+
+            tsCmd.getTimeSeries().appendAll(entries);
+        } else {
+            TimeSeriesBatchCommandData tsCmd = new TimeSeriesBatchCommandData(docId, name, null, null);
+            tsCmd.getTimeSeries().appendAll(entries);
+            session.defer(tsCmd);
+        }
+    }
+
     public void delete() {
         delete(null, null);
     }
@@ -89,6 +89,8 @@ public class BatchOperation {
 
         _onSuccessfulRequest.clearSessionStateAfterSuccessfulSaveChanges();
 
+        invalidateDocumentSnapshotCache(result);
+
         if (_session.getTransactionMode() == TransactionMode.CLUSTER_WIDE) {
             if (result.getTransactionIndex() <= 0) {
                 throw new ClientVersionMismatchException("Cluster transaction was send to a node that is not supporting it. " +
@@ -555,6 +557,28 @@ public class BatchOperation {
         throw new IllegalStateException(type + " response is invalid. Field '" + fieldName + "' is missing.");
     }
 
+    private void invalidateDocumentSnapshotCache(BatchCommandResult result) {
+        DocumentSnapshotCache cache = _session.getDocumentSnapshotCache();
+        if (cache == null) {
+            return;
+        }
+
+        // don't wait for the Changes API to notify us about our own writes
+        for (JsonNode batchResult : result.getResults()) {
+            if (batchResult == null || !batchResult.isObject()) {
+                continue;
+            }
+
+            JsonNode id = batchResult.has(Constants.Documents.Metadata.ID)
+                    ? batchResult.get(Constants.Documents.Metadata.ID)
+                    : batchResult.get("Id");
+
+            if (id != null && id.isTextual()) {
+                cache.invalidate(id.asText());
+            }
+        }
+    }
+
     private static void throwOnNullResults() {
         throw new IllegalStateException("Received empty response from the server. This is not supposed to happen and is likely a bug.");
     }
@@ -1,6 +1,8 @@
 package net.ravendb.client.documents.session.operations;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Defaults;
 import net.ravendb.client.documents.commands.GetDocumentsCommand;
@@ -8,6 +10,7 @@ import net.ravendb.client.documents.commands.GetDocumentsResult;
 import net.ravendb.client.documents.operations.timeSeries.AbstractTimeSeriesRange;
 import net.ravendb.client.documents.session.ClusterTransactionOperationsBase;
 import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.DocumentSnapshotCache;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
 import net.ravendb.client.documents.session.TransactionMode;
 import org.apache.commons.lang3.StringUtils;
@@ -33,6 +36,9 @@ public class LoadOperation {
     private boolean _resultsSet;
     private GetDocumentsResult _results;
 
+    private DocumentSnapshotCache _documentSnapshotCache;
+    private long _documentSnapshotCacheGeneration;
+
     public LoadOperation(InMemoryDocumentSessionOperations _session) {
         this._session = _session;
     }
@@ -42,6 +48,18 @@ public class LoadOperation {
             return null;
         }
 
+        if (canUseDocumentSnapshotCache()) {
+            _documentSnapshotCache = _session.getDocumentSnapshotCache();
+        }
+
+        if (_documentSnapshotCache != null) {
+            _documentSnapshotCacheGeneration = _documentSnapshotCache.getGeneration();
+
+            if (tryLoadFromDocumentSnapshotCache()) {
+                return null;
+            }
+        }
+
         _session.incrementRequestCount();
 
         if (logger.isInfoEnabled()) {
@@ -57,6 +75,61 @@ public class LoadOperation {
         return cmd;
     }
 
+    private boolean canUseDocumentSnapshotCache() {
+        // includes have to come from the same (server) snapshot as the documents
+        return _includes == null
+                && _countersToInclude == null
+                && !_includeAllCounters
+                && _revisionsToIncludeByChangeVector == null
+                && _revisionsToIncludeByDateTimeBefore == null
+                && _timeSeriesToInclude == null
+                && _compareExchangeValuesToInclude == null
+                && _session.getTransactionMode() != TransactionMode.CLUSTER_WIDE;
+    }
+
+    private boolean tryLoadFromDocumentSnapshotCache() {
+        ArrayNode documents = JsonNodeFactory.instance.arrayNode();
+
+        for (String id : _ids) {
+            if (_session.documentsById.getValue(id) != null) {
+                continue;
+            }
+
+            ObjectNode document = _documentSnapshotCache.get(id);
+            if (document == null) {
+                return false;
+            }
+
+            documents.add(document);
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Loaded the following ids " + String.join(",", _ids) + " from document snapshot cache of " + _session.storeIdentifier());
+        }
+
+        // documents aren't put back to the cache
+        _documentSnapshotCache = null;
+
+        GetDocumentsResult result = new GetDocumentsResult();
+        result.setResults(documents);
+        result.setIncludes(JsonNodeFactory.instance.objectNode());
+        setResult(result);
+
+        return true;
+    }
+
+    private void putToDocumentSnapshotCache(GetDocumentsResult result) {
+        if (_documentSnapshotCache == null || result == null || result.getResults() == null) {
+            return;
+        }
+
+        for (JsonNode document : result.getResults()) {
+            if (document != null && document.isObject()) {
+                _documentSnapshotCache.put((ObjectNode) document, _documentSnapshotCacheGeneration);
+            }
+        }
+    }
+
     public LoadOperation byId(String id) {
         if (StringUtils.isBlank(id)) {
             return this;
@@ -223,6 +296,8 @@ public class LoadOperation {
     public void setResult(GetDocumentsResult result) {
         _resultsSet = true;
 
+        putToDocumentSnapshotCache(result);
+
         if (_session.noTracking) {
             _results = result;
             return;
@@ -45,6 +45,7 @@ public class QueryOperation {
     private final FieldsToFetchToken _fieldsToFetch;
     private Stopwatch _sp;
     private boolean _noTracking;
+    private QueryResultDecoder<?> _resultDecoder;
 
     private static final Log logger = LogFactory.getLog(QueryOperation.class);
     private static PropertyDescriptor[] _facetResultFields;
@@ -75,11 +76,23 @@ public class QueryOperation {
     }
 
     public QueryCommand createRequest() {
+        return createRequest(null);
+    }
+
+    /**
+     * Creates query command which (when query allows it) decodes results straight into entities of given class,
+     * those are returned by first completion of the operation with the same class.
+     * @param clazz class of query results or null
+     * @return query command
+     */
+    public QueryCommand createRequest(Class<?> clazz) {
         _session.incrementRequestCount();
 
         logQuery();
 
-        return new QueryCommand(_session, _indexQuery, _metadataOnly, _indexEntriesOnly);
+        _resultDecoder = _metadataOnly || _indexEntriesOnly ? null : QueryResultDecoder.create(_session, clazz, _fieldsToFetch, _noTracking);
+
+        return new QueryCommand(_session, _indexQuery, _metadataOnly, _indexEntriesOnly, _resultDecoder);
     }
 
     public QueryResult getCurrentQueryResults() {
@@ -125,54 +138,53 @@ public class QueryOperation {
 
     @SuppressWarnings("unchecked")
     public <T> T[] completeAsArray(Class<T> clazz) {
-        QueryResult queryResult = _currentQueryResults.createSnapshot();
+        List<Object> decodedRows = takeDecodedRows(clazz);
+        QueryResult queryResult = decodedRows != null ? _currentQueryResults : _currentQueryResults.createSnapshot();
 
-        T[] result = (T[]) Array.newInstance(clazz, queryResult.getResults().size());
-        completeInternal(clazz, queryResult, (idx, item) -> result[idx] = item);
+        T[] result = (T[]) Array.newInstance(clazz, decodedRows != null ? decodedRows.size() : queryResult.getResults().size());
+        completeInternal(clazz, queryResult, decodedRows, (idx, item) -> result[idx] = item);
 
         return result;
     }
 
     public <T> List<T> complete(Class<T> clazz) {
-        QueryResult queryResult = _currentQueryResults.createSnapshot();
+        List<Object> decodedRows = takeDecodedRows(clazz);
+        QueryResult queryResult = decodedRows != null ? _currentQueryResults : _currentQueryResults.createSnapshot();
 
-        List<T> result = new ArrayList<>(queryResult.getResults().size());
+        List<T> result = new ArrayList<>(decodedRows != null ? decodedRows.size() : queryResult.getResults().size());
 
-        completeInternal(clazz, queryResult, result::add);
+        completeInternal(clazz, queryResult, decodedRows, result::add);
 
         return result;
     }
 
-    private <T> void completeInternal(Class<T> clazz, QueryResult queryResult, BiConsumer<Integer, T> addToResult) {
+    private List<Object> takeDecodedRows(Class<?> clazz) {
+        if (_resultDecoder == null || !_resultDecoder.getClazz().equals(clazz)) {
+            return null;
+        }
+
+        return _resultDecoder.takeRows();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void completeInternal(Class<T> clazz, QueryResult queryResult, List<Object> decodedRows, BiConsumer<Integer, T> addToResult) {
         if (!_noTracking) {
             _session.registerIncludes(queryResult.getIncludes());
         }
 
         try {
-            for (int i = 0; i < queryResult.getResults().size(); i++) {
-                JsonNode document = queryResult.getResults().get(i);
-                ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
-                try {
-                    JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
-
-                    String id = null;
-                    if (idNode != null && idNode.isTextual()) {
-                        id = idNode.asText();
-                    }
-
-                    addToResult.accept(i, deserialize(clazz, id, (ObjectNode) document, metadata, _fieldsToFetch, _noTracking, _session, _isProjectInto));
-                } catch (NullPointerException e) {
-                    if (document.size() != _facetResultFields.length) {
-                        throw e;
+            if (decodedRows != null) {
+                for (int i = 0; i < decodedRows.size(); i++) {
+                    Object row = decodedRows.get(i);
+                    if (row instanceof QueryResultDecoder.DeferredRow) {
+                        addToResult.accept(i, completeDocument(clazz, ((QueryResultDecoder.DeferredRow) row).getDocument()));
+                    } else {
+                        addToResult.accept(i, (T) row);
                     }
-
-                    for (PropertyDescriptor prop : _facetResultFields) {
-                        if (document.get(StringUtils.capitalize(prop.getName())) == null) {
-                            throw e;
-                        }
-                    }
-
-                    throw new IllegalArgumentException("Raw query with aggregation by facet should be called by executeAggregation method.");
+                }
+            } else {
+                for (int i = 0; i < queryResult.getResults().size(); i++) {
+                    addToResult.accept(i, completeDocument(clazz, queryResult.getResults().get(i)));
                 }
             }
         } catch (JsonProcessingException e) {
@@ -180,7 +192,10 @@ public class QueryOperation {
         }
 
         if (!_noTracking) {
-            _session.registerMissingIncludes(queryResult.getResults(), queryResult.getIncludes(), queryResult.getIncludedPaths());
+            String[] includedPaths = queryResult.getIncludedPaths();
+            if (includedPaths != null && includedPaths.length > 0) {
+                _session.registerMissingIncludes(queryResult.getResults(), queryResult.getIncludes(), includedPaths);
+            }
 
             if (queryResult.getCounterIncludes() != null) {
                 _session.registerCounters(queryResult.getCounterIncludes(), queryResult.getIncludedCounterNames());
@@ -197,6 +212,32 @@ public class QueryOperation {
         }
     }
 
+    private <T> T completeDocument(Class<T> clazz, JsonNode document) throws JsonProcessingException {
+        ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
+        try {
+            JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
+
+            String id = null;
+            if (idNode != null && idNode.isTextual()) {
+                id = idNode.asText();
+            }
+
+            return deserialize(clazz, id, (ObjectNode) document, metadata, _fieldsToFetch, _noTracking, _session, _isProjectInto);
+        } catch (NullPointerException e) {
+            if (document.size() != _facetResultFields.length) {
+                throw e;
+            }
+
+            for (PropertyDescriptor prop : _facetResultFields) {
+                if (document.get(StringUtils.capitalize(prop.getName())) == null) {
+                    throw e;
+                }
+            }
+
+            throw new IllegalArgumentException("Raw query with aggregation by facet should be called by executeAggregation method.");
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session, boolean isProjectInto) throws JsonProcessingException {
         JsonNode projection = metadata.get("@projection");
@@ -311,7 +352,13 @@ public class QueryOperation {
                 parameters.append(") ");
             }
 
-            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + result.getResults().size() + isStale + "results (total index results: " + result.getTotalResults() + ")");
+            // don't read results of decoded query result just for logging
+            int resultsCount = _resultDecoder != null ? _resultDecoder.getResultsCount(result) : -1;
+            if (resultsCount == -1) {
+                resultsCount = result.getResults().size();
+            }
+
+            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + resultsCount + isStale + "results (total index results: " + result.getTotalResults() + ")");
         }
     }
 
@@ -0,0 +1,345 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.queries.QueryResult;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.tokens.FieldsToFetchToken;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes query response straight into entities, without building json tree of all results first.
+ *
+ * Results are read row by row: each row is buffered as tokens and bound to the requested class,
+ * so only a single row exists in intermediate form at a time. Rows which need the document tree
+ * (tracked documents, documents already known to the session, rows without metadata or rows which failed to bind)
+ * are kept as trees and go through the regular conversion when query operation is completed.
+ *
+ * Results array of the returned query result is read from the response only when requested.
+ */
+public class QueryResultDecoder<T> {
+
+    private static final String RESULTS = "Results";
+
+    private final InMemoryDocumentSessionOperations _session;
+    private final Class<T> _clazz;
+    private final boolean _noTracking;
+
+    private final RowMetadata _metadata = new RowMetadata();
+
+    private List<Object> _rows;
+    private QueryResult _result;
+    private int _resultsCount;
+
+    private QueryResultDecoder(InMemoryDocumentSessionOperations session, Class<T> clazz, boolean noTracking) {
+        _session = session;
+        _clazz = clazz;
+        _noTracking = noTracking;
+    }
+
+    /**
+     * @param session session executing the query
+     * @param clazz class of query results
+     * @param fieldsToFetch projected fields
+     * @param noTracking true if query results are not tracked
+     * @param <T> class of query results
+     * @return decoder or null if results of the query have to be converted from json trees
+     */
+    public static <T> QueryResultDecoder<T> create(InMemoryDocumentSessionOperations session, Class<T> clazz,
+                                                   FieldsToFetchToken fieldsToFetch, boolean noTracking) {
+        if (clazz == null || JsonNode.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        if (session.hasConversionToEntityListeners()) {
+            return null;
+        }
+
+        if (fieldsToFetch != null && fieldsToFetch.projections != null && fieldsToFetch.projections.length == 1) {
+            // single field projections are extracted from the document tree
+            return null;
+        }
+
+        noTracking = noTracking || session.noTracking;
+        if (!noTracking && fieldsToFetch == null) {
+            // every row is a tracked document
+            return null;
+        }
+
+        return new QueryResultDecoder<>(session, clazz, noTracking);
+    }
+
+    public Class<T> getClazz() {
+        return _clazz;
+    }
+
+    public QueryResult decode(ObjectMapper mapper, String response) throws IOException {
+        DecodedQueryResult result = new DecodedQueryResult(mapper, response);
+        List<Object> rows = new ArrayList<>();
+
+        TokenBuffer header = new TokenBuffer(mapper, false);
+
+        try (JsonParser parser = mapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected query result to be an object");
+            }
+
+            header.writeStartObject();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if (RESULTS.equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        rows.add(decodeRow(mapper, parser));
+                    }
+                } else {
+                    header.writeFieldName(field);
+                    header.copyCurrentStructure(parser);
+                }
+            }
+
+            header.writeEndObject();
+        }
+
+        mapper.readerForUpdating(result).readValue(header.asParser());
+
+        _rows = rows;
+        _result = result;
+        _resultsCount = rows.size();
+        return result;
+    }
+
+    /**
+     * @param result query result
+     * @return number of results of given query result, if it was decoded by this decoder, otherwise -1
+     */
+    int getResultsCount(QueryResult result) {
+        return result != null && result == _result ? _resultsCount : -1;
+    }
+
+    /**
+     * Decoded rows can be taken only once, as entities are not tracked
+     * @return decoded entities and deferred rows in results order or null if already taken
+     */
+    List<Object> takeRows() {
+        List<Object> rows = _rows;
+        _rows = null;
+        return rows;
+    }
+
+    private Object decodeRow(ObjectMapper mapper, JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return new DeferredRow(mapper.readTree(parser));
+        }
+
+        TokenBuffer row = new TokenBuffer(mapper, false);
+        RowMetadata metadata = _metadata;
+        metadata.reset();
+
+        row.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            row.writeFieldName(field);
+
+            if (Constants.Documents.Metadata.KEY.equals(field) && token == JsonToken.START_OBJECT) {
+                copyMetadata(parser, row, metadata);
+            } else {
+                if (Constants.Documents.Metadata.PROJECTION.equals(field)) {
+                    metadata.hasProjectionField = true;
+                }
+                row.copyCurrentStructure(parser);
+            }
+        }
+
+        row.writeEndObject();
+
+        Object entity = metadata.present ? tryBind(row, metadata) : null;
+        if (entity != null) {
+            return entity;
+        }
+
+        return new DeferredRow(mapper.readTree(row.asParser()));
+    }
+
+    /**
+     * Copies metadata of the row and picks fields needed to bind the row, without building json tree of metadata
+     */
+    private static void copyMetadata(JsonParser parser, TokenBuffer row, RowMetadata metadata) throws IOException {
+        metadata.present = true;
+
+        row.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            switch (field) {
+                case Constants.Documents.Metadata.ID:
+                    metadata.id = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+                case Constants.Documents.Metadata.CHANGE_VECTOR:
+                    metadata.hasChangeVector = true;
+                    break;
+                case Constants.Documents.Metadata.PROJECTION:
+                    metadata.projection = parser.getValueAsBoolean();
+                    break;
+                case Constants.Documents.Metadata.RAVEN_JAVA_TYPE:
+                    metadata.hasJavaType = true;
+                    metadata.javaType = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+            }
+
+            row.writeFieldName(field);
+            row.copyCurrentStructure(parser);
+        }
+
+        row.writeEndObject();
+    }
+
+    private Object tryBind(TokenBuffer row, RowMetadata metadata) {
+        DocumentConventions conventions = _session.getConventions();
+
+        try {
+            if (metadata.projection) {
+                return bind(conventions, row, _clazz);
+            }
+
+            // below mirrors conversion of a document which isn't tracked by the session
+            if (!_noTracking || metadata.hasProjectionField || !conventions.isDefaultFindJavaClass()) {
+                return null;
+            }
+
+            String id = metadata.id;
+            if (StringUtils.isEmpty(id) || !metadata.hasChangeVector) {
+                return null;
+            }
+
+            if (_session.documentsById.getValue(id) != null || _session.includedDocumentsById.containsKey(id)) {
+                return null;
+            }
+
+            Class<?> type = _clazz;
+
+            if (metadata.hasJavaType) {
+                if (metadata.javaType == null) {
+                    return null;
+                }
+
+                Class<?> documentType = conventions.getJavaClassByName(metadata.javaType);
+                if (_clazz.isAssignableFrom(documentType)) {
+                    type = documentType;
+                }
+            }
+
+            Object entity = bind(conventions, row, type);
+            if (entity != null) {
+                _session.getGenerateEntityIdOnTheClient().trySetIdentity(entity, id, false);
+            }
+            return entity;
+        } catch (Exception e) {
+            // regular conversion of the row reports the error
+            return null;
+        }
+    }
+
+    private static Object bind(DocumentConventions conventions, TokenBuffer row, Class<?> type) throws IOException {
+        ObjectMapper entityMapper = conventions.getEntityMapper();
+        return entityMapper.readValue(row.asParser(entityMapper), type);
+    }
+
+    private static class RowMetadata {
+        boolean present;
+        String id;
+        boolean hasChangeVector;
+        boolean projection;
+        boolean hasJavaType;
+        String javaType;
+        boolean hasProjectionField;
+
+        void reset() {
+            present = false;
+            id = null;
+            hasChangeVector = false;
+            projection = false;
+            hasJavaType = false;
+            javaType = null;
+            hasProjectionField = false;
+        }
+    }
+
+    static class DeferredRow {
+        private final JsonNode _document;
+
+        DeferredRow(JsonNode document) {
+            _document = document;
+        }
+
+        JsonNode getDocument() {
+            return _document;
+        }
+    }
+
+    private static class DecodedQueryResult extends QueryResult {
+        private final ObjectMapper _mapper;
+        private String _response;
+
+        DecodedQueryResult(ObjectMapper mapper, String response) {
+            _mapper = mapper;
+            _response = response;
+        }
+
+        @Override
+        public ArrayNode getResults() {
+            if (_response != null) {
+                String response = _response;
+                _response = null;
+                setResults(readResults(_mapper, response));
+            }
+
+            return super.getResults();
+        }
+
+        @Override
+        public void setResults(ArrayNode results) {
+            _response = null;
+            super.setResults(results);
+        }
+
+        private static ArrayNode readResults(ObjectMapper mapper, String response) {
+            try (JsonParser parser = mapper.getFactory().createParser(response)) {
+                parser.nextToken();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+
+                    if (RESULTS.equals(field)) {
+                        JsonNode results = mapper.readTree(parser);
+                        return results instanceof ArrayNode ? (ArrayNode) results : null;
+                    }
+
+                    parser.skipChildren();
+                }
+
+                return null;
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read query results: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package net.ravendb.client.documents.session.timeSeries;
+
+import java.util.*;
+
+/**
+ * Columnar, primitive-array representation of time series entries.
+ *
+ * Timestamps are kept as epoch milliseconds in a single long[], values of all entries
+ * are packed into one flat double[] (entry i owns values[valuesOffsets[i]..valuesOffsets[i + 1])),
+ * and tags are dictionary-encoded (tagIndexes[i] points into tagDictionary, -1 means no tag).
+ *
+ * Entries are always sorted by timestamp, so range lookups use binary search.
+ * Instances are immutable - use {@link Builder} to create them.
+ */
+public class TimeSeriesColumns {
+
+    private static final int NO_TAG = -1;
+
+    private static final TimeSeriesColumns EMPTY = new TimeSeriesColumns(new long[0], new double[0], new int[] { 0 },
+            new String[0], new int[0], new boolean[0], 0);
+
+    private final long[] timestamps;
+    private final double[] values;
+    private final int[] valuesOffsets;
+    private final String[] tagDictionary;
+    private final int[] tagIndexes;
+    private final boolean[] rollups;
+    private final int size;
+
+    private TimeSeriesColumns(long[] timestamps, double[] values, int[] valuesOffsets,
+                              String[] tagDictionary, int[] tagIndexes, boolean[] rollups, int size) {
+        this.timestamps = timestamps;
+        this.values = values;
+        this.valuesOffsets = valuesOffsets;
+        this.tagDictionary = tagDictionary;
+        this.tagIndexes = tagIndexes;
+        this.rollups = rollups;
+        this.size = size;
+    }
+
+    public static TimeSeriesColumns empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static TimeSeriesColumns fromEntries(TimeSeriesEntry[] entries) {
+        if (entries == null || entries.length == 0) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder(entries.length);
+        for (TimeSeriesEntry entry : entries) {
+            builder.add(entry.getTimestamp().getTime(), entry.getValues(), entry.getTag(), entry.isRollup());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public int getValuesCount(int index) {
+        checkIndex(index);
+        return valuesOffsets[index + 1] - valuesOffsets[index];
+    }
+
+    public double getValue(int index, int valueIndex) {
+        checkIndex(index);
+        int offset = valuesOffsets[index];
+        if (valueIndex < 0 || offset + valueIndex >= valuesOffsets[index + 1]) {
+            throw new IndexOutOfBoundsException("Entry " + index + " has no value at index " + valueIndex);
+        }
+        return values[offset + valueIndex];
+    }
+
+    public double[] getValues(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(values, valuesOffsets[index], valuesOffsets[index + 1]);
+    }
+
+    public String getTag(int index) {
+        checkIndex(index);
+        int tagIndex = tagIndexes[index];
+        return tagIndex == NO_TAG ? null : tagDictionary[tagIndex];
+    }
+
+    public boolean isRollup(int index) {
+        checkIndex(index);
+        return rollups[index];
+    }
+
+    /**
+     * @return timestamps (epoch millis) of all entries. Returned array is a copy.
+     */
+    public long[] getTimestamps() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    /**
+     * @return distinct tags used by the entries
+     */
+    public List<String> getTagDictionary() {
+        return Collections.unmodifiableList(Arrays.asList(tagDictionary));
+    }
+
+    /**
+     * Returns the value at given position for every entry, entries without that value yield NaN.
+     * @param valueIndex position of the value within entry
+     * @return column of values
+     */
+    public double[] getValuesColumn(int valueIndex) {
+        double[] column = new double[size];
+        for (int i = 0; i < size; i++) {
+            int offset = valuesOffsets[i] + valueIndex;
+            column[i] = offset < valuesOffsets[i + 1] ? values[offset] : Double.NaN;
+        }
+        return column;
+    }
+
+    /**
+     * @param timestamp epoch millis
+     * @return index of first entry with timestamp greater or equal to given one (size() when no such entry)
+     */
+    public int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param timestamp epoch millis
+     * @return index of first entry with timestamp greater than given one (size() when no such entry)
+     */
+    public int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns entries in range [from, to]. Null means unbounded.
+     * @param from start of range (inclusive) or null
+     * @param to end of range (inclusive) or null
+     * @return entries within range
+     */
+    public TimeSeriesColumns range(Date from, Date to) {
+        int start = from != null ? lowerBound(from.getTime()) : 0;
+        int end = to != null ? upperBound(to.getTime()) : size;
+        return slice(start, end);
+    }
+
+    /**
+     * @param fromIndex start index (inclusive)
+     * @param toIndex end index (exclusive)
+     * @return entries between given indexes
+     */
+    public TimeSeriesColumns slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + fromIndex + ", " + toIndex + ") of " + size + " entries");
+        }
+
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+
+        int count = toIndex - fromIndex;
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        int valuesStart = valuesOffsets[fromIndex];
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            offsets[i] = valuesOffsets[fromIndex + i] - valuesStart;
+        }
+
+        return new TimeSeriesColumns(
+                Arrays.copyOfRange(timestamps, fromIndex, toIndex),
+                Arrays.copyOfRange(values, valuesStart, valuesOffsets[toIndex]),
+                offsets,
+                tagDictionary,
+                Arrays.copyOfRange(tagIndexes, fromIndex, toIndex),
+                Arrays.copyOfRange(rollups, fromIndex, toIndex),
+                count);
+    }
+
+    /**
+     * Merges sorted columns into single instance. When timestamps collide, entry from later
+     * columns wins, which mirrors the way overlapping ranges are merged in session cache.
+     * @param columns columns to merge
+     * @return merged columns
+     */
+    public static TimeSeriesColumns merge(List<TimeSeriesColumns> columns) {
+        int total = 0;
+        for (TimeSeriesColumns c : columns) {
+            total += c.size;
+        }
+
+        if (total == 0) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder(total);
+        for (TimeSeriesColumns c : columns) {
+            for (int i = 0; i < c.size; i++) {
+                builder.put(c.timestamps[i], c.values, c.valuesOffsets[i], c.valuesOffsets[i + 1], c.getTag(i), c.rollups[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    public TimeSeriesEntry getEntry(int index) {
+        checkIndex(index);
+        TimeSeriesEntry entry = new TimeSeriesEntry();
+        entry.setTimestamp(new Date(timestamps[index]));
+        entry.setValues(getValues(index));
+        entry.setTag(getTag(index));
+        entry.setRollup(rollups[index]);
+        return entry;
+    }
+
+    public TimeSeriesEntry[] toEntries() {
+        TimeSeriesEntry[] entries = new TimeSeriesEntry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = getEntry(i);
+        }
+        return entries;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public static class Builder {
+        private long[] timestamps;
+        private double[] values;
+        private int[] valuesOffsets;
+        private int[] tagIndexes;
+        private boolean[] rollups;
+        private final List<String> tagDictionary = new ArrayList<>();
+        private final Map<String, Integer> tagLookup = new HashMap<>();
+        private int size;
+        private int valuesSize;
+        private boolean sorted = true;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            timestamps = new long[capacity];
+            values = new double[capacity];
+            valuesOffsets = new int[capacity + 1];
+            tagIndexes = new int[capacity];
+            rollups = new boolean[capacity];
+        }
+
+        public Builder add(Date timestamp, double[] values) {
+            return add(timestamp.getTime(), values, null, false);
+        }
+
+        public Builder add(Date timestamp, double[] values, String tag) {
+            return add(timestamp.getTime(), values, tag, false);
+        }
+
+        public Builder add(long timestamp, double value) {
+            ensureCapacity(1);
+            this.values[valuesSize] = value;
+            append(timestamp, 1, null, false);
+            return this;
+        }
+
+        public Builder add(long timestamp, double[] values, String tag) {
+            return add(timestamp, values, tag, false);
+        }
+
+        public Builder add(long timestamp, double[] values, String tag, boolean rollup) {
+            if (values == null) {
+                throw new IllegalArgumentException("Values cannot be null");
+            }
+            return add(timestamp, values, values.length, tag, rollup);
+        }
+
+        /**
+         * Adds entry using first valuesCount items of given array. Array is copied, so it can be reused by caller.
+         * @param timestamp epoch millis
+         * @param values values buffer
+         * @param valuesCount number of values to take from buffer
+         * @param tag optional tag
+         * @param rollup is rollup entry
+         * @return builder
+         */
+        public Builder add(long timestamp, double[] values, int valuesCount, String tag, boolean rollup) {
+            ensureCapacity(valuesCount);
+            System.arraycopy(values, 0, this.values, valuesSize, valuesCount);
+            append(timestamp, valuesCount, tag, rollup);
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void put(long timestamp, double[] source, int from, int to, String tag, boolean rollup) {
+            ensureCapacity(to - from);
+            System.arraycopy(source, from, values, valuesSize, to - from);
+            append(timestamp, to - from, tag, rollup);
+        }
+
+        private void append(long timestamp, int valuesCount, String tag, boolean rollup) {
+            if (size > 0 && timestamps[size - 1] >= timestamp) {
+                sorted = false;
+            }
+
+            timestamps[size] = timestamp;
+            tagIndexes[size] = tag == null ? NO_TAG : tagLookup.computeIfAbsent(tag, t -> {
+                tagDictionary.add(t);
+                return tagDictionary.size() - 1;
+            });
+            rollups[size] = rollup;
+            valuesSize += valuesCount;
+            size++;
+            valuesOffsets[size] = valuesSize;
+        }
+
+        private void ensureCapacity(int valuesCount) {
+            if (size == timestamps.length) {
+                int newCapacity = timestamps.length + (timestamps.length >> 1) + 1;
+                timestamps = Arrays.copyOf(timestamps, newCapacity);
+                valuesOffsets = Arrays.copyOf(valuesOffsets, newCapacity + 1);
+                tagIndexes = Arrays.copyOf(tagIndexes, newCapacity);
+                rollups = Arrays.copyOf(rollups, newCapacity);
+            }
+
+            if (valuesSize + valuesCount > values.length) {
+                values = Arrays.copyOf(values, Math.max(valuesSize + valuesCount, values.length + (values.length >> 1) + 1));
+            }
+        }
+
+        /**
+         * Builds the columns. Entries added out of order are sorted by timestamp,
+         * for duplicated timestamps the entry added last wins.
+         * @return columns
+         */
+        public TimeSeriesColumns build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+
+            String[] dictionary = tagDictionary.toArray(new String[0]);
+
+            if (sorted) {
+                return new TimeSeriesColumns(
+                        Arrays.copyOf(timestamps, size),
+                        Arrays.copyOf(values, valuesSize),
+                        Arrays.copyOf(valuesOffsets, size + 1),
+                        dictionary,
+                        Arrays.copyOf(tagIndexes, size),
+                        Arrays.copyOf(rollups, size),
+                        size);
+            }
+
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // stable sort keeps insertion order for equal timestamps
+            Arrays.sort(order, Comparator.comparingLong(i -> timestamps[i]));
+
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (i + 1 < size && timestamps[order[i]] == timestamps[order[i + 1]]) {
+                    continue;
+                }
+                count++;
+            }
+
+            long[] sortedTimestamps = new long[count];
+            int[] sortedOffsets = new int[count + 1];
+            int[] sortedTags = new int[count];
+            boolean[] sortedRollups = new boolean[count];
+            double[] sortedValues = new double[valuesSize];
+
+            int target = 0;
+            int targetValues = 0;
+            for (int i = 0; i < size; i++) {
+                int source = order[i];
+                if (i + 1 < size && timestamps[source] == timestamps[order[i + 1]]) {
+                    continue;
+                }
+
+                int length = valuesOffsets[source + 1] - valuesOffsets[source];
+                System.arraycopy(values, valuesOffsets[source], sortedValues, targetValues, length);
+                sortedTimestamps[target] = timestamps[source];
+                sortedTags[target] = tagIndexes[source];
+                sortedRollups[target] = rollups[source];
+                targetValues += length;
+                target++;
+                sortedOffsets[target] = targetValues;
+            }
+
+            return new TimeSeriesColumns(sortedTimestamps, Arrays.copyOf(sortedValues, targetValues), sortedOffsets,
+                    dictionary, sortedTags, sortedRollups, count);
+        }
+    }
+}
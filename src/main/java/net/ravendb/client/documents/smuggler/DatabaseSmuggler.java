@@ -4,11 +4,13 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
+import net.ravendb.client.documents.operations.GetCollectionStatisticsOperation;
 import net.ravendb.client.documents.operations.Operation;
 import net.ravendb.client.exceptions.RavenException;
 import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.http.*;
 import net.ravendb.client.json.ContentProviderHttpEntity;
+import net.ravendb.client.primitives.ExceptionsUtils;
 import net.ravendb.client.primitives.Reference;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
@@ -26,15 +28,41 @@ import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.InputStreamBody;
 
 import java.io.*;
-import java.util.EnumSet;
-import java.util.List;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static net.ravendb.client.documents.smuggler.BackupUtils.BACKUP_FILE_SUFFIXES;
 
 public class DatabaseSmuggler {
 
+    private static final String EXPORT_FILE_EXTENSION = ".ravendbdump";
+    private static final String COLLECTION_FILE_PREFIX = "collection-";
+    private static final String DATABASE_FILE_NAME = "database" + EXPORT_FILE_EXTENSION;
+    private static final String EXPORT_CHECKPOINT_FILE_NAME = ".export-checkpoint";
+    private static final String IMPORT_CHECKPOINT_FILE_PREFIX = ".import-checkpoint-";
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Item types which are filtered by 'Collections' option, so they can be exported per collection
+     */
+    private static final EnumSet<DatabaseItemType> PER_COLLECTION_ITEM_TYPES = EnumSet.of(
+            DatabaseItemType.DOCUMENTS,
+            DatabaseItemType.REVISION_DOCUMENTS,
+            DatabaseItemType.ATTACHMENTS,
+            DatabaseItemType.COUNTER_GROUPS,
+            DatabaseItemType.TIME_SERIES);
+
     private final IDocumentStore _store;
     private final String _databaseName;
     private final RequestExecutor _requestExecutor;
@@ -79,6 +107,222 @@ public class DatabaseSmuggler {
         }
     }
 
+    /**
+     * Exports the database into a file using NIO file channel. Data is written to a temporary file,
+     * which is moved to the target location once the export stream is complete.
+     */
+    private Operation exportToChannel(DatabaseSmugglerExportOptions options, Path toFile) throws IOException {
+        Path tempFile = toFile.resolveSibling(toFile.getFileName() + ".tmp");
+
+        Operation operation;
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            operation = exportAsync(options, response -> {
+                try {
+                    ReadableByteChannel source = Channels.newChannel(response);
+                    long position = 0;
+                    long transferred;
+                    while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                        position += transferred;
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new RavenException("Unable to export database: " + e.getMessage(), e);
+                }
+            });
+        }
+
+        Files.move(tempFile, toFile, StandardCopyOption.REPLACE_EXISTING);
+        return operation;
+    }
+
+    /**
+     * Exports the database into multiple files which are written in parallel: one file per collection
+     * (documents with their revisions, attachments, counters and time series) and one file with everything else
+     * (database record, indexes, identities, compare exchange, subscriptions, tombstones, conflicts).
+     *
+     * Completed files are recorded in a checkpoint file in the target directory, so calling this method again after
+     * a failure exports only the missing parts. The checkpoint is removed when the export completes.
+     * Files can be imported using {@link #importParallel(DatabaseSmugglerImportOptions, String, int)}
+     *
+     * Limitations: a part is resumed as a whole, a file which was interrupted is exported again from the beginning.
+     * Collections are split by the collections set in the options, or by the collections which currently have documents
+     * when none are set. Revisions, attachments, counters and time series of collections without any documents left
+     * (ex. deleted collections) don't belong to any of them and are not exported - use {@link #exportAsync(DatabaseSmugglerExportOptions, String)}
+     * when those need to be kept.
+     * @param options export options, collections set in the options limit exported collections
+     * @param toDirectory target directory
+     * @param maxDegreeOfParallelism number of concurrent export streams
+     * @return exported files
+     * @throws IOException when unable to write files
+     */
+    public List<String> exportParallel(DatabaseSmugglerExportOptions options, String toDirectory, int maxDegreeOfParallelism) throws IOException {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+
+        if (maxDegreeOfParallelism < 1) {
+            throw new IllegalArgumentException("MaxDegreeOfParallelism must be greater than 0");
+        }
+
+        if (_requestExecutor == null) {
+            throw new IllegalStateException("Cannot use smuggler without a database defined, did you forget to call 'forDatabase'?");
+        }
+
+        Path directory = Paths.get(toDirectory);
+        Files.createDirectories(directory);
+
+        List<String> collections = options.getCollections() != null && !options.getCollections().isEmpty()
+                ? options.getCollections()
+                : new ArrayList<>(_store.maintenance().forDatabase(_databaseName).send(new GetCollectionStatisticsOperation()).getCollections().keySet());
+
+        Map<String, DatabaseSmugglerExportOptions> parts = new LinkedHashMap<>();
+
+        EnumSet<DatabaseItemType> collectionTypes = EnumSet.copyOf(options.getOperateOnTypes());
+        collectionTypes.retainAll(PER_COLLECTION_ITEM_TYPES);
+
+        if (!collectionTypes.isEmpty()) {
+            for (String collection : collections) {
+                DatabaseSmugglerExportOptions collectionOptions = copyOptions(options);
+                collectionOptions.setOperateOnTypes(collectionTypes.clone());
+                collectionOptions.setCollections(new ArrayList<>(Collections.singletonList(collection)));
+                parts.put(COLLECTION_FILE_PREFIX + urlEncodeFileName(collection) + EXPORT_FILE_EXTENSION, collectionOptions);
+            }
+        }
+
+        EnumSet<DatabaseItemType> otherTypes = EnumSet.copyOf(options.getOperateOnTypes());
+        otherTypes.removeAll(PER_COLLECTION_ITEM_TYPES);
+        if (!otherTypes.isEmpty()) {
+            DatabaseSmugglerExportOptions otherOptions = copyOptions(options);
+            otherOptions.setOperateOnTypes(otherTypes);
+            parts.put(DATABASE_FILE_NAME, otherOptions);
+        }
+
+        try (SmugglerCheckpoint checkpoint = new SmugglerCheckpoint(directory.resolve(EXPORT_CHECKPOINT_FILE_NAME))) {
+            runInParallel(parts.keySet(), maxDegreeOfParallelism, checkpoint, fileName -> {
+                Operation operation = exportToChannel(parts.get(fileName), directory.resolve(fileName));
+                operation.waitForCompletion();
+            });
+
+            checkpoint.complete();
+        }
+
+        return parts.keySet()
+                .stream()
+                .map(x -> directory.resolve(x).toString())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Imports files created by {@link #exportParallel(DatabaseSmugglerExportOptions, String, int)}. Collection files
+     * are uploaded in parallel (they contain independent data), the file with database record and indexes is imported last.
+     *
+     * Imported files are recorded in a checkpoint file in the source directory, so calling this method again
+     * after a failure continues with the files which weren't imported yet. The checkpoint is removed when the import completes.
+     * @param options import options
+     * @param fromDirectory directory with exported files
+     * @param maxDegreeOfParallelism number of concurrent uploads
+     * @throws IOException when unable to read files
+     */
+    public void importParallel(DatabaseSmugglerImportOptions options, String fromDirectory, int maxDegreeOfParallelism) throws IOException {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+
+        if (maxDegreeOfParallelism < 1) {
+            throw new IllegalArgumentException("MaxDegreeOfParallelism must be greater than 0");
+        }
+
+        Path directory = Paths.get(fromDirectory);
+
+        List<String> collectionFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            collectionFiles = files
+                    .map(x -> x.getFileName().toString())
+                    .filter(x -> x.startsWith(COLLECTION_FILE_PREFIX) && x.endsWith(EXPORT_FILE_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        try (SmugglerCheckpoint checkpoint = new SmugglerCheckpoint(directory.resolve(IMPORT_CHECKPOINT_FILE_PREFIX + urlEncodeFileName(_databaseName)))) {
+            runInParallel(collectionFiles, maxDegreeOfParallelism, checkpoint, fileName -> {
+                Operation operation = importAsync(options, directory.resolve(fileName).toString());
+                operation.waitForCompletion();
+            });
+
+            Path databaseFile = directory.resolve(DATABASE_FILE_NAME);
+            if (Files.exists(databaseFile) && !checkpoint.isCompleted(DATABASE_FILE_NAME)) {
+                importAsync(options, databaseFile.toString()).waitForCompletion();
+                checkpoint.markCompleted(DATABASE_FILE_NAME);
+            }
+
+            checkpoint.complete();
+        }
+    }
+
+    private interface SmugglerStep {
+        void run(String name) throws IOException;
+    }
+
+    private static void runInParallel(Collection<String> steps, int maxDegreeOfParallelism,
+                                      SmugglerCheckpoint checkpoint, SmugglerStep action) throws IOException {
+        List<String> pending = steps
+                .stream()
+                .filter(x -> !checkpoint.isCompleted(x))
+                .collect(Collectors.toList());
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxDegreeOfParallelism, pending.size()));
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (String step : pending) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        action.run(step);
+                        checkpoint.markCompleted(step);
+                    } catch (IOException e) {
+                        throw new RavenException("Smuggler step '" + step + "' failed: " + e.getMessage(), e);
+                    }
+                }, executor));
+            }
+
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        } catch (ExecutionException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DatabaseSmugglerExportOptions copyOptions(DatabaseSmugglerExportOptions options) {
+        DatabaseSmugglerExportOptions copy = new DatabaseSmugglerExportOptions();
+        copy.setOperateOnTypes(options.getOperateOnTypes().clone());
+        copy.setOperateOnDatabaseRecordType(options.getOperateOnDatabaseRecordType().clone());
+        copy.setIncludeExpired(options.isIncludeExpired());
+        copy.setIncludeArtificial(options.isIncludeArtificial());
+        copy.setRemoveAnalyzers(options.isRemoveAnalyzers());
+        copy.setTransformScript(options.getTransformScript());
+        copy.setMaxStepsForTransformScript(options.getMaxStepsForTransformScript());
+        copy.setSkipRevisionCreation(options.isSkipRevisionCreation());
+        copy.setEncryptionKey(options.getEncryptionKey());
+        copy.setCollections(options.getCollections() != null ? new ArrayList<>(options.getCollections()) : null);
+        copy.setSkipCorruptedData(options.isSkipCorruptedData());
+        copy.setCompressionAlgorithm(options.getCompressionAlgorithm());
+        return copy;
+    }
+
+    private static String urlEncodeFileName(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private Operation exportAsync(DatabaseSmugglerExportOptions options, Consumer<InputStream> handleStreamResponse) {
         if (options == null) {
             throw new IllegalArgumentException("Options cannot be null");
@@ -138,6 +382,46 @@ public class DatabaseSmuggler {
         importAsync(options, lastFile.getAbsolutePath());
     }
 
+    /**
+     * Imports backup files in order, recording each imported file in the checkpoint file. When called again after
+     * a failure with the same checkpoint file, files which were already imported are skipped.
+     * The checkpoint file is removed when all files are imported.
+     * @param options import options
+     * @param fromDirectory directory with backup files
+     * @param checkpointFile path of checkpoint file
+     * @throws IOException when unable to read files
+     */
+    public void importIncrementalAsync(DatabaseSmugglerImportOptions options, String fromDirectory, String checkpointFile) throws IOException {
+        List<File> files = FileUtils.listFiles(new File(fromDirectory), new SuffixFileFilter(BACKUP_FILE_SUFFIXES, IOCase.INSENSITIVE), null)
+                .stream()
+                .sorted(BackupUtils.COMPARATOR)
+                .collect(Collectors.toList());
+
+        if (files.isEmpty()) {
+            return;
+        }
+
+        try (SmugglerCheckpoint checkpoint = new SmugglerCheckpoint(Paths.get(checkpointFile))) {
+            EnumSet<DatabaseItemType> oldOperateOnTypes = configureOptionsFromIncrementalImport(options);
+
+            for (int i = 0; i < files.size(); i++) {
+                if (i == files.size() - 1) {
+                    options.setOperateOnTypes(oldOperateOnTypes);
+                }
+
+                File file = files.get(i);
+                if (checkpoint.isCompleted(file.getName())) {
+                    continue;
+                }
+
+                importAsync(options, file.getAbsolutePath()).waitForCompletion();
+                checkpoint.markCompleted(file.getName());
+            }
+
+            checkpoint.complete();
+        }
+    }
+
     public static EnumSet<DatabaseItemType> configureOptionsFromIncrementalImport(DatabaseSmugglerOptions options) {
         options.getOperateOnTypes().add(DatabaseItemType.TOMBSTONES);
         options.getOperateOnTypes().add(DatabaseItemType.COMPARE_EXCHANGE_TOMBSTONES);
@@ -0,0 +1,94 @@
+package net.ravendb.client.documents.smuggler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps track of smuggler steps (files or collections) which were already completed,
+ * so a failed multi-file import/export can be resumed instead of being restarted.
+ *
+ * Each completed step is appended as a single line and forced to disk before the step is considered done.
+ */
+public class SmugglerCheckpoint implements AutoCloseable {
+
+    private final Path _path;
+    private final Set<String> _completed;
+    private final FileChannel _channel;
+    private final ReentrantLock _lock = new ReentrantLock();
+
+    public SmugglerCheckpoint(Path path) throws IOException {
+        _path = path;
+        _completed = Collections.synchronizedSet(new HashSet<>());
+
+        if (Files.exists(path)) {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (!line.isEmpty()) {
+                    _completed.add(line);
+                }
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        _channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public Path getPath() {
+        return _path;
+    }
+
+    public boolean isCompleted(String step) {
+        return _completed.contains(step);
+    }
+
+    public void markCompleted(String step) throws IOException {
+        if (step.indexOf('\n') != -1) {
+            throw new IllegalArgumentException("Step name cannot contain new line characters: " + step);
+        }
+
+        _lock.lock();
+        try {
+            if (!_completed.add(step)) {
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap((step + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                _channel.write(buffer);
+            }
+            _channel.force(false);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the checkpoint and deletes the checkpoint file - all steps are done.
+     * @throws IOException if unable to delete the file
+     */
+    public void complete() throws IOException {
+        close();
+        Files.deleteIfExists(_path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_channel.isOpen()) {
+            _channel.close();
+        }
+    }
+}
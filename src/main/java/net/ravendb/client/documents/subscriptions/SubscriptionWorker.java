@@ -18,6 +18,7 @@ import net.ravendb.client.exceptions.security.AuthorizationException;
 import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.metrics.IClientMetrics;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.serverwide.commands.GetTcpInfoCommand;
 import net.ravendb.client.serverwide.commands.TcpConnectionInfo;
@@ -533,6 +534,7 @@ public class SubscriptionWorker<T> implements CleanCloseable {
                     String lastReceivedChangeVector = batch.initialize(incomingBatch);
 
                     notifiedSubscriber = CompletableFuture.runAsync(() -> {
+                        long start = System.nanoTime();
                         try {
                             _subscriber.accept(batch);
                         } catch (Exception ex) {
@@ -552,6 +554,11 @@ public class SubscriptionWorker<T> implements CleanCloseable {
                         } catch (Exception e) {
                             throw new RuntimeException(e);
                         }
+
+                        IClientMetrics metrics = _store.getMetrics();
+                        if (metrics != null) {
+                            metrics.onSubscriptionBatch(_dbName, _options.getSubscriptionName(), batch.getNumberOfItemsInBatch(), System.nanoTime() - start);
+                        }
                     }, _store.getExecutorService());
                 }
             }
@@ -0,0 +1,17 @@
+package net.ravendb.client.exceptions;
+
+/**
+ * Thrown when request was shed by client side concurrency limit of the node and there was no other node to fail over to.
+ */
+public class NodeOverloadedException extends RequestedNodeUnavailableException {
+    public NodeOverloadedException() {
+    }
+
+    public NodeOverloadedException(String message) {
+        super(message);
+    }
+
+    public NodeOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
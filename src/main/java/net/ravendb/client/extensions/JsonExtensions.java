@@ -3,10 +3,13 @@ package net.ravendb.client.extensions;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DateDeserializers;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.DateSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.databind.type.CollectionLikeType;
 import net.ravendb.client.Constants;
@@ -15,6 +18,7 @@ import net.ravendb.client.documents.queries.IndexQuery;
 import net.ravendb.client.documents.queries.ProjectionBehavior;
 import net.ravendb.client.documents.session.EntityToJson;
 import net.ravendb.client.primitives.NetDateFormat;
+import net.ravendb.client.primitives.NetISO8601Utils;
 import net.ravendb.client.primitives.SharpAwareJacksonAnnotationIntrospector;
 import net.ravendb.client.primitives.SharpEnum;
 import net.ravendb.client.util.TimeUtils;
@@ -25,6 +29,7 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -146,6 +151,79 @@ public class JsonExtensions {
         }
     }
 
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[NetISO8601Utils.MAX_FORMATTED_LENGTH]);
+
+    /**
+     * Writes date in the same format as NetDateFormat, but without intermediate String.
+     * @param generator generator
+     * @param date date to write
+     * @throws IOException when write fails
+     */
+    public static void writeDate(JsonGenerator generator, Date date) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+            return;
+        }
+
+        writeDate(generator, date.getTime());
+    }
+
+    public static void writeDate(JsonGenerator generator, long epochMillis) throws IOException {
+        char[] buffer = DATE_BUFFER.get();
+        int length = NetISO8601Utils.format(epochMillis, true, buffer, 0);
+        generator.writeString(buffer, 0, length);
+    }
+
+    public static void writeDateField(JsonGenerator generator, String fieldName, Date date) throws IOException {
+        generator.writeFieldName(fieldName);
+        writeDate(generator, date);
+    }
+
+    /**
+     * Date serializer which writes dates directly into generator when mapper uses NetDateFormat.
+     * Fields with custom format (ex. @JsonFormat) and other date formats are handled by base class.
+     */
+    public static class NetDateSerializer extends DateSerializer {
+        @Override
+        public void serialize(Date value, JsonGenerator g, SerializerProvider provider) throws IOException {
+            if (_customFormat == null && !_asTimestamp(provider) && provider.getConfig().getDateFormat() instanceof NetDateFormat) {
+                writeDate(g, value);
+                return;
+            }
+
+            super.serialize(value, g, provider);
+        }
+    }
+
+    /**
+     * Date deserializer which parses dates straight from parser's characters buffer when mapper uses NetDateFormat.
+     * Fields with custom format (ex. @JsonFormat), other date formats and invalid values are handled by base class.
+     */
+    public static class NetDateDeserializer extends DateDeserializers.DateDeserializer {
+        @Override
+        public Date deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_STRING) && _customFormat == null && ctxt.getConfig().getDateFormat() instanceof NetDateFormat) {
+                int length = p.getTextLength();
+                if (length > 0) {
+                    try {
+                        return new Date(NetISO8601Utils.parse(p.getTextCharacters(), p.getTextOffset(), length));
+                    } catch (IllegalArgumentException e) {
+                        // let base class report the error
+                    }
+                }
+            }
+
+            return super.deserialize(p, ctxt);
+        }
+    }
+
+    private static SimpleModule createDateModule() {
+        SimpleModule dateModule = new SimpleModule();
+        dateModule.addSerializer(Date.class, new NetDateSerializer());
+        dateModule.addDeserializer(Date.class, new NetDateDeserializer());
+        return dateModule;
+    }
+
     public static ObjectMapper createDefaultJsonSerializer() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.setPropertyNamingStrategy(new DotNetNamingStrategy());
@@ -160,6 +238,7 @@ public class JsonExtensions {
         durationModule.addDeserializer(Duration.class, new DurationDeserializer());
 
         objectMapper.registerModule(durationModule);
+        objectMapper.registerModule(createDateModule());
 
         return objectMapper;
     }
@@ -171,6 +250,7 @@ public class JsonExtensions {
         objectMapper.setConfig(objectMapper.getSerializationConfig().with(new NetDateFormat()));
         objectMapper.setConfig(objectMapper.getDeserializationConfig().with(new NetDateFormat()));
         objectMapper.setAnnotationIntrospector(new SharpAwareJacksonAnnotationIntrospector());
+        objectMapper.registerModule(createDateModule());
         return objectMapper;
     }
 
@@ -117,19 +117,13 @@ public class ClusterRequestExecutor extends RequestExecutor {
                     return false;
                 }
 
-                GetClusterTopologyCommand command = new GetClusterTopologyCommand(parameters.getDebugTag());
-                execute(parameters.getNode(), null, command, false, null);
-
-                ClusterTopologyResponse results = command.getResult();
-                List<ServerNode> nodes = ServerNode.createFrom(results.getTopology());
-
-                Topology newTopology = new Topology();
-                newTopology.setNodes(nodes);
-                newTopology.setEtag(results.getEtag());
+                Topology newTopology = fetchTopology(parameters);
 
                 updateNodeSelector(newTopology, parameters.isForceUpdate());
 
                 onTopologyUpdatedInvoke(newTopology);
+
+                saveTopologyToLocalCache(newTopology);
             } catch (Exception e) {
                 if (!_disposed) {
                     throw e;
@@ -142,6 +136,20 @@ public class ClusterRequestExecutor extends RequestExecutor {
         }, _executorService);
     }
 
+    @Override
+    protected Topology fetchTopology(UpdateTopologyParameters parameters) {
+        GetClusterTopologyCommand command = new GetClusterTopologyCommand(parameters.getDebugTag());
+        execute(parameters.getNode(), null, command, false, null);
+
+        ClusterTopologyResponse results = command.getResult();
+        List<ServerNode> nodes = ServerNode.createFrom(results.getTopology());
+
+        Topology newTopology = new Topology();
+        newTopology.setNodes(nodes);
+        newTopology.setEtag(results.getEtag());
+        return newTopology;
+    }
+
     @Override
     protected CompletableFuture<Void> updateClientConfigurationAsync(ServerNode serverNode) {
         return CompletableFuture.completedFuture(null);
@@ -0,0 +1,57 @@
+package net.ravendb.client.http;
+
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports number of bytes written (request) or read (response) through the wrapped entity.
+ * Read bytes are reported as they are consumed, since response streams are not always closed explicitly.
+ */
+class CountingHttpEntity extends HttpEntityWrapper {
+
+    private final LongConsumer _onBytes;
+    private InputStream _content;
+
+    CountingHttpEntity(HttpEntity wrappedEntity, LongConsumer onBytes) {
+        super(wrappedEntity);
+        _onBytes = onBytes;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(outStream);
+        try {
+            super.writeTo(countingStream);
+        } finally {
+            _onBytes.accept(countingStream.getByteCount());
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (_content != null) {
+            return _content;
+        }
+
+        InputStream content = super.getContent();
+        if (content == null) {
+            return null;
+        }
+
+        return _content = new ProxyInputStream(content) {
+            @Override
+            protected void afterRead(int n) {
+                if (n > 0) {
+                    _onBytes.accept(n);
+                }
+            }
+        };
+    }
+}
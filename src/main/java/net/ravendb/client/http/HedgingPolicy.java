@@ -0,0 +1,93 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.metrics.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a read request should be hedged (sent to a second node).
+ *
+ * Keeps a decaying log-linear histogram of read latencies to compute the 95th percentile,
+ * and a token budget which limits hedged requests to a percentage of reads, so hedging cannot amplify load.
+ */
+public class HedgingPolicy {
+
+    private static final long MIN_SAMPLES = 100;
+    private static final long DECAY_SAMPLES = 10_000;
+
+    private static final long TOKEN = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final Duration _delay;
+    private final long _tokensPerRequest;
+
+    private final Histogram _histogram = new Histogram();
+    private final AtomicLong _samples = new AtomicLong();
+    private final AtomicLong _tokens = new AtomicLong();
+
+    public HedgingPolicy(DocumentConventions.HedgingConventions conventions) {
+        this(conventions.getDelay(), conventions.getMaxHedgedRequestsPercentage());
+    }
+
+    public HedgingPolicy(Duration delay, double maxHedgedRequestsPercentage) {
+        _delay = delay;
+        _tokensPerRequest = Math.max(1, Math.round(TOKEN * maxHedgedRequestsPercentage / 100));
+    }
+
+    /**
+     * @return Delay in nanoseconds after which hedged request should be sent or -1 if there is not enough data yet
+     */
+    public long getHedgeDelayNanos() {
+        if (_delay != null) {
+            return _delay.toNanos();
+        }
+
+        return getPercentileNanos(0.95);
+    }
+
+    /**
+     * Records latency of a completed read request and adds its share to the hedging budget.
+     * @param elapsedNanos request duration
+     */
+    public void onReadCompleted(long elapsedNanos) {
+        _histogram.record(elapsedNanos);
+
+        if (_samples.incrementAndGet() % DECAY_SAMPLES == 0) {
+            // halve the history, so percentile follows recent latencies
+            _histogram.decay();
+        }
+
+        long tokens;
+        do {
+            tokens = _tokens.get();
+            if (tokens >= MAX_TOKENS) {
+                return;
+            }
+        } while (!_tokens.compareAndSet(tokens, Math.min(MAX_TOKENS, tokens + _tokensPerRequest)));
+    }
+
+    /**
+     * @return true if hedged request can be sent within the budget
+     */
+    public boolean tryAcquireHedge() {
+        long tokens;
+        do {
+            tokens = _tokens.get();
+            if (tokens < TOKEN) {
+                return false;
+            }
+        } while (!_tokens.compareAndSet(tokens, tokens - TOKEN));
+
+        return true;
+    }
+
+    public long getPercentileNanos(double percentile) {
+        if (_samples.get() < MIN_SAMPLES) {
+            return -1;
+        }
+
+        return _histogram.getValueAtPercentile(percentile);
+    }
+}
@@ -2,6 +2,7 @@ package net.ravendb.client.http;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
 
@@ -9,6 +10,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class HttpCache implements CleanCloseable {
 
@@ -16,14 +18,29 @@ public class HttpCache implements CleanCloseable {
 
     private Cache<String, HttpCacheItem> items;
 
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+
     public HttpCache(int size) {
         items = CacheBuilder.newBuilder()
                 .softValues()
                 .maximumWeight(size)
-                .weigher((String k, HttpCacheItem v) -> v.payload != null ?  v.payload.length() + 20 : 20)
+                .weigher((String k, HttpCacheItem v) -> weigh(v))
+                .removalListener((RemovalNotification<String, HttpCacheItem> notification) -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
                 .build();
     }
 
+    /**
+     * Creates cache which stores items elsewhere, subclasses override all storage methods
+     */
+    protected HttpCache() {
+    }
+
     @Override
     public void close() {
         items.invalidateAll();
@@ -40,6 +57,31 @@ public class HttpCache implements CleanCloseable {
         return items.size();
     }
 
+    /**
+     * @return Hits, misses, evictions and size of this cache
+     */
+    public HttpCacheStatistics getStatistics() {
+        HttpCacheStatistics statistics = new HttpCacheStatistics();
+        statistics.setNumberOfItems(getNumberOfItems());
+        statistics.setSize(getSize());
+        statistics.setHits(hits.sum());
+        statistics.setMisses(misses.sum());
+        statistics.setEvictions(evictions.sum());
+        return statistics;
+    }
+
+    /**
+     * @return Weight of cached items, approximately in bytes
+     */
+    public long getSize() {
+        // soft values can be collected at any time, so it is computed on demand instead of tracked
+        long size = 0;
+        for (HttpCacheItem item : items.asMap().values()) {
+            size += weigh(item);
+        }
+        return size;
+    }
+
     public void set(String url, String changeVector, String result) {
         HttpCacheItem httpCacheItem = new HttpCacheItem();
         httpCacheItem.changeVector = changeVector;
@@ -47,18 +89,22 @@ public class HttpCache implements CleanCloseable {
         httpCacheItem.cache = this;
         httpCacheItem.generation = generation.get();
 
-        items.put(url, httpCacheItem);
+        putItem(url, httpCacheItem);
     }
 
     public ReleaseCacheItem get(String url, Reference<String> changeVectorRef, Reference<String> responseRef) {
-        HttpCacheItem item = items.getIfPresent(url);
+        HttpCacheItem item = getItem(url);
         if (item != null) {
+            hits.increment();
+
             changeVectorRef.value = item.changeVector;
             responseRef.value = item.payload;
 
             return new ReleaseCacheItem(item);
         }
 
+        misses.increment();
+
         changeVectorRef.value = null;
         responseRef.value = null;
         return new ReleaseCacheItem();
@@ -74,7 +120,19 @@ public class HttpCache implements CleanCloseable {
                 ? EnumSet.of(ItemFlags.AGGRESSIVELY_CACHED, ItemFlags.NOT_FOUND)
                 : EnumSet.of(ItemFlags.NOT_FOUND);
 
-        items.put(url, httpCacheItem);
+        putItem(url, httpCacheItem);
+    }
+
+    protected HttpCacheItem getItem(String url) {
+        return items.getIfPresent(url);
+    }
+
+    protected void putItem(String url, HttpCacheItem item) {
+        items.put(url, item);
+    }
+
+    protected static int weigh(HttpCacheItem item) {
+        return item.payload != null ? item.payload.length() + 20 : 20;
     }
 
     public static class ReleaseCacheItem implements CleanCloseable {
@@ -0,0 +1,74 @@
+package net.ravendb.client.http;
+
+/**
+ * Point in time view of {@link HttpCache} usage. Hits and misses count cache lookups,
+ * a hit can still be validated by the server (304 Not Modified).
+ */
+public class HttpCacheStatistics {
+
+    private long numberOfItems;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public long getNumberOfItems() {
+        return numberOfItems;
+    }
+
+    public void setNumberOfItems(long numberOfItems) {
+        this.numberOfItems = numberOfItems;
+    }
+
+    /**
+     * @return Weight of cached items, approximately in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @param size Weight of cached items, approximately in bytes
+     */
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /**
+     * @return Number of items removed because of size limits (or collected by GC)
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @param evictions Number of items removed because of size limits (or collected by GC)
+     */
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return Hits divided by all lookups, zero when there were no lookups
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,145 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+
+/**
+ * Adaptive (AIMD) limit of concurrent requests sent to a single node, combined with a circuit breaker.
+ *
+ * CLOSED - limit grows additively while latency stays close to the baseline (minimum latency observed in recent window),
+ * and shrinks multiplicatively on latency spikes, errors and overload responses.
+ * OPEN - entered after consecutive failures; only a single probe request (ex. health check) is allowed at a time.
+ * HALF_OPEN - entered after successful probe; limit starts from minimum and doubles until initial limit is reached.
+ */
+public class NodeConcurrencyLimiter {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final int MIN_LIMIT = 1;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double FAILURE_BACKOFF_RATIO = 0.5;
+    private static final int BASELINE_WINDOW = 256;
+    private static final long MIN_BASELINE_NANOS = 1_000_000;
+
+    private final int _initialLimit;
+    private final int _maxLimit;
+    private final int _failureThreshold;
+
+    private double _limit;
+    private int _inFlight;
+    private State _state = State.CLOSED;
+    private int _consecutiveFailures;
+
+    private long _baselineNanos = Long.MAX_VALUE;
+    private long _windowMinNanos = Long.MAX_VALUE;
+    private int _windowSamples;
+
+    public NodeConcurrencyLimiter(DocumentConventions.ConcurrencyLimitConventions conventions) {
+        this(conventions.getInitialLimit(), conventions.getMaxLimit(), conventions.getFailureThreshold());
+    }
+
+    public NodeConcurrencyLimiter(int initialLimit, int maxLimit, int failureThreshold) {
+        _initialLimit = initialLimit;
+        _maxLimit = maxLimit;
+        _failureThreshold = failureThreshold;
+        _limit = initialLimit;
+    }
+
+    public synchronized State getState() {
+        return _state;
+    }
+
+    public synchronized int getLimit() {
+        return (int) _limit;
+    }
+
+    public synchronized int getInFlight() {
+        return _inFlight;
+    }
+
+    /**
+     * @return true if request can be sent, in that case {@link #onSuccess(long)}, {@link #onFailure()} or {@link #onCancelled()} must follow
+     */
+    public synchronized boolean tryAcquire() {
+        int limit = _state == State.OPEN ? 1 : (int) _limit;
+        if (_inFlight >= limit) {
+            return false;
+        }
+
+        _inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long elapsedNanos) {
+        _inFlight--;
+        _consecutiveFailures = 0;
+
+        switch (_state) {
+            case OPEN:
+                _state = State.HALF_OPEN;
+                _limit = MIN_LIMIT;
+                return;
+            case HALF_OPEN:
+                _limit = Math.min(_maxLimit, _limit * 2);
+                if (_limit >= _initialLimit) {
+                    _state = State.CLOSED;
+                }
+                return;
+            default:
+                break;
+        }
+
+        updateBaseline(elapsedNanos);
+
+        if (elapsedNanos > Math.max(_baselineNanos, MIN_BASELINE_NANOS) * LATENCY_TOLERANCE) {
+            _limit = Math.max(MIN_LIMIT, _limit * BACKOFF_RATIO);
+        } else if (_inFlight + 1 >= _limit / 2) {
+            // grow only when the limit is actually used
+            _limit = Math.min(_maxLimit, _limit + 1 / _limit);
+        }
+    }
+
+    /**
+     * Records failed request (error, timeout or overload response).
+     * @return true if circuit breaker was opened by this failure
+     */
+    public synchronized boolean onFailure() {
+        _inFlight--;
+        _limit = Math.max(MIN_LIMIT, _limit * FAILURE_BACKOFF_RATIO);
+
+        if (_state == State.OPEN) {
+            return false;
+        }
+
+        if (_state == State.HALF_OPEN || ++_consecutiveFailures >= _failureThreshold) {
+            _state = State.OPEN;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Releases request which was cancelled by the client (ex. lost the race with hedged request),
+     * it says nothing about the node, so neither the limit nor the circuit breaker are affected.
+     */
+    public synchronized void onCancelled() {
+        _inFlight--;
+    }
+
+    private void updateBaseline(long elapsedNanos) {
+        _windowMinNanos = Math.min(_windowMinNanos, elapsedNanos);
+        _baselineNanos = Math.min(_baselineNanos, elapsedNanos);
+
+        if (++_windowSamples >= BASELINE_WINDOW) {
+            // baseline follows the minimum of the last window, so it can grow back after latency permanently changes
+            _baselineNanos = _windowMinNanos;
+            _windowMinNanos = Long.MAX_VALUE;
+            _windowSamples = 0;
+        }
+    }
+}
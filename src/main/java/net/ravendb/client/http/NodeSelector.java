@@ -11,6 +11,8 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class NodeSelector implements CleanCloseable {
@@ -158,6 +160,106 @@ public class NodeSelector implements CleanCloseable {
         return getPreferredNode();
     }
 
+    /**
+     * Power of two choices: picks two random available nodes and returns the one with lower expected latency
+     * (latency EWMA weighted by requests in flight). Nodes without samples are preferred, so they are probed quickly.
+     * @return chosen node
+     */
+    public CurrentIndexAndNode getLeastLatencyNode() {
+        NodeSelectorState state = _state;
+        List<ServerNode> serverNodes = state.getNodes();
+        int len = Math.min(serverNodes.size(), state.failures.length);
+
+        int available = 0;
+        for (int i = 0; i < len; i++) {
+            if (isAvailableMember(state, i)) {
+                available++;
+            }
+        }
+
+        if (available == 0) {
+            return getPreferredNodeInternal(state);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = nthAvailableMember(state, random.nextInt(available));
+
+        if (available == 1) {
+            return new CurrentIndexAndNode(first, serverNodes.get(first));
+        }
+
+        int secondOrdinal = random.nextInt(available - 1);
+        int second = nthAvailableMember(state, secondOrdinal);
+        if (second >= first) {
+            second = nthAvailableMember(state, secondOrdinal + 1);
+        }
+
+        long now = System.nanoTime();
+        int chosen = state.latencies[first].cost(now) <= state.latencies[second].cost(now) ? first : second;
+        return new CurrentIndexAndNode(chosen, serverNodes.get(chosen));
+    }
+
+    /**
+     * Returns available node (other than the given one) with the lowest expected latency,
+     * used as a target of hedged requests and of requests shed from an overloaded node.
+     * @param excludedIndex index of node which is already handling the request
+     * @return node or null if there is no other available node
+     */
+    public CurrentIndexAndNode getHedgeNode(int excludedIndex) {
+        NodeSelectorState state = _state;
+        int len = Math.min(state.getNodes().size(), state.failures.length);
+        long now = System.nanoTime();
+
+        int chosen = -1;
+        double chosenCost = Double.MAX_VALUE;
+        for (int i = 0; i < len; i++) {
+            if (i == excludedIndex || !isAvailableMember(state, i)) {
+                continue;
+            }
+
+            double cost = state.latencies[i].cost(now);
+            if (chosen == -1 || cost < chosenCost) {
+                chosen = i;
+                chosenCost = cost;
+            }
+        }
+
+        return chosen == -1 ? null : new CurrentIndexAndNode(chosen, state.getNodes().get(chosen));
+    }
+
+    private static boolean isAvailableMember(NodeSelectorState state, int index) {
+        return state.failures[index].get() == 0 && state.getNodes().get(index).getServerRole() == ServerNode.Role.MEMBER;
+    }
+
+    private static int nthAvailableMember(NodeSelectorState state, int ordinal) {
+        int len = Math.min(state.getNodes().size(), state.failures.length);
+        for (int i = 0; i < len; i++) {
+            if (isAvailableMember(state, i) && ordinal-- == 0) {
+                return i;
+            }
+        }
+
+        return len - 1;
+    }
+
+    /**
+     * Marks start of the request to given node, the returned stats have to be completed
+     * with {@link NodeLatencyStats#onRequestCompleted(long)}.
+     * @param nodeIndex index of node
+     * @param node node
+     * @return stats of the node or null if topology changed in the meantime
+     */
+    public NodeLatencyStats onRequestStarted(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (nodeIndex < 0 || nodeIndex >= state.latencies.length || state.getNodes().get(nodeIndex) != node) {
+            return null;
+        }
+
+        NodeLatencyStats stats = state.latencies[nodeIndex];
+        stats.inFlight.incrementAndGet();
+        return stats;
+    }
+
     public void restoreNodeIndex(ServerNode node) {
         NodeSelectorState state = _state;
         int nodeIndex = state.getNodes().indexOf(node);
@@ -266,6 +368,7 @@ public class NodeSelector implements CleanCloseable {
         public final Topology topology;
         public final AtomicInteger[] failures;
         public final int[] fastestRecords;
+        public final NodeLatencyStats[] latencies;
         public int fastest;
         public final AtomicInteger speedTestMode = new AtomicInteger(0);
         public int unlikelyEveryoneFaultedChoiceIndex;
@@ -277,12 +380,28 @@ public class NodeSelector implements CleanCloseable {
                 this.failures[i] = new AtomicInteger(0);
             }
             this.fastestRecords = new int[topology.getNodes().size()];
+            this.latencies = new NodeLatencyStats[topology.getNodes().size()];
+            for (int i = 0; i < this.latencies.length; i++) {
+                this.latencies[i] = new NodeLatencyStats();
+            }
             this.unlikelyEveryoneFaultedChoiceIndex = 0;
         }
 
         public NodeSelectorState(Topology topology, NodeSelectorState prevState) {
             this(topology);
 
+            // keep latency history of nodes which are still in topology
+            List<ServerNode> prevNodes = prevState.getNodes();
+            for (int i = 0; i < latencies.length; i++) {
+                String clusterTag = topology.getNodes().get(i).getClusterTag();
+                for (int j = 0; j < prevNodes.size() && j < prevState.latencies.length; j++) {
+                    if (clusterTag != null && clusterTag.equals(prevNodes.get(j).getClusterTag())) {
+                        latencies[i] = prevState.latencies[j];
+                        break;
+                    }
+                }
+            }
+
             if (prevState.fastest < 0 || prevState.fastest >= prevState.getNodes().size()) {
                 return ;
             }
@@ -321,4 +440,53 @@ public class NodeSelector implements CleanCloseable {
         }
     }
 
+    /**
+     * Latency statistics of a single node: peak sensitive EWMA of response times and number of requests in flight.
+     * The average decays with time (not with number of samples), so a node which becomes slow
+     * is avoided within seconds, and a recovered node is picked up again shortly after.
+     */
+    public static class NodeLatencyStats {
+        private static final double DECAY_TIME_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double _ewmaNanos;
+        private long _lastUpdateNanos;
+        private boolean _hasSamples;
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public synchronized double getLatencyNanos() {
+            return _ewmaNanos;
+        }
+
+        public void onRequestCompleted(long elapsedNanos) {
+            inFlight.decrementAndGet();
+            record(System.nanoTime(), elapsedNanos);
+        }
+
+        synchronized void record(long now, long elapsedNanos) {
+            if (!_hasSamples || elapsedNanos > _ewmaNanos) {
+                // peak sensitive - slowness is taken into account immediately
+                _ewmaNanos = elapsedNanos;
+                _hasSamples = true;
+            } else {
+                double weight = Math.exp(-Math.max(0, now - _lastUpdateNanos) / DECAY_TIME_NANOS);
+                _ewmaNanos = _ewmaNanos * weight + elapsedNanos * (1 - weight);
+            }
+
+            _lastUpdateNanos = now;
+        }
+
+        synchronized double cost(long now) {
+            if (!_hasSamples) {
+                return inFlight.get();
+            }
+
+            // when node wasn't used for a while its average decays, so it gets probed again
+            double weight = Math.exp(-Math.max(0, now - _lastUpdateNanos) / DECAY_TIME_NANOS);
+            return _ewmaNanos * weight * (inFlight.get() + 1);
+        }
+    }
 }
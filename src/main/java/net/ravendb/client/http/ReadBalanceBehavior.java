@@ -6,5 +6,10 @@ import net.ravendb.client.primitives.UseSharpEnum;
 public enum ReadBalanceBehavior {
     NONE,
     ROUND_ROBIN,
-    FASTEST_NODE
+    FASTEST_NODE,
+    /**
+     * Client side only: picks the less loaded of two random nodes, based on latency (EWMA) and in-flight requests
+     * observed on regular requests.
+     */
+    LEAST_LATENCY
 }
@@ -11,6 +11,8 @@ import net.ravendb.client.exceptions.database.DatabaseDoesNotExistException;
 import net.ravendb.client.exceptions.security.AuthorizationException;
 import net.ravendb.client.extensions.HttpExtensions;
 import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.metrics.HttpCacheResult;
+import net.ravendb.client.metrics.IClientMetrics;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.primitives.Timer;
 import net.ravendb.client.serverwide.commands.GetDatabaseTopologyCommand;
@@ -24,6 +26,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -39,6 +42,7 @@ import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
 
 import javax.net.ssl.SSLContext;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
@@ -48,8 +52,10 @@ import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -134,6 +140,22 @@ public class RequestExecutor implements CleanCloseable {
 
     public final AtomicLong numberOfServerRequests = new AtomicLong(0);
 
+    public final AtomicLong numberOfHedgedRequests = new AtomicLong(0);
+
+    private final HedgingPolicy _hedgingPolicy;
+
+    private final ConcurrentMap<ServerNode, NodeConcurrencyLimiter> _concurrencyLimiters;
+
+    private volatile IClientMetrics _metrics;
+
+    public IClientMetrics getMetrics() {
+        return _metrics;
+    }
+
+    public void setMetrics(IClientMetrics metrics) {
+        _metrics = metrics;
+    }
+
     public String getUrl() {
         if (_nodeSelector == null) {
             return null;
@@ -282,7 +304,11 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     protected RequestExecutor(String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, DocumentConventions conventions, ExecutorService executorService, String[] initialUrls) {
-        cache = new HttpCache(conventions.getMaxHttpCacheSize());
+        this(databaseName, certificate, keyPassword, trustStore, conventions, executorService, initialUrls, null);
+    }
+
+    protected RequestExecutor(String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, DocumentConventions conventions, ExecutorService executorService, String[] initialUrls, SharedHttpCache sharedCache) {
+        cache = sharedCache != null ? sharedCache.forDatabase(databaseName) : new HttpCache(conventions.getMaxHttpCacheSize());
         _executorService = executorService;
         _databaseName = databaseName;
         this.certificate = certificate;
@@ -294,24 +320,38 @@ public class RequestExecutor implements CleanCloseable {
         this._defaultTimeout = conventions.getRequestTimeout();
         this._secondBroadcastAttemptTimeout = conventions.getSecondBroadcastAttemptTimeout();
         this._firstBroadcastAttemptTimeout = conventions.getFirstBroadcastAttemptTimeout();
+        this._hedgingPolicy = conventions.hedging().isEnabled() ? new HedgingPolicy(conventions.hedging()) : null;
+        this._concurrencyLimiters = conventions.concurrencyLimit().isEnabled() ? new ConcurrentHashMap<>() : null;
     }
 
     public static RequestExecutor create(String[] initialUrls, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions) {
-        RequestExecutor executor = new RequestExecutor(databaseName, certificate, keyPassword, trustStore, conventions, executorService, initialUrls);
+        return create(initialUrls, databaseName, certificate, keyPassword, trustStore, executorService, conventions, null);
+    }
+
+    public static RequestExecutor create(String[] initialUrls, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions, SharedHttpCache sharedCache) {
+        RequestExecutor executor = new RequestExecutor(databaseName, certificate, keyPassword, trustStore, conventions, executorService, initialUrls, sharedCache);
         executor._firstTopologyUpdate = executor.firstTopologyUpdate(initialUrls, GLOBAL_APPLICATION_IDENTIFIER);
         return executor;
     }
 
     public static RequestExecutor createForSingleNodeWithConfigurationUpdates(String url, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions) {
-        RequestExecutor executor = createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, keyPassword, trustStore, executorService, conventions);
+        return createForSingleNodeWithConfigurationUpdates(url, databaseName, certificate, keyPassword, trustStore, executorService, conventions, null);
+    }
+
+    public static RequestExecutor createForSingleNodeWithConfigurationUpdates(String url, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions, SharedHttpCache sharedCache) {
+        RequestExecutor executor = createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, keyPassword, trustStore, executorService, conventions, sharedCache);
         executor._disableClientConfigurationUpdates = false;
         return executor;
     }
 
     public static RequestExecutor createForSingleNodeWithoutConfigurationUpdates(String url, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions) {
+        return createForSingleNodeWithoutConfigurationUpdates(url, databaseName, certificate, keyPassword, trustStore, executorService, conventions, null);
+    }
+
+    public static RequestExecutor createForSingleNodeWithoutConfigurationUpdates(String url, String databaseName, KeyStore certificate, char[] keyPassword, KeyStore trustStore, ExecutorService executorService, DocumentConventions conventions, SharedHttpCache sharedCache) {
         final String[] initialUrls = validateUrls(new String[]{url}, certificate);
 
-        RequestExecutor executor = new RequestExecutor(databaseName, certificate, keyPassword, trustStore, conventions, executorService, initialUrls);
+        RequestExecutor executor = new RequestExecutor(databaseName, certificate, keyPassword, trustStore, conventions, executorService, initialUrls, sharedCache);
 
         Topology topology = new Topology();
         topology.setEtag(-1L);
@@ -400,32 +440,13 @@ public class RequestExecutor implements CleanCloseable {
                     return false;
                 }
 
-                GetDatabaseTopologyCommand command = new GetDatabaseTopologyCommand(parameters.getDebugTag(),
-                        getConventions().isSendApplicationIdentifier() ? parameters.getApplicationIdentifier() : null);
-
-                if (_defaultTimeout != null && _defaultTimeout.compareTo(command.getTimeout()) > 0) {
-                    command.setTimeout(_defaultTimeout);
-                }
-
-                execute(parameters.getNode(), null, command, false, null);
-                Topology topology = command.getResult();
-
-                if (_nodeSelector == null) {
-                    _nodeSelector = new NodeSelector(topology, _executorService);
-
-                    if (conventions.getReadBalanceBehavior() == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
-                } else if (_nodeSelector.onUpdateTopology(topology, parameters.isForceUpdate())) {
-                    disposeAllFailedNodesTimers();
-                    if (conventions.getReadBalanceBehavior() == ReadBalanceBehavior.FASTEST_NODE) {
-                        _nodeSelector.scheduleSpeedTest();
-                    }
-                }
+                Topology topology = fetchTopology(parameters);
 
-                topologyEtag = _nodeSelector.getTopology().getEtag();
+                updateNodeSelector(topology, parameters.isForceUpdate());
 
                 onTopologyUpdatedInvoke(topology);
+
+                saveTopologyToLocalCache(topology);
             } catch (Exception e) {
                 if (!_disposed) {
                     throw e;
@@ -439,6 +460,33 @@ public class RequestExecutor implements CleanCloseable {
 
     }
 
+    /**
+     * Fetches topology from the node given in parameters, without applying it
+     * @param parameters update parameters
+     * @return fetched topology
+     */
+    protected Topology fetchTopology(UpdateTopologyParameters parameters) {
+        GetDatabaseTopologyCommand command = new GetDatabaseTopologyCommand(parameters.getDebugTag(),
+                getConventions().isSendApplicationIdentifier() ? parameters.getApplicationIdentifier() : null);
+
+        if (_defaultTimeout != null && _defaultTimeout.compareTo(command.getTimeout()) > 0) {
+            command.setTimeout(_defaultTimeout);
+        }
+
+        execute(parameters.getNode(), null, command, false, null);
+        return command.getResult();
+    }
+
+    protected void saveTopologyToLocalCache(Topology topology) {
+        File cacheLocation = conventions.topology().getCacheLocation();
+        String[] urls = _topologyCacheUrls;
+        if (cacheLocation == null || urls == null) {
+            return;
+        }
+
+        TopologyLocalCache.trySave(cacheLocation, _databaseName, urls, topology);
+    }
+
     protected void updateNodeSelector(Topology topology, boolean forceUpdate) {
         if (_nodeSelector == null) {
             _nodeSelector = new NodeSelector(topology, _executorService);
@@ -499,6 +547,8 @@ public class RequestExecutor implements CleanCloseable {
                 return _nodeSelector.getNodeBySessionId(sessionInfo != null ? sessionInfo.getSessionId() : 0);
             case FASTEST_NODE:
                 return _nodeSelector.getFastestNode();
+            case LEAST_LATENCY:
+                return _nodeSelector.getLeastLatencyNode();
             default:
                 throw new IllegalArgumentException();
         }
@@ -634,45 +684,50 @@ public class RequestExecutor implements CleanCloseable {
     protected CompletableFuture<Void> firstTopologyUpdate(String[] inputUrls, UUID applicationIdentifier) {
         final String[] initialUrls = validateUrls(inputUrls, certificate);
 
-        ArrayList<Tuple<String, Exception>> list = new ArrayList<>();
+        _topologyCacheUrls = initialUrls;
+
+        List<Tuple<String, Exception>> list = Collections.synchronizedList(new ArrayList<>());
 
         return CompletableFuture.runAsync(() -> {
 
-            for (String url : initialUrls) {
-                try {
-                    ServerNode serverNode = new ServerNode();
-                    serverNode.setUrl(url);
-                    serverNode.setDatabase(_databaseName);
-                    serverNode.setServerRole(ServerNode.Role.MEMBER);
+            Tuple<ServerNode, Topology> result;
+            try {
+                result = raceFirstTopology(initialUrls, applicationIdentifier, list);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                // auth and database does not exist exceptions will always happen, on all nodes
+                // so errors immediately
+                _lastKnownUrls = initialUrls;
+                throw ExceptionsUtils.unwrapException(e);
+            }
 
-                    UpdateTopologyParameters updateParameters = new UpdateTopologyParameters(serverNode);
-                    updateParameters.setTimeoutInMs(Integer.MAX_VALUE);
-                    updateParameters.setDebugTag("first-topology-update");
-                    updateParameters.setApplicationIdentifier(applicationIdentifier);
+            if (result != null) {
+                if (!applyFirstTopology(result.second, false)) {
+                    return;
+                }
 
-                    updateTopologyAsync(updateParameters).get();
+                saveTopologyToLocalCache(result.second);
 
-                    initializeUpdateTopologyTimer();
+                initializeUpdateTopologyTimer();
 
-                    _topologyTakenFromNode = serverNode;
-                    return;
-                } catch (Exception e) {
+                _topologyTakenFromNode = result.first;
+                return;
+            }
 
-                    if (e instanceof ExecutionException && e.getCause() instanceof AuthorizationException) {
-                        // auth exceptions will always happen, on all nodes
-                        // so errors immediately
-                        _lastKnownUrls = initialUrls;
-                        throw (AuthorizationException) e.getCause();
+            // topology we already know (ex. from previous update) is fresher than the cached one
+            File cacheLocation = conventions.topology().getCacheLocation();
+            if (cacheLocation != null && _nodeSelector == null) {
+                Topology cachedTopology = TopologyLocalCache.tryLoad(cacheLocation, _databaseName, initialUrls);
+                if (cachedTopology != null) {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Could not reach any of initial urls, using cached topology with etag " + cachedTopology.getEtag());
                     }
 
-                    if (e instanceof ExecutionException && e.getCause() instanceof DatabaseDoesNotExistException) {
-                        // Will happen on all node in the cluster,
-                        // so errors immediately
-                        _lastKnownUrls = initialUrls;
-                        throw (DatabaseDoesNotExistException) e.getCause();
+                    if (applyFirstTopology(cachedTopology, true)) {
+                        initializeUpdateTopologyTimer();
                     }
-
-                    list.add(Tuple.create(url, e));
+                    return;
                 }
             }
 
@@ -706,6 +761,93 @@ public class RequestExecutor implements CleanCloseable {
         }, _executorService);
     }
 
+    /**
+     * Applies topology found by the first update the same way as {@link #updateTopologyAsync(UpdateTopologyParameters)} does,
+     * so it doesn't race with topology updates started in the meantime (ex. by failover).
+     * @param topology topology to apply
+     * @param onlyWhenUnknown apply only when no topology was applied yet (ex. topology from the local cache,
+     *                        which is older than any topology we got from the server)
+     * @return true when topology was applied
+     */
+    private boolean applyFirstTopology(Topology topology, boolean onlyWhenUnknown) {
+        try {
+            _updateDatabaseTopologySemaphore.acquire();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+
+        try {
+            if (_disposed || (onlyWhenUnknown && _nodeSelector != null)) {
+                return false;
+            }
+
+            updateNodeSelector(topology, false);
+
+            onTopologyUpdatedInvoke(topology);
+        } finally {
+            _updateDatabaseTopologySemaphore.release();
+        }
+
+        return true;
+    }
+
+    /**
+     * Asks initial urls for the topology, starting next request after stagger delay (or sooner, when previous requests
+     * failed). First successful response wins, responses from other nodes are ignored.
+     * @return node and its topology or null when all urls failed
+     */
+    private Tuple<ServerNode, Topology> raceFirstTopology(String[] initialUrls, UUID applicationIdentifier,
+                                                          List<Tuple<String, Exception>> errors) throws InterruptedException, ExecutionException {
+        if (initialUrls.length == 0) {
+            return null;
+        }
+
+        CompletableFuture<Tuple<ServerNode, Topology>> winner = new CompletableFuture<>();
+        Semaphore progress = new Semaphore(0);
+        AtomicInteger pending = new AtomicInteger(initialUrls.length);
+        long staggerInMs = conventions.topology().getFirstUpdateStaggerDelay().toMillis();
+
+        for (int i = 0; i < initialUrls.length && !winner.isDone(); i++) {
+            if (i > 0 && staggerInMs > 0) {
+                // any completed attempt wakes us up - on failure we should try next url without waiting
+                progress.tryAcquire(staggerInMs, TimeUnit.MILLISECONDS);
+                if (winner.isDone()) {
+                    break;
+                }
+            }
+
+            String url = initialUrls[i];
+
+            ServerNode serverNode = new ServerNode();
+            serverNode.setUrl(url);
+            serverNode.setDatabase(_databaseName);
+            serverNode.setServerRole(ServerNode.Role.MEMBER);
+
+            UpdateTopologyParameters updateParameters = new UpdateTopologyParameters(serverNode);
+            updateParameters.setTimeoutInMs(Integer.MAX_VALUE);
+            updateParameters.setDebugTag("first-topology-update");
+            updateParameters.setApplicationIdentifier(applicationIdentifier);
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    Topology topology = fetchTopology(updateParameters);
+                    winner.complete(Tuple.create(serverNode, topology));
+                } catch (AuthorizationException | DatabaseDoesNotExistException e) {
+                    winner.completeExceptionally(e);
+                } catch (Exception e) {
+                    errors.add(Tuple.create(url, e));
+                    if (pending.decrementAndGet() == 0) {
+                        winner.complete(null);
+                    }
+                } finally {
+                    progress.release();
+                }
+            }, _executorService);
+        }
+
+        return winner.get();
+    }
+
     protected void throwExceptions(String details) {
         throw new IllegalStateException("Failed to retrieve database topology from all known nodes" + System.lineSeparator() + details);
     }
@@ -790,9 +932,14 @@ public class RequestExecutor implements CleanCloseable {
         Reference<String> cachedChangeVectorRef = new Reference<>();
         Reference<String> cachedValue = new Reference<>();
 
+        IClientMetrics metrics = _metrics;
+
         try (HttpCache.ReleaseCacheItem cachedItem = getFromCache(command, !noCaching, urlRef.value, cachedChangeVectorRef, cachedValue)) {
             if (cachedChangeVectorRef.value != null) {
                 if (tryGetFromCache(command, cachedItem, cachedValue.value)) {
+                    if (metrics != null) {
+                        metrics.onCacheResult(_databaseName, command.getClass(), HttpCacheResult.HIT);
+                    }
                     return;
                 }
             }
@@ -803,6 +950,10 @@ public class RequestExecutor implements CleanCloseable {
             int attemptNum = command.numberOfAttempts;
             EventHelper.invoke(_onBeforeRequest, this, new BeforeRequestEventArgs(_databaseName, urlRef.value, request, attemptNum));
 
+            if (metrics != null && attemptNum > 1) {
+                metrics.onRetry(_databaseName, chosenNode, command.getClass(), attemptNum);
+            }
+
             CloseableHttpResponse response = sendRequestToServer(chosenNode, nodeIndex, command, shouldRetry, sessionInfo, request, urlRef.value);
 
             if (response == null) {
@@ -819,6 +970,10 @@ public class RequestExecutor implements CleanCloseable {
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
                     EventHelper.invoke(_onSucceedRequest, this, new SucceedRequestEventArgs(_databaseName, urlRef.value, response, request, attemptNum));
 
+                    if (metrics != null) {
+                        metrics.onCacheResult(_databaseName, command.getClass(), HttpCacheResult.NOT_MODIFIED);
+                    }
+
                     cachedItem.notModified();
 
                     try {
@@ -846,6 +1001,10 @@ public class RequestExecutor implements CleanCloseable {
 
                 EventHelper.invoke(_onSucceedRequest, this, new SucceedRequestEventArgs(_databaseName, urlRef.value, response, request, attemptNum));
 
+                if (metrics != null && !noCaching && isCacheable(command)) {
+                    metrics.onCacheResult(_databaseName, command.getClass(), HttpCacheResult.MISS);
+                }
+
                 responseDispose = command.processResponse(cache, response, urlRef.value);
                 _lastReturnedResponse = new Date();
             } finally {
@@ -892,13 +1051,14 @@ public class RequestExecutor implements CleanCloseable {
             Duration timeout = ObjectUtils.firstNonNull(command.getTimeout(), _defaultTimeout);
             if (timeout != null) {
                 AggressiveCacheOptions callingTheadAggressiveCaching = aggressiveCaching.get();
+                AtomicReference<HttpRequestBase> hedgeRequest = new AtomicReference<>();
 
                 CompletableFuture<CloseableHttpResponse> sendTask = CompletableFuture.supplyAsync(() -> {
                     AggressiveCacheOptions aggressiveCacheOptionsToRestore = aggressiveCaching.get();
 
                     try {
                         aggressiveCaching.set(callingTheadAggressiveCaching);
-                        return send(chosenNode, command, sessionInfo, request);
+                        return send(chosenNode, nodeIndex, command, sessionInfo, request, hedgeRequest);
                     } catch (IOException e) {
                         throw ExceptionsUtils.unwrapException(e);
                     } finally {
@@ -913,6 +1073,14 @@ public class RequestExecutor implements CleanCloseable {
                 } catch (TimeoutException e) {
                     request.abort();
 
+                    HttpRequestBase hedge = hedgeRequest.get();
+                    if (hedge != null) {
+                        hedge.abort();
+                    }
+
+                    // response which arrives after the timeout is not used by anyone
+                    sendTask.thenAccept(response -> IOUtils.closeQuietly(response, null));
+
                     net.ravendb.client.exceptions.TimeoutException timeoutException = new net.ravendb.client.exceptions.TimeoutException("The request for " + request.getURI() + " failed with timeout after " + TimeUtils.durationToTimeSpan(timeout), e);
                     if (!shouldRetry) {
                         if (command.getFailedNodes() == null) {
@@ -937,8 +1105,10 @@ public class RequestExecutor implements CleanCloseable {
                     throw ExceptionsUtils.unwrapException(e);
                 }
             } else {
-                return send(chosenNode, command, sessionInfo, request);
+                return send(chosenNode, nodeIndex, command, sessionInfo, request, null);
             }
+        } catch (NodeOverloadedException e) {
+            return handleNodeOverloaded(chosenNode, nodeIndex, command, sessionInfo, shouldRetry, e);
         } catch (IOException e) {
             if (!shouldRetry) {
                 throw ExceptionsUtils.unwrapException(e);
@@ -952,13 +1122,19 @@ public class RequestExecutor implements CleanCloseable {
         }
     }
 
-    private <TResult> CloseableHttpResponse send(ServerNode chosenNode, RavenCommand<TResult> command, SessionInfo sessionInfo, HttpRequestBase request) throws IOException {
+    private <TResult> CloseableHttpResponse send(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, SessionInfo sessionInfo,
+                                                 HttpRequestBase request, AtomicReference<HttpRequestBase> hedgeRequest) throws IOException {
         CloseableHttpResponse response = null;
+        ServerNode respondingNode = chosenNode;
 
         if (shouldExecuteOnAll(chosenNode, command)) {
             response = executeOnAllToFigureOutTheFastest(chosenNode, command);
+        } else if (shouldHedge(chosenNode, nodeIndex, command)) {
+            Reference<ServerNode> respondingNodeRef = new Reference<>(chosenNode);
+            response = executeHedged(chosenNode, nodeIndex, command, request, hedgeRequest, respondingNodeRef);
+            respondingNode = respondingNodeRef.value;
         } else {
-            response = command.send(getHttpClient(), request);
+            response = sendToNode(chosenNode, nodeIndex, command, request);
         }
 
         // PERF: The reason to avoid rechecking every time is that servers wont change so rapidly
@@ -966,15 +1142,15 @@ public class RequestExecutor implements CleanCloseable {
         //       once in a while. We dont care also about the potential race conditions that may happen
         //       here mainly because the idea is to have a lax mechanism to recheck that is at least
         //       orders of magnitude faster than currently.
-        if (chosenNode.shouldUpdateServerVersion()) {
+        if (respondingNode.shouldUpdateServerVersion()) {
             String serverVersion = tryGetServerVersion(response);
             if (serverVersion != null) {
-                chosenNode.updateServerVersion(serverVersion);
+                respondingNode.updateServerVersion(serverVersion);
 
             }
         }
 
-        lastServerVersion = chosenNode.getLastServerVersion();
+        lastServerVersion = respondingNode.getLastServerVersion();
 
         if (sessionInfo != null && sessionInfo.getLastClusterTransactionIndex() != null) {
             // if we reach here it means that sometime a cluster transaction has occurred against this database.
@@ -982,7 +1158,7 @@ public class RequestExecutor implements CleanCloseable {
             // But we can't do that if the server is an old one.
 
             if (lastServerVersion == null || lastServerVersion.compareToIgnoreCase("4.1") < 0) {
-                throw new ClientVersionMismatchException("The server on " + chosenNode.getUrl() + " has an old version and can't perform " +
+                throw new ClientVersionMismatchException("The server on " + respondingNode.getUrl() + " has an old version and can't perform " +
                         "the command since this command dependent on a cluster transaction which this node doesn't support.");
             }
         }
@@ -1095,6 +1271,279 @@ public class RequestExecutor implements CleanCloseable {
         return Optional.ofNullable(_nodeSelector).map(NodeSelector::inSpeedTestPhase).orElse(false);
     }
 
+    private <TResult> CloseableHttpResponse sendToNode(ServerNode node, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request) throws IOException {
+        return sendToNode(node, nodeIndex, command, request, null);
+    }
+
+    /**
+     * @param cancelled set before the request is aborted by the client (ex. hedge lost the race), such failure isn't held against the node
+     */
+    private <TResult> CloseableHttpResponse sendToNode(ServerNode node, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                       AtomicBoolean cancelled) throws IOException {
+        NodeConcurrencyLimiter limiter = nodeIndex != null && _concurrencyLimiters != null
+                ? _concurrencyLimiters.computeIfAbsent(node, x -> new NodeConcurrencyLimiter(conventions.concurrencyLimit()))
+                : null;
+
+        if (limiter != null && !limiter.tryAcquire()) {
+            throw new NodeOverloadedException("Node " + node.getClusterTag() + " (" + node.getUrl() + ") reached its concurrency limit of " + limiter.getLimit() + " requests" +
+                    (limiter.getState() == NodeConcurrencyLimiter.State.OPEN ? ", circuit breaker is open" : ""));
+        }
+
+        NodeSelector.NodeLatencyStats latencyStats = shouldTrackLatency(nodeIndex) ? _nodeSelector.onRequestStarted(nodeIndex, node) : null;
+        boolean trackReadLatency = _hedgingPolicy != null && command.isReadRequest();
+        IClientMetrics metrics = _metrics;
+        if (limiter == null && latencyStats == null && !trackReadLatency && metrics == null) {
+            return command.send(getHttpClient(), request);
+        }
+
+        if (metrics != null && request instanceof HttpEntityEnclosingRequest) {
+            HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+            if (entityRequest.getEntity() != null) {
+                entityRequest.setEntity(new CountingHttpEntity(entityRequest.getEntity(), bytes -> metrics.onBytesSent(_databaseName, bytes)));
+            }
+        }
+
+        long start = System.nanoTime();
+        CloseableHttpResponse response = null;
+        Exception failure = null;
+        try {
+            response = command.send(getHttpClient(), request);
+
+            if (metrics != null && response.getEntity() != null) {
+                response.setEntity(new CountingHttpEntity(response.getEntity(), bytes -> metrics.onBytesReceived(_databaseName, bytes)));
+            }
+
+            return response;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            boolean wasCancelled = response == null && cancelled != null && cancelled.get();
+            if (metrics != null && !wasCancelled) {
+                if (response != null) {
+                    metrics.onRequest(_databaseName, node, command.getClass(), response.getStatusLine().getStatusCode(), elapsed);
+                } else {
+                    metrics.onRequestFailed(_databaseName, node, command.getClass(), elapsed, failure);
+                }
+            }
+            if (latencyStats != null) {
+                latencyStats.onRequestCompleted(elapsed);
+            }
+            if (trackReadLatency) {
+                _hedgingPolicy.onReadCompleted(elapsed);
+            }
+            if (limiter != null) {
+                if (wasCancelled) {
+                    limiter.onCancelled();
+                } else {
+                    onLimitedRequestCompleted(limiter, node, nodeIndex, response, elapsed);
+                }
+            }
+        }
+    }
+
+    private void onLimitedRequestCompleted(NodeConcurrencyLimiter limiter, ServerNode node, int nodeIndex, CloseableHttpResponse response, long elapsed) {
+        // server errors and overload responses shrink the limit and count towards the circuit breaker
+        int statusCode = response != null ? response.getStatusLine().getStatusCode() : 0;
+        if (response != null && statusCode < HttpStatus.SC_INTERNAL_SERVER_ERROR && statusCode != 429) {
+            limiter.onSuccess(elapsed);
+            return;
+        }
+
+        if (limiter.onFailure() && _nodeSelector != null) {
+            // circuit breaker opened - stop routing requests to the node, health checks will probe it
+            _nodeSelector.onFailedRequest(nodeIndex);
+            spawnHealthChecks(node, nodeIndex);
+        }
+    }
+
+    private <TResult> CloseableHttpResponse handleNodeOverloaded(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command,
+                                                                 SessionInfo sessionInfo, boolean shouldRetry, NodeOverloadedException e) {
+        if (command.getFailedNodes() == null) {
+            command.setFailedNodes(new HashMap<>());
+        }
+
+        command.getFailedNodes().put(chosenNode, e);
+
+        if (shouldRetry && nodeIndex != null && _nodeSelector != null && StringUtils.isBlank(command.getSelectedNodeTag())) {
+            CurrentIndexAndNode alternative = _nodeSelector.getHedgeNode(nodeIndex);
+            if (alternative != null && !command.getFailedNodes().containsKey(alternative.currentNode)) {
+                IClientMetrics metrics = _metrics;
+                if (metrics != null) {
+                    metrics.onFailover(_databaseName, chosenNode, alternative.currentNode, command.getClass());
+                }
+
+                execute(alternative.currentNode, alternative.currentIndex, command, true, sessionInfo);
+                return null;
+            }
+        }
+
+        throw e;
+    }
+
+    private <TResult> boolean shouldHedge(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command) {
+        return _hedgingPolicy != null &&
+                nodeIndex != null &&
+                chosenNode != null &&
+                _nodeSelector != null &&
+                _nodeSelector.getTopology().getNodes().size() > 1 &&
+                command.isReadRequest() &&
+                command.getResponseType() == RavenCommandResponseType.OBJECT &&
+                StringUtils.isBlank(command.getSelectedNodeTag()) &&
+                !(command instanceof IBroadcast);
+    }
+
+    /**
+     * Sends the request to the chosen node, and if it doesn't answer within the hedging delay (and the hedging budget allows it)
+     * sends the same request to another node. The first successful response is used, the other request is aborted.
+     * When neither node answers successfully, the outcome of the chosen node is used, so the error is handled against that node.
+     */
+    private <TResult> CloseableHttpResponse executeHedged(ServerNode chosenNode, int nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                          AtomicReference<HttpRequestBase> hedgeRequestRef, Reference<ServerNode> respondingNode) throws IOException {
+        long delay = _hedgingPolicy.getHedgeDelayNanos();
+        if (delay < 0) {
+            return sendToNode(chosenNode, nodeIndex, command, request);
+        }
+
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        CompletableFuture<CloseableHttpResponse> primaryTask = sendToNodeAsync(chosenNode, nodeIndex, command, request, primaryCancelled);
+
+        try {
+            return primaryTask.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // primary node is slow, try to hedge
+        } catch (InterruptedException | ExecutionException e) {
+            throw unwrapSendException(e);
+        }
+
+        CurrentIndexAndNode hedgeNode = _nodeSelector.getHedgeNode(nodeIndex);
+        HttpRequestBase hedgeRequest = null;
+        if (hedgeNode != null && !request.isAborted() && _hedgingPolicy.tryAcquireHedge()) {
+            hedgeRequest = createRequest(hedgeNode.currentNode, command, new Reference<>());
+        }
+
+        if (hedgeRequest == null) {
+            try {
+                return primaryTask.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw unwrapSendException(e);
+            }
+        }
+
+        // same headers as the original request (ex. cached change vector, client configuration etag)
+        hedgeRequest.setHeaders(request.getAllHeaders());
+
+        if (hedgeRequestRef != null) {
+            // request timeout aborts the original request and then the hedge, one of us sees the other
+            hedgeRequestRef.set(hedgeRequest);
+            if (request.isAborted()) {
+                hedgeRequest.abort();
+            }
+        }
+
+        numberOfServerRequests.incrementAndGet();
+        numberOfHedgedRequests.incrementAndGet();
+
+        AtomicBoolean hedgeCancelled = new AtomicBoolean();
+        CompletableFuture<CloseableHttpResponse> hedgeTask = sendToNodeAsync(hedgeNode.currentNode, hedgeNode.currentIndex, command, hedgeRequest, hedgeCancelled);
+
+        CompletableFuture<IndexAndResponse> firstResponse = completeWithFirstSuccessfulResponse(primaryTask, hedgeTask);
+
+        IndexAndResponse winner;
+        try {
+            winner = firstResponse.get();
+        } catch (InterruptedException | ExecutionException e) {
+            request.abort();
+            hedgeRequest.abort();
+            closeUnusedResponse(primaryTask, null);
+            closeUnusedResponse(hedgeTask, null);
+            throw unwrapSendException(e);
+        }
+
+        // loser is cancelled by us, not failed by its node
+        if (winner.index == 0) {
+            hedgeCancelled.set(true);
+            hedgeRequest.abort();
+        } else {
+            primaryCancelled.set(true);
+            request.abort();
+            respondingNode.value = hedgeNode.currentNode;
+        }
+
+        closeUnusedResponse(primaryTask, winner.response);
+        closeUnusedResponse(hedgeTask, winner.response);
+
+        return winner.response;
+    }
+
+    private static CompletableFuture<IndexAndResponse> completeWithFirstSuccessfulResponse(CompletableFuture<CloseableHttpResponse> primaryTask,
+                                                                                           CompletableFuture<CloseableHttpResponse> hedgeTask) {
+        CompletableFuture<IndexAndResponse> firstResponse = new CompletableFuture<>();
+        AtomicInteger numberOfUnsuccessfulTasks = new AtomicInteger();
+
+        List<CompletableFuture<CloseableHttpResponse>> tasks = Arrays.asList(primaryTask, hedgeTask);
+        for (int i = 0; i < tasks.size(); i++) {
+            final int index = i;
+            tasks.get(i).whenComplete((response, error) -> {
+                if (error == null && isSuccessfulResponse(response)) {
+                    firstResponse.complete(new IndexAndResponse(index, response));
+                } else if (numberOfUnsuccessfulTasks.incrementAndGet() == tasks.size()) {
+                    // error of the hedge must not fail over the chosen node, so use outcome of the chosen node
+                    primaryTask.whenComplete((primaryResponse, primaryError) -> {
+                        if (primaryError != null) {
+                            firstResponse.completeExceptionally(primaryError);
+                        } else {
+                            firstResponse.complete(new IndexAndResponse(0, primaryResponse));
+                        }
+                    });
+                }
+            });
+        }
+
+        return firstResponse;
+    }
+
+    private static boolean isSuccessfulResponse(CloseableHttpResponse response) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        return statusCode < 400 || statusCode == HttpStatus.SC_NOT_FOUND;
+    }
+
+    private static void closeUnusedResponse(CompletableFuture<CloseableHttpResponse> task, CloseableHttpResponse usedResponse) {
+        task.thenAccept(response -> {
+            if (response != usedResponse) {
+                IOUtils.closeQuietly(response, null);
+            }
+        });
+    }
+
+    private <TResult> CompletableFuture<CloseableHttpResponse> sendToNodeAsync(ServerNode node, int nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                             AtomicBoolean cancelled) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sendToNode(node, nodeIndex, command, request, cancelled);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, _executorService);
+    }
+
+    private static IOException unwrapSendException(Exception e) {
+        Throwable rootCause = ExceptionUtils.getRootCause(e);
+        if (rootCause instanceof IOException) {
+            return (IOException) rootCause;
+        }
+
+        throw ExceptionsUtils.unwrapException(e);
+    }
+
+    private boolean shouldTrackLatency(Integer nodeIndex) {
+        // hedged requests and requests shed by an overloaded node go to the node with the lowest latency, so it has to be known
+        return nodeIndex != null &&
+                (conventions.getReadBalanceBehavior() == ReadBalanceBehavior.LEAST_LATENCY || _hedgingPolicy != null || _concurrencyLimiters != null) &&
+                _nodeSelector != null;
+    }
+
     private <TResult> boolean shouldExecuteOnAll(ServerNode chosenNode, RavenCommand<TResult> command) {
         return conventions.getReadBalanceBehavior() == ReadBalanceBehavior.FASTEST_NODE &&
                 _nodeSelector != null &&
@@ -1173,8 +1622,12 @@ public class RequestExecutor implements CleanCloseable {
         }
     }
 
+    private static <TResult> boolean isCacheable(RavenCommand<TResult> command) {
+        return command.canCache() && command.isReadRequest() && command.getResponseType() == RavenCommandResponseType.OBJECT;
+    }
+
     private <TResult> HttpCache.ReleaseCacheItem getFromCache(RavenCommand<TResult> command, boolean useCache, String url, Reference<String> cachedChangeVector, Reference<String> cachedValue) {
-        if (useCache && command.canCache() && command.isReadRequest() && command.getResponseType() == RavenCommandResponseType.OBJECT) {
+        if (useCache && isCacheable(command)) {
             return cache.get(url, cachedChangeVector, cachedValue);
         }
 
@@ -1404,6 +1857,11 @@ public class RequestExecutor implements CleanCloseable {
 
         onFailedRequestInvoke(url, e, request, response);
 
+        IClientMetrics metrics = _metrics;
+        if (metrics != null) {
+            metrics.onFailover(_databaseName, chosenNode, currentIndexAndNode.currentNode, command.getClass());
+        }
+
         execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, shouldRetry, sessionInfo);
 
         return true;
@@ -1724,6 +2182,7 @@ public class RequestExecutor implements CleanCloseable {
 
     protected CompletableFuture<Void> _firstTopologyUpdate;
     protected String[] _lastKnownUrls;
+    private volatile String[] _topologyCacheUrls;
     protected boolean _disposed;
 
     @Override
@@ -1877,6 +2336,12 @@ public class RequestExecutor implements CleanCloseable {
         return _nodeSelector.getFastestNode();
     }
 
+    public CurrentIndexAndNode getLeastLatencyNode() {
+        ensureNodeSelector();
+
+        return _nodeSelector.getLeastLatencyNode();
+    }
+
     private void ensureNodeSelector() {
         if (!_disableTopologyUpdates) {
             waitForTopologyUpdate(_firstTopologyUpdate);
@@ -0,0 +1,232 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Http cache shared by request executors of all databases of a store. Each database gets its own partition,
+ * all partitions together are bounded by a single size budget.
+ *
+ * When the budget is exceeded, least recently used items of the largest partition are evicted first,
+ * so a single busy database can't push all other databases out of the cache.
+ * Partition can be further limited by a per-database quota.
+ *
+ * Unlike per-executor cache, items are strongly referenced, so the cache content doesn't depend on GC pressure.
+ */
+public class SharedHttpCache implements CleanCloseable {
+
+    private final long _maxSize;
+    private final long _maxSizePerDatabase;
+
+    private final AtomicLong _size = new AtomicLong();
+    private final ReentrantLock _evictionLock = new ReentrantLock();
+
+    private final ConcurrentMap<String, Partition> _partitions = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * @param maxSize Size of all partitions together, approximately in bytes
+     * @param maxSizePerDatabase Size of a single partition, approximately in bytes. Zero means a partition is limited only by maxSize.
+     */
+    public SharedHttpCache(long maxSize, long maxSizePerDatabase) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("MaxSize must be non negative");
+        }
+        if (maxSizePerDatabase < 0) {
+            throw new IllegalArgumentException("MaxSizePerDatabase must be non negative");
+        }
+
+        _maxSize = maxSize;
+        _maxSizePerDatabase = maxSizePerDatabase;
+    }
+
+    /**
+     * @param database database name
+     * @return Cache partition of the given database. Partition is shared by all callers asking for the same database,
+     * it is removed from the shared cache when the last of them closes it.
+     */
+    public HttpCache forDatabase(String database) {
+        synchronized (_partitions) {
+            Partition partition = _partitions.computeIfAbsent(database, Partition::new);
+            partition._references++;
+            return partition;
+        }
+    }
+
+    /**
+     * @return Weight of cached items of all partitions, approximately in bytes
+     */
+    public long getSize() {
+        return _size.get();
+    }
+
+    public long getMaxSize() {
+        return _maxSize;
+    }
+
+    public long getMaxSizePerDatabase() {
+        return _maxSizePerDatabase;
+    }
+
+    /**
+     * @return Statistics of each partition by database name
+     */
+    public Map<String, HttpCacheStatistics> getStatistics() {
+        Map<String, HttpCacheStatistics> statistics = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Partition partition : _partitions.values()) {
+            statistics.put(partition._database, partition.getStatistics());
+        }
+        return statistics;
+    }
+
+    public void clear() {
+        for (Partition partition : _partitions.values()) {
+            partition.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (_partitions) {
+            for (Partition partition : _partitions.values()) {
+                partition.closePartition();
+            }
+            _partitions.clear();
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (_size.get() <= _maxSize) {
+            return;
+        }
+
+        // single thread evicts, others go on - budget can be exceeded only for a moment
+        if (!_evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            // partitions are ordered by size once per eviction run, each evicted item costs log(partitions) only
+            PriorityQueue<Partition> bySize = new PriorityQueue<>(
+                    Math.max(1, _partitions.size()), Comparator.comparingLong((Partition p) -> p._partitionSize).reversed());
+            bySize.addAll(_partitions.values());
+
+            while (_size.get() > _maxSize) {
+                Partition largest = bySize.poll();
+                if (largest == null || !largest.evictEldest()) {
+                    return;
+                }
+
+                bySize.add(largest);
+            }
+        } finally {
+            _evictionLock.unlock();
+        }
+    }
+
+    private class Partition extends HttpCache {
+
+        private final String _database;
+
+        // access order - eldest entry is the least recently used one
+        private final LinkedHashMap<String, HttpCacheItem> _items = new LinkedHashMap<>(16, 0.75f, true);
+
+        private volatile long _partitionSize;
+
+        private boolean _closed;
+
+        // guarded by _partitions
+        private int _references;
+
+        Partition(String database) {
+            _database = database;
+        }
+
+        @Override
+        protected HttpCacheItem getItem(String url) {
+            synchronized (this) {
+                return _items.get(url);
+            }
+        }
+
+        @Override
+        protected void putItem(String url, HttpCacheItem item) {
+            synchronized (this) {
+                if (_closed) {
+                    return;
+                }
+
+                HttpCacheItem old = _items.put(url, item);
+                addSize(weigh(item) - (old != null ? weigh(old) : 0));
+
+                while (_maxSizePerDatabase > 0 && _partitionSize > _maxSizePerDatabase) {
+                    if (!evictEldest()) {
+                        break;
+                    }
+                }
+            }
+
+            evictIfNeeded();
+        }
+
+        synchronized boolean evictEldest() {
+            Iterator<HttpCacheItem> iterator = _items.values().iterator();
+            if (!iterator.hasNext()) {
+                return false;
+            }
+
+            HttpCacheItem eldest = iterator.next();
+            iterator.remove();
+            addSize(-weigh(eldest));
+            evictions.increment();
+            return true;
+        }
+
+        @Override
+        public synchronized long getNumberOfItems() {
+            return _items.size();
+        }
+
+        @Override
+        public long getSize() {
+            return _partitionSize;
+        }
+
+        @Override
+        public synchronized void clear() {
+            _items.clear();
+            addSize(-_partitionSize);
+        }
+
+        @Override
+        public void close() {
+            synchronized (_partitions) {
+                if (_closed || --_references > 0) {
+                    return;
+                }
+
+                closePartition();
+                _partitions.remove(_database, this);
+            }
+        }
+
+        private synchronized void closePartition() {
+            _closed = true;
+            clear();
+        }
+
+        private void addSize(long delta) {
+            _partitionSize += delta;
+            _size.addAndGet(delta);
+        }
+    }
+}
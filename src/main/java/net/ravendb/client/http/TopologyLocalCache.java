@@ -0,0 +1,165 @@
+package net.ravendb.client.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores last known topology of a database (or of the cluster) in a file, one file per database and set of initial urls.
+ * Cache is best effort: errors are logged and reported as missing topology.
+ */
+public class TopologyLocalCache {
+
+    private static final Log logger = LogFactory.getLog(TopologyLocalCache.class);
+
+    private static final String CLUSTER = "cluster";
+    private static final String EXTENSION = ".raven-topology";
+
+    private TopologyLocalCache() {
+    }
+
+    /**
+     * @param location cache directory
+     * @param database database name or null for cluster topology
+     * @param initialUrls urls the request executor was created with
+     * @return cached topology or null if there is no (valid) cached topology
+     */
+    public static Topology tryLoad(File location, String database, String[] initialUrls) {
+        Path path = getPath(location, database, initialUrls);
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+            JsonNode json = mapper.readTree(path.toFile());
+
+            String cachedDatabase = json.path("Database").isTextual() ? json.path("Database").asText() : null;
+            if (database != null ? !database.equalsIgnoreCase(cachedDatabase) : cachedDatabase != null) {
+                return null;
+            }
+
+            List<ServerNode> nodes = new ArrayList<>();
+            for (JsonNode nodeJson : json.path("Nodes")) {
+                ServerNode node = new ServerNode();
+                node.setUrl(nodeJson.path("Url").asText());
+                node.setDatabase(database);
+                node.setClusterTag(nodeJson.path("ClusterTag").asText(null));
+                node.setServerRole(nodeJson.hasNonNull("ServerRole")
+                        ? ServerNode.Role.valueOf(nodeJson.get("ServerRole").asText()) : ServerNode.Role.NONE);
+                nodes.add(node);
+            }
+
+            if (nodes.isEmpty()) {
+                return null;
+            }
+
+            Topology topology = new Topology();
+            topology.setEtag(json.path("Etag").asLong());
+            topology.setNodes(nodes);
+            return topology;
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Could not load topology from cache file " + path, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param location cache directory
+     * @param database database name or null for cluster topology
+     * @param initialUrls urls the request executor was created with
+     * @param topology topology to store
+     */
+    public static void trySave(File location, String database, String[] initialUrls, Topology topology) {
+        if (topology == null || topology.getNodes() == null || topology.getNodes().isEmpty()) {
+            return;
+        }
+
+        Path path = getPath(location, database, initialUrls);
+
+        try {
+            ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+            ObjectNode json = mapper.createObjectNode();
+            json.put("Database", database);
+            json.put("Etag", topology.getEtag());
+
+            ArrayNode nodes = json.putArray("Nodes");
+            for (ServerNode node : topology.getNodes()) {
+                ObjectNode nodeJson = nodes.addObject();
+                nodeJson.put("Url", node.getUrl());
+                nodeJson.put("ClusterTag", node.getClusterTag());
+                nodeJson.put("ServerRole", node.getServerRole() != null ? node.getServerRole().name() : null);
+            }
+
+            Files.createDirectories(path.getParent());
+
+            // readers never see partially written file
+            Path tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, mapper.writeValueAsBytes(json));
+
+                try {
+                    Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Could not persist topology to cache file " + path, e);
+            }
+        }
+    }
+
+    static Path getPath(File location, String database, String[] initialUrls) {
+        String name = database != null ? database : CLUSTER;
+
+        String[] urls = initialUrls.clone();
+        Arrays.sort(urls);
+
+        return location.toPath().resolve(name.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + hash(name, urls) + EXTENSION);
+    }
+
+    private static String hash(String name, String[] urls) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(name.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            for (String url : urls) {
+                digest.update((byte) 0);
+                digest.update(url.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            }
+
+            byte[] bytes = digest.digest();
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", bytes[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package net.ravendb.client.json;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Multipart body which writes its content directly to the request stream (like {@link ContentProviderHttpEntity}),
+ * so the content doesn't have to be buffered before sending.
+ */
+public class ContentProviderBody extends AbstractContentBody {
+
+    private final Consumer<OutputStream> contentProvider;
+
+    public ContentProviderBody(Consumer<OutputStream> contentProvider, ContentType contentType) {
+        super(contentType);
+        this.contentProvider = contentProvider;
+    }
+
+    @Override
+    public String getFilename() {
+        return null;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        // content provider may close the stream it writes to, but there are more parts to write
+        contentProvider.accept(CloseShieldOutputStream.wrap(out));
+        out.flush();
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+}
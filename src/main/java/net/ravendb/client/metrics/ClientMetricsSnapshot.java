@@ -0,0 +1,154 @@
+package net.ravendb.client.metrics;
+
+import java.util.Map;
+
+/**
+ * Point in time view of {@link InMemoryClientMetrics}. Latencies are in nanoseconds.
+ */
+public class ClientMetricsSnapshot {
+
+    private Map<String, HistogramSnapshot> requestsByCommand;
+    private Map<String, HistogramSnapshot> requestsByNode;
+    private long failedRequests;
+    private long cacheHits;
+    private long cacheNotModified;
+    private long cacheMisses;
+    private long retries;
+    private long failovers;
+    private long bytesSent;
+    private long bytesReceived;
+    private HistogramSnapshot requestsPerSession;
+    private long bulkInsertOperations;
+    private long bulkInsertDocuments;
+    private double bulkInsertDocumentsPerSecond;
+    private Map<String, HistogramSnapshot> subscriptionBatches;
+    private long subscriptionItems;
+
+    public Map<String, HistogramSnapshot> getRequestsByCommand() {
+        return requestsByCommand;
+    }
+
+    public void setRequestsByCommand(Map<String, HistogramSnapshot> requestsByCommand) {
+        this.requestsByCommand = requestsByCommand;
+    }
+
+    public Map<String, HistogramSnapshot> getRequestsByNode() {
+        return requestsByNode;
+    }
+
+    public void setRequestsByNode(Map<String, HistogramSnapshot> requestsByNode) {
+        this.requestsByNode = requestsByNode;
+    }
+
+    public long getFailedRequests() {
+        return failedRequests;
+    }
+
+    public void setFailedRequests(long failedRequests) {
+        this.failedRequests = failedRequests;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public long getCacheNotModified() {
+        return cacheNotModified;
+    }
+
+    public void setCacheNotModified(long cacheNotModified) {
+        this.cacheNotModified = cacheNotModified;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public void setRetries(long retries) {
+        this.retries = retries;
+    }
+
+    public long getFailovers() {
+        return failovers;
+    }
+
+    public void setFailovers(long failovers) {
+        this.failovers = failovers;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public void setBytesSent(long bytesSent) {
+        this.bytesSent = bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+
+    public HistogramSnapshot getRequestsPerSession() {
+        return requestsPerSession;
+    }
+
+    public void setRequestsPerSession(HistogramSnapshot requestsPerSession) {
+        this.requestsPerSession = requestsPerSession;
+    }
+
+    public long getBulkInsertOperations() {
+        return bulkInsertOperations;
+    }
+
+    public void setBulkInsertOperations(long bulkInsertOperations) {
+        this.bulkInsertOperations = bulkInsertOperations;
+    }
+
+    public long getBulkInsertDocuments() {
+        return bulkInsertDocuments;
+    }
+
+    public void setBulkInsertDocuments(long bulkInsertDocuments) {
+        this.bulkInsertDocuments = bulkInsertDocuments;
+    }
+
+    public double getBulkInsertDocumentsPerSecond() {
+        return bulkInsertDocumentsPerSecond;
+    }
+
+    public void setBulkInsertDocumentsPerSecond(double bulkInsertDocumentsPerSecond) {
+        this.bulkInsertDocumentsPerSecond = bulkInsertDocumentsPerSecond;
+    }
+
+    public Map<String, HistogramSnapshot> getSubscriptionBatches() {
+        return subscriptionBatches;
+    }
+
+    public void setSubscriptionBatches(Map<String, HistogramSnapshot> subscriptionBatches) {
+        this.subscriptionBatches = subscriptionBatches;
+    }
+
+    public long getSubscriptionItems() {
+        return subscriptionItems;
+    }
+
+    public void setSubscriptionItems(long subscriptionItems) {
+        this.subscriptionItems = subscriptionItems;
+    }
+}
@@ -0,0 +1,131 @@
+package net.ravendb.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative values (HDR style): each power of two range is split into
+ * 8 linear sub buckets, so recorded values are reported with at most 12.5% relative error, using fixed 4 KB of memory.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder _count = new LongAdder();
+    private final LongAdder _sum = new LongAdder();
+    private final AtomicLong _max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        _counts.incrementAndGet(bucketIndex(value));
+        _count.increment();
+        _sum.add(value);
+
+        long max;
+        while (value > (max = _max.get())) {
+            if (_max.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return _count.sum();
+    }
+
+    /**
+     * Halves all bucket counts, so older values have smaller weight in percentiles.
+     * Count, sum and max are not affected.
+     */
+    public void decay() {
+        for (int i = 0; i < BUCKETS; i++) {
+            long value = _counts.get(i);
+            if (value > 0) {
+                _counts.addAndGet(i, -(value / 2));
+            }
+        }
+    }
+
+    /**
+     * @param percentile Percentile in range 0-1 (ex. 0.99)
+     * @return upper bound of the bucket containing the percentile or 0 if histogram is empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = _counts.get(i);
+            total += counts[i];
+        }
+
+        return valueAtPercentile(counts, total, percentile);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = _counts.get(i);
+            total += counts[i];
+        }
+
+        long count = _count.sum();
+        double mean = count == 0 ? 0 : (double) _sum.sum() / count;
+
+        return new HistogramSnapshot(count, mean, _max.get(),
+                valueAtPercentile(counts, total, 0.5),
+                valueAtPercentile(counts, total, 0.9),
+                valueAtPercentile(counts, total, 0.99),
+                valueAtPercentile(counts, total, 0.999));
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = Math.max(1, (long) Math.ceil(total * percentile));
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= threshold) {
+                return bucketUpperBound(i);
+            }
+        }
+
+        return bucketUpperBound(counts.length - 1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        if (exponent >= 63) {
+            return Long.MAX_VALUE;
+        }
+
+        long base = 1L << exponent;
+        long step = base >>> SUB_BUCKET_BITS;
+        return base + (subBucket + 1) * step - 1;
+    }
+}
@@ -0,0 +1,16 @@
+package net.ravendb.client.metrics;
+
+public enum HttpCacheResult {
+    /**
+     * Served from cache without contacting the server (aggressive caching)
+     */
+    HIT,
+    /**
+     * Server confirmed that the cached value is up to date (304)
+     */
+    NOT_MODIFIED,
+    /**
+     * Value was fetched from the server
+     */
+    MISS
+}
@@ -0,0 +1,93 @@
+package net.ravendb.client.metrics;
+
+import net.ravendb.client.http.ServerNode;
+
+/**
+ * Client side metrics sink registered on the document store.
+ *
+ * Methods are invoked synchronously on the calling (often request) thread, so implementations must be cheap and thread safe.
+ * All methods have empty default implementations, so only relevant events need to be handled.
+ */
+public interface IClientMetrics {
+
+    /**
+     * Request got response from the server.
+     * @param database Database name
+     * @param node Node which handled the request
+     * @param commandType Class of executed command
+     * @param statusCode HTTP status code
+     * @param elapsedNanos Time until response headers were received
+     */
+    default void onRequest(String database, ServerNode node, Class<?> commandType, int statusCode, long elapsedNanos) {
+    }
+
+    /**
+     * Request failed without response (ex. IO error or timeout).
+     * @param database Database name
+     * @param node Node which was contacted
+     * @param commandType Class of executed command
+     * @param elapsedNanos Time until the request failed
+     * @param error Failure
+     */
+    default void onRequestFailed(String database, ServerNode node, Class<?> commandType, long elapsedNanos, Exception error) {
+    }
+
+    /**
+     * Cacheable read request was served from HttpCache (HIT), validated by server (NOT_MODIFIED) or fetched (MISS).
+     * @param database Database name
+     * @param commandType Class of executed command
+     * @param result Cache result
+     */
+    default void onCacheResult(String database, Class<?> commandType, HttpCacheResult result) {
+    }
+
+    /**
+     * Command is sent again (ex. after failover or server side retry).
+     * @param database Database name
+     * @param node Node to which command is sent
+     * @param commandType Class of executed command
+     * @param attempt Attempt number (starting from 2)
+     */
+    default void onRetry(String database, ServerNode node, Class<?> commandType, int attempt) {
+    }
+
+    /**
+     * Command is moved to another node, because the chosen node failed or was overloaded.
+     * @param database Database name
+     * @param failedNode Node which failed
+     * @param nextNode Node which will handle the command
+     * @param commandType Class of executed command
+     */
+    default void onFailover(String database, ServerNode failedNode, ServerNode nextNode, Class<?> commandType) {
+    }
+
+    default void onBytesSent(String database, long bytes) {
+    }
+
+    default void onBytesReceived(String database, long bytes) {
+    }
+
+    /**
+     * @param database Database name
+     * @param numberOfRequests Number of requests made by the session
+     */
+    default void onSessionClosed(String database, int numberOfRequests) {
+    }
+
+    /**
+     * @param database Database name
+     * @param documents Number of stored documents
+     * @param elapsedNanos Time from first store to completion of bulk insert
+     */
+    default void onBulkInsertCompleted(String database, long documents, long elapsedNanos) {
+    }
+
+    /**
+     * @param database Database name
+     * @param subscriptionName Subscription name
+     * @param items Number of items in batch
+     * @param elapsedNanos Time of batch processing (including acknowledgment)
+     */
+    default void onSubscriptionBatch(String database, String subscriptionName, int items, long elapsedNanos) {
+    }
+}
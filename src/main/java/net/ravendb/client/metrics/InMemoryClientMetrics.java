@@ -0,0 +1,149 @@
+package net.ravendb.client.metrics;
+
+import net.ravendb.client.http.ServerNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default metrics implementation which aggregates everything in memory, use {@link #snapshot()} to read the values.
+ * Latencies are recorded in nanoseconds.
+ */
+public class InMemoryClientMetrics implements IClientMetrics {
+
+    private final ConcurrentMap<Class<?>, Histogram> _requestsByCommand = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> _requestsByNode = new ConcurrentHashMap<>();
+    private final LongAdder _failedRequests = new LongAdder();
+
+    private final LongAdder _cacheHits = new LongAdder();
+    private final LongAdder _cacheNotModified = new LongAdder();
+    private final LongAdder _cacheMisses = new LongAdder();
+
+    private final LongAdder _retries = new LongAdder();
+    private final LongAdder _failovers = new LongAdder();
+
+    private final LongAdder _bytesSent = new LongAdder();
+    private final LongAdder _bytesReceived = new LongAdder();
+
+    private final Histogram _requestsPerSession = new Histogram();
+
+    private final LongAdder _bulkInsertOperations = new LongAdder();
+    private final LongAdder _bulkInsertDocuments = new LongAdder();
+    private final LongAdder _bulkInsertNanos = new LongAdder();
+
+    private final ConcurrentMap<String, Histogram> _subscriptionBatches = new ConcurrentHashMap<>();
+    private final LongAdder _subscriptionItems = new LongAdder();
+
+    @Override
+    public void onRequest(String database, ServerNode node, Class<?> commandType, int statusCode, long elapsedNanos) {
+        _requestsByCommand.computeIfAbsent(commandType, x -> new Histogram()).record(elapsedNanos);
+        _requestsByNode.computeIfAbsent(node.getUrl(), x -> new Histogram()).record(elapsedNanos);
+    }
+
+    @Override
+    public void onRequestFailed(String database, ServerNode node, Class<?> commandType, long elapsedNanos, Exception error) {
+        _failedRequests.increment();
+    }
+
+    @Override
+    public void onCacheResult(String database, Class<?> commandType, HttpCacheResult result) {
+        switch (result) {
+            case HIT:
+                _cacheHits.increment();
+                break;
+            case NOT_MODIFIED:
+                _cacheNotModified.increment();
+                break;
+            case MISS:
+                _cacheMisses.increment();
+                break;
+        }
+    }
+
+    @Override
+    public void onRetry(String database, ServerNode node, Class<?> commandType, int attempt) {
+        _retries.increment();
+    }
+
+    @Override
+    public void onFailover(String database, ServerNode failedNode, ServerNode nextNode, Class<?> commandType) {
+        _failovers.increment();
+    }
+
+    @Override
+    public void onBytesSent(String database, long bytes) {
+        _bytesSent.add(bytes);
+    }
+
+    @Override
+    public void onBytesReceived(String database, long bytes) {
+        _bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void onSessionClosed(String database, int numberOfRequests) {
+        _requestsPerSession.record(numberOfRequests);
+    }
+
+    @Override
+    public void onBulkInsertCompleted(String database, long documents, long elapsedNanos) {
+        _bulkInsertOperations.increment();
+        _bulkInsertDocuments.add(documents);
+        _bulkInsertNanos.add(elapsedNanos);
+    }
+
+    @Override
+    public void onSubscriptionBatch(String database, String subscriptionName, int items, long elapsedNanos) {
+        _subscriptionBatches.computeIfAbsent(subscriptionName, x -> new Histogram()).record(elapsedNanos);
+        _subscriptionItems.add(items);
+    }
+
+    public ClientMetricsSnapshot snapshot() {
+        ClientMetricsSnapshot snapshot = new ClientMetricsSnapshot();
+
+        Map<String, HistogramSnapshot> byCommand = new HashMap<>();
+        for (Map.Entry<Class<?>, Histogram> entry : _requestsByCommand.entrySet()) {
+            String name = entry.getKey().getSimpleName();
+            if (name.isEmpty() || byCommand.containsKey(name)) {
+                name = entry.getKey().getName();
+            }
+            byCommand.put(name, entry.getValue().snapshot());
+        }
+        snapshot.setRequestsByCommand(byCommand);
+        snapshot.setRequestsByNode(snapshotAll(_requestsByNode));
+        snapshot.setFailedRequests(_failedRequests.sum());
+
+        snapshot.setCacheHits(_cacheHits.sum());
+        snapshot.setCacheNotModified(_cacheNotModified.sum());
+        snapshot.setCacheMisses(_cacheMisses.sum());
+
+        snapshot.setRetries(_retries.sum());
+        snapshot.setFailovers(_failovers.sum());
+
+        snapshot.setBytesSent(_bytesSent.sum());
+        snapshot.setBytesReceived(_bytesReceived.sum());
+
+        snapshot.setRequestsPerSession(_requestsPerSession.snapshot());
+
+        snapshot.setBulkInsertOperations(_bulkInsertOperations.sum());
+        snapshot.setBulkInsertDocuments(_bulkInsertDocuments.sum());
+        long bulkInsertNanos = _bulkInsertNanos.sum();
+        snapshot.setBulkInsertDocumentsPerSecond(bulkInsertNanos == 0 ? 0 : snapshot.getBulkInsertDocuments() * 1_000_000_000.0 / bulkInsertNanos);
+
+        snapshot.setSubscriptionBatches(snapshotAll(_subscriptionBatches));
+        snapshot.setSubscriptionItems(_subscriptionItems.sum());
+
+        return snapshot;
+    }
+
+    private static Map<String, HistogramSnapshot> snapshotAll(Map<String, Histogram> histograms) {
+        Map<String, HistogramSnapshot> result = new HashMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+}
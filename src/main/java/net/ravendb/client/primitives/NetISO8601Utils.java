@@ -17,6 +17,27 @@ public class NetISO8601Utils {
      */
     private static final TimeZone TIMEZONE_GMT = TimeZone.getTimeZone(GMT_ID);
 
+    /**
+     * Upper bound of formatted date length, 'yyyy-MM-ddThh:mm:ss.sssssssZ' takes 28 characters,
+     * but years outside of 4 digits range need more
+     */
+    public static final int MAX_FORMATTED_LENGTH = 40;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 1582-10-15T00:00:00Z - dates before that are formatted by GregorianCalendar using julian calendar,
+     * so we use calendar based code path for them
+     */
+    private static final long GREGORIAN_CUTOVER_MILLIS = -12219292800000L;
+
+    /**
+     * 10000-01-01T00:00:00Z
+     */
+    private static final long MAX_FOUR_DIGIT_YEAR_MILLIS = 253402300800000L;
+
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
     /**
      * Format a date into 'yyyy-MM-ddThh:mm:ssZ' (GMT timezone, no milliseconds precision)
      *
@@ -24,7 +45,7 @@ public class NetISO8601Utils {
      * @return the date formatted as 'yyyy-MM-ddThh:mm:ssZ'
      */
     public static String format(Date date) {
-        return format(date, false, TIMEZONE_GMT);
+        return format(date, false);
     }
 
     /**
@@ -35,9 +56,83 @@ public class NetISO8601Utils {
      * @return the date formatted as 'yyyy-MM-ddThh:mm:ss[.sss]Z'
      */
     public static String format(Date date, boolean millis) {
+        long time = date.getTime();
+        if (canFormatFast(time)) {
+            char[] buffer = new char[MAX_FORMATTED_LENGTH];
+            int length = format(time, millis, buffer, 0);
+            return new String(buffer, 0, length);
+        }
         return format(date, millis, TIMEZONE_GMT);
     }
 
+    /**
+     * Format epoch millis into 'yyyy-MM-ddThh:mm:ss[.sssssss]Z' (GMT timezone) directly into given buffer, without
+     * any intermediate objects.
+     *
+     * @param epochMillis date to format
+     * @param millis      true to include millis precision otherwise false
+     * @param buffer      target buffer, it must have at least {@link #MAX_FORMATTED_LENGTH} chars available after offset
+     * @param offset      offset in buffer
+     * @return number of written characters
+     */
+    public static int format(long epochMillis, boolean millis, char[] buffer, int offset) {
+        if (!canFormatFast(epochMillis)) {
+            String formatted = format(new Date(epochMillis), millis, TIMEZONE_GMT);
+            formatted.getChars(0, formatted.length(), buffer, offset);
+            return formatted.length();
+        }
+
+        long days = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+
+        // civil from days - see http://howardhinnant.github.io/date_algorithms.html
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        int pos = offset;
+        pos = writeDigits(buffer, pos, year, 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, month, 2);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, day, 2);
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, millisOfDay / 3600000, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, (millisOfDay / 60000) % 60, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, (millisOfDay / 1000) % 60, 2);
+        if (millis) {
+            buffer[pos++] = '.';
+            pos = writeDigits(buffer, pos, millisOfDay % 1000, 3);
+            buffer[pos++] = '0';
+            buffer[pos++] = '0';
+            buffer[pos++] = '0';
+            buffer[pos++] = '0';
+        }
+        buffer[pos++] = 'Z';
+
+        return pos - offset;
+    }
+
+    private static boolean canFormatFast(long epochMillis) {
+        return epochMillis >= GREGORIAN_CUTOVER_MILLIS && epochMillis < MAX_FOUR_DIGIT_YEAR_MILLIS;
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int length) {
+        for (int i = pos + length - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + length;
+    }
+
     /**
      * Format date into yyyy-MM-ddThh:mm:ss[.sss][Z|[+-]hh:mm]
      *
@@ -97,6 +192,37 @@ public class NetISO8601Utils {
      * @throws IllegalArgumentException if the date is not in the appropriate format
      */
     public static Date parse(String date) {
+        return parseInternal(date);
+    }
+
+    /**
+     * Parse a date from ISO-8601 formatted characters without creating intermediate String (unless the value
+     * is outside of range handled by the fast path). It expects a format yyyy-MM-ddThh:mm:ss[.sss][Z|[+-]hh:mm]
+     *
+     * @param buffer characters buffer
+     * @param offset offset of date in buffer
+     * @param length length of date
+     * @return the parsed date as epoch millis
+     * @throws IllegalArgumentException if the date is not in the appropriate format
+     */
+    public static long parse(char[] buffer, int offset, int length) {
+        long result = tryParseFast(buffer, offset, length);
+        if (result != NOT_PARSED) {
+            return result;
+        }
+
+        return parseInternal(new String(buffer, offset, length)).getTime();
+    }
+
+    private static Date parseInternal(String date) {
+        if (date.length() <= MAX_FORMATTED_LENGTH) {
+            char[] chars = date.toCharArray();
+            long result = tryParseFast(chars, 0, chars.length);
+            if (result != NOT_PARSED) {
+                return new Date(result);
+            }
+        }
+
         if (date.startsWith("0001-01-01T00:00:00.0000000")) {
             return new Date(0);
         }
@@ -179,6 +305,119 @@ public class NetISO8601Utils {
         }
     }
 
+    /**
+     * Parses dates in gregorian calendar range written in canonical form, returns NOT_PARSED for everything else
+     * so the caller can fall back to calendar based parsing (which also produces proper error messages)
+     */
+    private static long tryParseFast(char[] buffer, int offset, int length) {
+        // yyyy-MM-ddThh:mm:ss
+        if (length < 19) {
+            return NOT_PARSED;
+        }
+
+        int end = offset + length;
+
+        int year = readDigits(buffer, offset, 4);
+        int month = readDigits(buffer, offset + 5, 2);
+        int day = readDigits(buffer, offset + 8, 2);
+        int hour = readDigits(buffer, offset + 11, 2);
+        int minute = readDigits(buffer, offset + 14, 2);
+        int second = readDigits(buffer, offset + 17, 2);
+
+        if (year < 1583 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || buffer[offset + 4] != '-' || buffer[offset + 7] != '-' || buffer[offset + 10] != 'T'
+                || buffer[offset + 13] != ':' || buffer[offset + 16] != ':') {
+            return NOT_PARSED;
+        }
+
+        int pos = offset + 19;
+        int milliseconds = 0;
+        boolean fullFraction = false;
+        if (pos < end && buffer[pos] == '.') {
+            if (pos + 4 > end) {
+                return NOT_PARSED;
+            }
+            milliseconds = readDigits(buffer, pos + 1, 3);
+            if (milliseconds < 0) {
+                return NOT_PARSED;
+            }
+            pos += 4;
+            int extraDigits = 0;
+            while (extraDigits < 4 && pos < end && buffer[pos] >= '0' && buffer[pos] <= '9') {
+                extraDigits++;
+                pos++;
+            }
+            fullFraction = extraDigits == 4;
+        }
+
+        int offsetMinutes = 0;
+        if (pos == end) {
+            // value without zone designator is taken as UTC only in .NET form with 7 fraction digits,
+            // the rest is rejected by calendar based parsing
+            if (!fullFraction) {
+                return NOT_PARSED;
+            }
+        } else {
+            char timezoneIndicator = buffer[pos];
+            if (timezoneIndicator == 'Z') {
+                if (pos + 1 != end) {
+                    return NOT_PARSED;
+                }
+            } else if ((timezoneIndicator == '+' || timezoneIndicator == '-') && pos + 6 == end && buffer[pos + 3] == ':') {
+                int offsetHours = readDigits(buffer, pos + 1, 2);
+                int offsetMins = readDigits(buffer, pos + 4, 2);
+                if (offsetHours < 0 || offsetHours > 23 || offsetMins < 0 || offsetMins > 59) {
+                    return NOT_PARSED;
+                }
+                offsetMinutes = (offsetHours * 60 + offsetMins) * (timezoneIndicator == '-' ? -1 : 1);
+            } else {
+                return NOT_PARSED;
+            }
+        }
+
+        // days from civil - see http://howardhinnant.github.io/date_algorithms.html
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long days = era * 146097L + dayOfEra - 719468;
+
+        return days * MILLIS_PER_DAY
+                + hour * 3600000L
+                + minute * 60000L
+                + second * 1000L
+                + milliseconds
+                - offsetMinutes * 60000L;
+    }
+
+    private static int readDigits(char[] buffer, int pos, int length) {
+        int result = 0;
+        for (int i = pos; i < pos + length; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
     /**
      * Check if the expected character exist at the given offset of the
      *
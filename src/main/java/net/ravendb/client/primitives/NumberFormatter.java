@@ -0,0 +1,142 @@
+package net.ravendb.client.primitives;
+
+/**
+ * Writes numbers as JSON directly into char buffers, without creating intermediate Strings.
+ */
+public class NumberFormatter {
+
+    /**
+     * Upper bound of formatted number length, Double.toString output (ex. '-2.2250738585072014E-308') takes 24 characters
+     */
+    public static final int MAX_FORMATTED_LENGTH = 32;
+
+    /**
+     * 2^53 - mantissas below that are exact integers when stored in a double
+     */
+    private static final double MAX_EXACT_MANTISSA = 9007199254740992d;
+
+    /**
+     * Scales which fit into long, 10^k is also exactly representable in a double for all of them (up to k = 22)
+     */
+    private static final int MAX_SCALE = 18;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_SCALE + 1];
+
+    private static final long[] LONG_POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        double power = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+
+        long longPower = 1;
+        for (int i = 0; i < LONG_POWERS_OF_TEN.length; i++) {
+            LONG_POWERS_OF_TEN[i] = longPower;
+            longPower *= 10;
+        }
+    }
+
+    /**
+     * @param value  value to format
+     * @param buffer target buffer, it must have at least {@link #MAX_FORMATTED_LENGTH} chars available after offset
+     * @param offset offset in buffer
+     * @return number of written characters
+     */
+    public static int format(long value, char[] buffer, int offset) {
+        if (value == Long.MIN_VALUE) {
+            return writeString(String.valueOf(value), buffer, offset);
+        }
+
+        int pos = offset;
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+
+        return writeDigits(value, buffer, pos) - offset;
+    }
+
+    /**
+     * Formats double as the shortest plain decimal (ex. '21.5') which parses back to the same value.
+     * Values which need more than 53 bits of decimal mantissa (about 16 significant digits), very small or large values
+     * and non-finite values are formatted by Double.toString.
+     *
+     * @param value  value to format
+     * @param buffer target buffer, it must have at least {@link #MAX_FORMATTED_LENGTH} chars available after offset
+     * @param offset offset in buffer
+     * @return number of written characters
+     */
+    public static int format(double value, char[] buffer, int offset) {
+        if (value == 0) {
+            // keeps sign of negative zero
+            return writeString(Double.toString(value), buffer, offset);
+        }
+
+        double abs = Math.abs(value);
+
+        if (abs >= 1e-7 && abs < 1e15) {
+            for (int scale = 0; scale < POWERS_OF_TEN.length; scale++) {
+                double scaled = abs * POWERS_OF_TEN[scale];
+                if (scaled >= MAX_EXACT_MANTISSA) {
+                    break;
+                }
+
+                long mantissa = (long) Math.rint(scaled);
+
+                // both operands are exact, so the division is correctly rounded: when it gives back the value,
+                // then decimal mantissa * 10^-scale is parsed to the same value as well
+                if (mantissa / POWERS_OF_TEN[scale] == abs) {
+                    return writeDecimal(value < 0, mantissa, scale, buffer, offset);
+                }
+            }
+        }
+
+        return writeString(Double.toString(value), buffer, offset);
+    }
+
+    private static int writeDecimal(boolean negative, long mantissa, int scale, char[] buffer, int offset) {
+        int pos = offset;
+        if (negative) {
+            buffer[pos++] = '-';
+        }
+
+        long integerPart = mantissa / LONG_POWERS_OF_TEN[scale];
+        long fractionPart = mantissa % LONG_POWERS_OF_TEN[scale];
+
+        pos = writeDigits(integerPart, buffer, pos);
+        buffer[pos++] = '.';
+
+        if (scale == 0) {
+            buffer[pos++] = '0';
+        } else {
+            for (int i = pos + scale - 1; i >= pos; i--) {
+                buffer[i] = (char) ('0' + fractionPart % 10);
+                fractionPart /= 10;
+            }
+            pos += scale;
+        }
+
+        return pos - offset;
+    }
+
+    private static int writeDigits(long value, char[] buffer, int pos) {
+        int length = 1;
+        while (length < LONG_POWERS_OF_TEN.length && value >= LONG_POWERS_OF_TEN[length]) {
+            length++;
+        }
+
+        for (int i = pos + length - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+
+        return pos + length;
+    }
+
+    private static int writeString(String formatted, char[] buffer, int offset) {
+        formatted.getChars(0, formatted.length(), buffer, offset);
+        return formatted.length();
+    }
+}
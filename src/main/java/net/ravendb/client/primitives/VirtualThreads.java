@@ -0,0 +1,118 @@
+package net.ravendb.client.primitives;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (JDK 21+) from code compiled for Java 8. On older runtimes all methods report
+ * that virtual threads are not supported.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        MethodHandle isVirtual = null;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            name = lookup.findVirtual(ofVirtualClass, "name", MethodType.methodType(ofVirtualClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+
+            // preview versions (JDK 19, 20) throw unless started with --enable-preview
+            ofVirtual.invoke();
+        } catch (Throwable e) {
+            ofVirtual = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if current runtime supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @param thread thread to check
+     * @return true if given thread is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (!isSupported()) {
+            return false;
+        }
+
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to check if thread is virtual", e);
+        }
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by the thread number
+     * @return Factory of virtual threads
+     * @throws UnsupportedOperationException when runtime doesn't support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        assertSupported();
+
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by the thread number
+     * @return Executor which starts a new virtual thread for each task
+     * @throws UnsupportedOperationException when runtime doesn't support virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = newThreadFactory(namePrefix);
+
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    private static void assertSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer, current version is " + System.getProperty("java.version"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package net.ravendb.client.util;
+
+/**
+ * Insertion ordered map with case insensitive String keys (the same equality as String.equalsIgnoreCase).
+ * Null keys are not supported.
+ */
+public class CaseInsensitiveLinkedHashMap<V> extends OpenAddressingLinkedMap<String, V> {
+
+    public CaseInsensitiveLinkedHashMap() {
+    }
+
+    public CaseInsensitiveLinkedHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    protected int hash(Object key) {
+        return caseInsensitiveHash((String) key);
+    }
+
+    @Override
+    protected boolean keyEquals(Object key, Object existing) {
+        return ((String) key).equalsIgnoreCase((String) existing);
+    }
+
+    /**
+     * @param value string to hash
+     * @return Hash code consistent with String.equalsIgnoreCase, computed without allocating lower cased copy
+     */
+    public static int caseInsensitiveHash(String value) {
+        int hash = 0;
+        int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+            int c = value.charAt(i);
+            if (c >= 0x80) {
+                return nonAsciiHash(value, i, hash);
+            }
+
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+
+            hash = 31 * hash + c;
+        }
+
+        return hash;
+    }
+
+    private static int nonAsciiHash(String value, int start, int hash) {
+        int length = value.length();
+
+        for (int i = start; i < length; ) {
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            // equalsIgnoreCase treats characters as equal when their upper or lower case forms match
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(codePoint));
+        }
+
+        return hash;
+    }
+}
@@ -1,13 +1,14 @@
 package net.ravendb.client.util;
 
 import java.util.Collection;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 public class IdentityHashSet<T> implements Set<T> {
 
-    private IdentityHashMap<T, Void> inner = new IdentityHashMap<>();
+    // arrays are allocated on first add, so empty sets are cheap
+    private Map<T, Void> inner = new IdentityLinkedHashMap<>();
 
     @Override
     public int size() {
@@ -79,7 +80,7 @@ public class IdentityHashSet<T> implements Set<T> {
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        IdentityHashMap<T, Void> copy = new IdentityHashMap<>();
+        Map<T, Void> copy = new IdentityLinkedHashMap<>();
         for (T item : inner.keySet()) {
             if (c.contains(item)) {
                 copy.put(item, null);
@@ -0,0 +1,438 @@
+package net.ravendb.client.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion ordered hash map using open addressing, with key hashing and equality defined by subclasses.
+ *
+ * Entries are kept in dense arrays (in insertion order) and the hash table holds only positions of entries
+ * (linear probing with backward shift deletion), so get/put/remove don't allocate.
+ * Removed entries leave holes in dense arrays, which are compacted when arrays are full.
+ *
+ * This class is not thread safe.
+ */
+public abstract class OpenAddressingLinkedMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final Object REMOVED = new Object();
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    private Object[] _keys;
+    private Object[] _values;
+    private int[] _hashes;
+
+    // position of entry in dense arrays + 1, 0 marks empty slot
+    private int[] _table;
+    private int _shift;
+
+    private int _used;
+    private int _size;
+    private int _modCount;
+    private final int _initialCapacity;
+
+    private EntrySet _entrySet;
+
+    protected OpenAddressingLinkedMap() {
+        this(MIN_CAPACITY);
+    }
+
+    protected OpenAddressingLinkedMap(int expectedSize) {
+        // arrays are allocated on first put, so empty maps are cheap
+        _initialCapacity = capacityFor(expectedSize);
+        _keys = EMPTY;
+        _values = EMPTY;
+        _hashes = EMPTY_INTS;
+        _table = EMPTY_INTS;
+    }
+
+    /**
+     * @param key key to hash, never REMOVED marker
+     * @return hash code of the key consistent with keyEquals
+     */
+    protected abstract int hash(Object key);
+
+    /**
+     * @param key key to look up
+     * @param existing key stored in the map
+     * @return true if keys are considered equal
+     */
+    protected abstract boolean keyEquals(Object key, Object existing);
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return _size != 0 && findSlot(key, hash(key)) != -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        if (_size == 0) {
+            return null;
+        }
+
+        int slot = findSlot(key, hash(key));
+        return slot == -1 ? null : (V) _values[_table[slot] - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        if (_keys.length == 0) {
+            allocate(_initialCapacity);
+        }
+
+        int hash = hash(key);
+        int mask = _table.length - 1;
+        int slot = slotFor(hash);
+
+        while (true) {
+            int entry = _table[slot];
+            if (entry == 0) {
+                break;
+            }
+
+            int position = entry - 1;
+            if (_hashes[position] == hash && keyEquals(key, _keys[position])) {
+                V oldValue = (V) _values[position];
+                _values[position] = value;
+                return oldValue;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (_used == _keys.length) {
+            rehash(_size >= _keys.length / 2 ? _keys.length * 2 : _keys.length);
+            slot = emptySlotFor(hash);
+        }
+
+        int position = _used++;
+        _keys[position] = key;
+        _values[position] = value;
+        _hashes[position] = hash;
+        _table[slot] = position + 1;
+
+        _size++;
+        _modCount++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(Object key) {
+        if (_size == 0) {
+            return null;
+        }
+
+        int slot = findSlot(key, hash(key));
+        if (slot == -1) {
+            return null;
+        }
+
+        int position = _table[slot] - 1;
+        V oldValue = (V) _values[position];
+        removeAt(slot, position);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        if (_used == 0) {
+            return;
+        }
+
+        Arrays.fill(_keys, 0, _used, null);
+        Arrays.fill(_values, 0, _used, null);
+        Arrays.fill(_table, 0);
+
+        _used = 0;
+        _size = 0;
+        _modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = _modCount;
+
+        for (int i = 0; i < _used; i++) {
+            Object key = _keys[i];
+            if (key == REMOVED) {
+                continue;
+            }
+
+            action.accept((K) key, (V) _values[i]);
+
+            if (_modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (_entrySet == null) {
+            _entrySet = new EntrySet();
+        }
+        return _entrySet;
+    }
+
+    private int findSlot(Object key, int hash) {
+        int mask = _table.length - 1;
+        int slot = slotFor(hash);
+
+        while (true) {
+            int entry = _table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+
+            int position = entry - 1;
+            if (_hashes[position] == hash && keyEquals(key, _keys[position])) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int findSlotOfPosition(int position) {
+        int mask = _table.length - 1;
+        int slot = slotFor(_hashes[position]);
+
+        while (_table[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int emptySlotFor(int hash) {
+        int mask = _table.length - 1;
+        int slot = slotFor(hash);
+
+        while (_table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int slotFor(int hash) {
+        // fibonacci hashing - spreads identity and string hashes which differ only in high or low bits
+        return (hash * 0x9E3779B9) >>> _shift;
+    }
+
+    private void removeAt(int slot, int position) {
+        _keys[position] = REMOVED;
+        _values[position] = null;
+
+        // backward shift deletion - no tombstones in the table, so probe sequences stay short
+        int mask = _table.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+
+        while (true) {
+            int entry = _table[next];
+            if (entry == 0) {
+                break;
+            }
+
+            int ideal = slotFor(_hashes[entry - 1]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                _table[hole] = entry;
+                hole = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        _table[hole] = 0;
+
+        _size--;
+        _modCount++;
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldKeys = _keys;
+        Object[] oldValues = _values;
+        int[] oldHashes = _hashes;
+        int oldUsed = _used;
+
+        allocate(capacity);
+
+        int position = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] == REMOVED) {
+                continue;
+            }
+
+            _keys[position] = oldKeys[i];
+            _values[position] = oldValues[i];
+            _hashes[position] = oldHashes[i];
+            _table[emptySlotFor(oldHashes[i])] = position + 1;
+            position++;
+        }
+
+        _used = position;
+        _modCount++;
+    }
+
+    private void allocate(int capacity) {
+        _keys = new Object[capacity];
+        _values = new Object[capacity];
+        _hashes = new int[capacity];
+
+        // table is kept at most half full
+        int tableSize = capacity * 2;
+        _table = new int[tableSize];
+        _shift = Integer.numberOfLeadingZeros(tableSize) + 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        if (expectedSize <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+
+        if (expectedSize > 1 << 29) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+
+        return Integer.highestOneBit(expectedSize - 1) << 1;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return _size;
+        }
+
+        @Override
+        public void clear() {
+            OpenAddressingLinkedMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int _next;
+        private int _lastReturned = -1;
+        private int _expectedModCount = _modCount;
+
+        EntryIterator() {
+            skipRemoved();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _next < _used;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (_modCount != _expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (_next >= _used) {
+                throw new NoSuchElementException();
+            }
+
+            _lastReturned = _next++;
+            skipRemoved();
+
+            return new MapEntry(_lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (_lastReturned == -1) {
+                throw new IllegalStateException();
+            }
+
+            if (_modCount != _expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeAt(findSlotOfPosition(_lastReturned), _lastReturned);
+            _lastReturned = -1;
+            _expectedModCount = _modCount;
+        }
+
+        private void skipRemoved() {
+            while (_next < _used && _keys[_next] == REMOVED) {
+                _next++;
+            }
+        }
+    }
+
+    private final class MapEntry implements Entry<K, V> {
+        private final int _position;
+
+        MapEntry(int position) {
+            _position = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K getKey() {
+            return (K) _keys[_position];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            return (V) _values[_position];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V setValue(V value) {
+            if (_keys[_position] == REMOVED) {
+                throw new IllegalStateException("Entry was removed from the map");
+            }
+
+            V oldValue = (V) _values[_position];
+            _values[_position] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package net.ravendb.client.documents;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkInsertStoreAllTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+    private final List<JsonNode> commands = new CopyOnWriteArrayList<>();
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+        cluster.getNode("A").handle("/databases/db/bulk_insert", (node, request) -> {
+            request.readJson(mapper).forEach(commands::add);
+            return StubResponse.empty(200);
+        });
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().bulkInsert().setSerializationChunkSize(7);
+        store.getConventions().bulkInsert().setSerializationParallelism(3);
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void storeAllWritesSameCommandsAsStore() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (User user : users("single", 50)) {
+                bulkInsert.store(user);
+            }
+        }
+
+        List<JsonNode> single = new ArrayList<>(commands);
+        commands.clear();
+
+        long stored;
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            stored = bulkInsert.storeAll(users("single", 50).iterator());
+        }
+
+        assertThat(stored)
+                .isEqualTo(50);
+        assertThat(commands)
+                .isEqualTo(single);
+    }
+
+    @Test
+    public void storeAllKeepsOrderAndCanBeMixedWithStore() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            bulkInsert.store(user("users/first", "first"));
+            bulkInsert.storeAll(users("batch", 30).stream());
+            bulkInsert.store(user("users/last", "last"));
+        }
+
+        assertThat(commands)
+                .hasSize(32);
+        assertThat(commands.get(0).get("Id").asText())
+                .isEqualTo("users/first");
+        assertThat(commands.get(31).get("Id").asText())
+                .isEqualTo("users/last");
+
+        for (int i = 0; i < 30; i++) {
+            JsonNode command = commands.get(i + 1);
+            assertThat(command.get("Id").asText())
+                    .isEqualTo("users/batch-" + i);
+            assertThat(command.get("Type").asText())
+                    .isEqualTo("PUT");
+            assertThat(command.get("Document").get("name").asText())
+                    .isEqualTo("batch \"" + i + "\"");
+            assertThat(command.get("Document").get("@metadata").get("@collection").asText())
+                    .isEqualTo("Users");
+        }
+    }
+
+    @Test
+    public void storeAllGeneratesIdsOnCallingThread() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(new User());
+        }
+
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            bulkInsert.storeAll(users.iterator());
+        }
+
+        assertThat(users)
+                .allMatch(x -> x.getId() != null);
+        assertThat(commands)
+                .extracting(x -> x.get("Id").asText())
+                .containsExactlyElementsOf(() -> users.stream().map(User::getId).iterator());
+    }
+
+    @Test
+    public void serializationErrorIsPropagated() {
+        List<Object> entities = new ArrayList<>(users("ok", 10));
+        entities.add(new Unserializable());
+        entities.addAll(users("after", 10));
+
+        assertThatThrownBy(() -> {
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                bulkInsert.storeAll(entities.iterator());
+            }
+        }).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void storeCannotRunWhileStoreAllIsInProgress() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            Iterator<User> source = users("outer", 3).iterator();
+
+            List<Throwable> errors = new ArrayList<>();
+            Iterator<User> reentrant = new Iterator<User>() {
+                @Override
+                public boolean hasNext() {
+                    return source.hasNext();
+                }
+
+                @Override
+                public User next() {
+                    try {
+                        bulkInsert.store(user("users/inner", "inner"));
+                    } catch (Exception e) {
+                        errors.add(e);
+                    }
+                    return source.next();
+                }
+            };
+
+            bulkInsert.storeAll(reentrant);
+
+            assertThat(errors)
+                    .hasSize(3)
+                    .allMatch(x -> x.getMessage().contains("cannot be executed concurrently"));
+        }
+
+        assertThat(commands)
+                .hasSize(3);
+    }
+
+    @Test
+    public void conventionsAreValidated() {
+        DocumentConventions conventions = new DocumentConventions();
+
+        assertThatThrownBy(() -> conventions.bulkInsert().setSerializationChunkSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> conventions.bulkInsert().setSerializationParallelism(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        conventions.bulkInsert().setSerializationChunkSize(42);
+
+        assertThat(conventions.clone().bulkInsert().getSerializationChunkSize())
+                .isEqualTo(42);
+    }
+
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        IntStream.range(0, count)
+                .forEach(i -> users.add(user("users/" + prefix + "-" + i, prefix + " \"" + i + "\"")));
+        return users;
+    }
+
+    private static User user(String id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+
+    public static class Unserializable {
+        public String getValue() {
+            throw new IllegalStateException("Broken getter");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package net.ravendb.client.documents;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesValue;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimeSeriesBulkInsertBatchTest {
+
+    private static final long BASE_TIMESTAMP = 1_600_000_000_000L;
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+    private final List<JsonNode> commands = new CopyOnWriteArrayList<>();
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+        cluster.getNode("A").handle("/databases/db/bulk_insert", (node, request) -> {
+            request.readJson(mapper).forEach(commands::add);
+            return StubResponse.empty(200);
+        });
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().bulkInsert().setTimeSeriesBatchSize(4);
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void batchAppendWritesSameCommandsAsSingleAppends() throws Exception {
+        int count = 10;
+        long[] timestamps = new long[count];
+        double[] values = new double[count * 2];
+        String[] tags = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = BASE_TIMESTAMP + i * 1000L;
+            values[2 * i] = 20 + i * 0.1;
+            values[2 * i + 1] = -i * 1e-9;
+            tags[i] = i % 3 == 0 ? null : "sensors/" + i + "\"";
+        }
+
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/1", "Readings")) {
+                for (int i = 0; i < count; i++) {
+                    timeSeries.append(new Date(timestamps[i]), new double[] { values[2 * i], values[2 * i + 1] }, tags[i]);
+                }
+            }
+
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/2", "Readings")) {
+                // batches continue the command of the previous batch
+                timeSeries.append(copyOf(timestamps, 0, 3), copyOf(values, 0, 6), 2, copyOf(tags, 0, 3));
+                timeSeries.append(copyOf(timestamps, 3, count), copyOf(values, 6, 2 * count), 2, copyOf(tags, 3, count));
+            }
+        }
+
+        List<JsonNode> single = appendsOf("devices/1");
+        List<JsonNode> batched = appendsOf("devices/2");
+
+        assertThat(single)
+                .hasSize(3);
+        assertThat(batched)
+                .isEqualTo(single);
+
+        assertThat(batched.get(0).get(1))
+                .isEqualTo(mapper.readTree("[" + (BASE_TIMESTAMP + 1000) + ",2,20.1,-1.0E-9,\"sensors/1\\\"\"]"));
+    }
+
+    @Test
+    public void typedBatchAppendUsesValuesMapping() throws Exception {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TypedTimeSeriesBulkInsert<StockPrice> timeSeries = bulkInsert.timeSeriesFor(StockPrice.class, "stocks/1")) {
+                timeSeries.append(new long[] { BASE_TIMESTAMP, BASE_TIMESTAMP + 1 }, new double[] { 10.5, 11, 10.25, 10.75 });
+            }
+        }
+
+        List<JsonNode> appends = appendsOf("stocks/1");
+        assertThat(appends)
+                .hasSize(1);
+        assertThat(appends.get(0).toString())
+                .isEqualTo("[[" + BASE_TIMESTAMP + ",2,10.5,11.0],[" + (BASE_TIMESTAMP + 1) + ",2,10.25,10.75]]");
+
+        assertThat(commands.get(0).get("TimeSeries").get("Name").asText())
+                .isEqualTo("StockPrices");
+    }
+
+    @Test
+    public void documentsCanFollowTimeSeries() throws Exception {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/1", "Readings")) {
+                timeSeries.append(new long[] { BASE_TIMESTAMP }, new double[] { 1 });
+            }
+
+            User user = new User();
+            user.setName("John");
+            bulkInsert.store(user, "users/1");
+        }
+
+        assertThat(commands)
+                .extracting(command -> command.get("Type").asText())
+                .containsExactly("TimeSeriesBulkInsert", "PUT");
+    }
+
+    @Test
+    public void batchShapeIsValidated() throws Exception {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            try (BulkInsertOperation.TimeSeriesBulkInsert timeSeries = bulkInsert.timeSeriesFor("devices/1", "Readings")) {
+                assertThatThrownBy(() -> timeSeries.append(new long[2], new double[3], 2))
+                        .isExactlyInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> timeSeries.append(new long[2], new double[2], 1, new String[1]))
+                        .isExactlyInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> timeSeries.append(new long[2], new double[2], 0))
+                        .isExactlyInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    private List<JsonNode> appendsOf(String documentId) {
+        List<JsonNode> appends = new ArrayList<>();
+        for (JsonNode command : commands) {
+            if (documentId.equals(command.get("Id").asText())) {
+                appends.add(command.get("TimeSeries").get("Appends"));
+            }
+        }
+        return appends;
+    }
+
+    private static long[] copyOf(long[] array, int from, int to) {
+        return Arrays.copyOfRange(array, from, to);
+    }
+
+    private static double[] copyOf(double[] array, int from, int to) {
+        return Arrays.copyOfRange(array, from, to);
+    }
+
+    private static String[] copyOf(String[] array, int from, int to) {
+        return Arrays.copyOfRange(array, from, to);
+    }
+
+    public static class StockPrice {
+        @TimeSeriesValue(idx = 0)
+        private double open;
+        @TimeSeriesValue(idx = 1)
+        private double close;
+
+        public double getOpen() {
+            return open;
+        }
+
+        public void setOpen(double open) {
+            this.open = open;
+        }
+
+        public double getClose() {
+            return close;
+        }
+
+        public void setClose(double close) {
+            this.close = close;
+        }
+    }
+}
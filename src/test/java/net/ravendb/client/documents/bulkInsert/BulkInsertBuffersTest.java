@@ -0,0 +1,198 @@
+package net.ravendb.client.documents.bulkInsert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkInsertBuffersTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    // commands in the order server read them from the stream
+    private final List<String> receivedIds = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().bulkInsert().setAdaptiveChunkSize(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void sendsBufferedDataAfterMaxFlushLatencyWithoutFurtherStores() throws Exception {
+        handleBulkInsert(0);
+
+        store.getConventions().bulkInsert().setMinChunkSize(1024 * 1024);
+        store.getConventions().bulkInsert().setMaxFlushLatency(Duration.ofMillis(50));
+        store.initialize();
+
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            bulkInsert.store(user(0), "users/0");
+
+            // nothing else is stored, chunk is far from full
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (receivedIds.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(receivedIds)
+                    .containsExactly("users/0");
+            assertThat(bulkInsert.getWriteStatistics().getChunksWritten())
+                    .isPositive();
+        }
+    }
+
+    @Test
+    public void chunksAreSentInOrder() {
+        handleBulkInsert(0);
+
+        store.getConventions().bulkInsert().setMinChunkSize(512);
+        store.getConventions().bulkInsert().setMaxFlushLatency(Duration.ofHours(1));
+        store.getConventions().bulkInsert().setBuffersCount(2);
+        store.initialize();
+
+        BulkInsertWriteStatistics statistics;
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < 5000; i++) {
+                bulkInsert.store(user(i), "users/" + i);
+            }
+
+            statistics = bulkInsert.getWriteStatistics();
+        }
+
+        assertThat(statistics.getChunksWritten())
+                .isGreaterThan(100);
+        assertThat(receivedIds)
+                .hasSize(5000);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(receivedIds.get(i))
+                    .isEqualTo("users/" + i);
+        }
+    }
+
+    @Test
+    public void waitsForFreeBufferWhenServerIsSlow() {
+        // server starts reading when the stream is already backed up
+        handleBulkInsert(500);
+
+        store.getConventions().bulkInsert().setMinChunkSize(64 * 1024);
+        store.getConventions().bulkInsert().setMaxFlushLatency(Duration.ofHours(1));
+        store.getConventions().bulkInsert().setBuffersCount(2);
+        store.initialize();
+
+        String name = StringUtils.repeat('a', 1024);
+
+        BulkInsertWriteStatistics statistics;
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < 30_000; i++) {
+                User user = new User();
+                user.setName(name);
+                bulkInsert.store(user, "users/" + i);
+            }
+
+            statistics = bulkInsert.getWriteStatistics();
+        }
+
+        assertThat(statistics.getStallsCount())
+                .isPositive();
+        assertThat(statistics.getStallTime())
+                .isPositive();
+        assertThat(receivedIds)
+                .hasSize(30_000);
+        assertThat(receivedIds.get(29_999))
+                .isEqualTo("users/29999");
+    }
+
+    @Test
+    public void failedWriteIsReportedToTheWriter() {
+        cluster.getNode("A").handle("/databases/db/bulk_insert", (node, request) -> {
+            readCommands(request.getBody(), 10);
+
+            // connection is dropped in the middle of the stream
+            node.setDown(true);
+            return StubResponse.empty(200);
+        });
+
+        store.getConventions().bulkInsert().setMinChunkSize(512);
+        store.getConventions().bulkInsert().setMaxFlushLatency(Duration.ofHours(1));
+        store.getConventions().bulkInsert().setBuffersCount(2);
+        store.initialize();
+
+        assertThatThrownBy(() -> {
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                for (int i = 0; i < 100_000; i++) {
+                    bulkInsert.store(user(i), "users/" + i);
+                }
+            }
+        }).isInstanceOf(RuntimeException.class);
+
+        assertThat(receivedIds)
+                .hasSize(10);
+    }
+
+    private void handleBulkInsert(long readDelayMillis) {
+        cluster.getNode("A").handle("/databases/db/bulk_insert", (node, request) -> {
+            if (readDelayMillis > 0) {
+                try {
+                    Thread.sleep(readDelayMillis);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            readCommands(request.getBody(), Integer.MAX_VALUE);
+            return StubResponse.empty(200);
+        });
+    }
+
+    /**
+     * Reads commands one by one, so they are recorded as soon as they reach the server.
+     */
+    private void readCommands(InputStream body, int limit) throws IOException {
+        JsonParser parser = mapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected array of commands");
+        }
+
+        while (receivedIds.size() < limit && parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode command = mapper.readTree(parser);
+            receivedIds.add(command.get("Id").asText());
+        }
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setName("user " + i);
+        return user;
+    }
+}
@@ -0,0 +1,178 @@
+package net.ravendb.client.documents.bulkInsert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkInsertFlushPolicyTest {
+
+    @Test
+    public void flushesWhenChunkIsFull() {
+        BulkInsertFlushPolicy policy = new BulkInsertFlushPolicy(conventions(1024, 4096, false, Duration.ofHours(1)));
+
+        assertThat(policy.shouldFlush(0))
+                .isFalse();
+        assertThat(policy.shouldFlush(100))
+                .isFalse();
+        assertThat(policy.shouldFlush(1023))
+                .isFalse();
+        assertThat(policy.shouldFlush(1024))
+                .isTrue();
+    }
+
+    @Test
+    public void flushesSmallChunkAfterMaxLatency() throws Exception {
+        BulkInsertFlushPolicy policy = new BulkInsertFlushPolicy(conventions(1024, 4096, false, Duration.ofMillis(20)));
+
+        assertThat(policy.shouldFlush(10))
+                .isFalse();
+
+        Thread.sleep(30);
+
+        assertThat(policy.shouldFlush(20))
+                .isTrue();
+
+        policy.onFlushed();
+
+        // latency is measured from the first byte of the new buffer
+        assertThat(policy.shouldFlush(10))
+                .isFalse();
+    }
+
+    @Test
+    public void adaptsChunkSizeToThroughput() {
+        BulkInsertFlushPolicy policy = new BulkInsertFlushPolicy(conventions(1024, 64 * 1024, true, Duration.ofMillis(100)));
+
+        assertThat(policy.getChunkSize())
+                .isEqualTo(1024);
+
+        // 100 KB/s - chunk sent within 100 ms is 10 KB
+        policy.onChunkWritten(10 * 1024, Duration.ofMillis(100).toNanos());
+
+        assertThat(policy.getChunkSize())
+                .isEqualTo(10 * 1024);
+
+        // fast network, chunk size is capped
+        for (int i = 0; i < 50; i++) {
+            policy.onChunkWritten(1024 * 1024, Duration.ofMillis(1).toNanos());
+        }
+
+        assertThat(policy.getChunkSize())
+                .isEqualTo(64 * 1024);
+
+        // slow network, back to min chunk size
+        for (int i = 0; i < 100; i++) {
+            policy.onChunkWritten(1024, Duration.ofSeconds(1).toNanos());
+        }
+
+        assertThat(policy.getChunkSize())
+                .isEqualTo(1024);
+    }
+
+    @Test
+    public void collectsStatistics() {
+        BulkInsertFlushPolicy policy = new BulkInsertFlushPolicy(conventions(1024, 4096, false, Duration.ofMillis(100)));
+
+        policy.onChunkWritten(1000, Duration.ofMillis(1).toNanos());
+        policy.onChunkWritten(3000, Duration.ofMillis(1).toNanos());
+        policy.onStall(Duration.ofMillis(5).toNanos());
+
+        BulkInsertWriteStatistics statistics = policy.getStatistics();
+
+        assertThat(statistics.getBytesWritten())
+                .isEqualTo(4000);
+        assertThat(statistics.getChunksWritten())
+                .isEqualTo(2);
+        assertThat(statistics.getAverageChunkSize())
+                .isEqualTo(2000);
+        assertThat(statistics.getThroughput())
+                .isPositive();
+        assertThat(statistics.getStallsCount())
+                .isEqualTo(1);
+        assertThat(statistics.getStallTime())
+                .isEqualTo(Duration.ofMillis(5));
+    }
+
+    @Test
+    public void bulkInsertSendsChunksOfConfiguredSize() {
+        ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+        List<JsonNode> commands = new CopyOnWriteArrayList<>();
+
+        try (StubCluster cluster = new StubCluster("db", 1);
+             DocumentStore store = new DocumentStore(cluster.getUrls(), "db")) {
+            cluster.getNode("A").handle("/databases/db/bulk_insert", (node, request) -> {
+                request.readJson(mapper).forEach(commands::add);
+                return StubResponse.empty(200);
+            });
+
+            store.getConventions().bulkInsert().setMinChunkSize(8 * 1024);
+            store.getConventions().bulkInsert().setAdaptiveChunkSize(false);
+            store.getConventions().bulkInsert().setMaxFlushLatency(Duration.ofHours(1));
+            store.getConventions().bulkInsert().setBuffersCount(4);
+            store.initialize();
+
+            BulkInsertWriteStatistics statistics;
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                for (int i = 0; i < 2000; i++) {
+                    User user = new User();
+                    user.setName("user " + i);
+                    bulkInsert.store(user, "users/" + i);
+                }
+
+                statistics = bulkInsert.getWriteStatistics();
+            }
+
+            assertThat(commands)
+                    .hasSize(2000);
+            assertThat(commands.get(1999).get("Id").asText())
+                    .isEqualTo("users/1999");
+
+            // every chunk sent while storing was at least min chunk size
+            assertThat(statistics.getChunksWritten())
+                    .isPositive();
+            assertThat(statistics.getBytesWritten() / statistics.getChunksWritten())
+                    .isGreaterThanOrEqualTo(8 * 1024);
+        }
+    }
+
+    @Test
+    public void conventionsAreValidated() {
+        DocumentConventions conventions = new DocumentConventions();
+
+        assertThatThrownBy(() -> conventions.bulkInsert().setBuffersCount(1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> conventions.bulkInsert().setMinChunkSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> conventions.bulkInsert().setMaxFlushLatency(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        conventions.bulkInsert().setBuffersCount(5);
+
+        assertThat(conventions.clone().bulkInsert().getBuffersCount())
+                .isEqualTo(5);
+    }
+
+    private static DocumentConventions.BulkInsertConventions conventions(int minChunkSize, int maxChunkSize,
+                                                                         boolean adaptive, Duration maxFlushLatency) {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.bulkInsert().setMinChunkSize(minChunkSize);
+        conventions.bulkInsert().setMaxChunkSize(maxChunkSize);
+        conventions.bulkInsert().setAdaptiveChunkSize(adaptive);
+        conventions.bulkInsert().setMaxFlushLatency(maxFlushLatency);
+        return conventions.bulkInsert();
+    }
+}
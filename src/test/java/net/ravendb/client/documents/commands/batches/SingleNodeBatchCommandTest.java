@@ -0,0 +1,139 @@
+package net.ravendb.client.documents.commands.batches;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.primitives.Reference;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleNodeBatchCommandTest {
+
+    @Test
+    public void writesCommandsAndAttachmentsIntoMultipartStream() throws Exception {
+        List<ICommandData> commands = new ArrayList<>();
+        commands.add(new DeleteCommandData("users/1", null));
+        commands.add(new PutAttachmentCommandData("users/2", "photo", new ByteArrayInputStream("photo-bytes".getBytes(StandardCharsets.UTF_8)), null, null));
+
+        SingleNodeBatchCommand command = new SingleNodeBatchCommand(DocumentConventions.defaultConventions, commands);
+
+        String first = writeRequest(command);
+        assertThat(first)
+                .contains("name=\"main\"")
+                .contains("{\"Commands\":[")
+                .contains("\"users/1\"")
+                .contains("name=\"attachment1\"")
+                .contains("photo-bytes");
+
+        assertThat(first.indexOf("photo-bytes"))
+                .isGreaterThan(first.indexOf("{\"Commands\":["));
+
+        // simulate failover - byte array streams are rewound
+        String second = writeRequest(command);
+        assertThat(second)
+                .contains("photo-bytes");
+    }
+
+    @Test
+    public void refusesToRetryWithConsumedAttachmentStreams() throws Exception {
+        List<ICommandData> commands = new ArrayList<>();
+        commands.add(new PutAttachmentCommandData("users/2", "photo", new BufferedInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3 })), null, null));
+
+        SingleNodeBatchCommand command = new SingleNodeBatchCommand(DocumentConventions.defaultConventions, commands);
+
+        writeRequest(command);
+
+        assertThatThrownBy(() -> writeRequest(command))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot be rewound");
+    }
+
+    @Test
+    public void skipsOriginalChangeVectorForNodesWithoutAtomicWrites() throws Exception {
+        ObjectNode document = JsonExtensions.getDefaultMapper().createObjectNode();
+        document.put("Name", "John");
+
+        List<ICommandData> commands = new ArrayList<>();
+        commands.add(new PutCommandDataWithJson("users/1", null, "A:1-abc", document));
+        commands.add(new DeleteCommandData("users/2", null, "A:2-abc"));
+        commands.add(new CustomCommandData());
+
+        String atomic = writeRequest(new SingleNodeBatchCommand(DocumentConventions.defaultConventions, commands), true);
+        assertThat(atomic.split("\"OriginalChangeVector\"", -1))
+                .hasSize(4);
+
+        String nonAtomic = writeRequest(new SingleNodeBatchCommand(DocumentConventions.defaultConventions, commands), false);
+        assertThat(nonAtomic)
+                .doesNotContain("\"OriginalChangeVector\"")
+                .contains("{\"Id\":\"users/1\",\"ChangeVector\":null,\"Document\":{\"Name\":\"John\"},\"Type\":\"PUT\"}")
+                .contains("{\"Id\":\"custom/1\",\"Nested\":{\"OriginalChangeVector2\":\"x\"},\"Type\":\"Custom\"}");
+    }
+
+    private static class CustomCommandData implements ICommandData {
+        @Override
+        public String getId() {
+            return "custom/1";
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public String getChangeVector() {
+            return null;
+        }
+
+        @Override
+        public CommandType getType() {
+            return CommandType.CLIENT_ANY_COMMAND;
+        }
+
+        @Override
+        public void serialize(JsonGenerator generator, DocumentConventions conventions) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("Id", getId());
+            generator.writeStringField("OriginalChangeVector", "A:3-abc");
+            generator.writeObjectFieldStart("Nested");
+            generator.writeStringField("OriginalChangeVector2", "x");
+            generator.writeEndObject();
+            generator.writeStringField("Type", "Custom");
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void onBeforeSaveChanges(InMemoryDocumentSessionOperations session) {
+            // empty
+        }
+    }
+
+    private static String writeRequest(SingleNodeBatchCommand command) throws IOException {
+        return writeRequest(command, false);
+    }
+
+    private static String writeRequest(SingleNodeBatchCommand command, boolean supportsAtomicWrites) throws IOException {
+        ServerNode node = new ServerNode();
+        node.setUrl("http://127.0.0.1:8080");
+        node.setDatabase("db1");
+        node.setSupportsAtomicClusterWrites(supportsAtomicWrites);
+
+        HttpRequestBase request = command.createRequest(node, new Reference<>());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((HttpPost) request).getEntity().writeTo(output);
+        return new String(output.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+}
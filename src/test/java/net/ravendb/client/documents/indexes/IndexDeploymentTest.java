@@ -0,0 +1,305 @@
+package net.ravendb.client.documents.indexes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexDeploymentTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    // definitions as the server returns them
+    private final Map<String, ObjectNode> serverIndexes = new ConcurrentHashMap<>();
+    private final List<List<String>> puts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger gets = new AtomicInteger();
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+
+        cluster.getNode("A").handle("/databases/db/indexes", (node, request) -> {
+            gets.incrementAndGet();
+
+            ObjectNode response = mapper.createObjectNode();
+            ArrayNode results = response.putArray("Results");
+            serverIndexes.values().forEach(results::add);
+            return StubResponse.ok(mapper.writeValueAsString(response));
+        });
+
+        cluster.getNode("A").handle("/databases/db/admin/indexes", (node, request) -> {
+            List<String> names = new ArrayList<>();
+
+            ObjectNode response = mapper.createObjectNode();
+            ArrayNode results = response.putArray("Results");
+
+            for (JsonNode index : request.readJson(mapper).get("Indexes")) {
+                String name = index.get("Name").asText();
+                names.add(name);
+                serverIndexes.put(name, normalizeLikeServer((ObjectNode) index));
+
+                results.addObject()
+                        .put("Index", name)
+                        .put("RaftCommandIndex", 1);
+            }
+
+            puts.add(names);
+            return StubResponse.ok(mapper.writeValueAsString(response));
+        });
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void deploysOnlyNewAndChangedIndexes() {
+        IndexDeploymentResult first = IndexCreation.deployIndexes(Arrays.asList(new Users_ByName(), new Orders_ByCompany()), store);
+
+        assertThat(first.getCreated())
+                .containsExactly("Users/ByName", "Orders/ByCompany");
+        assertThat(first.hasChanges())
+                .isTrue();
+        assertThat(puts)
+                .hasSize(1);
+
+        IndexDeploymentResult second = IndexCreation.deployIndexes(Arrays.asList(new Users_ByName(), new Orders_ByCompany()), store);
+
+        assertThat(second.getUnchanged())
+                .containsExactly("Users/ByName", "Orders/ByCompany");
+        assertThat(second.hasChanges())
+                .isFalse();
+        assertThat(puts)
+                .hasSize(1);
+
+        Orders_ByCompany changed = new Orders_ByCompany();
+        changed.setPriority(IndexPriority.HIGH);
+
+        IndexDeploymentResult third = IndexCreation.deployIndexes(Arrays.asList(new Users_ByName(), changed, new Products_ByName()), store);
+
+        assertThat(third.getCreated())
+                .containsExactly("Products/ByName");
+        assertThat(third.getUpdated())
+                .containsExactly("Orders/ByCompany");
+        assertThat(third.getUnchanged())
+                .containsExactly("Users/ByName");
+        assertThat(puts.get(1))
+                .containsExactly("Orders/ByCompany", "Products/ByName");
+    }
+
+    @Test
+    public void deploysToDatabasesInParallel() {
+        Map<String, IndexDeploymentResult> results = IndexCreation.deployIndexes(
+                Collections.singletonList(new Users_ByName()), store, null, Collections.singletonList("db"));
+
+        assertThat(results.get("DB").getCreated())
+                .containsExactly("Users/ByName");
+        assertThat(gets.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void deploysAllWhenExistingIndexesCannotBeRead() {
+        cluster.getNode("A").addFault("/databases/db/indexes", 500, 1);
+
+        IndexDeploymentResult result = IndexCreation.deployIndexes(Collections.singletonList(new Users_ByName()), store);
+
+        assertThat(result.getCreated())
+                .containsExactly("Users/ByName");
+        assertThat(puts)
+                .hasSize(1);
+    }
+
+    @Test
+    public void canonicalHashIgnoresServerAssignedProperties() {
+        IndexDefinition local = new IndexDefinition();
+        local.setName("Test");
+        local.setMaps(new LinkedHashSet<>(Arrays.asList("from a in docs.A select new { a.x }", "from b in docs.B select new { b.x }")));
+
+        IndexDefinition remote = new IndexDefinition();
+        remote.setName("Test");
+        remote.setMaps(new LinkedHashSet<>(Arrays.asList("from b in docs.B select new { b.x }\r\n", "from a in docs.A select new { a.x }")));
+        remote.setLockMode(IndexLockMode.UNLOCK);
+
+        assertThat(IndexCreation.computeCanonicalHash(remote))
+                .isEqualTo(IndexCreation.computeCanonicalHash(local));
+
+        remote.setReduce("from r in results select r");
+
+        assertThat(IndexCreation.computeCanonicalHash(remote))
+                .isNotEqualTo(IndexCreation.computeCanonicalHash(local));
+    }
+
+    @Test
+    public void comparesLockModeOnlyWhenSetLocally() {
+        Users_ByName locked = new Users_ByName();
+        locked.setLockMode(IndexLockMode.LOCKED_IGNORE);
+
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(locked), store).getCreated())
+                .containsExactly("Users/ByName");
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(locked), store).getUnchanged())
+                .containsExactly("Users/ByName");
+
+        // no lock mode requested, the one on the server is fine
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(new Users_ByName()), store).getUnchanged())
+                .containsExactly("Users/ByName");
+
+        Users_ByName unlocked = new Users_ByName();
+        unlocked.setLockMode(IndexLockMode.UNLOCK);
+
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(unlocked), store).getUpdated())
+                .containsExactly("Users/ByName");
+    }
+
+    @Test
+    public void canonicalHashIgnoresServerDefaults() {
+        IndexDefinition local = new IndexDefinition();
+        local.setName("Test");
+        local.setMaps(Collections.singleton("from a in docs.A select new { a.x }"));
+        IndexFieldOptions localOptions = new IndexFieldOptions();
+        localOptions.setIndexing(FieldIndexing.EXACT);
+        local.getFields().put("x", localOptions);
+
+        IndexDefinition remote = new IndexDefinition();
+        remote.setName("Test");
+        remote.setMaps(Collections.singleton("from a in docs.A select new { a.x }"));
+        remote.setPriority(IndexPriority.NORMAL);
+        remote.setState(IndexState.NORMAL);
+        IndexFieldOptions remoteOptions = new IndexFieldOptions();
+        remoteOptions.setIndexing(FieldIndexing.EXACT);
+        remoteOptions.setStorage(FieldStorage.NO);
+        remoteOptions.setTermVector(FieldTermVector.NO);
+        remote.getFields().put("x", remoteOptions);
+        remote.getFields().put("y", new IndexFieldOptions());
+
+        assertThat(IndexCreation.computeCanonicalHash(remote))
+                .isEqualTo(IndexCreation.computeCanonicalHash(local));
+
+        // explicitly requested default is the same as not set
+        local.setPriority(IndexPriority.NORMAL);
+
+        assertThat(IndexCreation.computeCanonicalHash(remote, local))
+                .isEqualTo(IndexCreation.computeCanonicalHash(local, local));
+
+        remote.setPriority(IndexPriority.LOW);
+
+        assertThat(IndexCreation.computeCanonicalHash(remote, local))
+                .isNotEqualTo(IndexCreation.computeCanonicalHash(local, local));
+    }
+
+    @Test
+    public void comparesPriorityAndStateOnlyWhenSetLocally() {
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(new Users_ByName()), store).getCreated())
+                .containsExactly("Users/ByName");
+
+        // changed on the server, ex. by SetIndexesPriorityOperation or when the index becomes idle
+        ObjectNode stored = serverIndexes.get("Users/ByName");
+        stored.put("Priority", "Low");
+        stored.put("State", "Idle");
+
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(new Users_ByName()), store).getUnchanged())
+                .containsExactly("Users/ByName");
+
+        Users_ByName normalPriority = new Users_ByName();
+        normalPriority.setPriority(IndexPriority.NORMAL);
+
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(normalPriority), store).getUpdated())
+                .containsExactly("Users/ByName");
+        assertThat(IndexCreation.deployIndexes(Collections.singletonList(normalPriority), store).getUnchanged())
+                .containsExactly("Users/ByName");
+    }
+
+    private ObjectNode normalizeLikeServer(ObjectNode index) {
+        ObjectNode stored = index.deepCopy();
+
+        // assigned by the server
+        stored.put("Etag", 42);
+        stored.put("Type", "Map");
+        stored.put("SourceType", "Documents");
+
+        // properties which weren't sent come back with server defaults
+        setIfNotSent(stored, "LockMode", TextNode.valueOf("Unlock"));
+        setIfNotSent(stored, "Priority", TextNode.valueOf("Normal"));
+        setIfNotSent(stored, "State", TextNode.valueOf("Normal"));
+        setIfNotSent(stored, "Reduce", NullNode.getInstance());
+        setIfNotSent(stored, "OutputReduceToCollection", NullNode.getInstance());
+        setIfNotSent(stored, "Configuration", mapper.createObjectNode());
+        setIfNotSent(stored, "AdditionalSources", mapper.createObjectNode());
+        setIfNotSent(stored, "AdditionalAssemblies", mapper.createArrayNode());
+        setIfNotSent(stored, "Fields", mapper.createObjectNode());
+
+        stored.get("Fields").forEach(field -> {
+            ObjectNode options = (ObjectNode) field;
+            setIfNotSent(options, "Indexing", TextNode.valueOf("Default"));
+            setIfNotSent(options, "Storage", TextNode.valueOf("No"));
+            setIfNotSent(options, "TermVector", TextNode.valueOf("No"));
+            setIfNotSent(options, "Suggestions", BooleanNode.FALSE);
+        });
+
+        // server doesn't keep order of maps and line endings
+        ArrayNode maps = (ArrayNode) stored.get("Maps");
+        List<JsonNode> reversed = new ArrayList<>();
+        maps.forEach(map -> reversed.add(TextNode.valueOf(map.asText().replace("\n", "\r\n") + "\r\n")));
+        Collections.reverse(reversed);
+        maps.removeAll();
+        reversed.forEach(maps::add);
+
+        return stored;
+    }
+
+    private static void setIfNotSent(ObjectNode node, String name, JsonNode defaultValue) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            node.set(name, defaultValue);
+        }
+    }
+
+    public static class Users_ByName extends AbstractIndexCreationTask {
+        public Users_ByName() {
+            map = "from u in docs.Users select new { u.name }";
+        }
+    }
+
+    public static class Orders_ByCompany extends AbstractIndexCreationTask {
+        public Orders_ByCompany() {
+            map = "from o in docs.Orders select new { o.company }";
+            index("company", FieldIndexing.EXACT);
+        }
+    }
+
+    public static class Products_ByName extends AbstractIndexCreationTask {
+        public Products_ByName() {
+            map = "from p in docs.Products select new { p.name }";
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package net.ravendb.client.documents.liveCollections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.entities.Company;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubNode;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LiveCollectionTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+    private final AtomicInteger streams = new AtomicInteger();
+
+    // when set, streaming waits until released
+    private volatile CountDownLatch streaming;
+    private volatile CountDownLatch release;
+
+    private StubCluster cluster;
+    private StubNode node;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+        node = cluster.getNode("A");
+
+        // "from 'Users'" streamed the way the server does it
+        node.handle("/databases/db/streams/queries", (node, request) -> {
+            streams.incrementAndGet();
+
+            CountDownLatch gate = release;
+            if (gate != null) {
+                streaming.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            ObjectNode response = mapper.createObjectNode();
+            response.put("ResultEtag", 0);
+            response.put("IsStale", false);
+            response.put("IndexName", "@empty");
+            response.put("TotalResults", 0);
+            response.put("IndexTimestamp", "0001-01-01T00:00:00.0000000");
+            ArrayNode results = response.putArray("Results");
+            cluster.getDatabase().getDocuments("Users").forEach(results::add);
+            return StubResponse.ok(mapper.writeValueAsString(response));
+        });
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.initialize();
+
+        cluster.getDatabase().put("users/1", user("John", "Smith"));
+        cluster.getDatabase().put("users/2", user("Jane", "Smith"));
+        cluster.getDatabase().put("companies/1", new Company());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void loadsCollectionAndServesLookupsWithoutRequests() {
+        try (LiveCollection<User> users = store.liveCollection(User.class, byLastName())) {
+            long requests = node.getRequestsCount();
+
+            LiveCollectionSnapshot<User> snapshot = users.getSnapshot();
+
+            assertThat(snapshot.size())
+                    .isEqualTo(2);
+            assertThat(snapshot.get("USERS/1").getName())
+                    .isEqualTo("John");
+            assertThat(snapshot.get("USERS/1").getId())
+                    .isEqualTo("users/1");
+            assertThat(snapshot.get("companies/1"))
+                    .isNull();
+            assertThat(snapshot.getBy("lastName", "Smith"))
+                    .extracting(User::getName)
+                    .containsExactlyInAnyOrder("John", "Jane");
+            assertThat(snapshot.getBy("lastName", "Doe"))
+                    .isEmpty();
+
+            assertThatThrownBy(() -> snapshot.getBy("name", "John"))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(node.getRequestsCount())
+                    .isEqualTo(requests);
+        }
+    }
+
+    @Test
+    public void appliesChanges() {
+        try (LiveCollection<User> users = store.liveCollection(User.class, byLastName())) {
+            LiveCollectionSnapshot<User> initial = users.getSnapshot();
+
+            cluster.getDatabase().put("users/3", user("Bob", "Doe"));
+            cluster.getDatabase().put("users/1", user("Johnny", "Smith"));
+            cluster.getDatabase().delete("users/2");
+
+            waitFor(() -> users.getSnapshot().contains("users/3") && !users.getSnapshot().contains("users/2")
+                    && "Johnny".equals(users.getSnapshot().get("users/1").getName()));
+
+            assertThat(users.getSnapshot().getFirstBy("lastName", "Doe").getName())
+                    .isEqualTo("Bob");
+            assertThat(users.getSnapshot().getBy("lastName", "Smith"))
+                    .hasSize(1);
+
+            // snapshots are immutable
+            assertThat(initial.size())
+                    .isEqualTo(2);
+            assertThat(initial.get("users/1").getName())
+                    .isEqualTo("John");
+
+            assertThat(streams.get())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void resynchronizesAfterReconnect() {
+        try (LiveCollection<User> users = store.liveCollection(User.class)) {
+            waitFor(users::isSynchronized);
+
+            node.setDown(true);
+            waitFor(() -> !users.isSynchronized());
+
+            // notifications are lost while the node is down
+            cluster.getDatabase().put("users/3", user("Bob", "Doe"));
+            cluster.getDatabase().delete("users/1");
+
+            node.setDown(false);
+
+            waitFor(() -> users.getSnapshot().contains("users/3") && !users.getSnapshot().contains("users/1"));
+
+            assertThat(users.getResyncCount())
+                    .isGreaterThanOrEqualTo(1);
+            assertThat(streams.get())
+                    .isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    public void resynchronizesAfterChangesError() {
+        try (LiveCollection<User> users = store.liveCollection(User.class)) {
+            cluster.getDatabase().put("users/3", user("Bob", "Doe"));
+            waitFor(() -> users.getSnapshot().contains("users/3"));
+
+            users.onError(new IllegalStateException("Notifications were lost"));
+
+            waitFor(() -> users.getResyncCount() == 1 && streams.get() == 2);
+        }
+    }
+
+    @Test
+    public void closeWaitsForSyncInProgress() throws Exception {
+        try (LiveCollection<User> users = store.liveCollection(User.class)) {
+            streaming = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+
+            users.requestResync();
+
+            assertThat(streaming.await(15, TimeUnit.SECONDS))
+                    .isTrue();
+
+            CompletableFuture<Void> close = CompletableFuture.runAsync(users::close);
+
+            Thread.sleep(100);
+
+            assertThat(close)
+                    .isNotDone();
+
+            release.countDown();
+            close.get(15, TimeUnit.SECONDS);
+
+            assertThat(users.isClosed())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void failsWhenInitialLoadFails() {
+        node.addFault("/databases/db/streams/queries", 500, 1);
+
+        assertThatThrownBy(() -> store.liveCollection(User.class))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void isClosedWithStore() {
+        LiveCollection<User> users = store.liveCollection(User.class);
+
+        store.close();
+
+        assertThat(users.isClosed())
+                .isTrue();
+    }
+
+    @Test
+    public void optionsAreValidated() {
+        LiveCollectionOptions<User> options = byLastName();
+
+        assertThatThrownBy(() -> options.addIndex("lastName", User::getName))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> options.addIndex(null, User::getName))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LiveCollectionOptions<User> byLastName() {
+        return new LiveCollectionOptions<User>()
+                .addIndex("lastName", User::getLastName);
+    }
+
+    private static User user(String name, String lastName) {
+        User user = new User();
+        user.setName(name);
+        user.setLastName(lastName);
+        return user;
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        throw new AssertionError("Condition was not met in time");
+    }
+}
@@ -0,0 +1,215 @@
+package net.ravendb.client.documents.operations.counters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CounterAccumulatorTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+    private final List<JsonNode> batches = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> totals = new ConcurrentHashMap<>();
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+        cluster.getNode("A").handle("/databases/db/counters", (node, request) -> {
+            JsonNode batch = request.readJson(mapper);
+            batches.add(batch);
+
+            for (JsonNode document : batch.get("Documents")) {
+                for (JsonNode operation : document.get("Operations")) {
+                    totals.merge(document.get("DocumentId").asText() + "|" + operation.get("CounterName").asText(),
+                            operation.get("Delta").asLong(), Long::sum);
+                }
+            }
+
+            return StubResponse.ok("{\"Counters\":[]}");
+        });
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void coalescesConcurrentIncrements() throws Exception {
+        CounterAccumulatorOptions options = new CounterAccumulatorOptions();
+        options.setFlushInterval(Duration.ofMillis(50));
+
+        try (CounterAccumulator accumulator = store.counterAccumulator(options)) {
+            CounterAccumulator.Counter likes = accumulator.counter("posts/1", "Likes");
+
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        accumulator.increment("pages/" + (i % 10), "Views");
+                        likes.increment(2);
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(totals.get("pages/" + i + "|Views"))
+                    .isEqualTo(20_000L);
+        }
+
+        assertThat(totals.get("posts/1|Likes"))
+                .isEqualTo(400_000L);
+
+        assertThat(batches.size())
+                .isLessThan(1000);
+    }
+
+    @Test
+    public void flushesWhenBatchIsFull() {
+        CounterAccumulatorOptions options = new CounterAccumulatorOptions();
+        options.setFlushInterval(Duration.ofHours(1));
+        options.setMaxBatchSize(5);
+
+        try (CounterAccumulator accumulator = store.counterAccumulator(options)) {
+            for (int i = 0; i < 5; i++) {
+                accumulator.increment("pages/" + i, "Views");
+            }
+
+            waitForBatches(1);
+
+            assertThat(batches.get(0).get("Documents"))
+                    .hasSize(5);
+        }
+    }
+
+    @Test
+    public void keepsIncrementsWhenFlushFails() {
+        CounterAccumulatorOptions options = new CounterAccumulatorOptions();
+        options.setFlushInterval(Duration.ofHours(1));
+
+        try (CounterAccumulator accumulator = store.counterAccumulator(options)) {
+            accumulator.increment("pages/1", "Views", 5);
+
+            cluster.getNode("A").addFault("/databases/db/counters", 500, 1);
+
+            assertThatThrownBy(accumulator::flush)
+                    .isInstanceOf(RuntimeException.class);
+
+            accumulator.increment("pages/1", "Views", 2);
+        }
+
+        assertThat(batches)
+                .hasSize(1);
+        assertThat(totals.get("pages/1|Views"))
+                .isEqualTo(7L);
+    }
+
+    @Test
+    public void countersAreCaseInsensitive() {
+        try (CounterAccumulator accumulator = store.counterAccumulator()) {
+            accumulator.increment("Pages/1", "Views");
+            accumulator.increment("pages/1", "views", 2);
+
+            assertThat(accumulator.counter("PAGES/1", "VIEWS"))
+                    .isSameAs(accumulator.counter("pages/1", "views"));
+
+            if ("𐐀".equalsIgnoreCase("𐐨")) {
+                // case is folded by code point, not by UTF-16 char
+                assertThat(accumulator.counter("pages/𐐀", "Views"))
+                        .isSameAs(accumulator.counter("pages/𐐨", "Views"));
+            }
+        }
+
+        assertThat(totals)
+                .containsOnlyKeys("Pages/1|Views")
+                .containsEntry("Pages/1|Views", 3L);
+    }
+
+    @Test
+    public void throwsAfterClose() {
+        CounterAccumulator accumulator = store.counterAccumulator();
+        accumulator.close();
+
+        assertThatThrownBy(() -> accumulator.increment("pages/1", "Views"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(batches)
+                .isEmpty();
+    }
+
+    @Test
+    public void incrementsRacingWithCloseAreSent() throws Exception {
+        CounterAccumulator accumulator = store.counterAccumulator();
+        CounterAccumulator.Counter views = accumulator.counter("pages/1", "Views");
+
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                while (true) {
+                    try {
+                        views.increment();
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        Thread.sleep(50);
+        accumulator.close();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(totals.get("pages/1|Views"))
+                .isEqualTo(accepted.get());
+    }
+
+    private void waitForBatches(int count) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (batches.size() < count && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        assertThat(batches)
+                .hasSizeGreaterThanOrEqualTo(count);
+    }
+}
@@ -0,0 +1,75 @@
+package net.ravendb.client.documents.operations.timeSeries;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeSeriesOperationTest {
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    @Test
+    public void columnsAppendedLaterOverrideSingleAppend() throws IOException {
+        TimeSeriesOperation operation = new TimeSeriesOperation("Heartrate");
+        operation.append(new TimeSeriesOperation.AppendOperation(new Date(2000), new double[] { 1 }));
+        operation.append(new TimeSeriesOperation.AppendOperation(new Date(4000), new double[] { 1 }));
+
+        operation.appendAll(TimeSeriesColumns.builder()
+                .add(1000, 2)
+                .add(2000, 2)
+                .add(3000, 2)
+                .build());
+
+        JsonNode appends = serialize(operation).get("Appends");
+
+        assertThat(appends)
+                .hasSize(4);
+        assertThat(values(appends))
+                .containsExactly(2, 2, 2, 1);
+    }
+
+    @Test
+    public void singleAppendAddedLaterOverridesColumns() throws IOException {
+        TimeSeriesOperation operation = new TimeSeriesOperation("Heartrate");
+        operation.appendAll(TimeSeriesColumns.builder()
+                .add(1000, 2)
+                .add(2000, 2)
+                .add(3000, 2)
+                .build());
+
+        operation.append(new TimeSeriesOperation.AppendOperation(new Date(2000), new double[] { 1 }));
+
+        JsonNode appends = serialize(operation).get("Appends");
+
+        assertThat(appends)
+                .hasSize(3);
+        assertThat(values(appends))
+                .containsExactly(2, 1, 2);
+    }
+
+    private static double[] values(JsonNode appends) {
+        double[] values = new double[appends.size()];
+        for (int i = 0; i < appends.size(); i++) {
+            values[i] = appends.get(i).get("Values").get(0).asDouble();
+        }
+        return values;
+    }
+
+    private JsonNode serialize(TimeSeriesOperation operation) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            operation.serialize(generator, DocumentConventions.defaultConventions);
+        }
+        return mapper.readTree(writer.toString());
+    }
+}
@@ -0,0 +1,274 @@
+package net.ravendb.client.documents.session;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentSnapshotCacheTest {
+
+    private StubCluster cluster;
+    private StubNode node;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+        node = cluster.getNode("A");
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().documentSnapshotCache().setEnabled(true);
+        store.initialize();
+
+        cluster.getDatabase().put("users/1", user("John"));
+        cluster.getDatabase().put("users/2", user("Jane"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void loadsFromCacheInNextSession() {
+        waitForCached("users/1");
+
+        long requests = node.getRequestsCount();
+
+        try (IDocumentSession session = store.openSession()) {
+            User user = session.load(User.class, "users/1");
+
+            assertThat(user.getName())
+                    .isEqualTo("John");
+            assertThat(session.advanced().getNumberOfRequests())
+                    .isZero();
+            assertThat(session.advanced().getChangeVectorFor(user))
+                    .isNotNull();
+        }
+
+        assertThat(node.getRequestsCount())
+                .isEqualTo(requests);
+    }
+
+    @Test
+    public void multiLoadUsesCacheOnlyWhenAllDocumentsAreCached() {
+        waitForCached("users/1");
+
+        long requests = node.getRequestsCount();
+
+        try (IDocumentSession session = store.openSession()) {
+            Map<String, User> users = session.load(User.class, "users/1", "users/2");
+
+            assertThat(users.get("users/1").getName())
+                    .isEqualTo("John");
+            assertThat(users.get("users/2").getName())
+                    .isEqualTo("Jane");
+        }
+
+        assertThat(node.getRequestsCount())
+                .isEqualTo(requests + 1);
+
+        try (IDocumentSession session = store.openSession()) {
+            session.load(User.class, "users/1", "users/2");
+        }
+
+        assertThat(node.getRequestsCount())
+                .isEqualTo(requests + 1);
+    }
+
+    @Test
+    public void sessionsDoNotShareEntities() {
+        waitForCached("users/1");
+
+        try (IDocumentSession session = store.openSession()) {
+            session.load(User.class, "users/1").setName("Changed");
+            assertThat(session.advanced().hasChanges())
+                    .isTrue();
+        }
+
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(User.class, "users/1").getName())
+                    .isEqualTo("John");
+            assertThat(session.advanced().hasChanges())
+                    .isFalse();
+        }
+    }
+
+    @Test
+    public void invalidatesOnChangeNotification() throws Exception {
+        waitForCached("users/1");
+
+        cluster.getDatabase().put("users/1", user("Bob"));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        String name;
+        do {
+            try (IDocumentSession session = store.openSession()) {
+                name = session.load(User.class, "users/1").getName();
+            }
+            if (!"Bob".equals(name)) {
+                Thread.sleep(10);
+            }
+        } while (!"Bob".equals(name) && System.currentTimeMillis() < deadline);
+
+        assertThat(name)
+                .isEqualTo("Bob");
+    }
+
+    @Test
+    public void invalidatesOnSaveChanges() {
+        waitForCached("users/1");
+
+        try (IDocumentSession session = store.openSession()) {
+            session.load(User.class, "users/1").setName("Bob");
+            session.saveChanges();
+        }
+
+        try (IDocumentSession session = store.openSession()) {
+            User user = session.load(User.class, "users/1");
+
+            assertThat(user.getName())
+                    .isEqualTo("Bob");
+            assertThat(session.advanced().getNumberOfRequests())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void invalidationOfOtherDocumentDoesNotPreventCaching() {
+        waitForCached("users/1");
+
+        DocumentSnapshotCache cache = store.getDocumentSnapshotCache("db");
+
+        long generation = cache.getGeneration();
+
+        // users/1 was modified while the documents were requested
+        cache.invalidate("users/1");
+
+        cache.put(document("users/1", "A:10-db"), generation);
+        cache.put(document("users/2", "A:11-db"), generation);
+
+        assertThat(cache.get("users/1"))
+                .isNull();
+        assertThat(cache.get("users/2"))
+                .isNotNull();
+    }
+
+    @Test
+    public void idsAreCaseInsensitiveRegardlessOfDefaultLocale() {
+        waitForCached("users/1");
+
+        DocumentSnapshotCache cache = store.getDocumentSnapshotCache("db");
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            cache.put(document("users/i", "A:10-db"), cache.getGeneration());
+
+            assertThat(cache.get("USERS/I"))
+                    .isNotNull();
+
+            cache.invalidate("USERS/I");
+
+            assertThat(cache.get("users/i"))
+                    .isNull();
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void loadsWithIncludesBypassCache() {
+        waitForCached("users/1");
+
+        try (IDocumentSession session = store.openSession()) {
+            session.include("name").load(User.class, "users/1");
+
+            assertThat(session.advanced().getNumberOfRequests())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void cachesOnlyConfiguredCollections() {
+        store.close();
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().documentSnapshotCache().setEnabled(true);
+        store.getConventions().documentSnapshotCache().setCollections(Collections.singletonList("Orders"));
+        store.initialize();
+
+        DocumentSnapshotCache cache = store.getDocumentSnapshotCache("db");
+
+        for (int i = 0; i < 3; i++) {
+            try (IDocumentSession session = store.openSession()) {
+                session.load(User.class, "users/1");
+            }
+        }
+
+        assertThat(cache.getNumberOfDocuments())
+                .isZero();
+    }
+
+    @Test
+    public void isDisabledByDefault() {
+        try (DocumentStore defaultStore = new DocumentStore(cluster.getUrls(), "db")) {
+            defaultStore.initialize();
+
+            assertThat(defaultStore.getDocumentSnapshotCache("db"))
+                    .isNull();
+        }
+    }
+
+    private void waitForCached(String id) {
+        // cache is ready after the changes connection is established
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            try (IDocumentSession session = store.openSession()) {
+                session.load(User.class, id);
+
+                if (session.advanced().getNumberOfRequests() == 0) {
+                    return;
+                }
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        throw new AssertionError("Document " + id + " was not cached");
+    }
+
+    private static ObjectNode document(String id, String changeVector) {
+        ObjectNode document = JsonNodeFactory.instance.objectNode();
+        document.put("name", id);
+
+        ObjectNode metadata = document.putObject(Constants.Documents.Metadata.KEY);
+        metadata.put(Constants.Documents.Metadata.ID, id);
+        metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, changeVector);
+        metadata.put(Constants.Documents.Metadata.COLLECTION, "Users");
+        return document;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        return user;
+    }
+}
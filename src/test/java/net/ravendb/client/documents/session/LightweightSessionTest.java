@@ -0,0 +1,102 @@
+package net.ravendb.client.documents.session;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.primitives.EventHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LightweightSessionTest {
+
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        // server is never contacted
+        store = new DocumentStore("http://127.0.0.1:1", "db");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void sessionIdIsGeneratedOnFirstAccess() {
+        try (IDocumentSession session = store.openSession()) {
+            UUID id = ((InMemoryDocumentSessionOperations) session).getId();
+            assertThat(id)
+                    .isNotNull()
+                    .isEqualTo(((InMemoryDocumentSessionOperations) session).getId());
+        }
+
+        UUID explicitId = UUID.randomUUID();
+        DocumentSession session = new DocumentSession(store, explicitId, new SessionOptions());
+        assertThat(session.getId())
+                .isEqualTo(explicitId);
+    }
+
+    @Test
+    public void canTrackEntitiesWithoutListeners() {
+        try (IDocumentSession session = store.openSession()) {
+            User user = new User();
+            session.store(user, "users/1");
+
+            assertThat(session.advanced().isLoaded("USERS/1"))
+                    .isTrue();
+            assertThat(session.advanced().getDocumentId(user))
+                    .isEqualTo("users/1");
+
+            session.advanced().evict(user);
+            assertThat(session.advanced().isLoaded("users/1"))
+                    .isFalse();
+
+            session.store(new User(), "users/2");
+            session.advanced().clear();
+            assertThat(((InMemoryDocumentSessionOperations) session).getNumberOfEntitiesInUnitOfWork())
+                    .isZero();
+        }
+    }
+
+    @Test
+    public void listenersCanBeAddedAndRemoved() {
+        List<String> closed = new ArrayList<>();
+        EventHandler<SessionClosingEventArgs> handler = (sender, event) -> closed.add("closed");
+
+        InMemoryDocumentSessionOperations session = (InMemoryDocumentSessionOperations) store.openSession();
+        session.removeOnSessionClosingListener(handler);
+        session.addOnSessionClosingListener(handler);
+        session.close();
+
+        assertThat(closed)
+                .containsExactly("closed");
+
+        session = (InMemoryDocumentSessionOperations) store.openSession();
+        session.addOnSessionClosingListener(handler);
+        session.removeOnSessionClosingListener(handler);
+        session.close();
+
+        assertThat(closed)
+                .hasSize(1);
+    }
+
+    public static class User {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package net.ravendb.client.documents.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.ReadBalanceBehavior;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagedQueryIteratorTest {
+
+    private static final int DOCUMENTS_COUNT = 5;
+
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+    private final List<ObjectNode> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private HttpServer server;
+    private DocumentStore store;
+    private volatile long resultEtag = 1;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/databases/db/queries", this::handleQuery);
+        server.start();
+
+        store = new DocumentStore("http://127.0.0.1:" + server.getAddress().getPort(), "db");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void iteratesOverAllPages() {
+        for (boolean prefetch : new boolean[] { false, true }) {
+            requests.clear();
+
+            List<String> names = new ArrayList<>();
+
+            try (IDocumentSession session = store.openSession()) {
+                try (PagedQueryIterator<User> iterator = session.query(User.class).toPagedIterator(2, prefetch)) {
+                    iterator.forEachRemaining(user -> names.add(user.getName()));
+                }
+
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(3);
+            }
+
+            assertThat(names)
+                    .containsExactly("user0", "user1", "user2", "user3", "user4");
+
+            assertThat(requests)
+                    .extracting(request -> request.get("QueryParameters").size())
+                    .containsOnly(2);
+        }
+    }
+
+    @Test
+    public void honorsSkipAndTakeOfQuery() {
+        List<String> names = new ArrayList<>();
+
+        try (IDocumentSession session = store.openSession()) {
+            try (PagedQueryIterator<User> iterator = session.query(User.class).skip(1).take(3).toPagedIterator(2, true)) {
+                iterator.forEachRemaining(user -> names.add(user.getName()));
+            }
+        }
+
+        assertThat(names)
+                .containsExactly("user1", "user2", "user3");
+    }
+
+    @Test
+    public void pinsStatisticsOfFirstPage() {
+        Reference<QueryStatistics> stats = new Reference<>();
+
+        try (IDocumentSession session = store.openSession()) {
+            try (PagedQueryIterator<User> iterator = session.query(User.class).statistics(stats).toPagedIterator(2, false)) {
+                assertThat(iterator.next().getName())
+                        .isEqualTo("user0");
+
+                resultEtag = 2;
+                iterator.forEachRemaining(user -> {});
+
+                assertThat(iterator.isResultsChanged())
+                        .isTrue();
+            }
+        }
+
+        assertThat(stats.value.getResultEtag())
+                .isEqualTo(1L);
+        assertThat(stats.value.getTotalResults())
+                .isEqualTo(DOCUMENTS_COUNT);
+    }
+
+    @Test
+    public void prefetchUsesCopyOfSessionInfo() throws Exception {
+        try (DocumentStore roundRobinStore = new DocumentStore(store.getUrls(), "db")) {
+            roundRobinStore.getConventions().setDisableTopologyUpdates(true);
+            roundRobinStore.getConventions().setReadBalanceBehavior(ReadBalanceBehavior.ROUND_ROBIN);
+            roundRobinStore.initialize();
+
+            // session ids are generated per thread
+            for (int i = 0; i < 3; i++) {
+                try (IDocumentSession session = roundRobinStore.openSession()) {
+                    ((InMemoryDocumentSessionOperations) session).getSessionInfo().getSessionId();
+                }
+            }
+
+            try (IDocumentSession session = roundRobinStore.openSession()) {
+                SessionInfo sessionInfo = ((InMemoryDocumentSessionOperations) session).getSessionInfo();
+                SessionInfo copy = new SessionInfo(sessionInfo);
+
+                // copy is used by prefetch thread, it has to choose the node of the session
+                assertThat(CompletableFuture.supplyAsync(copy::getSessionId).get())
+                        .isEqualTo(sessionInfo.getSessionId());
+
+                sessionInfo.setNoCaching(true);
+
+                assertThat(copy.isNoCaching())
+                        .isFalse();
+            }
+        }
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        ObjectNode request = (ObjectNode) mapper.readTree(exchange.getRequestBody());
+        requests.add(request);
+
+        String query = request.get("Query").asText();
+        String[] limit = query.substring(query.indexOf(" limit ") + 7).split(", ");
+        int start = request.get("QueryParameters").get(limit[0].substring(1)).asInt();
+        int pageSize = request.get("QueryParameters").get(limit[1].substring(1)).asInt();
+
+        StringBuilder results = new StringBuilder();
+        for (int i = start; i < Math.min(start + pageSize, DOCUMENTS_COUNT); i++) {
+            if (results.length() > 0) {
+                results.append(",");
+            }
+            results.append("{\"name\":\"user").append(i).append("\",\"@metadata\":{\"@id\":\"users/").append(i)
+                    .append("\",\"@change-vector\":\"A:").append(i).append("\",\"@collection\":\"Users\"}}");
+        }
+
+        byte[] body = ("{\"TotalResults\":" + DOCUMENTS_COUNT + ",\"SkippedResults\":0,\"ResultEtag\":" + resultEtag
+                + ",\"IndexName\":\"Auto/Users\",\"Results\":[" + results + "],\"Includes\":{}}").getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    public static class User {
+        private String id;
+        private String name;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package net.ravendb.client.documents.session.operations;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.commands.QueryCommand;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.SessionOptions;
+import net.ravendb.client.documents.session.tokens.FieldsToFetchToken;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QueryResultDecoderTest {
+
+    private static final String DOCUMENTS = "{\"TotalResults\":3,\"IndexName\":\"Auto/Users\",\"IncludedPaths\":null,\"Results\":[" +
+            document("users/1", "John", 30) + "," +
+            document("users/2", "Jane", 25) + "," +
+            document("users/3", "Bob", 40) +
+            "],\"Includes\":{},\"IsStale\":false}";
+
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        // server is never contacted
+        store = new DocumentStore("http://127.0.0.1:1", "db");
+        store.getConventions().setDisableTopologyUpdates(true);
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void decodesNotTrackedDocumentsLikeJsonTrees() throws IOException {
+        try (IDocumentSession session = store.openSession()) {
+            InMemoryDocumentSessionOperations operations = (InMemoryDocumentSessionOperations) session;
+
+            QueryOperation decoded = execute(operations, User.class, null, true, DOCUMENTS);
+            QueryOperation regular = execute(operations, null, null, true, DOCUMENTS);
+
+            List<User> users = decoded.complete(User.class);
+
+            assertThat(users)
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .isEqualTo(regular.complete(User.class));
+
+            assertThat(users)
+                    .extracting(User::getId)
+                    .containsExactly("users/1", "users/2", "users/3");
+
+            assertThat(decoded.getCurrentQueryResults().getTotalResults())
+                    .isEqualTo(3);
+            assertThat(decoded.getCurrentQueryResults().getIndexName())
+                    .isEqualTo("Auto/Users");
+
+            assertThat(operations.getNumberOfEntitiesInUnitOfWork())
+                    .isZero();
+        }
+    }
+
+    @Test
+    public void resultsAreReadFromResponseWhenRequested() throws IOException {
+        try (IDocumentSession session = store.openSession()) {
+            QueryOperation operation = execute((InMemoryDocumentSessionOperations) session, User.class, null, true, DOCUMENTS);
+
+            assertThat(operation.getCurrentQueryResults().getResults())
+                    .hasSize(3);
+            assertThat(operation.getCurrentQueryResults().getResults().get(1).get("name").asText())
+                    .isEqualTo("Jane");
+
+            // decoded entities are still used
+            assertThat(operation.complete(User.class))
+                    .extracting(User::getName)
+                    .containsExactly("John", "Jane", "Bob");
+
+            // and following completions go through json trees
+            assertThat(operation.complete(User.class))
+                    .extracting(User::getName)
+                    .containsExactly("John", "Jane", "Bob");
+        }
+    }
+
+    @Test
+    public void documentsKnownToSessionAreReturnedFromSession() throws IOException {
+        try (IDocumentSession session = store.openSession()) {
+            User tracked = new User();
+            tracked.setName("Local");
+            session.store(tracked, "users/2");
+
+            QueryOperation operation = execute((InMemoryDocumentSessionOperations) session, User.class, null, true, DOCUMENTS);
+
+            List<User> users = operation.complete(User.class);
+            assertThat(users.get(1))
+                    .isSameAs(tracked);
+            assertThat(users.get(0).getName())
+                    .isEqualTo("John");
+        }
+    }
+
+    @Test
+    public void decodesProjectionsOfTrackingQueries() throws IOException {
+        String response = "{\"TotalResults\":2,\"Results\":[" +
+                "{\"name\":\"John\",\"age\":30,\"@metadata\":{\"@projection\":true,\"@id\":\"users/1\"}}," +
+                "{\"name\":\"Jane\",\"age\":25,\"@metadata\":{\"@projection\":true,\"@id\":\"users/2\"}}" +
+                "]}";
+
+        FieldsToFetchToken fieldsToFetch = FieldsToFetchToken.create(new String[] { "name", "age" }, new String[] { "name", "age" }, false);
+
+        try (IDocumentSession session = store.openSession()) {
+            InMemoryDocumentSessionOperations operations = (InMemoryDocumentSessionOperations) session;
+
+            QueryOperation operation = execute(operations, NameAndAge.class, fieldsToFetch, false, response);
+
+            assertThat(operation.complete(NameAndAge.class))
+                    .extracting(NameAndAge::getName)
+                    .containsExactly("John", "Jane");
+
+            assertThat(operations.getNumberOfEntitiesInUnitOfWork())
+                    .isZero();
+        }
+    }
+
+    @Test
+    public void trackingQueriesOfDocumentsAreNotDecoded() {
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(QueryResultDecoder.create((InMemoryDocumentSessionOperations) session, User.class, null, false))
+                    .isNull();
+        }
+
+        SessionOptions options = new SessionOptions();
+        options.setNoTracking(true);
+        try (IDocumentSession session = store.openSession(options)) {
+            assertThat(QueryResultDecoder.create((InMemoryDocumentSessionOperations) session, User.class, null, false))
+                    .isNotNull();
+        }
+    }
+
+    @Test
+    public void listenersOfConversionRequireJsonTrees() {
+        try (IDocumentSession session = store.openSession()) {
+            InMemoryDocumentSessionOperations operations = (InMemoryDocumentSessionOperations) session;
+            operations.addAfterConversionToEntityListener((sender, event) -> {});
+
+            assertThat(QueryResultDecoder.create(operations, User.class, null, true))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void facetResultsAreRejected() throws IOException {
+        String response = "{\"TotalResults\":1,\"Results\":[{\"Name\":\"Age\",\"Values\":[],\"RemainingTerms\":[],\"RemainingTermsCount\":0,\"RemainingHits\":0}]}";
+
+        try (IDocumentSession session = store.openSession()) {
+            QueryOperation operation = execute((InMemoryDocumentSessionOperations) session, User.class, null, true, response);
+
+            assertThatThrownBy(() -> operation.complete(User.class))
+                    .isExactlyInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("executeAggregation");
+        }
+    }
+
+    private static QueryOperation execute(InMemoryDocumentSessionOperations session, Class<?> clazz, FieldsToFetchToken fieldsToFetch,
+                                          boolean noTracking, String response) throws IOException {
+        QueryOperation operation = new QueryOperation(session, "Auto/Users", new IndexQuery("from Users"), fieldsToFetch,
+                noTracking, false, false, false);
+
+        QueryCommand command = operation.createRequest(clazz);
+        command.setResponse(response, false);
+        operation.setResult(command.getResult());
+
+        return operation;
+    }
+
+    private static String document(String id, String name, int age) {
+        return "{\"name\":\"" + name + "\",\"age\":" + age + ",\"count\":0," +
+                "\"@metadata\":{\"@collection\":\"Users\",\"@change-vector\":\"A:1-abc\",\"@id\":\"" + id + "\"," +
+                "\"Raven-Java-Type\":\"" + User.class.getName() + "\"}}";
+    }
+
+    public static class NameAndAge {
+        private String name;
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
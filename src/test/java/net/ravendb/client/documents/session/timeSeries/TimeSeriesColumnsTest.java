@@ -0,0 +1,101 @@
+package net.ravendb.client.documents.session.timeSeries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeSeriesColumnsTest {
+
+    @Test
+    public void canBuildAndReadColumns() {
+        TimeSeriesColumns columns = TimeSeriesColumns.builder()
+                .add(1000, new double[] { 1, 2 }, "a")
+                .add(2000, new double[] { 3 }, null)
+                .add(3000, new double[] { 4, 5, 6 }, "a")
+                .build();
+
+        assertThat(columns.size())
+                .isEqualTo(3);
+        assertThat(columns.getTimestamps())
+                .containsExactly(1000, 2000, 3000);
+        assertThat(columns.getValues(2))
+                .containsExactly(4, 5, 6);
+        assertThat(columns.getValuesCount(1))
+                .isEqualTo(1);
+        assertThat(columns.getTag(0))
+                .isEqualTo("a");
+        assertThat(columns.getTag(1))
+                .isNull();
+        assertThat(columns.getTagDictionary())
+                .containsExactly("a");
+        assertThat(columns.getValuesColumn(1))
+                .containsExactly(2, Double.NaN, 5);
+    }
+
+    @Test
+    public void sortsAndDeduplicatesEntries() {
+        TimeSeriesColumns columns = TimeSeriesColumns.builder()
+                .add(3000, 3)
+                .add(1000, 1)
+                .add(2000, 2)
+                .add(1000, 10)
+                .build();
+
+        assertThat(columns.getTimestamps())
+                .containsExactly(1000, 2000, 3000);
+        assertThat(columns.getValue(0, 0))
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void canQueryRanges() {
+        TimeSeriesColumns.Builder builder = TimeSeriesColumns.builder();
+        for (int i = 0; i < 10; i++) {
+            builder.add(i * 1000L, i);
+        }
+        TimeSeriesColumns columns = builder.build();
+
+        TimeSeriesColumns range = columns.range(new Date(2000), new Date(4500));
+        assertThat(range.getTimestamps())
+                .containsExactly(2000, 3000, 4000);
+        assertThat(range.getValue(0, 0))
+                .isEqualTo(2);
+
+        assertThat(columns.range(null, new Date(0)).size())
+                .isEqualTo(1);
+        assertThat(columns.range(new Date(20000), null).isEmpty())
+                .isTrue();
+    }
+
+    @Test
+    public void canMergeAndConvertToEntries() {
+        TimeSeriesColumns first = TimeSeriesColumns.builder()
+                .add(1000, 1)
+                .add(2000, 2)
+                .build();
+
+        TimeSeriesColumns second = TimeSeriesColumns.builder()
+                .add(2000, 20)
+                .add(3000, 30)
+                .build();
+
+        TimeSeriesColumns merged = TimeSeriesColumns.merge(Arrays.asList(first, second));
+        assertThat(merged.getTimestamps())
+                .containsExactly(1000, 2000, 3000);
+        assertThat(merged.getValue(1, 0))
+                .isEqualTo(20);
+
+        TimeSeriesEntry[] entries = merged.toEntries();
+        assertThat(entries)
+                .hasSize(3);
+        assertThat(entries[2].getTimestamp())
+                .isEqualTo(new Date(3000));
+
+        TimeSeriesColumns roundTrip = TimeSeriesColumns.fromEntries(entries);
+        assertThat(roundTrip.getTimestamps())
+                .containsExactly(merged.getTimestamps());
+    }
+}
@@ -0,0 +1,38 @@
+package net.ravendb.client.documents.smuggler;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SmugglerCheckpointTest {
+
+    @Test
+    public void canResumeFromCheckpoint() throws Exception {
+        Path directory = Files.createTempDirectory("smuggler-checkpoint-");
+        Path path = directory.resolve("checkpoint");
+
+        try (SmugglerCheckpoint checkpoint = new SmugglerCheckpoint(path)) {
+            checkpoint.markCompleted("collection-Users.ravendbdump");
+            checkpoint.markCompleted("collection-Orders.ravendbdump");
+            checkpoint.markCompleted("collection-Users.ravendbdump");
+        }
+
+        assertThat(Files.readAllLines(path))
+                .containsExactly("collection-Users.ravendbdump", "collection-Orders.ravendbdump");
+
+        try (SmugglerCheckpoint checkpoint = new SmugglerCheckpoint(path)) {
+            assertThat(checkpoint.isCompleted("collection-Users.ravendbdump"))
+                    .isTrue();
+            assertThat(checkpoint.isCompleted("database.ravendbdump"))
+                    .isFalse();
+
+            checkpoint.complete();
+        }
+
+        assertThat(path)
+                .doesNotExist();
+    }
+}
@@ -1,9 +1,13 @@
 package net.ravendb.client.extensions;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.primitives.NetISO8601Utils;
 import net.ravendb.client.util.TimeUtils;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -48,6 +52,39 @@ public class JsonExtensionsTest {
                 .isEqualTo("PT0.1234S");
     }
 
+    @Test
+    public void canSerializeAndDeserializeDates() throws Exception {
+        Date date = NetISO8601Utils.parse("2020-05-01T10:20:30.123Z");
+
+        for (ObjectMapper mapper : new ObjectMapper[] { JsonExtensions.getDefaultMapper(), JsonExtensions.getDefaultEntityMapper() }) {
+            DateHolder holder = new DateHolder();
+            holder.date = date;
+            holder.epoch = date;
+
+            String json = mapper.writeValueAsString(holder);
+            assertThat(json)
+                    .contains("\"2020-05-01T10:20:30.1230000Z\"")
+                    .contains(String.valueOf(date.getTime()));
+
+            DateHolder read = mapper.readValue(json, DateHolder.class);
+            assertThat(read.date)
+                    .isEqualTo(date);
+            assertThat(read.epoch)
+                    .isEqualTo(date);
+
+            assertThat(mapper.readValue("\"2020-05-01T12:20:30.123+02:00\"", Date.class))
+                    .isEqualTo(date);
+            assertThat(mapper.readValue("\"\"", Date.class))
+                    .isNull();
+        }
+    }
+
+    public static class DateHolder {
+        public Date date;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        public Date epoch;
+    }
 
     private static String serialize(Duration duration) {
         return TimeUtils.durationToTimeSpan(duration);
@@ -0,0 +1,142 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubNode;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FirstTopologyUpdateTest {
+
+    private StubCluster cluster;
+    private ExecutorService executorService;
+    private File cacheLocation;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        cluster = new StubCluster("db", 3);
+        executorService = Executors.newCachedThreadPool();
+        cacheLocation = Files.createTempDirectory("topology-cache-").toFile();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        cluster.close();
+        executorService.shutdownNow();
+        FileUtils.deleteDirectory(cacheLocation);
+    }
+
+    @Test
+    public void slowFirstNodeDoesNotDelayStartup() throws Exception {
+        cluster.getNode("A").setLatency(Duration.ofSeconds(5));
+
+        try (RequestExecutor executor = createExecutor(new DocumentConventions())) {
+            executor._firstTopologyUpdate.get(3, TimeUnit.SECONDS);
+
+            assertThat(executor.getTopologyNodes())
+                    .hasSize(3);
+        }
+    }
+
+    @Test
+    public void nextUrlIsTriedRightAfterFailure() throws Exception {
+        cluster.getNode("A").setDown(true);
+
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.topology().setFirstUpdateStaggerDelay(Duration.ofSeconds(30));
+
+        try (RequestExecutor executor = createExecutor(conventions)) {
+            executor._firstTopologyUpdate.get(10, TimeUnit.SECONDS);
+
+            assertThat(executor.getTopologyNodes())
+                    .hasSize(3);
+        }
+    }
+
+    @Test
+    public void usesCachedTopologyWhenAllNodesAreDown() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.topology().setCacheLocation(cacheLocation);
+
+        try (RequestExecutor executor = createExecutor(conventions)) {
+            executor._firstTopologyUpdate.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(cacheLocation.listFiles())
+                .hasSize(1);
+
+        for (StubNode node : cluster.getNodes()) {
+            node.setDown(true);
+        }
+
+        try (RequestExecutor executor = createExecutor(conventions)) {
+            executor._firstTopologyUpdate.get(10, TimeUnit.SECONDS);
+
+            assertThat(executor.getTopologyNodes().stream().map(ServerNode::getClusterTag).collect(Collectors.toList()))
+                    .containsExactly("A", "B", "C");
+            assertThat(executor.getTopology().getEtag())
+                    .isEqualTo(cluster.getTopologyEtag());
+        }
+    }
+
+    @Test
+    public void cachedTopologyIsAnnounced() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.topology().setCacheLocation(cacheLocation);
+
+        try (RequestExecutor executor = createExecutor(conventions)) {
+            executor._firstTopologyUpdate.get(10, TimeUnit.SECONDS);
+        }
+
+        for (StubNode node : cluster.getNodes()) {
+            node.setDown(true);
+        }
+
+        List<Topology> announced = new CopyOnWriteArrayList<>();
+
+        // listener has to be registered before the first update starts
+        try (RequestExecutor executor = new RequestExecutor("db", null, null, null, conventions, executorService, cluster.getUrls(), null)) {
+            executor.addOnTopologyUpdatedListener((sender, event) -> announced.add(event.getTopology()));
+
+            executor.firstTopologyUpdate(cluster.getUrls()).get(10, TimeUnit.SECONDS);
+
+            assertThat(announced)
+                    .containsExactly(executor.getTopology());
+        }
+    }
+
+    @Test
+    public void cachedTopologyIsIgnoredForDifferentUrls() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        conventions.topology().setCacheLocation(cacheLocation);
+
+        try (RequestExecutor executor = createExecutor(conventions)) {
+            executor._firstTopologyUpdate.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(TopologyLocalCache.tryLoad(cacheLocation, "db", cluster.getUrls()))
+                .isNotNull();
+        assertThat(TopologyLocalCache.tryLoad(cacheLocation, "db", new String[] { cluster.getUrls()[0] }))
+                .isNull();
+        assertThat(TopologyLocalCache.tryLoad(cacheLocation, "other", cluster.getUrls()))
+                .isNull();
+    }
+
+    private RequestExecutor createExecutor(DocumentConventions conventions) {
+        return RequestExecutor.create(cluster.getUrls(), "db", null, null, null, executorService, conventions);
+    }
+}
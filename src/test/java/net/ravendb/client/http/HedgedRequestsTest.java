@@ -0,0 +1,190 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubNode;
+import net.ravendb.client.infrastructure.stub.StubResponse;
+import net.ravendb.client.metrics.IClientMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HedgedRequestsTest {
+
+    private StubCluster cluster;
+    private StubNode nodeA;
+    private StubNode nodeB;
+    private DocumentStore store;
+
+    private final List<String> succeededDocumentRequests = new CopyOnWriteArrayList<>();
+    private final List<String> failedDocumentRequests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 2);
+        nodeA = cluster.getNode("A");
+        nodeB = cluster.getNode("B");
+
+        User user = new User();
+        user.setName("John");
+        cluster.getDatabase().put("users/1", user);
+
+        initializeStore(false);
+    }
+
+    private void initializeStore(boolean limitConcurrency) {
+        store = new DocumentStore(cluster.getUrls(), "db");
+        if (limitConcurrency) {
+            store.getConventions().concurrencyLimit().setEnabled(true);
+            store.getConventions().concurrencyLimit().setFailureThreshold(2);
+        }
+        store.getConventions().hedging().setEnabled(true);
+        store.getConventions().hedging().setDelay(Duration.ofMillis(20));
+        store.getConventions().hedging().setMaxHedgedRequestsPercentage(100);
+        store.setMetrics(new IClientMetrics() {
+            @Override
+            public void onRequest(String database, ServerNode node, Class<?> commandType, int statusCode, long elapsedNanos) {
+                if (commandType == GetDocumentsCommand.class) {
+                    succeededDocumentRequests.add(node.getClusterTag() + ":" + statusCode);
+                }
+            }
+
+            @Override
+            public void onRequestFailed(String database, ServerNode node, Class<?> commandType, long elapsedNanos, Exception error) {
+                if (commandType == GetDocumentsCommand.class) {
+                    failedDocumentRequests.add(node.getClusterTag());
+                }
+            }
+        });
+        store.initialize();
+
+        // collects hedging budget, node A is preferred
+        for (int i = 0; i < 5; i++) {
+            assertLoaded();
+        }
+
+        assertThat(preferredNode())
+                .isEqualTo("A");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void errorOfChosenNodeDoesNotWinOverHedge() {
+        nodeA.handle("/databases/db/docs", (node, request) -> {
+            sleep(60);
+            return StubResponse.error(500, "System.InvalidOperationException", "Failure");
+        });
+        nodeB.setLatency(Duration.ofMillis(150));
+
+        long hedged = store.getRequestExecutor().numberOfHedgedRequests.get();
+
+        assertLoaded();
+
+        assertThat(store.getRequestExecutor().numberOfHedgedRequests.get())
+                .isEqualTo(hedged + 1);
+        assertThat(succeededDocumentRequests)
+                .contains("A:500", "B:200");
+    }
+
+    @Test
+    public void errorOfHedgeDoesNotFailOverChosenNode() {
+        nodeA.setLatency(Duration.ofMillis(150));
+        nodeB.addFault("/databases/db/docs", 503, -1);
+
+        long hedged = store.getRequestExecutor().numberOfHedgedRequests.get();
+
+        assertLoaded();
+
+        assertThat(store.getRequestExecutor().numberOfHedgedRequests.get())
+                .isEqualTo(hedged + 1);
+        assertThat(succeededDocumentRequests)
+                .contains("A:200", "B:503");
+
+        // node A answered, so it is still the preferred one
+        assertThat(preferredNode())
+                .isEqualTo("A");
+    }
+
+    @Test
+    public void lostRaceIsNotFailureOfChosenNode() {
+        store.close();
+        initializeStore(true);
+
+        nodeA.setLatency(Duration.ofMillis(150));
+        failedDocumentRequests.clear();
+
+        long hedged = store.getRequestExecutor().numberOfHedgedRequests.get();
+
+        for (int i = 0; i < 5; i++) {
+            assertLoaded();
+        }
+
+        assertThat(store.getRequestExecutor().numberOfHedgedRequests.get())
+                .isGreaterThanOrEqualTo(hedged + 2);
+
+        // requests aborted after losing to the hedge neither fail nor open circuit breaker of A
+        assertThat(failedDocumentRequests)
+                .isEmpty();
+        assertThat(preferredNode())
+                .isEqualTo("A");
+    }
+
+    @Test
+    public void timeoutAbortsChosenNodeAndHedgeRequests() throws Exception {
+        store.getRequestExecutor().setDefaultTimeout(Duration.ofMillis(100));
+
+        nodeA.setLatency(Duration.ofMillis(400));
+        nodeB.setLatency(Duration.ofMillis(400));
+
+        int succeeded = succeededDocumentRequests.size();
+        long hedged = store.getRequestExecutor().numberOfHedgedRequests.get();
+
+        assertThatThrownBy(this::assertLoaded)
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(store.getRequestExecutor().numberOfHedgedRequests.get())
+                .isGreaterThan(hedged);
+
+        // nodes would answer by now, if the requests were still running
+        Thread.sleep(600);
+
+        assertThat(succeededDocumentRequests)
+                .hasSize(succeeded);
+        assertThat(failedDocumentRequests)
+                .contains("A", "B");
+    }
+
+    private void assertLoaded() {
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(User.class, "users/1").getName())
+                    .isEqualTo("John");
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String preferredNode() {
+        return store.getRequestExecutor().getPreferredNode().currentNode.getClusterTag();
+    }
+}
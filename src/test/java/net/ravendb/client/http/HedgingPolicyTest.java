@@ -0,0 +1,73 @@
+package net.ravendb.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void usesObservedPercentileWhenDelayIsNotSet() {
+        HedgingPolicy policy = new HedgingPolicy(null, 5);
+
+        assertThat(policy.getHedgeDelayNanos())
+                .isEqualTo(-1);
+
+        for (int i = 0; i < 95; i++) {
+            policy.onReadCompleted(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        for (int i = 0; i < 5; i++) {
+            policy.onReadCompleted(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        // log-linear buckets are accurate within 25%
+        assertThat(policy.getHedgeDelayNanos())
+                .isBetween(TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MICROSECONDS.toNanos(2500));
+        assertThat(policy.getPercentileNanos(0.99))
+                .isBetween(TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(625));
+    }
+
+    @Test
+    public void usesConfiguredDelay() {
+        HedgingPolicy policy = new HedgingPolicy(Duration.ofMillis(30), 5);
+
+        assertThat(policy.getHedgeDelayNanos())
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    public void hedgesAreLimitedByBudget() {
+        HedgingPolicy policy = new HedgingPolicy(Duration.ofMillis(30), 10);
+
+        assertThat(policy.tryAcquireHedge())
+                .isFalse();
+
+        for (int i = 0; i < 100; i++) {
+            policy.onReadCompleted(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        int hedges = 0;
+        while (policy.tryAcquireHedge()) {
+            hedges++;
+        }
+
+        assertThat(hedges)
+                .isEqualTo(10);
+
+        // budget doesn't accumulate above the cap
+        for (int i = 0; i < 10_000; i++) {
+            policy.onReadCompleted(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        hedges = 0;
+        while (policy.tryAcquireHedge()) {
+            hedges++;
+        }
+
+        assertThat(hedges)
+                .isEqualTo(10);
+    }
+}
@@ -0,0 +1,118 @@
+package net.ravendb.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    public void rejectsRequestsAboveLimit() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(2, 30, 5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onSuccess(FAST);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void limitGrowsAdditivelyAndShrinksOnLatencySpikes() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(4, 8, 5);
+
+        for (int i = 0; i < 200; i++) {
+            fillAndComplete(limiter, FAST);
+        }
+
+        assertThat(limiter.getLimit())
+                .isEqualTo(8);
+
+        for (int i = 0; i < 10; i++) {
+            fillAndComplete(limiter, SLOW);
+        }
+
+        assertThat(limiter.getLimit())
+                .isLessThan(8);
+        assertThat(limiter.getState())
+                .isEqualTo(NodeConcurrencyLimiter.State.CLOSED);
+    }
+
+    @Test
+    public void cancelledRequestReleasesSlotOnly() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(2, 30, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onCancelled();
+        }
+
+        assertThat(limiter.getInFlight())
+                .isZero();
+        assertThat(limiter.getLimit())
+                .isEqualTo(2);
+        assertThat(limiter.getState())
+                .isEqualTo(NodeConcurrencyLimiter.State.CLOSED);
+    }
+
+    @Test
+    public void circuitBreakerOpensAndRecoversThroughHalfOpen() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(8, 30, 3);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            assertThat(limiter.onFailure()).isFalse();
+        }
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.onFailure()).isTrue();
+        assertThat(limiter.getState())
+                .isEqualTo(NodeConcurrencyLimiter.State.OPEN);
+
+        // single probe at a time
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onSuccess(FAST);
+        assertThat(limiter.getState())
+                .isEqualTo(NodeConcurrencyLimiter.State.HALF_OPEN);
+        assertThat(limiter.getLimit())
+                .isEqualTo(1);
+
+        // failure during half open opens the breaker again
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.onFailure()).isTrue();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onSuccess(FAST);
+
+        // slow start back to initial limit
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getState())
+                .isEqualTo(NodeConcurrencyLimiter.State.CLOSED);
+        assertThat(limiter.getLimit())
+                .isEqualTo(8);
+    }
+
+    private static void fillAndComplete(NodeConcurrencyLimiter limiter, long latency) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(latency);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package net.ravendb.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeSelectorTest {
+
+    @Test
+    public void leastLatencyAvoidsSlowAndFailedNodes() {
+        Topology topology = createTopology(1L, "A", "B", "C");
+
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            List<ServerNode> nodes = topology.getNodes();
+            recordLatency(selector, 0, nodes.get(0), 2);
+            recordLatency(selector, 1, nodes.get(1), 200);
+            recordLatency(selector, 2, nodes.get(2), 3);
+
+            int[] hits = new int[3];
+            for (int i = 0; i < 3000; i++) {
+                hits[selector.getLeastLatencyNode().currentIndex]++;
+            }
+
+            // slow node can be picked only when it is compared with itself, which never happens
+            assertThat(hits[1])
+                    .isZero();
+            assertThat(hits[0])
+                    .isGreaterThan(hits[2]);
+
+            selector.onFailedRequest(0);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(selector.getLeastLatencyNode().currentIndex)
+                        .isNotEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    public void leastLatencyTakesRequestsInFlightIntoAccount() {
+        Topology topology = createTopology(1L, "A", "B");
+
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            List<ServerNode> nodes = topology.getNodes();
+            recordLatency(selector, 0, nodes.get(0), 10);
+            recordLatency(selector, 1, nodes.get(1), 15);
+
+            assertThat(selector.getLeastLatencyNode().currentIndex)
+                    .isEqualTo(0);
+
+            for (int i = 0; i < 5; i++) {
+                selector.onRequestStarted(0, nodes.get(0));
+            }
+
+            assertThat(selector.getLeastLatencyNode().currentIndex)
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void hedgeNodeIsFastestOtherAvailableNode() {
+        Topology topology = createTopology(1L, "A", "B", "C");
+
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            List<ServerNode> nodes = topology.getNodes();
+            recordLatency(selector, 0, nodes.get(0), 1);
+            recordLatency(selector, 1, nodes.get(1), 50);
+            recordLatency(selector, 2, nodes.get(2), 5);
+
+            assertThat(selector.getHedgeNode(0).currentIndex)
+                    .isEqualTo(2);
+            assertThat(selector.getHedgeNode(2).currentIndex)
+                    .isEqualTo(0);
+
+            selector.onFailedRequest(2);
+            assertThat(selector.getHedgeNode(0).currentIndex)
+                    .isEqualTo(1);
+
+            selector.onFailedRequest(1);
+            assertThat(selector.getHedgeNode(0))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void latencyStatsSurviveTopologyUpdate() {
+        Topology topology = createTopology(1L, "A", "B");
+
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            recordLatency(selector, 0, topology.getNodes().get(0), 100);
+
+            Topology newTopology = createTopology(2L, "C", "B", "A");
+            assertThat(selector.onUpdateTopology(newTopology))
+                    .isTrue();
+
+            NodeSelector.NodeLatencyStats stats = selector.onRequestStarted(2, newTopology.getNodes().get(2));
+            assertThat(stats)
+                    .isNotNull();
+            assertThat(stats.getLatencyNanos())
+                    .isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+            // stale node instance is ignored
+            assertThat(selector.onRequestStarted(0, topology.getNodes().get(0)))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void topologyUpdateAcceptsNodesWithoutClusterTag() {
+        // initial topology created from urls doesn't know cluster tags
+        Topology topology = createTopology(1L, "A");
+        topology.getNodes().get(0).setClusterTag(null);
+
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            Topology newTopology = createTopology(2L, "A");
+
+            assertThat(selector.onUpdateTopology(newTopology))
+                    .isTrue();
+        }
+    }
+
+    private static void recordLatency(NodeSelector selector, int index, ServerNode node, long millis) {
+        NodeSelector.NodeLatencyStats stats = selector.onRequestStarted(index, node);
+        stats.onRequestCompleted(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static Topology createTopology(long etag, String... tags) {
+        List<ServerNode> nodes = new ArrayList<>();
+        for (String tag : tags) {
+            ServerNode node = new ServerNode();
+            node.setUrl("http://" + tag.toLowerCase() + ":8080");
+            node.setDatabase("db1");
+            node.setClusterTag(tag);
+            node.setServerRole(ServerNode.Role.MEMBER);
+            nodes.add(node);
+        }
+
+        Topology topology = new Topology();
+        topology.setEtag(etag);
+        topology.setNodes(nodes);
+        return topology;
+    }
+}
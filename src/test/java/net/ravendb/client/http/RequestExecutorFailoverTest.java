@@ -0,0 +1,219 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.infrastructure.stub.StubNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestExecutorFailoverTest {
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 3);
+
+        User user = new User();
+        user.setName("John");
+        cluster.getDatabase().put("users/1", user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+        cluster.close();
+    }
+
+    @Test
+    public void failsOverWhenPreferredNodeIsDown() {
+        initializeStore(ReadBalanceBehavior.NONE);
+
+        assertLoaded();
+
+        StubNode nodeA = cluster.getNode("A");
+        StubNode nodeB = cluster.getNode("B");
+
+        nodeA.setDown(true);
+
+        long requestsOnB = nodeB.getRequestsCount();
+
+        for (int i = 0; i < 3; i++) {
+            assertLoaded();
+        }
+
+        assertThat(nodeB.getRequestsCount())
+                .isGreaterThanOrEqualTo(requestsOnB + 3);
+    }
+
+    @Test
+    public void failsOverOnServiceUnavailable() {
+        initializeStore(ReadBalanceBehavior.NONE);
+
+        assertLoaded();
+
+        StubNode nodeB = cluster.getNode("B");
+        long requestsOnB = nodeB.getRequestsCount();
+
+        cluster.getNode("A").addFault("/databases/db/docs", 503, 1);
+
+        assertLoaded();
+
+        assertThat(nodeB.getRequestsCount())
+                .isGreaterThan(requestsOnB);
+    }
+
+    @Test
+    public void leastLatencyAvoidsSlowNode() {
+        initializeStore(ReadBalanceBehavior.LEAST_LATENCY);
+
+        StubNode slowNode = cluster.getNode("A");
+        slowNode.setLatency(Duration.ofMillis(50));
+
+        // every node gets its latency samples
+        for (int i = 0; i < 10; i++) {
+            assertLoaded();
+        }
+
+        long requestsOnSlowNode = slowNode.getRequestsCount();
+        long requests = totalRequestsCount();
+
+        for (int i = 0; i < 60; i++) {
+            assertLoaded();
+        }
+
+        long slowNodeRequests = slowNode.getRequestsCount() - requestsOnSlowNode;
+        long allRequests = totalRequestsCount() - requests;
+
+        assertThat(slowNodeRequests * 10)
+                .isLessThan(allRequests);
+    }
+
+    @Test
+    public void hedgesGoToNodeWithLowestLatency() {
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().hedging().setEnabled(true);
+        store.getConventions().hedging().setDelay(Duration.ofMillis(20));
+        store.getConventions().hedging().setMaxHedgedRequestsPercentage(100);
+        store.initialize();
+
+        // collects hedging budget
+        for (int i = 0; i < 10; i++) {
+            assertLoaded();
+        }
+
+        StubNode nodeB = cluster.getNode("B");
+        StubNode nodeC = cluster.getNode("C");
+
+        cluster.getNode("A").setLatency(Duration.ofMillis(100));
+        nodeB.setLatency(Duration.ofMillis(300));
+
+        long requestsOnB = nodeB.getRequestsCount();
+        long requestsOnC = nodeC.getRequestsCount();
+
+        for (int i = 0; i < 5; i++) {
+            assertLoaded();
+        }
+
+        // latency of B is known after the first hedge, the following ones go to C
+        assertThat(nodeB.getRequestsCount() - requestsOnB)
+                .isLessThanOrEqualTo(1);
+        assertThat(nodeC.getRequestsCount() - requestsOnC)
+                .isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    public void overloadedNodeShedsRequestsToNodeWithLowestLatency() throws Exception {
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().concurrencyLimit().setEnabled(true);
+        store.getConventions().concurrencyLimit().setInitialLimit(1);
+        store.getConventions().concurrencyLimit().setMaxLimit(1);
+        store.initialize();
+
+        assertLoaded();
+
+        StubNode nodeB = cluster.getNode("B");
+        StubNode nodeC = cluster.getNode("C");
+
+        cluster.getNode("A").setLatency(Duration.ofMillis(1500));
+        nodeB.setLatency(Duration.ofMillis(200));
+
+        // occupies the only slot of node A
+        CompletableFuture<Void> slowRead = CompletableFuture.runAsync(this::assertLoaded);
+        Thread.sleep(100);
+
+        long requestsOnB = nodeB.getRequestsCount();
+        long requestsOnC = nodeC.getRequestsCount();
+
+        for (int i = 0; i < 5; i++) {
+            assertLoaded();
+        }
+
+        // latency of B is known after the first shed request, the following ones go to C
+        assertThat(nodeB.getRequestsCount() - requestsOnB)
+                .isLessThanOrEqualTo(1);
+        assertThat(nodeC.getRequestsCount() - requestsOnC)
+                .isGreaterThanOrEqualTo(4);
+
+        slowRead.get();
+    }
+
+    @Test
+    public void serverErrorsOpenCircuitBreaker() {
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().concurrencyLimit().setEnabled(true);
+        store.getConventions().concurrencyLimit().setFailureThreshold(2);
+        store.initialize();
+
+        assertLoaded();
+
+        StubNode nodeA = cluster.getNode("A");
+        nodeA.addFault("/databases/db/docs", 500, 2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(this::assertLoaded)
+                    .isInstanceOf(RuntimeException.class);
+        }
+
+        long requestsOnA = nodeA.getRequestsCount();
+
+        // circuit breaker of A is open, so reads go elsewhere until health check restores it
+        assertLoaded();
+
+        assertThat(nodeA.getRequestsCount())
+                .isEqualTo(requestsOnA);
+    }
+
+    private void initializeStore(ReadBalanceBehavior readBalanceBehavior) {
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.getConventions().setReadBalanceBehavior(readBalanceBehavior);
+        store.initialize();
+    }
+
+    private void assertLoaded() {
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(User.class, "users/1").getName())
+                    .isEqualTo("John");
+        }
+    }
+
+    private long totalRequestsCount() {
+        long count = 0;
+        for (StubNode node : cluster.getNodes()) {
+            count += node.getRequestsCount();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,199 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedHttpCacheTest {
+
+    // payload of 80 chars weighs 100
+    private static final String PAYLOAD = StringUtils.repeat('x', 80);
+
+    @Test
+    public void isBoundedByGlobalSize() {
+        SharedHttpCache sharedCache = new SharedHttpCache(1000, 0);
+
+        HttpCache db1 = sharedCache.forDatabase("db1");
+        HttpCache db2 = sharedCache.forDatabase("db2");
+
+        for (int i = 0; i < 20; i++) {
+            db1.set("/docs?id=" + i, "A:" + i, PAYLOAD);
+            db2.set("/docs?id=" + i, "A:" + i, PAYLOAD);
+        }
+
+        assertThat(sharedCache.getSize())
+                .isLessThanOrEqualTo(1000);
+        assertThat(db1.getNumberOfItems() + db2.getNumberOfItems())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void evictsLargestDatabaseFirst() {
+        SharedHttpCache sharedCache = new SharedHttpCache(1000, 0);
+
+        HttpCache small = sharedCache.forDatabase("small");
+        HttpCache busy = sharedCache.forDatabase("busy");
+
+        small.set("/docs?id=1", "A:1", PAYLOAD);
+        small.set("/docs?id=2", "A:2", PAYLOAD);
+
+        for (int i = 0; i < 100; i++) {
+            busy.set("/docs?id=" + i, "A:" + i, PAYLOAD);
+        }
+
+        assertThat(small.getNumberOfItems())
+                .isEqualTo(2);
+        assertThat(busy.getNumberOfItems())
+                .isEqualTo(8);
+
+        // most recently used items are kept
+        assertThat(get(busy, "/docs?id=99"))
+                .isEqualTo(PAYLOAD);
+        assertThat(get(busy, "/docs?id=0"))
+                .isNull();
+    }
+
+    @Test
+    public void databaseIsLimitedByQuota() {
+        SharedHttpCache sharedCache = new SharedHttpCache(10_000, 300);
+
+        HttpCache db = sharedCache.forDatabase("db");
+
+        for (int i = 0; i < 10; i++) {
+            db.set("/docs?id=" + i, "A:" + i, PAYLOAD);
+        }
+
+        // recently read item survives eviction
+        get(db, "/docs?id=7");
+        db.set("/docs?id=10", "A:10", PAYLOAD);
+
+        assertThat(db.getSize())
+                .isEqualTo(300);
+        assertThat(get(db, "/docs?id=7"))
+                .isEqualTo(PAYLOAD);
+        assertThat(get(db, "/docs?id=10"))
+                .isEqualTo(PAYLOAD);
+        assertThat(get(db, "/docs?id=8"))
+                .isNull();
+    }
+
+    @Test
+    public void tracksStatisticsPerDatabase() {
+        SharedHttpCache sharedCache = new SharedHttpCache(10_000, 0);
+
+        HttpCache db1 = sharedCache.forDatabase("db1");
+        HttpCache db2 = sharedCache.forDatabase("DB2");
+
+        db1.set("/docs?id=1", "A:1", PAYLOAD);
+
+        get(db1, "/docs?id=1");
+        get(db1, "/docs?id=1");
+        get(db1, "/docs?id=2");
+        get(db2, "/docs?id=1");
+
+        assertThat(sharedCache.forDatabase("db2"))
+                .isSameAs(db2);
+
+        Map<String, HttpCacheStatistics> statistics = sharedCache.getStatistics();
+        assertThat(statistics)
+                .containsOnlyKeys("db1", "DB2");
+
+        HttpCacheStatistics db1Statistics = statistics.get("db1");
+        assertThat(db1Statistics.getNumberOfItems())
+                .isEqualTo(1);
+        assertThat(db1Statistics.getSize())
+                .isEqualTo(100);
+        assertThat(db1Statistics.getHits())
+                .isEqualTo(2);
+        assertThat(db1Statistics.getMisses())
+                .isEqualTo(1);
+        assertThat(db1Statistics.getHitRatio())
+                .isEqualTo(2 / 3.0);
+
+        assertThat(statistics.get("DB2").getHitRatio())
+                .isZero();
+    }
+
+    @Test
+    public void closedDatabaseReleasesItsShare() {
+        SharedHttpCache sharedCache = new SharedHttpCache(10_000, 0);
+
+        HttpCache db = sharedCache.forDatabase("db");
+        db.set("/docs?id=1", "A:1", PAYLOAD);
+
+        db.close();
+        db.set("/docs?id=2", "A:2", PAYLOAD);
+
+        assertThat(sharedCache.getSize())
+                .isZero();
+        assertThat(sharedCache.getStatistics())
+                .isEmpty();
+    }
+
+    @Test
+    public void databaseIsReleasedByLastExecutor() {
+        SharedHttpCache sharedCache = new SharedHttpCache(10_000, 0);
+        ExecutorService executorService = Executors.newCachedThreadPool();
+
+        try (StubCluster cluster = new StubCluster("db", 1)) {
+            DocumentConventions conventions = new DocumentConventions();
+            String url = cluster.getUrls()[0];
+
+            RequestExecutor first = RequestExecutor.createForSingleNodeWithConfigurationUpdates(url, "db", null, null, null, executorService, conventions, sharedCache);
+            RequestExecutor second = RequestExecutor.createForSingleNodeWithConfigurationUpdates(url, "db", null, null, null, executorService, conventions, sharedCache);
+
+            first.getCache().set("/docs?id=1", "A:1", PAYLOAD);
+            first.close();
+
+            // the other executor of the same database still caches
+            second.getCache().set("/docs?id=2", "A:2", PAYLOAD);
+
+            assertThat(get(second.getCache(), "/docs?id=1"))
+                    .isEqualTo(PAYLOAD);
+            assertThat(get(second.getCache(), "/docs?id=2"))
+                    .isEqualTo(PAYLOAD);
+            assertThat(sharedCache.getStatistics())
+                    .containsOnlyKeys("db");
+
+            second.close();
+
+            assertThat(sharedCache.getSize())
+                    .isZero();
+            assertThat(sharedCache.getStatistics())
+                    .isEmpty();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void standaloneCacheTracksStatistics() {
+        HttpCache cache = new HttpCache(10_000);
+
+        cache.set("/docs?id=1", "A:1", PAYLOAD);
+        get(cache, "/docs?id=1");
+        get(cache, "/docs?id=2");
+
+        HttpCacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getSize())
+                .isEqualTo(100);
+        assertThat(statistics.getHitRatio())
+                .isEqualTo(0.5);
+    }
+
+    private static String get(HttpCache cache, String url) {
+        Reference<String> changeVector = new Reference<>();
+        Reference<String> response = new Reference<>();
+        try (HttpCache.ReleaseCacheItem ignored = cache.get(url, changeVector, response)) {
+            return response.value;
+        }
+    }
+}
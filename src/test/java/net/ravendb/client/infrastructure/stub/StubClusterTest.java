@@ -0,0 +1,159 @@
+package net.ravendb.client.infrastructure.stub;
+
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.DocumentChangeTypes;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
+import net.ravendb.client.documents.changes.Observers;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.subscriptions.SubscriptionWorker;
+import net.ravendb.client.documents.subscriptions.SubscriptionWorkerOptions;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.serverwide.tcp.TcpConnectionHeaderMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StubClusterTest {
+
+    private StubCluster cluster;
+    private DocumentStore store;
+
+    @BeforeEach
+    public void setUp() {
+        cluster = new StubCluster("db", 1);
+
+        store = new DocumentStore(cluster.getUrls(), "db");
+        store.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        cluster.close();
+    }
+
+    @Test
+    public void sessionOperationsGoThroughStub() {
+        String id;
+        try (IDocumentSession session = store.openSession()) {
+            User user = new User();
+            user.setName("John");
+            session.store(user);
+            session.saveChanges();
+
+            id = user.getId();
+        }
+
+        assertThat(id)
+                .isEqualTo("users/1-A");
+        assertThat(cluster.getDatabase().get(id).get("name").asText())
+                .isEqualTo("John");
+
+        for (int i = 0; i < 4; i++) {
+            User user = new User();
+            user.setName("user" + i);
+            cluster.getDatabase().put("users/" + (i + 10), user);
+        }
+
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(User.class, id).getName())
+                    .isEqualTo("John");
+
+            List<User> page = session.query(User.class).skip(1).take(2).toList();
+            assertThat(page)
+                    .extracting(User::getName)
+                    .containsExactly("user0", "user1");
+
+            Lazy<User> lazyUser = session.advanced().lazily().load(User.class, "users/13");
+            assertThat(lazyUser.getValue().getName())
+                    .isEqualTo("user3");
+
+            session.delete(id);
+            session.saveChanges();
+        }
+
+        assertThat(cluster.getDatabase().get(id))
+                .isNull();
+    }
+
+    @Test
+    public void bulkInsertIsStreamedToStub() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < 100; i++) {
+                User user = new User();
+                user.setName("user" + i);
+                bulkInsert.store(user, "users/" + i);
+            }
+        }
+
+        assertThat(cluster.getDatabase().getDocumentsCount())
+                .isEqualTo(100);
+        assertThat(cluster.getDatabase().get("users/99").get("name").asText())
+                .isEqualTo("user99");
+    }
+
+    @Test
+    public void changesAreSentOverWebSocket() throws Exception {
+        BlockingQueue<DocumentChange> changesList = new LinkedBlockingQueue<>();
+
+        IDatabaseChanges changes = store.changes();
+        changes.ensureConnectedNow();
+
+        try (CleanCloseable subscription = changes.forDocumentsInCollection("Users").subscribe(Observers.create(changesList::add))) {
+            cluster.getDatabase().put("users/1", new User());
+
+            DocumentChange change = changesList.poll(10, TimeUnit.SECONDS);
+            assertThat(change)
+                    .isNotNull();
+            assertThat(change.getId())
+                    .isEqualTo("users/1");
+            assertThat(change.getType())
+                    .isEqualTo(DocumentChangeTypes.PUT);
+        }
+    }
+
+    @Test
+    public void subscriptionNegotiatesProtocolVersionAndReceivesBatches() throws Exception {
+        cluster.getNode("A").setSubscriptionTcpVersion(TcpConnectionHeaderMessage.SUBSCRIPTION_INCLUDES);
+
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setName("user" + i);
+            cluster.getDatabase().put("users/" + i, user);
+        }
+
+        String name = store.subscriptions().create(User.class);
+
+        SubscriptionWorkerOptions options = new SubscriptionWorkerOptions(name);
+        options.setMaxDocsPerBatch(3);
+
+        BlockingQueue<String> names = new LinkedBlockingQueue<>();
+
+        try (SubscriptionWorker<User> worker = store.subscriptions().getSubscriptionWorker(User.class, options)) {
+            worker.run(batch -> batch.getItems().forEach(x -> names.add(x.getResult().getName())));
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(names.poll(10, TimeUnit.SECONDS))
+                        .isEqualTo("user" + i);
+            }
+
+            User user = new User();
+            user.setName("user10");
+            cluster.getDatabase().put("users/10", user);
+
+            assertThat(names.poll(10, TimeUnit.SECONDS))
+                    .isEqualTo("user10");
+        }
+    }
+}
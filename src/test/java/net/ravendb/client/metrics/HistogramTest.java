@@ -0,0 +1,65 @@
+package net.ravendb.client.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HistogramTest {
+
+    @Test
+    public void bucketsCoverValues() {
+        for (long value : new long[] { 0, 1, 7, 8, 15, 16, 1000, 123_456_789, 10_000_000_000L, Long.MAX_VALUE / 2 }) {
+            int index = Histogram.bucketIndex(value);
+            assertThat(Histogram.bucketUpperBound(index))
+                    .isGreaterThanOrEqualTo(value)
+                    .isLessThanOrEqualTo(Math.max(7, value + value / 8));
+        }
+    }
+
+    @Test
+    public void canComputePercentiles() {
+        Histogram histogram = new Histogram();
+
+        assertThat(histogram.getValueAtPercentile(0.5))
+                .isZero();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount())
+                .isEqualTo(1000);
+        assertThat(snapshot.getMax())
+                .isEqualTo(1000);
+        assertThat(snapshot.getMean())
+                .isEqualTo(500.5);
+
+        // log-linear buckets are accurate within 12.5%
+        assertThat(snapshot.getP50())
+                .isBetween(500L, 563L);
+        assertThat(snapshot.getP99())
+                .isBetween(990L, 1114L);
+    }
+
+    @Test
+    public void decayFavorsRecentValues() {
+        Histogram histogram = new Histogram();
+
+        for (int i = 0; i < 100; i++) {
+            histogram.record(10);
+        }
+
+        histogram.decay();
+        histogram.decay();
+
+        for (int i = 0; i < 50; i++) {
+            histogram.record(1000);
+        }
+
+        assertThat(histogram.getValueAtPercentile(0.5))
+                .isGreaterThanOrEqualTo(1000);
+        assertThat(histogram.getCount())
+                .isEqualTo(150);
+    }
+}
@@ -0,0 +1,85 @@
+package net.ravendb.client.metrics;
+
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.documents.commands.batches.SingleNodeBatchCommand;
+import net.ravendb.client.http.ServerNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryClientMetricsTest {
+
+    @Test
+    public void aggregatesRequestsByCommandAndNode() {
+        ServerNode a = node("http://a:8080");
+        ServerNode b = node("http://b:8080");
+
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        metrics.onRequest("db", a, GetDocumentsCommand.class, 200, TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.onRequest("db", b, GetDocumentsCommand.class, 200, TimeUnit.MILLISECONDS.toNanos(4));
+        metrics.onRequest("db", a, SingleNodeBatchCommand.class, 201, TimeUnit.MILLISECONDS.toNanos(8));
+        metrics.onRequestFailed("db", b, SingleNodeBatchCommand.class, TimeUnit.MILLISECONDS.toNanos(1), new IOException());
+
+        ClientMetricsSnapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getRequestsByCommand())
+                .containsOnlyKeys("GetDocumentsCommand", "SingleNodeBatchCommand");
+        assertThat(snapshot.getRequestsByCommand().get("GetDocumentsCommand").getCount())
+                .isEqualTo(2);
+        assertThat(snapshot.getRequestsByCommand().get("GetDocumentsCommand").getMax())
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(4));
+
+        assertThat(snapshot.getRequestsByNode())
+                .containsOnlyKeys("http://a:8080", "http://b:8080");
+        assertThat(snapshot.getRequestsByNode().get("http://a:8080").getCount())
+                .isEqualTo(2);
+
+        assertThat(snapshot.getFailedRequests())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void countsCacheRetriesAndTraffic() {
+        ServerNode a = node("http://a:8080");
+        ServerNode b = node("http://b:8080");
+
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        metrics.onCacheResult("db", GetDocumentsCommand.class, HttpCacheResult.HIT);
+        metrics.onCacheResult("db", GetDocumentsCommand.class, HttpCacheResult.HIT);
+        metrics.onCacheResult("db", GetDocumentsCommand.class, HttpCacheResult.NOT_MODIFIED);
+        metrics.onCacheResult("db", GetDocumentsCommand.class, HttpCacheResult.MISS);
+        metrics.onRetry("db", a, GetDocumentsCommand.class, 2);
+        metrics.onFailover("db", a, b, GetDocumentsCommand.class);
+        metrics.onBytesSent("db", 100);
+        metrics.onBytesSent("db", 20);
+        metrics.onBytesReceived("db", 4096);
+        metrics.onSessionClosed("db", 3);
+        metrics.onBulkInsertCompleted("db", 1000, TimeUnit.SECONDS.toNanos(2));
+        metrics.onSubscriptionBatch("db", "orders", 50, TimeUnit.MILLISECONDS.toNanos(10));
+
+        ClientMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getCacheHits()).isEqualTo(2);
+        assertThat(snapshot.getCacheNotModified()).isEqualTo(1);
+        assertThat(snapshot.getCacheMisses()).isEqualTo(1);
+        assertThat(snapshot.getRetries()).isEqualTo(1);
+        assertThat(snapshot.getFailovers()).isEqualTo(1);
+        assertThat(snapshot.getBytesSent()).isEqualTo(120);
+        assertThat(snapshot.getBytesReceived()).isEqualTo(4096);
+        assertThat(snapshot.getRequestsPerSession().getMax()).isEqualTo(3);
+        assertThat(snapshot.getBulkInsertOperations()).isEqualTo(1);
+        assertThat(snapshot.getBulkInsertDocuments()).isEqualTo(1000);
+        assertThat(snapshot.getBulkInsertDocumentsPerSecond()).isEqualTo(500.0);
+        assertThat(snapshot.getSubscriptionBatches()).containsOnlyKeys("orders");
+        assertThat(snapshot.getSubscriptionItems()).isEqualTo(50);
+    }
+
+    private static ServerNode node(String url) {
+        ServerNode node = new ServerNode();
+        node.setUrl(url);
+        node.setDatabase("db");
+        return node;
+    }
+}
@@ -0,0 +1,104 @@
+package net.ravendb.client.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NetISO8601UtilsTest {
+
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    @Test
+    public void formatsLikeCalendar() {
+        Random random = new Random(1234);
+        char[] buffer = new char[NetISO8601Utils.MAX_FORMATTED_LENGTH];
+
+        for (int i = 0; i < 100_000; i++) {
+            long millis = -12219292800000L + (long) (random.nextDouble() * (253402300800000L + 12219292800000L));
+            Date date = new Date(millis);
+
+            String expected = NetISO8601Utils.format(date, true, GMT);
+            assertThat(NetISO8601Utils.format(date, true))
+                    .isEqualTo(expected);
+
+            int length = NetISO8601Utils.format(millis, true, buffer, 0);
+            assertThat(new String(buffer, 0, length))
+                    .isEqualTo(expected);
+
+            assertThat(NetISO8601Utils.format(date))
+                    .isEqualTo(NetISO8601Utils.format(date, false, GMT));
+        }
+    }
+
+    @Test
+    public void formatsDatesOutsideOfGregorianRange() {
+        Date date = new Date(-62135596800000L); // 0001-01-01 in julian calendar
+
+        assertThat(NetISO8601Utils.format(date, true))
+                .isEqualTo(NetISO8601Utils.format(date, true, GMT));
+    }
+
+    @Test
+    public void parsesFromCharacters() {
+        Random random = new Random(4321);
+
+        for (int i = 0; i < 100_000; i++) {
+            long millis = -12219292800000L + (long) (random.nextDouble() * (253402300800000L + 12219292800000L));
+            String formatted = NetISO8601Utils.format(new Date(millis), true, GMT);
+
+            char[] chars = ("xx" + formatted + "yy").toCharArray();
+            assertThat(NetISO8601Utils.parse(chars, 2, formatted.length()))
+                    .isEqualTo(millis);
+            assertThat(NetISO8601Utils.parse(formatted).getTime())
+                    .isEqualTo(millis);
+        }
+    }
+
+    @Test
+    public void parsesVariousFormats() {
+        assertThat(NetISO8601Utils.parse("2020-05-01T10:20:30Z").getTime())
+                .isEqualTo(1588328430000L);
+        assertThat(NetISO8601Utils.parse("2020-05-01T10:20:30.123Z").getTime())
+                .isEqualTo(1588328430123L);
+        assertThat(NetISO8601Utils.parse("2020-05-01T10:20:30.1234567Z").getTime())
+                .isEqualTo(1588328430123L);
+        assertThat(NetISO8601Utils.parse("2020-05-01T10:20:30.1234567").getTime())
+                .isEqualTo(1588328430123L);
+        assertThat(NetISO8601Utils.parse("2020-05-01T12:20:30.123+02:00").getTime())
+                .isEqualTo(1588328430123L);
+        assertThat(NetISO8601Utils.parse("2020-05-01T08:20:30.123-02:00").getTime())
+                .isEqualTo(1588328430123L);
+        assertThat(NetISO8601Utils.parse("0001-01-01T00:00:00.0000000").getTime())
+                .isEqualTo(0);
+        assertThat(NetISO8601Utils.parse("1500-01-01T00:00:00.0000000Z"))
+                .isEqualTo(new GregorianCalendar(1500, Calendar.JANUARY, 1) {{ setTimeZone(GMT); }}.getTime());
+    }
+
+    @Test
+    public void rejectsInvalidDates() {
+        assertThatThrownBy(() -> NetISO8601Utils.parse("2020-02-30T00:00:00Z"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> NetISO8601Utils.parse("2020-01-01T24:00:00Z"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        char[] chars = "2020-01-0xT00:00:00Z".toCharArray();
+        assertThatThrownBy(() -> NetISO8601Utils.parse(chars, 0, chars.length))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rejectsShortDatesWithoutZone() {
+        for (String date : new String[] { "2020-05-01T10:20:30", "2020-05-01T10:20:30.123", "2020-05-01T10:20:30.12345" }) {
+            assertThatThrownBy(() -> NetISO8601Utils.parse(date))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            char[] chars = date.toCharArray();
+            assertThatThrownBy(() -> NetISO8601Utils.parse(chars, 0, chars.length))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
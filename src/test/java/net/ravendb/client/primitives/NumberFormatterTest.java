@@ -0,0 +1,88 @@
+package net.ravendb.client.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumberFormatterTest {
+
+    private final char[] buffer = new char[NumberFormatter.MAX_FORMATTED_LENGTH + 2];
+
+    @Test
+    public void formatsLongs() {
+        Random random = new Random(1234);
+
+        long[] values = { 0, 1, -1, 9, 10, 99, 100, Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000_000_000_000_000L };
+        for (long value : values) {
+            assertThat(format(value))
+                    .isEqualTo(String.valueOf(value));
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            assertThat(format(value))
+                    .isEqualTo(String.valueOf(value));
+        }
+    }
+
+    @Test
+    public void formatsShortDecimalsLikeDoubleToString() {
+        double[] values = { 1, -1, 21.5, 0.1, 0.25, -3.75, 1234.5678, 0.001, 100, 36.6, 1e6 + 0.5 };
+        for (double value : values) {
+            assertThat(format(value))
+                    .isEqualTo(Double.toString(value));
+        }
+
+        assertThat(format(0.0))
+                .isEqualTo("0.0");
+        assertThat(format(-0.0))
+                .isEqualTo("-0.0");
+        assertThat(format(1e-7))
+                .isEqualTo("0.0000001");
+    }
+
+    @Test
+    public void formattedDoublesParseToTheSameValue() {
+        Random random = new Random(4321);
+
+        for (int i = 0; i < 100_000; i++) {
+            double[] values = {
+                    random.nextDouble(),
+                    random.nextGaussian() * 1000,
+                    Math.round(random.nextGaussian() * 100_000) / 100.0,
+                    Double.longBitsToDouble(random.nextLong())
+            };
+
+            for (double value : values) {
+                String formatted = format(value);
+                assertThat(formatted.length())
+                        .isLessThanOrEqualTo(NumberFormatter.MAX_FORMATTED_LENGTH);
+
+                if (Double.isNaN(value)) {
+                    assertThat(formatted)
+                            .isEqualTo("NaN");
+                } else {
+                    assertThat(Double.parseDouble(formatted))
+                            .isEqualTo(value);
+                }
+            }
+        }
+
+        assertThat(format(Double.POSITIVE_INFINITY))
+                .isEqualTo("Infinity");
+        assertThat(format(Double.MIN_VALUE))
+                .isEqualTo(Double.toString(Double.MIN_VALUE));
+    }
+
+    private String format(long value) {
+        int length = NumberFormatter.format(value, buffer, 2);
+        return new String(buffer, 2, length);
+    }
+
+    private String format(double value) {
+        int length = NumberFormatter.format(value, buffer, 2);
+        return new String(buffer, 2, length);
+    }
+}
@@ -0,0 +1,284 @@
+package net.ravendb.client.primitives;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.identity.HiLoIdGenerator;
+import net.ravendb.client.documents.identity.MultiTypeHiLoIdGenerator;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.infrastructure.stub.StubCluster;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pinning is detected with -Djdk.tracePinnedThreads (set for surefire in pom.xml), which prints
+ * frames holding monitors of every virtual thread blocked while pinned. Java 24+ doesn't pin in synchronized
+ * blocks and doesn't support the tracing, so pinning tests are skipped when a deliberately pinned thread isn't reported.
+ */
+public class VirtualThreadsTest {
+
+    private static Boolean pinningTraced;
+
+    @Test
+    public void isNotSupportedBeforeJava21() {
+        assumeTrue(!VirtualThreads.isSupported());
+
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread()))
+                .isFalse();
+        assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void storeFallsBackToPlatformThreads() throws Exception {
+        assumeTrue(!VirtualThreads.isSupported());
+
+        try (StubCluster cluster = new StubCluster("db", 1);
+             DocumentStore store = new DocumentStore(cluster.getUrls(), "db")) {
+            store.getConventions().setUseVirtualThreads(true);
+            store.initialize();
+
+            assertThat(CompletableFuture.supplyAsync(() -> VirtualThreads.isVirtual(Thread.currentThread()), store.getExecutorService()).get())
+                    .isFalse();
+        }
+    }
+
+    @Test
+    public void storeRunsOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        try (StubCluster cluster = new StubCluster("db", 1);
+             DocumentStore store = new DocumentStore(cluster.getUrls(), "db")) {
+            store.getConventions().setUseVirtualThreads(true);
+            store.initialize();
+
+            assertThat(CompletableFuture.supplyAsync(() -> VirtualThreads.isVirtual(Thread.currentThread()), store.getExecutorService()).get())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void lazyDoesNotPinWhileCreatingValue() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        assumePinningIsTraced();
+
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Integer> lazy = new Lazy<>(() -> {
+            sleep(200);
+            return created.incrementAndGet();
+        });
+
+        String pinned = tracePinning(() -> {
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("lazy-");
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    results.add(executor.submit(lazy::getValue));
+                }
+
+                for (Future<Integer> result : results) {
+                    assertThat(result.get())
+                            .isEqualTo(1);
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        });
+
+        assertThat(pinnedFrames(pinned))
+                .isEmpty();
+    }
+
+    @Test
+    public void concurrentSessionsDoNotPin() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        assumePinningIsTraced();
+
+        try (StubCluster cluster = new StubCluster("db", 1);
+             DocumentStore store = new DocumentStore(cluster.getUrls(), "db")) {
+            store.getConventions().setUseVirtualThreads(true);
+            store.getConventions().setRequestTimeout(Duration.ofSeconds(30));
+            store.initialize();
+
+            cluster.getNode("A").setLatency(Duration.ofMillis(20));
+
+            String pinned = tracePinning(() -> {
+                ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("session-");
+                try {
+                    // stays within the http client connection pool, so requests don't time out waiting for connection
+                    List<Future<?>> results = new ArrayList<>();
+                    for (int i = 0; i < 25; i++) {
+                        results.add(executor.submit(() -> {
+                            try (IDocumentSession session = store.openSession()) {
+                                User user = new User();
+                                session.store(user);
+                                session.saveChanges();
+                            }
+                        }));
+                    }
+
+                    for (Future<?> result : results) {
+                        result.get();
+                    }
+                } finally {
+                    executor.shutdown();
+                    executor.awaitTermination(1, TimeUnit.MINUTES);
+                }
+            });
+
+            assertThat(cluster.getDatabase().getDocumentsCount())
+                    .isEqualTo(25);
+            assertThat(pinnedFrames(pinned))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    public void hiLoDoesNotPinWhileFetchingRange() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        assumePinningIsTraced();
+
+        try (StubCluster cluster = new StubCluster("db", 1);
+             DocumentStore store = new DocumentStore(cluster.getUrls(), "db")) {
+            store.getConventions().setUseVirtualThreads(true);
+            store.initialize();
+
+            cluster.getNode("A").setLatency(Duration.ofMillis(50));
+
+            // slow creation makes the other threads wait for the generator, so they find it already created
+            MultiTypeHiLoIdGenerator generator = new MultiTypeHiLoIdGenerator(store, "db") {
+                @Override
+                protected HiLoIdGenerator createGeneratorFor(String tag) {
+                    sleep(200);
+                    return super.createGeneratorFor(tag);
+                }
+            };
+
+            String pinned = tracePinning(() -> {
+                ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("hilo-");
+                try {
+                    List<Future<Long>> results = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        results.add(executor.submit(() -> generator.generateNextIdFor("users")));
+                    }
+
+                    for (Future<Long> result : results) {
+                        assertThat(result.get())
+                                .isPositive();
+                    }
+                } finally {
+                    executor.shutdown();
+                    executor.awaitTermination(1, TimeUnit.MINUTES);
+                }
+            });
+
+            assertThat(pinnedFrames(pinned))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    public void pinningIsTraced() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        assumePinningIsTraced();
+
+        // pinning tests rely on frames of this class being reported
+        assertThat(pinningTraced)
+                .isTrue();
+    }
+
+    /**
+     * Pins a virtual thread on purpose (once, as every stack trace is reported only once) and skips the test,
+     * if it wasn't reported - otherwise pinning tests would pass without checking anything.
+     */
+    private static synchronized void assumePinningIsTraced() throws Exception {
+        if (pinningTraced == null) {
+            Object monitor = new Object();
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicReference<Thread> pinnedThread = new AtomicReference<>();
+
+            String pinned = tracePinning(() -> {
+                ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("pinned-");
+                try {
+                    Future<?> result = executor.submit(() -> {
+                        pinnedThread.set(Thread.currentThread());
+                        synchronized (monitor) {
+                            // untimed park, traces of threads timed-parked while pinned are unreliable on early Java 21 builds
+                            release.await();
+                        }
+                        return null;
+                    });
+
+                    while (pinnedThread.get() == null || pinnedThread.get().getState() != Thread.State.WAITING) {
+                        Thread.sleep(1);
+                    }
+
+                    release.countDown();
+                    result.get();
+                } finally {
+                    executor.shutdown();
+                    executor.awaitTermination(1, TimeUnit.MINUTES);
+                }
+            });
+
+            pinningTraced = !pinnedFrames(pinned).isEmpty();
+        }
+
+        assumeTrue(pinningTraced, "Pinned virtual threads are not reported, jdk.tracePinnedThreads requires Java 21 - 23");
+    }
+
+    private static String tracePinning(ThrowingRunnable action) throws Exception {
+        PrintStream out = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8.name()));
+        try {
+            action.run();
+        } finally {
+            System.setOut(out);
+        }
+
+        return new String(captured.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> pinnedFrames(String trace) {
+        // Apache HttpClient holds monitors briefly when returning connections to the pool, we check only our frames
+        List<String> frames = new ArrayList<>();
+        for (String line : trace.split("\\R")) {
+            if (line.contains("net.ravendb.client") && line.contains("<== monitors")) {
+                frames.add(line.trim());
+            }
+        }
+        return frames;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -16,6 +16,8 @@ import net.ravendb.client.test.client.QueryTest;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.EnumSet;
@@ -75,6 +77,36 @@ public class SmugglerTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void canExportAndImportInParallel() throws Exception {
+        Path exportDirectory = Files.createTempDirectory("exported-db-");
+
+        try (IDocumentStore store = getDocumentStore()) {
+            addUsers(store);
+
+            List<String> files = store.smuggler().exportParallel(new DatabaseSmugglerExportOptions(), exportDirectory.toString(), 4);
+
+            assertThat(files)
+                    .hasSize(2);
+            assertThat(exportDirectory.resolve(".export-checkpoint"))
+                    .doesNotExist();
+        }
+
+        try (IDocumentStore store = getDocumentStore()) {
+            store.smuggler().importParallel(new DatabaseSmugglerImportOptions(), exportDirectory.toString(), 4);
+
+            DatabaseStatistics stats = store.maintenance().send(new GetStatisticsOperation());
+            assertThat(stats.getCountOfIndexes())
+                    .isEqualTo(1);
+            assertThat(stats.getCountOfDocuments())
+                    .isEqualTo(3);
+            assertThat(stats.getCountOfTimeSeriesSegments())
+                    .isEqualTo(1);
+            assertThat(stats.getCountOfCounterEntries())
+                    .isEqualTo(1);
+        }
+    }
+
     @Test
     public void canUseBetweenOption() throws Exception {
         try (IDocumentStore sourceStore = getDocumentStore()) {
@@ -16,6 +16,7 @@ import net.ravendb.client.infrastructure.entities.User;
 import net.ravendb.client.primitives.Reference;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -49,6 +50,25 @@ public class IndexesFromClientTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void deployIndexesSkipsIndexesWhichDidNotChange() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            List<AbstractIndexCreationTask> indexes = Arrays.asList(new Users_ByName(), new UsersIndex());
+
+            IndexDeploymentResult first = IndexCreation.deployIndexes(indexes, store);
+
+            assertThat(first.getCreated())
+                    .containsExactly("Users/ByName", "UsersIndex");
+
+            IndexDeploymentResult second = IndexCreation.deployIndexes(indexes, store);
+
+            assertThat(second.getUnchanged())
+                    .containsExactly("Users/ByName", "UsersIndex");
+            assertThat(second.hasChanges())
+                    .isFalse();
+        }
+    }
+
     @Test
     public void canReset() throws Exception {
         try (IDocumentStore store = getDocumentStore()) {
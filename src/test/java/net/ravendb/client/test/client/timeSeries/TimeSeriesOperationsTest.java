@@ -6,6 +6,7 @@ import net.ravendb.client.documents.operations.timeSeries.*;
 import net.ravendb.client.documents.queries.timeSeries.TimeSeriesAggregationResult;
 import net.ravendb.client.documents.queries.timeSeries.TimeSeriesRangeAggregation;
 import net.ravendb.client.documents.session.*;
+import net.ravendb.client.documents.session.timeSeries.TimeSeriesColumns;
 import net.ravendb.client.documents.session.timeSeries.TimeSeriesEntry;
 import net.ravendb.client.exceptions.documents.DocumentDoesNotExistException;
 import net.ravendb.client.infrastructure.entities.User;
@@ -61,6 +62,53 @@ public class TimeSeriesOperationsTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void canAppendAndGetTimeSeriesUsingColumns() throws Exception {
+        String documentId = "users/ayende";
+
+        try (IDocumentStore store = getDocumentStore()) {
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                session.store(user, documentId);
+                session.saveChanges();
+            }
+
+            Date baseLine = DateUtils.truncate(new Date(), Calendar.DAY_OF_MONTH);
+
+            TimeSeriesColumns.Builder builder = TimeSeriesColumns.builder();
+            for (int i = 0; i < 100; i++) {
+                builder.add(DateUtils.addSeconds(baseLine, i), new double[] { i, i * 2 }, i % 2 == 0 ? "watches/fitbit" : null);
+            }
+
+            TimeSeriesOperation timeSeriesOp = new TimeSeriesOperation("Heartrate");
+            timeSeriesOp.appendAll(builder.build());
+
+            store.operations().send(new TimeSeriesBatchOperation(documentId, timeSeriesOp));
+
+            TimeSeriesColumnsRangeResult result = store.operations()
+                    .send(new GetTimeSeriesColumnsOperation(documentId, "Heartrate", DateUtils.addSeconds(baseLine, 10), DateUtils.addSeconds(baseLine, 19)));
+
+            TimeSeriesColumns columns = result.getColumns();
+            assertThat(columns.size())
+                    .isEqualTo(10);
+            assertThat(columns.getTimestamp(0))
+                    .isEqualTo(DateUtils.addSeconds(baseLine, 10).getTime());
+            assertThat(columns.getValue(1, 1))
+                    .isEqualTo(22, Offset.offset(0.001));
+            assertThat(columns.getTag(0))
+                    .isEqualTo("watches/fitbit");
+            assertThat(columns.getTag(1))
+                    .isNull();
+
+            try (IDocumentSession session = store.openSession()) {
+                TimeSeriesEntry[] entries = session.timeSeriesFor(documentId, "Heartrate").get();
+                assertThat(entries)
+                        .hasSize(100);
+            }
+        }
+    }
+
     @Test
     public void canGetNonExistedRange() throws Exception {
         try (IDocumentStore store = getDocumentStore()) {
@@ -0,0 +1,96 @@
+package net.ravendb.client.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseInsensitiveLinkedHashMapTest {
+
+    @Test
+    public void keysAreCaseInsensitive() {
+        CaseInsensitiveLinkedHashMap<Integer> map = new CaseInsensitiveLinkedHashMap<>();
+        map.put("Users/1-A", 1);
+
+        assertThat(map.get("users/1-a"))
+                .isEqualTo(1);
+        assertThat(map.put("USERS/1-A", 2))
+                .isEqualTo(1);
+        assertThat(map)
+                .hasSize(1);
+        assertThat(map.keySet())
+                .containsExactly("Users/1-A");
+
+        map.put("Émile/Ørsted", 3);
+        assertThat(map.get("émile/øRSTED"))
+                .isEqualTo(3);
+
+        assertThat(map.remove("users/1-A"))
+                .isEqualTo(2);
+        assertThat(map.containsKey("Users/1-A"))
+                .isFalse();
+    }
+
+    @Test
+    public void hashIsConsistentWithEqualsIgnoreCase() {
+        String[][] pairs = {
+                { "orders/1-A", "ORDERS/1-a" },
+                { "straße", "STRAßE" },
+                { "Ǆ", "ǅ" },
+                { "k", "K" },
+                { "i", "ı" },
+                { "𐐀", "𐐨" }
+        };
+
+        for (String[] pair : pairs) {
+            if (pair[0].equalsIgnoreCase(pair[1])) {
+                assertThat(CaseInsensitiveLinkedHashMap.caseInsensitiveHash(pair[0]))
+                        .isEqualTo(CaseInsensitiveLinkedHashMap.caseInsensitiveHash(pair[1]));
+            }
+        }
+    }
+
+    @Test
+    public void matchesTreeMapBehavior() {
+        Random random = new Random(4321);
+        String[] keys = new String[3000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "companies/" + i + "-A";
+        }
+
+        CaseInsensitiveLinkedHashMap<Integer> map = new CaseInsensitiveLinkedHashMap<>();
+        Map<String, Integer> expected = new TreeMap<>(String::compareToIgnoreCase);
+
+        for (int i = 0; i < 200_000; i++) {
+            String key = keys[random.nextInt(keys.length)];
+            if (random.nextBoolean()) {
+                key = key.toUpperCase();
+            }
+
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertThat(map.put(key, i))
+                            .isEqualTo(expected.put(key, i));
+                    break;
+                case 2:
+                    assertThat(map.remove(key))
+                            .isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.get(key))
+                            .isEqualTo(expected.get(key));
+                    break;
+            }
+        }
+
+        assertThat(map)
+                .hasSameSizeAs(expected);
+
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey()))
+                    .isEqualTo(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.ravendb.client.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdentityLinkedHashMapTest {
+
+    @Test
+    public void comparesKeysByReference() {
+        String a = new String("users/1");
+        String b = new String("users/1");
+
+        IdentityLinkedHashMap<Object, Integer> map = new IdentityLinkedHashMap<>();
+        map.put(a, 1);
+        map.put(b, 2);
+
+        assertThat(map)
+                .hasSize(2);
+        assertThat(map.get(a))
+                .isEqualTo(1);
+        assertThat(map.get(b))
+                .isEqualTo(2);
+        assertThat(map.containsKey(new String("users/1")))
+                .isFalse();
+    }
+
+    @Test
+    public void matchesLinkedHashMapBehavior() {
+        Random random = new Random(1234);
+        Object[] keys = new Object[2000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object();
+        }
+
+        IdentityLinkedHashMap<Object, Integer> map = new IdentityLinkedHashMap<>();
+        Map<Object, Integer> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            Object key = keys[random.nextInt(keys.length)];
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertThat(map.put(key, i))
+                            .isEqualTo(expected.put(key, i));
+                    break;
+                case 2:
+                    assertThat(map.remove(key))
+                            .isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.get(key))
+                            .isEqualTo(expected.get(key));
+                    break;
+            }
+
+            if (i % 10_000 == 0) {
+                assertThat(new ArrayList<>(map.entrySet()))
+                        .containsExactlyElementsOf(expected.entrySet());
+            }
+        }
+
+        assertThat(new ArrayList<>(map.keySet()))
+                .containsExactlyElementsOf(expected.keySet());
+
+        map.clear();
+        assertThat(map)
+                .isEmpty();
+        assertThat(map.get(keys[0]))
+                .isNull();
+    }
+
+    @Test
+    public void canRemoveWhileIterating() {
+        IdentityLinkedHashMap<Object, Integer> map = new IdentityLinkedHashMap<>();
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Object key = new Object();
+            keys.add(key);
+            map.put(key, i);
+        }
+
+        Iterator<Map.Entry<Object, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(map.values())
+                .hasSize(50)
+                .allMatch(x -> x % 2 == 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(map.containsKey(keys.get(i)))
+                    .isEqualTo(i % 2 == 1);
+        }
+
+        assertThatThrownBy(() -> {
+            for (Object key : map.keySet()) {
+                map.put(new Object(), 0);
+            }
+        }).isInstanceOf(ConcurrentModificationException.class);
+    }
+}
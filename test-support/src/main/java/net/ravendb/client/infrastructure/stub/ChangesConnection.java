@@ -0,0 +1,132 @@
+package net.ravendb.client.infrastructure.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.extensions.JsonExtensions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Changes web socket of a stub node. Every command is confirmed, document changes are sent to the clients
+ * watching all documents, the document, its collection or id prefix. Other watched changes are never sent.
+ */
+class ChangesConnection implements Consumer<DocumentChange> {
+
+    private final StubDatabase database;
+    private final InputStream in;
+    private final OutputStream out;
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private final Set<String> documents = ConcurrentHashMap.newKeySet();
+    private final Set<String> collections = ConcurrentHashMap.newKeySet();
+    private final Set<String> prefixes = ConcurrentHashMap.newKeySet();
+    private volatile boolean allDocuments;
+
+    ChangesConnection(StubDatabase database, InputStream in, OutputStream out) {
+        this.database = database;
+        this.in = in;
+        this.out = out;
+    }
+
+    void run() throws IOException {
+        send("[{\"TopologyChange\":true}]");
+
+        database.addChangeListener(this);
+        try {
+            String message;
+            while ((message = HttpStreams.readWebSocketMessage(in, out)) != null) {
+                JsonNode command = mapper.readTree(message);
+                JsonNode param = command.get("Param");
+
+                apply(command.path("Command").asText(), param == null || param.isNull() ? null : param.asText());
+
+                send("[{\"Type\":\"Confirm\",\"CommandId\":" + command.path("CommandId").asInt() + "}]");
+            }
+        } finally {
+            database.removeChangeListener(this);
+        }
+    }
+
+    private void apply(String command, String param) {
+        switch (command) {
+            case "watch-docs":
+                allDocuments = true;
+                break;
+            case "unwatch-docs":
+                allDocuments = false;
+                break;
+            case "watch-doc":
+                documents.add(param.toLowerCase());
+                break;
+            case "unwatch-doc":
+                documents.remove(param.toLowerCase());
+                break;
+            case "watch-collection":
+                collections.add(param.toLowerCase());
+                break;
+            case "unwatch-collection":
+                collections.remove(param.toLowerCase());
+                break;
+            case "watch-prefix":
+                prefixes.add(param.toLowerCase());
+                break;
+            case "unwatch-prefix":
+                prefixes.remove(param.toLowerCase());
+                break;
+        }
+    }
+
+    @Override
+    public void accept(DocumentChange change) {
+        if (!matches(change)) {
+            return;
+        }
+
+        ArrayNode messages = mapper.createArrayNode();
+        ObjectNode message = messages.addObject();
+        message.put("Type", "DocumentChange");
+        message.set("Value", mapper.valueToTree(change));
+
+        try {
+            send(messages.toString());
+        } catch (IOException e) {
+            // connection is closed, reader will stop
+        }
+    }
+
+    private boolean matches(DocumentChange change) {
+        if (allDocuments) {
+            return true;
+        }
+
+        String id = change.getId().toLowerCase();
+        if (documents.contains(id)) {
+            return true;
+        }
+
+        if (change.getCollectionName() != null && collections.contains(change.getCollectionName().toLowerCase())) {
+            return true;
+        }
+
+        for (String prefix : prefixes) {
+            if (id.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void send(String message) throws IOException {
+        HttpStreams.writeWebSocketFrame(out, HttpStreams.OP_TEXT, message.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,283 @@
+package net.ravendb.client.infrastructure.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP/1.1 and WebSocket framing used by stub nodes.
+ */
+final class HttpStreams {
+
+    static final int OP_CONTINUATION = 0x0;
+    static final int OP_TEXT = 0x1;
+    static final int OP_BINARY = 0x2;
+    static final int OP_CLOSE = 0x8;
+    static final int OP_PING = 0x9;
+    static final int OP_PONG = 0xA;
+
+    private HttpStreams() {
+    }
+
+    /**
+     * @param in stream
+     * @return line without the line terminator or null if stream ended before any character was read
+     * @throws IOException if stream can't be read
+     */
+    static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+
+        return new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            // discard
+        }
+    }
+
+    /**
+     * Reads a single (defragmented) data message, answering pings on the way.
+     * @param in stream
+     * @param out stream used to answer pings
+     * @return text of the message or null if connection was closed
+     * @throws IOException if stream can't be read
+     */
+    static String readWebSocketMessage(InputStream in, OutputStream out) throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+
+        while (true) {
+            int first = in.read();
+            if (first == -1) {
+                return null;
+            }
+
+            int second = readByte(in);
+            boolean fin = (first & 0x80) != 0;
+            int opcode = first & 0x0F;
+            boolean masked = (second & 0x80) != 0;
+
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = (readByte(in) << 8) | readByte(in);
+            } else if (length == 127) {
+                length = 0;
+                for (int i = 0; i < 8; i++) {
+                    length = (length << 8) | readByte(in);
+                }
+            }
+
+            byte[] mask = new byte[4];
+            if (masked) {
+                readFully(in, mask);
+            }
+
+            byte[] payload = new byte[(int) length];
+            readFully(in, payload);
+
+            if (masked) {
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+            }
+
+            switch (opcode) {
+                case OP_PING:
+                    writeWebSocketFrame(out, OP_PONG, payload);
+                    continue;
+                case OP_PONG:
+                    continue;
+                case OP_CLOSE:
+                    writeWebSocketFrame(out, OP_CLOSE, payload);
+                    return null;
+                default:
+                    message.write(payload);
+            }
+
+            if (fin) {
+                return new String(message.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    static void writeWebSocketFrame(OutputStream out, int opcode, byte[] payload) throws IOException {
+        synchronized (out) {
+            out.write(0x80 | opcode);
+
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length & 0xFF);
+            } else {
+                out.write(127);
+                long length = payload.length;
+                for (int i = 7; i >= 0; i--) {
+                    out.write((int) (length >>> (8 * i)) & 0xFF);
+                }
+            }
+
+            out.write(payload);
+            out.flush();
+        }
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static void readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Body of a request with known content length. Closing doesn't close the connection.
+     */
+    static class FixedLengthInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        FixedLengthInputStream(InputStream in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // connection is reused
+        }
+    }
+
+    /**
+     * Body of a request sent with chunked transfer encoding. Closing doesn't close the connection.
+     */
+    static class ChunkedInputStream extends InputStream {
+        private final InputStream in;
+        private long remainingInChunk;
+        private boolean eof;
+
+        ChunkedInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (!ensureChunk()) {
+                return -1;
+            }
+
+            int read = in.read(b, off, (int) Math.min(len, remainingInChunk));
+            if (read == -1) {
+                throw new EOFException("Unexpected end of chunked body");
+            }
+
+            remainingInChunk -= read;
+            return read;
+        }
+
+        private boolean ensureChunk() throws IOException {
+            if (eof) {
+                return false;
+            }
+
+            if (remainingInChunk > 0) {
+                return true;
+            }
+
+            String line = readLine(in);
+            if (line != null && line.isEmpty()) {
+                // terminator of the previous chunk
+                line = readLine(in);
+            }
+
+            if (line == null) {
+                throw new EOFException("Unexpected end of chunked body");
+            }
+
+            int extension = line.indexOf(';');
+            remainingInChunk = Long.parseLong((extension == -1 ? line : line.substring(0, extension)).trim(), 16);
+
+            if (remainingInChunk == 0) {
+                eof = true;
+
+                // trailers
+                String trailer;
+                do {
+                    trailer = readLine(in);
+                } while (trailer != null && !trailer.isEmpty());
+
+                return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // connection is reused
+        }
+    }
+}
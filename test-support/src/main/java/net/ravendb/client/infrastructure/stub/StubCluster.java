@@ -0,0 +1,84 @@
+package net.ravendb.client.infrastructure.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stub of a RavenDB cluster hosting a single database, for load, failover and latency tests
+ * which don't need a real server. Nodes are tagged A, B, C... and share the documents of the database.
+ *
+ * Implemented subset of the protocol:
+ * - /topology
+ * - /databases/{db}/docs (get by ids or prefix, put, delete), /queries, /bulk_docs, /bulk_insert, /multi_get,
+ *   /hilo/next, /subscriptions, /operations/next-operation-id, /healthcheck, /stats
+ * - /databases/{db}/changes web socket (document changes)
+ * - /info/remote-task/tcp and subscription TCP connections, with protocol version negotiation
+ *
+ * Anything else can be served by handlers registered on the nodes.
+ */
+public class StubCluster implements Closeable {
+
+    private final StubDatabase database;
+    private final List<StubNode> nodes;
+    private final AtomicLong operationId = new AtomicLong();
+
+    public StubCluster(String database, int nodesCount) {
+        if (nodesCount <= 0 || nodesCount > 26) {
+            throw new IllegalArgumentException("Nodes count must be between 1 and 26");
+        }
+
+        this.database = new StubDatabase(database);
+
+        List<StubNode> nodes = new ArrayList<>(nodesCount);
+        try {
+            for (int i = 0; i < nodesCount; i++) {
+                nodes.add(new StubNode(this, String.valueOf((char) ('A' + i))));
+            }
+        } catch (IOException e) {
+            nodes.forEach(StubNode::close);
+            throw new UncheckedIOException("Unable to start stub node", e);
+        }
+
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    public StubDatabase getDatabase() {
+        return database;
+    }
+
+    public List<StubNode> getNodes() {
+        return nodes;
+    }
+
+    public StubNode getNode(String clusterTag) {
+        for (StubNode node : nodes) {
+            if (node.getClusterTag().equals(clusterTag)) {
+                return node;
+            }
+        }
+
+        throw new IllegalArgumentException("There is no node " + clusterTag);
+    }
+
+    public String[] getUrls() {
+        return nodes.stream().map(StubNode::getUrl).toArray(String[]::new);
+    }
+
+    public long getTopologyEtag() {
+        return 1;
+    }
+
+    long nextOperationId() {
+        return operationId.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        nodes.forEach(StubNode::close);
+    }
+}
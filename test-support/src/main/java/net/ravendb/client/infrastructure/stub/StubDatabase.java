@@ -0,0 +1,268 @@
+package net.ravendb.client.infrastructure.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.DocumentChangeTypes;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.EntityToJson;
+import net.ravendb.client.primitives.NetISO8601Utils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In memory documents of a stub cluster. All nodes share the database, as if it was instantly replicated.
+ * Every write gets the next etag, documents are returned in the etag order.
+ */
+public class StubDatabase {
+
+    private static final DocumentConventions CONVENTIONS = new DocumentConventions();
+
+    private final String name;
+    private final String databaseId;
+
+    private final Map<String, Document> documentsById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Document> documentsByEtag = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastEtag = new AtomicLong();
+    private final Object writeLock = new Object();
+
+    private final Map<String, AtomicLong> hiLoMax = new ConcurrentHashMap<>();
+    private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+    private final List<Consumer<DocumentChange>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public StubDatabase(String name) {
+        this.name = name;
+        this.databaseId = "stub" + Integer.toHexString(name.hashCode());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastEtag() {
+        return lastEtag.get();
+    }
+
+    public int getDocumentsCount() {
+        return documentsById.size();
+    }
+
+    /**
+     * Stores an entity the way a session would: collection and java type come from default conventions.
+     * @param id document id
+     * @param entity entity
+     * @return stored document
+     */
+    public ObjectNode put(String id, Object entity) {
+        ObjectNode document = EntityToJson.convertEntityToJson(entity, CONVENTIONS, null);
+
+        ObjectNode metadata = document.putObject(Constants.Documents.Metadata.KEY);
+        metadata.put(Constants.Documents.Metadata.COLLECTION, CONVENTIONS.getCollectionName(entity));
+        metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, CONVENTIONS.getJavaClassName(entity.getClass()));
+
+        return put(id, document);
+    }
+
+    /**
+     * @param id document id
+     * @param document document, its metadata (if any) is kept
+     * @return stored document, with id, change vector and last modified in metadata
+     */
+    public ObjectNode put(String id, ObjectNode document) {
+        ObjectNode stored = document.deepCopy();
+
+        JsonNode metadataNode = stored.get(Constants.Documents.Metadata.KEY);
+        ObjectNode metadata = metadataNode instanceof ObjectNode ? (ObjectNode) metadataNode : stored.putObject(Constants.Documents.Metadata.KEY);
+        if (!metadata.has(Constants.Documents.Metadata.COLLECTION)) {
+            metadata.put(Constants.Documents.Metadata.COLLECTION, "@empty");
+        }
+
+        String collection = metadata.get(Constants.Documents.Metadata.COLLECTION).asText();
+
+        Document newDocument;
+        synchronized (writeLock) {
+            long etag = lastEtag.incrementAndGet();
+            String changeVector = "A:" + etag + "-" + databaseId;
+
+            metadata.put(Constants.Documents.Metadata.ID, id);
+            metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, changeVector);
+            metadata.put(Constants.Documents.Metadata.LAST_MODIFIED, NetISO8601Utils.format(new Date(), true));
+
+            newDocument = new Document(id, collection, etag, changeVector, stored);
+
+            Document previous = documentsById.put(key(id), newDocument);
+            if (previous != null) {
+                documentsByEtag.remove(previous.etag);
+            }
+            documentsByEtag.put(etag, newDocument);
+
+            writeLock.notifyAll();
+        }
+
+        notify(DocumentChangeTypes.PUT, newDocument.id, collection, newDocument.changeVector);
+
+        return stored;
+    }
+
+    public ObjectNode get(String id) {
+        Document document = documentsById.get(key(id));
+        return document != null ? document.json : null;
+    }
+
+    public boolean delete(String id) {
+        Document document;
+        synchronized (writeLock) {
+            document = documentsById.remove(key(id));
+            if (document == null) {
+                return false;
+            }
+
+            documentsByEtag.remove(document.etag);
+            lastEtag.incrementAndGet();
+        }
+
+        notify(DocumentChangeTypes.DELETE, document.id, document.collection, document.changeVector);
+        return true;
+    }
+
+    /**
+     * @param collection collection name or null for all documents
+     * @return documents of the collection in etag order
+     */
+    public List<ObjectNode> getDocuments(String collection) {
+        List<ObjectNode> result = new ArrayList<>();
+        for (Document document : documentsByEtag.values()) {
+            if (collection == null || collection.equalsIgnoreCase(document.collection)) {
+                result.add(document.json);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param idPrefix document id prefix
+     * @return documents ordered by id
+     */
+    public List<ObjectNode> getDocumentsStartingWith(String idPrefix) {
+        List<Document> matching = new ArrayList<>();
+        for (Document document : documentsById.values()) {
+            if (document.id.regionMatches(true, 0, idPrefix, 0, idPrefix.length())) {
+                matching.add(document);
+            }
+        }
+
+        matching.sort((a, b) -> a.id.compareToIgnoreCase(b.id));
+
+        List<ObjectNode> result = new ArrayList<>(matching.size());
+        for (Document document : matching) {
+            result.add(document.json);
+        }
+        return result;
+    }
+
+    /**
+     * @param etag etag of the last document already returned
+     * @param collection collection name or null for all documents
+     * @param max maximum number of documents
+     * @param waitMillis time to wait for new document if there aren't any
+     * @return documents with greater etag
+     * @throws InterruptedException if interrupted while waiting
+     */
+    List<Document> getDocumentsAfter(long etag, String collection, int max, long waitMillis) throws InterruptedException {
+        synchronized (writeLock) {
+            if (lastEtag.get() <= etag && waitMillis > 0) {
+                writeLock.wait(waitMillis);
+            }
+        }
+
+        List<Document> result = new ArrayList<>();
+        for (Document document : documentsByEtag.tailMap(etag, false).values()) {
+            if (collection == null || collection.equalsIgnoreCase(document.collection)) {
+                result.add(document);
+                if (result.size() >= max) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param tag hilo tag, usually collection name
+     * @param size size of the range
+     * @return last value of the reserved range
+     */
+    long nextHiLo(String tag, long size) {
+        return hiLoMax.computeIfAbsent(tag.toLowerCase(), x -> new AtomicLong()).addAndGet(size);
+    }
+
+    /**
+     * @param name subscription name
+     * @param collection collection processed by the subscription or null for all documents
+     */
+    public void addSubscription(String name, String collection) {
+        subscriptions.put(name, collection != null ? collection : "");
+    }
+
+    boolean hasSubscription(String name) {
+        return subscriptions.containsKey(name);
+    }
+
+    String getSubscriptionCollection(String name) {
+        String collection = subscriptions.get(name);
+        return collection == null || collection.isEmpty() ? null : collection;
+    }
+
+    void addChangeListener(Consumer<DocumentChange> listener) {
+        changeListeners.add(listener);
+    }
+
+    void removeChangeListener(Consumer<DocumentChange> listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void notify(DocumentChangeTypes type, String id, String collection, String changeVector) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+
+        DocumentChange change = new DocumentChange();
+        change.setType(type);
+        change.setId(id);
+        change.setCollectionName(collection);
+        change.setChangeVector(changeVector);
+
+        for (Consumer<DocumentChange> listener : changeListeners) {
+            listener.accept(change);
+        }
+    }
+
+    private static String key(String id) {
+        return id.toLowerCase();
+    }
+
+    static class Document {
+        final String id;
+        final String collection;
+        final long etag;
+        final String changeVector;
+        final ObjectNode json;
+
+        Document(String id, String collection, long etag, String changeVector, ObjectNode json) {
+            this.id = id;
+            this.collection = collection;
+            this.etag = etag;
+            this.changeVector = changeVector;
+            this.json = json;
+        }
+    }
+}
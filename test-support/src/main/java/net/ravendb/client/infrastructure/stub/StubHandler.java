@@ -0,0 +1,12 @@
+package net.ravendb.client.infrastructure.stub;
+
+import java.io.IOException;
+
+/**
+ * Handles requests of a stub node. Registered handlers take precedence over endpoints implemented by the stub.
+ */
+@FunctionalInterface
+public interface StubHandler {
+
+    StubResponse handle(StubNode node, StubRequest request) throws IOException;
+}
@@ -0,0 +1,784 @@
+package net.ravendb.client.infrastructure.stub;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.primitives.NetISO8601Utils;
+import net.ravendb.client.primitives.Reference;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Single node of a stub cluster. Listens on loopback for HTTP (including the changes web socket)
+ * and for TCP subscription connections.
+ *
+ * Latency, injected errors and node failure can be changed at any time:
+ * latency is added before every request is handled, faults replace responses of matching requests
+ * and a node which is down drops all its connections and closes new ones right after accepting them.
+ */
+public class StubNode implements Closeable {
+
+    private static final String WEB_SOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final Pattern FROM_PATTERN = Pattern.compile("^\\s*from\\s+(index\\s+)?'?([^'\\s]+)'?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIMIT_PATTERN = Pattern.compile("\\slimit\\s+\\$(\\w+)(\\s*,\\s*\\$(\\w+))?", Pattern.CASE_INSENSITIVE);
+
+    private final StubCluster cluster;
+    private final String clusterTag;
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private final ServerSocket httpSocket;
+    private final ServerSocket tcpSocket;
+    private final ExecutorService executor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    private final List<Fault> faults = new CopyOnWriteArrayList<>();
+    private final List<Route> handlers = new CopyOnWriteArrayList<>();
+    private final AtomicLong requestsCount = new AtomicLong();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean down;
+    private volatile boolean closed;
+    private volatile int subscriptionTcpVersion = Integer.MAX_VALUE;
+
+    StubNode(StubCluster cluster, String clusterTag) throws IOException {
+        this.cluster = cluster;
+        this.clusterTag = clusterTag;
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        httpSocket = new ServerSocket();
+        httpSocket.bind(new InetSocketAddress(loopback, 0));
+        tcpSocket = new ServerSocket();
+        tcpSocket.bind(new InetSocketAddress(loopback, 0));
+
+        AtomicInteger threadId = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-node-" + clusterTag + "-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.execute(() -> acceptConnections(httpSocket, false));
+        executor.execute(() -> acceptConnections(tcpSocket, true));
+    }
+
+    public String getClusterTag() {
+        return clusterTag;
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + httpSocket.getLocalPort();
+    }
+
+    public String getTcpUrl() {
+        return "tcp://127.0.0.1:" + tcpSocket.getLocalPort();
+    }
+
+    public StubDatabase getDatabase() {
+        return cluster.getDatabase();
+    }
+
+    /**
+     * @return number of requests handled by this node, including the ones answered with a fault
+     */
+    public long getRequestsCount() {
+        return requestsCount.get();
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param latency delay added before handling every request and web socket or TCP connection
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency != null ? latency : Duration.ZERO;
+    }
+
+    public boolean isDown() {
+        return down;
+    }
+
+    /**
+     * @param down true to drop all connections and refuse new ones until the node is up again
+     */
+    public void setDown(boolean down) {
+        this.down = down;
+
+        if (down) {
+            for (Socket connection : connections) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    /**
+     * Answers requests with path starting with given prefix with an error
+     * @param pathPrefix path prefix, ex. /databases/db/docs
+     * @param statusCode status code of the error, ex. 503 makes the client fail over to another node
+     * @param times number of requests to fail or -1 to fail all of them
+     */
+    public void addFault(String pathPrefix, int statusCode, int times) {
+        faults.add(new Fault(pathPrefix, statusCode, times));
+    }
+
+    public void clearFaults() {
+        faults.clear();
+    }
+
+    /**
+     * Registers handler for requests with path starting with given prefix. Handlers take precedence over endpoints
+     * implemented by the stub and are checked in the registration order.
+     * @param pathPrefix path prefix, ex. /databases/db/queries
+     * @param handler handler
+     */
+    public void handle(String pathPrefix, StubHandler handler) {
+        handlers.add(new Route(pathPrefix, handler));
+    }
+
+    /**
+     * @param version highest subscription TCP protocol version accepted by this node, lower versions are negotiated
+     */
+    public void setSubscriptionTcpVersion(int version) {
+        this.subscriptionTcpVersion = version;
+    }
+
+    int getSubscriptionTcpVersion() {
+        return subscriptionTcpVersion;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        closeQuietly(httpSocket);
+        closeQuietly(tcpSocket);
+
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+
+        executor.shutdownNow();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void acceptConnections(ServerSocket serverSocket, boolean tcp) {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                continue;
+            }
+
+            if (down) {
+                closeQuietly(socket);
+                continue;
+            }
+
+            connections.add(socket);
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        socket.setTcpNoDelay(true);
+
+                        if (tcp) {
+                            delay();
+                            new SubscriptionConnection(this, socket).run();
+                        } else {
+                            serveHttp(socket);
+                        }
+                    } catch (Exception e) {
+                        // connection was closed or dropped
+                    } finally {
+                        connections.remove(socket);
+                        closeQuietly(socket);
+                    }
+                });
+            } catch (Exception e) {
+                // executor was shut down
+                connections.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serveHttp(Socket socket) throws Exception {
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+
+        while (!closed) {
+            String requestLine = HttpStreams.readLine(in);
+            if (requestLine == null) {
+                return;
+            }
+
+            if (requestLine.isEmpty()) {
+                continue;
+            }
+
+            String[] parts = requestLine.split(" ");
+
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            String line;
+            while ((line = HttpStreams.readLine(in)) != null && !line.isEmpty()) {
+                int separator = line.indexOf(':');
+                if (separator > 0) {
+                    headers.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                }
+            }
+
+            if ("websocket".equalsIgnoreCase(headers.get("Upgrade"))) {
+                serveWebSocket(parts[1], headers, in, out);
+                return;
+            }
+
+            InputStream body;
+            if ("chunked".equalsIgnoreCase(headers.get("Transfer-Encoding"))) {
+                body = new HttpStreams.ChunkedInputStream(in);
+            } else {
+                String contentLength = headers.get("Content-Length");
+                body = new HttpStreams.FixedLengthInputStream(in, contentLength != null ? Long.parseLong(contentLength) : 0);
+            }
+
+            InputStream requestBody = "gzip".equalsIgnoreCase(headers.get("Content-Encoding")) ? new LazyGzipInputStream(body) : body;
+
+            StubResponse response = execute(new StubRequest(parts[0], parts[1], headers, requestBody));
+
+            HttpStreams.drain(body);
+
+            boolean keepAlive = !"close".equalsIgnoreCase(headers.get("Connection"));
+            writeResponse(out, response, keepAlive);
+
+            if (!keepAlive) {
+                return;
+            }
+        }
+    }
+
+    private StubResponse execute(StubRequest request) throws InterruptedException {
+        requestsCount.incrementAndGet();
+
+        delay();
+
+        for (Fault fault : faults) {
+            if (request.getPath().startsWith(fault.pathPrefix) && fault.tryTake()) {
+                return StubResponse.error(fault.statusCode, "Raven.Server.StubFault",
+                        "Fault injected by stub node " + clusterTag + " for " + request);
+            }
+        }
+
+        try {
+            return route(request);
+        } catch (Exception e) {
+            return StubResponse.error(500, e.getClass().getName(), String.valueOf(e.getMessage()));
+        }
+    }
+
+    StubResponse route(StubRequest request) throws IOException {
+        for (Route route : handlers) {
+            if (request.getPath().startsWith(route.pathPrefix)) {
+                return route.handler.handle(this, request);
+            }
+        }
+
+        Reference<String> rest = new Reference<>();
+
+        if (request.matches("/topology", rest)) {
+            return getTopology(request);
+        }
+
+        if (request.matches("/info/remote-task/tcp", rest) || request.matches("/info/tcp", rest)) {
+            return getTcpInfo();
+        }
+
+        if (!request.matches("/databases/", rest)) {
+            return notFound(request);
+        }
+
+        String databaseName = rest.value.contains("/") ? rest.value.substring(0, rest.value.indexOf('/')) : rest.value;
+        if (!databaseName.equalsIgnoreCase(getDatabase().getName())) {
+            return StubResponse.error(503, "Raven.Client.Exceptions.Database.DatabaseDoesNotExistException",
+                    "Database '" + databaseName + "' was not found");
+        }
+
+        String endpoint = rest.value.substring(databaseName.length());
+
+        switch (endpoint) {
+            case "/docs":
+                return docs(request);
+            case "/queries":
+                return query(request);
+            case "/bulk_docs":
+                return batch(request);
+            case "/bulk_insert":
+                return bulkInsert(request);
+            case "/multi_get":
+                return multiGet(request);
+            case "/operations/next-operation-id":
+                return StubResponse.ok("{\"Id\":" + cluster.nextOperationId() + ",\"NodeTag\":\"" + clusterTag + "\"}");
+            case "/hilo/next":
+                return nextHiLo(request);
+            case "/subscriptions":
+                return createSubscription(request);
+            case "/healthcheck":
+                return StubResponse.empty(200);
+            case "/stats":
+                return StubResponse.ok("{\"CountOfDocuments\":" + getDatabase().getDocumentsCount() + "}");
+            default:
+                return notFound(request);
+        }
+    }
+
+    private StubResponse getTopology(StubRequest request) {
+        String name = request.getParameter("name");
+        if (name != null && !name.equalsIgnoreCase(getDatabase().getName())) {
+            return StubResponse.error(503, "Raven.Client.Exceptions.Database.DatabaseDoesNotExistException",
+                    "Database '" + name + "' was not found");
+        }
+
+        ObjectNode topology = mapper.createObjectNode();
+        ArrayNode nodes = topology.putArray("Nodes");
+        for (StubNode node : cluster.getNodes()) {
+            ObjectNode serverNode = nodes.addObject();
+            serverNode.put("Url", node.getUrl());
+            serverNode.put("ClusterTag", node.getClusterTag());
+            serverNode.put("Database", getDatabase().getName());
+            serverNode.put("ServerRole", "Member");
+        }
+        topology.put("Etag", cluster.getTopologyEtag());
+
+        return StubResponse.ok(topology.toString());
+    }
+
+    private StubResponse getTcpInfo() {
+        return StubResponse.ok("{\"Url\":\"" + getTcpUrl() + "\",\"Port\":" + tcpSocket.getLocalPort()
+                + ",\"NodeTag\":\"" + clusterTag + "\",\"ServerId\":\"stub-" + clusterTag + "\",\"Certificate\":null}");
+    }
+
+    private StubResponse docs(StubRequest request) throws IOException {
+        StubDatabase database = getDatabase();
+
+        switch (request.getMethod()) {
+            case "PUT": {
+                String id = request.getParameter("id");
+                ObjectNode stored = database.put(id, (ObjectNode) request.readJson(mapper));
+                return StubResponse.json(201, "{\"Id\":\"" + id + "\",\"ChangeVector\":\""
+                        + stored.get(Constants.Documents.Metadata.KEY).get(Constants.Documents.Metadata.CHANGE_VECTOR).asText() + "\"}");
+            }
+            case "DELETE":
+                database.delete(request.getParameter("id"));
+                return StubResponse.empty(204);
+            case "GET":
+            case "POST":
+                break;
+            default:
+                return notFound(request);
+        }
+
+        List<String> ids = new ArrayList<>(request.getParameters("id"));
+        if ("POST".equals(request.getMethod())) {
+            for (JsonNode id : request.readJson(mapper).path("Ids")) {
+                ids.add(id.asText());
+            }
+        }
+
+        boolean metadataOnly = "true".equals(request.getParameter("metadataOnly"));
+
+        List<ObjectNode> documents;
+        if (!ids.isEmpty()) {
+            documents = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                documents.add(database.get(id));
+            }
+
+            if (ids.size() == 1 && documents.get(0) == null) {
+                return StubResponse.empty(404);
+            }
+        } else {
+            String startsWith = request.getParameter("startsWith");
+            documents = page(startsWith != null ? database.getDocumentsStartingWith(startsWith) : database.getDocuments(null),
+                    parseInt(request.getParameter("start"), 0), parseInt(request.getParameter("pageSize"), Integer.MAX_VALUE));
+        }
+
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode results = result.putArray("Results");
+        for (ObjectNode document : documents) {
+            results.add(document == null ? null : metadataOnly ? metadataOnly(document) : document);
+        }
+        result.putObject("Includes");
+
+        return StubResponse.ok(result.toString());
+    }
+
+    /**
+     * Understands only the source of the query ("from Orders", "from index 'Orders/ByCompany'" returns all documents)
+     * and "limit $start, $pageSize" paging - filtering, ordering and projections have to be provided by a handler.
+     */
+    private StubResponse query(StubRequest request) throws IOException {
+        JsonNode body = request.readJson(mapper);
+        String query = body.path("Query").asText();
+        JsonNode parameters = body.path("QueryParameters");
+
+        String collection = null;
+        String indexName = "AllDocs";
+
+        Matcher from = FROM_PATTERN.matcher(query);
+        if (from.find()) {
+            if (from.group(1) != null) {
+                indexName = from.group(2);
+            } else if (!"@all_docs".equalsIgnoreCase(from.group(2))) {
+                collection = from.group(2);
+                indexName = "collection/" + collection;
+            }
+        }
+
+        List<ObjectNode> documents = getDatabase().getDocuments(collection);
+        int totalResults = documents.size();
+
+        Matcher limit = LIMIT_PATTERN.matcher(query);
+        if (limit.find()) {
+            int first = parameters.path(limit.group(1)).asInt();
+            documents = limit.group(3) != null
+                    ? page(documents, first, parameters.path(limit.group(3)).asInt())
+                    : page(documents, 0, first);
+        }
+
+        ObjectNode result = mapper.createObjectNode();
+        result.put("TotalResults", totalResults);
+        result.put("SkippedResults", 0);
+        result.put("IndexName", indexName);
+        result.put("IsStale", false);
+        result.put("ResultEtag", getDatabase().getLastEtag());
+        result.put("NodeTag", clusterTag);
+        result.put("IndexTimestamp", NetISO8601Utils.format(new Date(), true));
+        result.put("LastQueryTime", NetISO8601Utils.format(new Date(), true));
+        ArrayNode results = result.putArray("Results");
+        documents.forEach(results::add);
+        result.putObject("Includes");
+
+        return StubResponse.ok(result.toString());
+    }
+
+    private StubResponse batch(StubRequest request) throws IOException {
+        JsonNode commands = request.readJson(mapper).path("Commands");
+
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode results = result.putArray("Results");
+
+        for (JsonNode command : commands) {
+            String type = command.path("Type").asText();
+            String id = command.path("Id").asText(null);
+
+            switch (type) {
+                case "PUT": {
+                    ObjectNode stored = getDatabase().put(id, (ObjectNode) command.get("Document"));
+                    ObjectNode metadata = (ObjectNode) stored.get(Constants.Documents.Metadata.KEY);
+
+                    ObjectNode putResult = results.addObject();
+                    putResult.put("Type", "PUT");
+                    putResult.set(Constants.Documents.Metadata.ID, metadata.get(Constants.Documents.Metadata.ID));
+                    putResult.set(Constants.Documents.Metadata.COLLECTION, metadata.get(Constants.Documents.Metadata.COLLECTION));
+                    putResult.set(Constants.Documents.Metadata.CHANGE_VECTOR, metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR));
+                    putResult.set(Constants.Documents.Metadata.LAST_MODIFIED, metadata.get(Constants.Documents.Metadata.LAST_MODIFIED));
+                    break;
+                }
+                case "DELETE": {
+                    ObjectNode deleteResult = results.addObject();
+                    deleteResult.put("Type", "DELETE");
+                    deleteResult.put("Id", id);
+                    deleteResult.put("Deleted", getDatabase().delete(id));
+                    break;
+                }
+                default:
+                    return StubResponse.error(400, "System.NotSupportedException", "Command type " + type + " is not supported by the stub");
+            }
+        }
+
+        return StubResponse.json(201, result.toString());
+    }
+
+    /**
+     * Reads the streamed array of commands as it is written by the client. Puts are stored, other commands
+     * (counters, time series) are skipped and attachments aren't supported.
+     */
+    private StubResponse bulkInsert(StubRequest request) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(request.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return StubResponse.error(400, "System.InvalidOperationException", "Expected array of commands");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode command = mapper.readTree(parser);
+                String type = command.path("Type").asText();
+
+                if ("PUT".equals(type)) {
+                    getDatabase().put(command.path("Id").asText(), (ObjectNode) command.get("Document"));
+                } else if ("AttachmentPUT".equals(type)) {
+                    return StubResponse.error(400, "System.NotSupportedException", "Attachments are not supported by the stub");
+                }
+            }
+        }
+
+        return StubResponse.empty(200);
+    }
+
+    private StubResponse multiGet(StubRequest request) throws IOException {
+        JsonNode requests = request.readJson(mapper).path("Requests");
+
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode results = result.putArray("Results");
+
+        for (JsonNode getRequest : requests) {
+            String method = getRequest.path("Method").asText("GET");
+            JsonNode content = getRequest.get("Content");
+            byte[] body = content == null || content.isNull() ? new byte[0] : content.toString().getBytes(StandardCharsets.UTF_8);
+
+            StubResponse response = route(StubRequest.create(method.isEmpty() ? "GET" : method,
+                    getRequest.path("Url").asText(), getRequest.path("Query").asText(""), new ByteArrayInputStream(body)));
+
+            ObjectNode getResponse = results.addObject();
+            getResponse.set("Result", response.getBody().length > 0 ? mapper.readTree(response.getBody()) : null);
+            getResponse.putObject("Headers");
+            getResponse.put("StatusCode", response.getStatusCode());
+        }
+
+        return StubResponse.ok(result.toString());
+    }
+
+    private StubResponse nextHiLo(StubRequest request) {
+        String tag = request.getParameter("tag");
+        String separator = request.getParameter("identityPartsSeparator");
+        long size = Math.max(32, parseInt(request.getParameter("lastBatchSize"), 32));
+
+        long high = getDatabase().nextHiLo(tag, size);
+
+        ObjectNode result = mapper.createObjectNode();
+        result.put("Prefix", tag + (separator != null && !separator.isEmpty() ? separator : "/"));
+        result.put("Low", high - size + 1);
+        result.put("High", high);
+        result.put("LastSize", size);
+        result.put("ServerTag", clusterTag);
+        result.put("LastRangeAt", NetISO8601Utils.format(new Date(), true));
+
+        return StubResponse.ok(result.toString());
+    }
+
+    private StubResponse createSubscription(StubRequest request) throws IOException {
+        if (!"PUT".equals(request.getMethod())) {
+            return notFound(request);
+        }
+
+        JsonNode options = request.readJson(mapper);
+        String name = options.path("Name").asText(null);
+        if (name == null || name.isEmpty()) {
+            name = "subscription-" + cluster.nextOperationId();
+        }
+
+        String collection = null;
+        Matcher from = FROM_PATTERN.matcher(options.path("Query").asText());
+        if (from.find() && from.group(1) == null && !"@all_docs".equalsIgnoreCase(from.group(2))) {
+            collection = from.group(2);
+        }
+
+        getDatabase().addSubscription(name, collection);
+
+        return StubResponse.json(201, "{\"Name\":\"" + name + "\",\"RaftCommandIndex\":" + cluster.nextOperationId() + "}");
+    }
+
+    private void serveWebSocket(String target, Map<String, String> headers, InputStream in, OutputStream out) throws Exception {
+        requestsCount.incrementAndGet();
+        delay();
+
+        String path = target.contains("?") ? target.substring(0, target.indexOf('?')) : target;
+        if (!path.equalsIgnoreCase("/databases/" + getDatabase().getName() + "/changes")) {
+            writeResponse(out, StubResponse.empty(404), false);
+            return;
+        }
+
+        String key = headers.get("Sec-WebSocket-Key") + WEB_SOCKET_GUID;
+        String accept = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.ISO_8859_1)));
+
+        String handshake = "HTTP/1.1 101 Switching Protocols\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Accept: " + accept + "\r\n\r\n";
+        out.write(handshake.getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        new ChangesConnection(getDatabase(), in, out).run();
+    }
+
+    private void writeResponse(OutputStream out, StubResponse response, boolean keepAlive) throws IOException {
+        int statusCode = response.getStatusCode();
+        byte[] body = response.getBody();
+
+        StringBuilder head = new StringBuilder();
+        head.append("HTTP/1.1 ").append(statusCode).append(' ')
+                .append(EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, null)).append("\r\n");
+
+        if (body.length > 0) {
+            head.append("Content-Type: application/json; charset=utf-8\r\n");
+        }
+        if (statusCode != 204 && statusCode != 304) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        if (!keepAlive) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.write(body);
+        out.flush();
+    }
+
+    private void delay() throws InterruptedException {
+        long millis = latency.toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private StubResponse notFound(StubRequest request) {
+        return StubResponse.error(404, "Raven.Server.Routing.RouteNotFoundException", "There is no handler for " + request);
+    }
+
+    private ObjectNode metadataOnly(ObjectNode document) {
+        ObjectNode result = mapper.createObjectNode();
+        result.set(Constants.Documents.Metadata.KEY, document.get(Constants.Documents.Metadata.KEY));
+        return result;
+    }
+
+    private static List<ObjectNode> page(List<ObjectNode> documents, int start, int pageSize) {
+        int from = Math.min(Math.max(start, 0), documents.size());
+        int to = (int) Math.min((long) from + Math.max(pageSize, 0), documents.size());
+        return documents.subList(from, to);
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignored
+        }
+    }
+
+    private static class Fault {
+        private final String pathPrefix;
+        private final int statusCode;
+        private final AtomicInteger remaining;
+
+        Fault(String pathPrefix, int statusCode, int times) {
+            this.pathPrefix = pathPrefix;
+            this.statusCode = statusCode;
+            this.remaining = new AtomicInteger(times);
+        }
+
+        boolean tryTake() {
+            while (true) {
+                int current = remaining.get();
+                if (current < 0) {
+                    return true;
+                }
+                if (current == 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static class Route {
+        private final String pathPrefix;
+        private final StubHandler handler;
+
+        Route(String pathPrefix, StubHandler handler) {
+            this.pathPrefix = pathPrefix;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * Starts reading gzip header when body is read, so an empty body isn't an error
+     */
+    private static class LazyGzipInputStream extends InputStream {
+        private final InputStream compressed;
+        private InputStream decompressed;
+
+        LazyGzipInputStream(InputStream compressed) {
+            this.compressed = compressed;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return stream().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return stream().read(b, off, len);
+        }
+
+        private InputStream stream() throws IOException {
+            if (decompressed == null) {
+                decompressed = new GZIPInputStream(compressed);
+            }
+            return decompressed;
+        }
+    }
+}
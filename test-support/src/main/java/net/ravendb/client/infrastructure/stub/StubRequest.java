@@ -0,0 +1,134 @@
+package net.ravendb.client.infrastructure.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Request received by a stub node. Body is exposed as a stream, so handlers can process streamed requests
+ * (ex. bulk insert) while the client is still writing them.
+ */
+public class StubRequest {
+
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, List<String>> parameters;
+    private final Map<String, String> headers;
+    private final InputStream body;
+
+    StubRequest(String method, String target, Map<String, String> headers, InputStream body) {
+        this.method = method;
+        this.headers = headers;
+        this.body = body;
+
+        int queryStart = target.indexOf('?');
+        this.path = queryStart == -1 ? target : target.substring(0, queryStart);
+        this.query = queryStart == -1 ? "" : target.substring(queryStart + 1);
+        this.parameters = parseQuery(query);
+    }
+
+    static StubRequest create(String method, String path, String query, InputStream body) {
+        String target = StringUtils.isEmpty(query) ? path : path + (query.startsWith("?") ? query : "?" + query);
+        return new StubRequest(method, target, new TreeMap<>(String.CASE_INSENSITIVE_ORDER), body);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * @param name query string parameter
+     * @return first value of parameter or null
+     */
+    public String getParameter(String name) {
+        List<String> values = parameters.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    public List<String> getParameters(String name) {
+        return parameters.getOrDefault(name, Collections.emptyList());
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    public JsonNode readJson(ObjectMapper mapper) throws IOException {
+        return mapper.readTree(body);
+    }
+
+    /**
+     * @param prefix path prefix
+     * @param rest path after the prefix
+     * @return true if path starts with given prefix
+     */
+    boolean matches(String prefix, Reference<String> rest) {
+        if (!path.startsWith(prefix)) {
+            return false;
+        }
+
+        rest.value = path.substring(prefix.length());
+        return true;
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+
+            int separator = pair.indexOf('=');
+            String name = decode(separator == -1 ? pair : pair.substring(0, separator));
+            String value = separator == -1 ? "" : decode(pair.substring(separator + 1));
+
+            result.computeIfAbsent(name, x -> new ArrayList<>()).add(value);
+        }
+
+        return result;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + (query.isEmpty() ? "" : "?" + query);
+    }
+}
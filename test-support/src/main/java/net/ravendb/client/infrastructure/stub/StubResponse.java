@@ -0,0 +1,54 @@
+package net.ravendb.client.infrastructure.stub;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response returned by stub handlers. Body is json, an empty body is sent with zero content length.
+ */
+public class StubResponse {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int statusCode;
+    private final byte[] body;
+
+    public StubResponse(int statusCode, byte[] body) {
+        this.statusCode = statusCode;
+        this.body = body != null ? body : EMPTY;
+    }
+
+    public static StubResponse ok(String json) {
+        return json(200, json);
+    }
+
+    public static StubResponse json(int statusCode, String json) {
+        return new StubResponse(statusCode, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StubResponse empty(int statusCode) {
+        return new StubResponse(statusCode, EMPTY);
+    }
+
+    /**
+     * @param statusCode status code
+     * @param type server side exception type, ex. Raven.Client.Exceptions.Database.DatabaseDoesNotExistException
+     * @param message error message
+     * @return error response, as returned by the server
+     */
+    public static StubResponse error(int statusCode, String type, String message) {
+        String json = "{\"Type\":\"" + escape(type) + "\",\"Message\":\"" + escape(message) + "\",\"Error\":\"" + escape(message) + "\"}";
+        return json(statusCode, json);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
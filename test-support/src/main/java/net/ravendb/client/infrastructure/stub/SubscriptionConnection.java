@@ -0,0 +1,165 @@
+package net.ravendb.client.infrastructure.stub;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.serverwide.tcp.LicensedFeatures;
+import net.ravendb.client.serverwide.tcp.TcpConnectionHeaderMessage;
+import net.ravendb.client.serverwide.tcp.TcpConnectionHeaderResponse;
+import net.ravendb.client.serverwide.tcp.TcpConnectionStatus;
+import net.ravendb.client.serverwide.tcp.TcpNegotiation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Subscription TCP connection of a stub node.
+ *
+ * Protocol version is negotiated the way the server does it: a version higher than the one supported by the node
+ * is answered with a version mismatch and the supported version, so the client goes through TcpNegotiation.
+ * Then documents of the subscribed collection are sent in batches, each batch waits for the acknowledgment.
+ */
+class SubscriptionConnection {
+
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+    private static final long WAIT_FOR_DOCUMENTS_MILLIS = 100;
+
+    private final StubNode node;
+    private final Socket socket;
+    private final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    SubscriptionConnection(StubNode node, Socket socket) {
+        this.node = node;
+        this.socket = socket;
+    }
+
+    void run() throws Exception {
+        try (JsonParser parser = mapper.getFactory().createParser(socket.getInputStream())) {
+            if (!negotiate(parser)) {
+                return;
+            }
+
+            JsonNode options = readObject(parser);
+            if (options == null) {
+                return;
+            }
+
+            String name = options.path("SubscriptionName").asText();
+            int batchSize = options.path("MaxDocsPerBatch").asInt(DEFAULT_BATCH_SIZE);
+            if (batchSize <= 0) {
+                batchSize = DEFAULT_BATCH_SIZE;
+            }
+            boolean closeWhenNoDocsLeft = options.path("CloseWhenNoDocsLeft").asBoolean();
+
+            StubDatabase database = node.getDatabase();
+
+            if (!database.hasSubscription(name)) {
+                writeConnectionStatus("NotFound", "Subscription '" + name + "' was not found", false);
+                return;
+            }
+
+            writeConnectionStatus("Accepted", null, false);
+
+            String collection = database.getSubscriptionCollection(name);
+            long lastEtag = 0;
+
+            while (!node.isClosed() && !socket.isClosed()) {
+                List<StubDatabase.Document> documents = database.getDocumentsAfter(lastEtag, collection, batchSize, WAIT_FOR_DOCUMENTS_MILLIS);
+
+                if (documents.isEmpty()) {
+                    if (closeWhenNoDocsLeft) {
+                        writeConnectionStatus("Closed", "No documents left", false);
+                        return;
+                    }
+                    continue;
+                }
+
+                for (StubDatabase.Document document : documents) {
+                    ObjectNode message = mapper.createObjectNode();
+                    message.put("Type", "Data");
+                    message.set("Data", document.json);
+                    write(message);
+                }
+
+                write(mapper.createObjectNode().put("Type", "EndOfBatch"));
+
+                JsonNode acknowledgment = readObject(parser);
+                if (acknowledgment == null) {
+                    return;
+                }
+
+                lastEtag = documents.get(documents.size() - 1).etag;
+
+                write(mapper.createObjectNode().put("Type", "Confirm"));
+            }
+        }
+    }
+
+    private boolean negotiate(JsonParser parser) throws IOException {
+        while (true) {
+            JsonNode header = readObject(parser);
+            if (header == null) {
+                return false;
+            }
+
+            TcpConnectionHeaderMessage message = mapper.treeToValue(header, TcpConnectionHeaderMessage.class);
+            int version = message.getOperationVersion();
+
+            if (message.getOperation() != TcpConnectionHeaderMessage.OperationTypes.SUBSCRIPTION
+                    || version == TcpNegotiation.OUT_OF_RANGE_STATUS) {
+                return false;
+            }
+
+            int supportedVersion = node.getSubscriptionTcpVersion();
+
+            TcpConnectionHeaderResponse response = new TcpConnectionHeaderResponse();
+            LicensedFeatures licensedFeatures = new LicensedFeatures();
+            licensedFeatures.setDataCompression(false);
+            response.setLicensedFeatures(licensedFeatures);
+
+            if (version > supportedVersion) {
+                response.setStatus(TcpConnectionStatus.TCP_VERSION_MISMATCH);
+                response.setVersion(supportedVersion);
+                response.setMessage("Version " + version + " is not supported, stub node supports up to " + supportedVersion);
+                write(mapper.valueToTree(response));
+                continue;
+            }
+
+            response.setStatus(TcpConnectionStatus.OK);
+            response.setVersion(version);
+            write(mapper.valueToTree(response));
+            return true;
+        }
+    }
+
+    private JsonNode readObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            return null;
+        }
+
+        return mapper.readTree(parser);
+    }
+
+    private void writeConnectionStatus(String status, String exception, boolean canReconnect) throws IOException {
+        ObjectNode message = mapper.createObjectNode();
+        message.put("Type", "ConnectionStatus");
+        message.put("Status", status);
+        message.put("Exception", exception);
+        message.putObject("Data").put("CanReconnect", canReconnect);
+        write(message);
+    }
+
+    private void write(JsonNode message) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            mapper.writeTree(generator, message);
+        }
+        out.flush();
+    }
+}